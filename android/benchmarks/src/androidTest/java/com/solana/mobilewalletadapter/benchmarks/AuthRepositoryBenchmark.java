@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import android.net.Uri;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture;
+import com.solana.mobilewalletadapter.walletlib.authorization.AuthIssuerConfig;
+import com.solana.mobilewalletadapter.walletlib.authorization.AuthRecord;
+import com.solana.mobilewalletadapter.walletlib.authorization.AuthRecordSummary;
+import com.solana.mobilewalletadapter.walletlib.authorization.AuthRepositoryImpl;
+import com.solana.mobilewalletadapter.walletlib.authorization.IdentityRecord;
+import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizedAccount;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Issues, reissues, and verifies one authorization per session, from that many sessions
+// concurrently. The sync variants write on the calling (session) thread; the async variants hand
+// the write to the repository's writer thread and wait for its future. The list variants load the
+// authorizations of every identity (one per session), as a wallet listing its connected dapps would,
+// either in full or as summaries.
+@RunWith(Parameterized.class)
+public class AuthRepositoryBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameters(name = "sessions={0}")
+    public static List<Integer> sessions() {
+        return Arrays.asList(1, 10, 100);
+    }
+
+    private static final AuthorizedAccount[] ACCOUNTS = new AuthorizedAccount[] {
+            new AuthorizedAccount(Base58Benchmark.randomBytes(32), "account", null,
+                    new String[] { "solana:mainnet" }, null)
+    };
+
+    private final int mSessions;
+    private AuthRepositoryImpl mAuthRepository;
+    private ExecutorService mSessionExecutor;
+    private AuthRecord[] mAuthRecords;
+    private String[] mAuthTokens;
+
+    public AuthRepositoryBenchmark(int sessions) {
+        mSessions = sessions;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        // Reissue always writes a new authorization, rather than returning the one being reissued
+        mAuthRepository = new AuthRepositoryImpl(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                new AuthIssuerConfig("benchmark",
+                        AuthIssuerConfig.DEFAULT_MAX_OUTSTANDING_TOKENS_PER_IDENTITY,
+                        AuthIssuerConfig.DEFAULT_AUTHORIZATION_VALIDITY_MS,
+                        AuthIssuerConfig.DEFAULT_REAUTHORIZATION_VALIDITY_MS,
+                        0));
+        mAuthRepository.start();
+        mSessionExecutor = Executors.newFixedThreadPool(mSessions);
+        mAuthRecords = new AuthRecord[mSessions];
+        mAuthTokens = new String[mSessions];
+        for (int i = 0; i < mSessions; i++) {
+            mAuthRecords[i] = issue(i);
+            mAuthTokens[i] = mAuthRepository.toAuthToken(mAuthRecords[i]);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        mSessionExecutor.shutdownNow();
+        mAuthRepository.stop();
+    }
+
+    @Test
+    public void issueSync() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            runSessions(this::issue);
+        }
+    }
+
+    @Test
+    public void issueAsync() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            runSessions(session -> issueAsync(session).get());
+        }
+    }
+
+    @Test
+    public void reissueSync() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            runSessions(session -> mAuthRecords[session] =
+                    mAuthRepository.reissue(mAuthRecords[session]));
+        }
+    }
+
+    @Test
+    public void reissueAsync() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            runSessions(session -> mAuthRecords[session] =
+                    mAuthRepository.reissueAsync(mAuthRecords[session]).get());
+        }
+    }
+
+    @Test
+    public void fromAuthToken() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            runSessions(session -> {
+                if (mAuthRepository.fromAuthToken(mAuthTokens[session]) == null) {
+                    throw new IllegalStateException("Auth token not valid");
+                }
+            });
+        }
+    }
+
+    @Test
+    public void listAuthorizations() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            int count = 0;
+            for (IdentityRecord identity : mAuthRepository.getAuthorizedIdentities()) {
+                for (AuthRecord authRecord : mAuthRepository.getAuthorizations(identity)) {
+                    if (!authRecord.isExpired()) {
+                        count++;
+                    }
+                }
+            }
+            checkAuthorizationCount(count);
+        }
+    }
+
+    @Test
+    public void listAuthorizationSummaries() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            int count = 0;
+            for (IdentityRecord identity : mAuthRepository.getAuthorizedIdentities()) {
+                for (AuthRecordSummary summary : mAuthRepository.getAuthorizationSummaries(identity)) {
+                    if (!summary.isExpired()) {
+                        count++;
+                    }
+                }
+            }
+            checkAuthorizationCount(count);
+        }
+    }
+
+    private void checkAuthorizationCount(int count) {
+        if (count != mSessions) {
+            throw new IllegalStateException("Expected " + mSessions + " authorizations, found " +
+                    count);
+        }
+    }
+
+    private AuthRecord issue(int session) {
+        return mAuthRepository.issue("dapp-" + session, Uri.parse("https://dapp" + session + ".com"),
+                Uri.parse("favicon.ico"), ACCOUNTS, "solana:mainnet", null, null);
+    }
+
+    private NotifyOnCompleteFuture<AuthRecord> issueAsync(int session) {
+        return mAuthRepository.issueAsync("dapp-" + session,
+                Uri.parse("https://dapp" + session + ".com"), Uri.parse("favicon.ico"), ACCOUNTS,
+                "solana:mainnet", null, null);
+    }
+
+    private void runSessions(SessionTask task) throws Exception {
+        final Future<?>[] futures = new Future<?>[mSessions];
+        for (int i = 0; i < mSessions; i++) {
+            final int session = i;
+            futures[i] = mSessionExecutor.submit(() -> {
+                task.run(session);
+                return null;
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private interface SessionTask {
+        void run(int session) throws Exception;
+    }
+}
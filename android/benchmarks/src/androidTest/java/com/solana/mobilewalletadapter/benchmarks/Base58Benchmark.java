@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.util.Base58;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+@RunWith(AndroidJUnit4.class)
+public class Base58Benchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    // Public key, signature, and max transaction size, respectively
+    private static final byte[] BYTES_32 = randomBytes(32);
+    private static final byte[] BYTES_64 = randomBytes(64);
+    private static final byte[] BYTES_1232 = randomBytes(1232);
+
+    private static final String ENCODED_32 = Base58.encode(BYTES_32);
+    private static final String ENCODED_64 = Base58.encode(BYTES_64);
+    private static final String ENCODED_1232 = Base58.encode(BYTES_1232);
+
+    private static final byte[][] ADDRESSES = new byte[100][];
+    static {
+        for (int i = 0; i < ADDRESSES.length; i++) {
+            ADDRESSES[i] = randomBytes(32);
+            ADDRESSES[i][0] = (byte) i; // randomBytes is seeded by length; make each entry unique
+        }
+    }
+    private static final String[] ENCODED_ADDRESSES = Base58.encodeAll(ADDRESSES);
+
+    @Test
+    public void encode32() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.encode(BYTES_32);
+        }
+    }
+
+    @Test
+    public void encode64() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.encode(BYTES_64);
+        }
+    }
+
+    @Test
+    public void encode1232() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.encode(BYTES_1232);
+        }
+    }
+
+    @Test
+    public void decode32() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.decode(ENCODED_32);
+        }
+    }
+
+    @Test
+    public void decode64() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.decode(ENCODED_64);
+        }
+    }
+
+    @Test
+    public void decode1232() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.decode(ENCODED_1232);
+        }
+    }
+
+    @Test
+    public void legacyEncode32() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacyBase58.encode(BYTES_32);
+        }
+    }
+
+    @Test
+    public void legacyEncode64() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacyBase58.encode(BYTES_64);
+        }
+    }
+
+    @Test
+    public void legacyEncode1232() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacyBase58.encode(BYTES_1232);
+        }
+    }
+
+    @Test
+    public void legacyDecode32() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacyBase58.decode(ENCODED_32);
+        }
+    }
+
+    @Test
+    public void legacyDecode64() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacyBase58.decode(ENCODED_64);
+        }
+    }
+
+    @Test
+    public void legacyDecode1232() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacyBase58.decode(ENCODED_1232);
+        }
+    }
+
+    @Test
+    public void decode32IntoBuffer() {
+        final byte[] dst = new byte[32];
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.decode(ENCODED_32, dst, 0);
+        }
+    }
+
+    @Test
+    public void encodeAll32x100() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.encodeAll(ADDRESSES);
+        }
+    }
+
+    @Test
+    public void decodeAll32x100() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Base58.decodeAll(ENCODED_ADDRESSES);
+        }
+    }
+
+    static byte[] randomBytes(int len) {
+        final byte[] b = new byte[len];
+        new Random(len).nextBytes(b); // fixed seed, so that all runs measure the same inputs
+        return b;
+    }
+}
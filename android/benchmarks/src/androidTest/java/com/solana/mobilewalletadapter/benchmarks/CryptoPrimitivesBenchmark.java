@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.crypto.CryptoPrimitives;
+import com.solana.mobilewalletadapter.common.crypto.HKDF;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Compares the wallet's half of a session handshake (verify the HELLO_REQ signature, then derive
+// the session key) and an auth token HMAC check, with fresh (getInstance) vs. cached primitives
+@RunWith(AndroidJUnit4.class)
+public class CryptoPrimitivesBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final byte[] HELLO_REQ_PUBLIC_KEY = Base58Benchmark.randomBytes(65);
+    private static final byte[] AUTH_TOKEN_PAYLOAD = Base58Benchmark.randomBytes(64);
+    private static final SecretKeySpec AUTH_TOKEN_KEY =
+            new SecretKeySpec(Base58Benchmark.randomBytes(32), "HmacSHA256");
+
+    private KeyPair mAssociationKeyPair;
+    private KeyPair mOurKeyPair;
+    private KeyPair mOtherKeyPair;
+    private byte[] mHelloReqSignature;
+
+    @Before
+    public void setUp() throws Exception {
+        final KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+        kpg.initialize(new ECGenParameterSpec("secp256r1"));
+        mAssociationKeyPair = kpg.generateKeyPair();
+        mOurKeyPair = kpg.generateKeyPair();
+        mOtherKeyPair = kpg.generateKeyPair();
+
+        final Signature signature = Signature.getInstance("SHA256withECDSA");
+        signature.initSign(mAssociationKeyPair.getPrivate());
+        signature.update(HELLO_REQ_PUBLIC_KEY);
+        mHelloReqSignature = signature.sign();
+    }
+
+    @Test
+    public void handshakeGetInstance() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            handshake(Signature.getInstance("SHA256withECDSA"), KeyAgreement.getInstance("ECDH"),
+                    Mac.getInstance("HmacSHA256"));
+        }
+    }
+
+    @Test
+    public void handshakeCached() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            handshake(CryptoPrimitives.sha256WithECDSA(), CryptoPrimitives.ecdh(), null);
+        }
+    }
+
+    @Test
+    public void authTokenHmacGetInstance() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            authTokenHmac(Mac.getInstance("HmacSHA256"));
+        }
+    }
+
+    @Test
+    public void authTokenHmacCached() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            authTokenHmac(CryptoPrimitives.hmacSHA256());
+        }
+    }
+
+    // If hkdfMac is null, derives the session key with HKDF (which uses the cached Mac)
+    private void handshake(Signature signature, KeyAgreement keyAgreement, Mac hkdfMac)
+            throws Exception {
+        signature.initVerify(mAssociationKeyPair.getPublic());
+        signature.update(HELLO_REQ_PUBLIC_KEY);
+        if (!signature.verify(mHelloReqSignature)) {
+            throw new IllegalStateException("HELLO_REQ signature does not match");
+        }
+
+        keyAgreement.init(mOurKeyPair.getPrivate());
+        keyAgreement.doPhase(mOtherKeyPair.getPublic(), true);
+        final byte[] ecdhSecret = keyAgreement.generateSecret();
+
+        if (hkdfMac == null) {
+            HKDF.hkdfSHA256L16(ecdhSecret, HELLO_REQ_PUBLIC_KEY);
+        } else {
+            hkdfMac.init(new SecretKeySpec(HELLO_REQ_PUBLIC_KEY, "HmacSHA256"));
+            final byte[] prk = hkdfMac.doFinal(ecdhSecret);
+            hkdfMac.init(new SecretKeySpec(prk, "HmacSHA256"));
+            hkdfMac.doFinal(new byte[] { 0x01 });
+        }
+    }
+
+    private static void authTokenHmac(Mac mac) throws Exception {
+        mac.init(AUTH_TOKEN_KEY);
+        mac.doFinal(AUTH_TOKEN_PAYLOAD);
+    }
+}
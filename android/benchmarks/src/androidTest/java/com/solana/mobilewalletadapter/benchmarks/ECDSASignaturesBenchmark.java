@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.crypto.ECDSASignatures;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class ECDSASignaturesBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    // Both components have the high bit set, forcing the longest (72 byte) DER encoding
+    private static final byte[] P1363_SIGNATURE = new byte[ECDSASignatures.P256_P1363_SIGNATURE_LEN];
+    static {
+        final byte[] b = Base58Benchmark.randomBytes(ECDSASignatures.P256_P1363_SIGNATURE_LEN);
+        System.arraycopy(b, 0, P1363_SIGNATURE, 0, b.length);
+        P1363_SIGNATURE[0] |= (byte) 0x80;
+        P1363_SIGNATURE[ECDSASignatures.P256_P1363_COMPONENT_LEN] |= (byte) 0x80;
+    }
+    private static final byte[] DER_SIGNATURE =
+            ECDSASignatures.convertECP256SignatureP1363ToDER(P1363_SIGNATURE, 0);
+
+    @Test
+    public void convertDERtoP1363() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            ECDSASignatures.convertECP256SignatureDERtoP1363(DER_SIGNATURE, 0);
+        }
+    }
+
+    @Test
+    public void convertP1363ToDER() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            ECDSASignatures.convertECP256SignatureP1363ToDER(P1363_SIGNATURE, 0);
+        }
+    }
+}
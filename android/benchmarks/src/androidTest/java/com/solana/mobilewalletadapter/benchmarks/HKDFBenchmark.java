@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.crypto.HKDF;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class HKDFBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final byte[] IKM = Base58Benchmark.randomBytes(32); // ECDH secret
+    private static final byte[] SALT = Base58Benchmark.randomBytes(65); // encoded P-256 public key
+
+    @Test
+    public void hkdfSHA256L16() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            HKDF.hkdfSHA256L16(IKM, SALT);
+        }
+    }
+}
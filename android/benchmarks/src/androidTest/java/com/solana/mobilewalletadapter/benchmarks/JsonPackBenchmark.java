@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.util.JsonPack;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class JsonPackBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final int NUM_PAYLOADS = 20;
+    private static final byte[][] PAYLOADS = new byte[NUM_PAYLOADS][];
+    static {
+        for (int i = 0; i < NUM_PAYLOADS; i++) {
+            PAYLOADS[i] = Base58Benchmark.randomBytes(1232);
+        }
+    }
+    private static final JSONArray PACKED_PAYLOADS =
+            JsonPack.packByteArraysToBase64PayloadsArray(PAYLOADS);
+
+    @Test
+    public void packByteArraysToBase64PayloadsArray() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            JsonPack.packByteArraysToBase64PayloadsArray(PAYLOADS);
+        }
+    }
+
+    @Test
+    public void unpackBase64PayloadsArrayToByteArrays() throws JSONException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            JsonPack.unpackBase64PayloadsArrayToByteArrays(PACKED_PAYLOADS, false);
+        }
+    }
+}
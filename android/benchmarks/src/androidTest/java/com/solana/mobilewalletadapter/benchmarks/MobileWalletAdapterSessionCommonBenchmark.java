@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.annotation.NonNull;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.protocol.MessageReceiver;
+import com.solana.mobilewalletadapter.common.protocol.MessageSender;
+import com.solana.mobilewalletadapter.common.protocol.MobileWalletAdapterSessionCommon;
+import com.solana.mobilewalletadapter.common.protocol.SessionProperties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+
+@RunWith(AndroidJUnit4.class)
+public class MobileWalletAdapterSessionCommonBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final byte[] PAYLOAD_1K = Base58Benchmark.randomBytes(1024);
+    private static final byte[] PAYLOAD_64K = Base58Benchmark.randomBytes(64 * 1024);
+
+    private BenchmarkSession mSender;
+    private BenchmarkSession mReceiver;
+
+    @Before
+    public void setUp() {
+        final ECPublicKey associationPublicKey = BenchmarkSession.newAssociationPublicKey();
+        mSender = new BenchmarkSession(associationPublicKey);
+        mReceiver = new BenchmarkSession(associationPublicKey);
+        final ECPublicKey senderPublicKey = mSender.startEstablishment();
+        final ECPublicKey receiverPublicKey = mReceiver.startEstablishment();
+        mSender.finishEstablishment(receiverPublicKey);
+        mReceiver.finishEstablishment(senderPublicKey);
+    }
+
+    @Test
+    public void encrypt1K() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            mSender.encrypt(PAYLOAD_1K);
+        }
+    }
+
+    @Test
+    public void encrypt64K() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            mSender.encrypt(PAYLOAD_64K);
+        }
+    }
+
+    @Test
+    public void encryptDecrypt1K() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            mReceiver.decrypt(mSender.encrypt(PAYLOAD_1K));
+        }
+    }
+
+    @Test
+    public void encryptDecrypt64K() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            mReceiver.decrypt(mSender.encrypt(PAYLOAD_64K));
+        }
+    }
+
+    // Exposes the protected session crypto primitives, without any transport or handshake framing
+    private static class BenchmarkSession extends MobileWalletAdapterSessionCommon {
+        private static final MessageReceiver NO_OP_RECEIVER = new MessageReceiver() {
+            @Override public void receiverConnected(@NonNull MessageSender messageSender) {}
+            @Override public void receiverDisconnected() {}
+            @Override public void receiverMessageReceived(@NonNull byte[] payload) {}
+        };
+
+        @NonNull
+        private final ECPublicKey mAssociationPublicKey;
+
+        BenchmarkSession(@NonNull ECPublicKey associationPublicKey) {
+            super(NO_OP_RECEIVER, null);
+            mAssociationPublicKey = associationPublicKey;
+        }
+
+        @NonNull
+        static ECPublicKey newAssociationPublicKey() {
+            final KeyPair kp = generateECP256KeyPair();
+            return (ECPublicKey) kp.getPublic();
+        }
+
+        @NonNull
+        ECPublicKey startEstablishment() {
+            receiverConnected(message -> {});
+            return generateSessionECDHKeyPair();
+        }
+
+        void finishEstablishment(@NonNull ECPublicKey otherPublicKey) {
+            generateSessionECDHSecret(otherPublicKey);
+        }
+
+        @NonNull
+        byte[] encrypt(@NonNull byte[] payload) {
+            return encryptSessionPayload(payload);
+        }
+
+        @NonNull
+        byte[] decrypt(@NonNull byte[] payload) throws SessionMessageException {
+            return decryptSessionPayload(payload);
+        }
+
+        @NonNull
+        @Override
+        protected ECPublicKey getAssociationPublicKey() {
+            return mAssociationPublicKey;
+        }
+
+        @NonNull
+        @Override
+        protected SessionProperties getSessionProperties() {
+            return new SessionProperties(SessionProperties.ProtocolVersion.V1);
+        }
+
+        @Override
+        protected void handleSessionEstablishmentMessage(@NonNull byte[] payload) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
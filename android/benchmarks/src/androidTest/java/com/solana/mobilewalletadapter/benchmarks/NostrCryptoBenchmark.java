@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import android.util.Base64;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.walletlib.transport.nostr.NostrCrypto;
+
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class NostrCryptoBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final byte[] PRIVATE_KEY = NostrCrypto.generatePrivateKey();
+    private static final byte[] PUBLIC_KEY = NostrCrypto.getXOnlyPublicKey(PRIVATE_KEY);
+    private static final byte[] MESSAGE_HASH = Base58Benchmark.randomBytes(32);
+    private static final byte[] SIGNATURE = NostrCrypto.schnorrSign(MESSAGE_HASH, PRIVATE_KEY);
+
+    // Roughly the size of a Base64-encoded, encrypted sign_transactions request for 1 transaction
+    private static final String CONTENT = Base64.encodeToString(
+            Base58Benchmark.randomBytes(2048), Base64.NO_WRAP);
+    private static final String[][] TAGS = new String[][] {
+            { "p", NostrCrypto.bytesToHex(PUBLIC_KEY) }
+    };
+    private static final JSONObject EVENT =
+            NostrCrypto.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA, CONTENT, TAGS);
+
+    @Test
+    public void schnorrSign() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NostrCrypto.schnorrSign(MESSAGE_HASH, PRIVATE_KEY);
+        }
+    }
+
+    @Test
+    public void schnorrVerify() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NostrCrypto.schnorrVerify(MESSAGE_HASH, SIGNATURE, PUBLIC_KEY);
+        }
+    }
+
+    @Test
+    public void buildEvent() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NostrCrypto.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA, CONTENT, TAGS);
+        }
+    }
+
+    @Test
+    public void verifyEvent() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NostrCrypto.verifyEvent(EVENT);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import android.util.Base64;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.walletlib.transport.nostr.NostrCrypto;
+import com.solana.mobilewalletadapter.walletlib.transport.nostr.NostrRelayMessage;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+// Compares handling an inbound relay EVENT message (parse, verify, read tags and decode the payload)
+// via a JSON tree vs via NostrRelayMessage. Both include the same Schnorr signature check; the
+// difference in allocations between them tracks the copies made of the event content.
+@RunWith(AndroidJUnit4.class)
+public class NostrRelayMessageBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final byte[] PRIVATE_KEY = NostrCrypto.generatePrivateKey();
+    private static final String[][] TAGS = new String[][] {
+            { "d", NostrCrypto.bytesToHex(Base58Benchmark.randomBytes(32)) },
+            { "p", NostrCrypto.bytesToHex(NostrCrypto.getXOnlyPublicKey(PRIVATE_KEY)) }
+    };
+
+    // Roughly the size of a Base64-encoded, encrypted sign_transactions request for 1 transaction
+    private static final byte[] PAYLOAD = Base58Benchmark.randomBytes(2048);
+    private static final String MESSAGE = "[\"EVENT\",\"subscription\","
+            + NostrRelayMessage.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                    Base64.encode(PAYLOAD, Base64.NO_WRAP), TAGS).substring("[\"EVENT\",".length());
+
+    @Test
+    public void readEventMessageJsonTree() throws JSONException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            final JSONObject event = new JSONArray(MESSAGE).getJSONObject(2);
+            NostrCrypto.verifyEvent(event);
+            NostrCrypto.getEventTags(event).get("msg");
+            Base64.decode(event.getString("content"), Base64.DEFAULT);
+        }
+    }
+
+    @Test
+    public void readEventMessageStreaming() throws JSONException {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            final NostrRelayMessage.Event event = NostrRelayMessage.readEvent(MESSAGE);
+            event.verify();
+            event.getTagValues("msg");
+            event.decodeContent();
+        }
+    }
+
+    @Test
+    public void buildEventMessage() {
+        final byte[] content = Base64.encode(PAYLOAD, Base64.NO_WRAP);
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NostrRelayMessage.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA, content, TAGS);
+        }
+    }
+}
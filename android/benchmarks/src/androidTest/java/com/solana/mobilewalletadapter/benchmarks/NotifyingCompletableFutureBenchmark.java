@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.util.NotifyingCompletableFuture;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RunWith(AndroidJUnit4.class)
+public class NotifyingCompletableFutureBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final Object RESULT = new Object();
+
+    @Test
+    public void completeWithCallbacks() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            final NotifyingCompletableFuture<Object> future = new NotifyingCompletableFuture<>();
+            future.notifyOnComplete(f -> {});
+            future.notifyOnComplete(f -> {});
+            future.complete(RESULT);
+        }
+    }
+
+    @Test
+    public void getCompleted() throws Exception {
+        final NotifyingCompletableFuture<Object> future = new NotifyingCompletableFuture<>();
+        future.complete(RESULT);
+
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            future.get();
+        }
+    }
+
+    // Completes futures while other threads poll them, as request handlers do when checking for
+    // cancellation
+    @Test
+    public void completeWhilePolled() throws Exception {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final NotifyingCompletableFuture<?>[] current = new NotifyingCompletableFuture<?>[1];
+        final Thread[] pollers = new Thread[2];
+        for (int i = 0; i < pollers.length; i++) {
+            pollers[i] = new Thread(() -> {
+                while (running.get()) {
+                    final NotifyingCompletableFuture<?> future = current[0];
+                    if (future != null) {
+                        future.isDone();
+                    }
+                }
+            });
+            pollers[i].start();
+        }
+
+        try {
+            final BenchmarkState state = benchmarkRule.getState();
+            while (state.keepRunning()) {
+                final NotifyingCompletableFuture<Object> future = new NotifyingCompletableFuture<>();
+                current[0] = future;
+                future.notifyOnComplete(f -> {});
+                future.complete(RESULT);
+            }
+        } finally {
+            running.set(false);
+            for (Thread t : pollers) {
+                t.join();
+            }
+        }
+    }
+}
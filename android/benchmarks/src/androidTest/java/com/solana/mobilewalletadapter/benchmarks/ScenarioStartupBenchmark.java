@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.solana.mobilewalletadapter.common.WebSocketsTransportContract;
+import com.solana.mobilewalletadapter.walletlib.authorization.AuthIssuerConfig;
+import com.solana.mobilewalletadapter.walletlib.protocol.MobileWalletAdapterConfig;
+import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizeRequest;
+import com.solana.mobilewalletadapter.walletlib.scenario.DeauthorizedEvent;
+import com.solana.mobilewalletadapter.walletlib.scenario.LocalScenario;
+import com.solana.mobilewalletadapter.walletlib.scenario.LocalWebSocketServerScenario;
+import com.solana.mobilewalletadapter.walletlib.scenario.ReauthorizeRequest;
+import com.solana.mobilewalletadapter.walletlib.scenario.SignAndSendTransactionsRequest;
+import com.solana.mobilewalletadapter.walletlib.scenario.SignMessagesRequest;
+import com.solana.mobilewalletadapter.walletlib.scenario.SignTransactionsRequest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+// Measures the cost of creating a scenario (without starting its server), and of creating one and
+// running the first task on its IO queue. The number of threads scenarios use is covered by
+// BaseScenarioTest.
+@RunWith(AndroidJUnit4.class)
+public class ScenarioStartupBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final MobileWalletAdapterConfig CONFIG = new MobileWalletAdapterConfig(
+            10, 10, new Object[] { MobileWalletAdapterConfig.LEGACY_TRANSACTION_VERSION }, 0,
+            new String[] {});
+    private static final AuthIssuerConfig AUTH_ISSUER_CONFIG = new AuthIssuerConfig("benchmark");
+    private static final byte[] ASSOCIATION_PUBLIC_KEY = Base58Benchmark.randomBytes(65);
+
+    private final Context mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Test
+    public void createAndClose() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            new BenchmarkScenario(mContext).close();
+        }
+    }
+
+    @Test
+    public void createAndRunFirstIoTask() throws Exception {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            final BenchmarkScenario scenario = new BenchmarkScenario(mContext);
+            scenario.runIoTask();
+            scenario.close();
+        }
+    }
+
+    private static class BenchmarkScenario extends LocalWebSocketServerScenario {
+        BenchmarkScenario(@NonNull Context context) {
+            super(context, CONFIG, AUTH_ISSUER_CONFIG, new NoOpCallbacks(), ASSOCIATION_PUBLIC_KEY,
+                    WebSocketsTransportContract.WEBSOCKETS_LOCAL_PORT_MIN);
+        }
+
+        void runIoTask() throws InterruptedException {
+            final CountDownLatch ran = new CountDownLatch(1);
+            mIoExecutor.execute(ran::countDown);
+            ran.await();
+        }
+    }
+
+    private static class NoOpCallbacks implements LocalScenario.Callbacks {
+        @Override public void onScenarioReady() {}
+        @Override public void onScenarioServingClients() {}
+        @Override public void onScenarioServingComplete() {}
+        @Override public void onScenarioComplete() {}
+        @Override public void onScenarioError() {}
+        @Override public void onScenarioTeardownComplete() {}
+        @Override public void onAuthorizeRequest(@NonNull AuthorizeRequest request) {}
+        @Override public void onReauthorizeRequest(@NonNull ReauthorizeRequest request) {}
+        @Override public void onSignTransactionsRequest(@NonNull SignTransactionsRequest request) {}
+        @Override public void onSignMessagesRequest(@NonNull SignMessagesRequest request) {}
+        @Override public void onSignAndSendTransactionsRequest(@NonNull SignAndSendTransactionsRequest request) {}
+        @Override public void onDeauthorizedEvent(@NonNull DeauthorizedEvent event) {}
+        @Override public void onLowPowerAndNoConnection() {}
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.benchmarks;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.solana.mobilewalletadapter.common.signin.SignInWithSolana;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(AndroidJUnit4.class)
+public class SignInWithSolanaBenchmark {
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private static final String MINIMAL_MESSAGE =
+            "service.org wants you to sign in with your Solana account:" +
+            "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj";
+
+    private static final String FULL_MESSAGE =
+            "service.org wants you to sign in with your Solana account:" +
+            "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj" +
+            "\n\nI accept the ServiceOrg Terms of Service: https://service.org/tos" +
+            "\n\nURI: https://service.org/login" +
+            "\nVersion: 1" +
+            "\nChain ID: 1" +
+            "\nNonce: 32832457" +
+            "\nIssued At: 2021-01-11T11:15:23.000Z" +
+            "\nExpiration Time: 2021-01-11T12:15:23.000Z" +
+            "\nNot Before: 2021-01-11T11:15:23.000Z" +
+            "\nRequest ID: some-request-id" +
+            "\nResources:" +
+            "\n- ipfs://Qme7ss3ARVgxv6rXqVPiikMJ8u2NLgmgszg13pYrDKEoiu" +
+            "\n- https://example.com/my-web2-claim.json";
+
+    private static final SignInWithSolana.Payload FULL_PAYLOAD =
+            SignInWithSolana.Payload.fromMessage(FULL_MESSAGE);
+
+    // A long statement made of field-like lines, which forced the legacy regex to backtrack
+    private static final String ADVERSARIAL_MESSAGE;
+    static {
+        final StringBuilder sb = new StringBuilder(
+                "service.org wants you to sign in with your Solana account:" +
+                "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj\n");
+        for (int i = 0; i < 500; i++) {
+            sb.append("\nURI: https://service.org/").append(i).append('\n');
+        }
+        sb.append("\nURI: https://service.org/login");
+        ADVERSARIAL_MESSAGE = sb.toString();
+    }
+
+    @Test
+    public void parseMinimalMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            SignInWithSolana.Payload.fromMessage(MINIMAL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void parseFullMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            SignInWithSolana.Payload.fromMessage(FULL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void parseAdversarialMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            SignInWithSolana.Payload.fromMessage(ADVERSARIAL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void legacyParseMinimalMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacySignInWithSolanaParser.parseMessage(MINIMAL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void legacyParseFullMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacySignInWithSolanaParser.parseMessage(FULL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void legacyParseAdversarialMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            LegacySignInWithSolanaParser.parseMessage(ADVERSARIAL_MESSAGE);
+        }
+    }
+
+    @Test
+    public void prepareFullMessage() {
+        final BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            FULL_PAYLOAD.prepareMessage();
+        }
+    }
+
+    @Test
+    public void prepareFullMessageIntoBuilder() {
+        final BenchmarkState state = benchmarkRule.getState();
+        final StringBuilder sb = new StringBuilder(512);
+        while (state.keepRunning()) {
+            sb.setLength(0);
+            FULL_PAYLOAD.prepareMessage(sb);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.clientlib
+
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture
+import kotlinx.coroutines.suspendCancellableCoroutine
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ExecutionException
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
+
+/**
+ * Suspends until this future completes, without blocking a thread. Completes or throws as [get]
+ * would (e.g. an [ExecutionException] wrapping the failure). Cancelling the calling coroutine
+ * cancels this future.
+ */
+suspend fun <T> NotifyOnCompleteFuture<T>.await(): T? {
+    if (isDone) {
+        return get()
+    }
+    return suspendCancellableCoroutine { continuation ->
+        continuation.invokeOnCancellation { cancel(true) }
+        notifyOnComplete { f ->
+            try {
+                continuation.resume(f.get()) // won't block
+            } catch (e: ExecutionException) {
+                continuation.resumeWithException(e)
+            } catch (e: CancellationException) {
+                continuation.cancel(e)
+            }
+        }
+    }
+}
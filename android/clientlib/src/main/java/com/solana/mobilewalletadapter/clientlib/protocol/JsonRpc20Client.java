@@ -44,6 +44,18 @@ public class JsonRpc20Client implements MessageReceiver {
                                                      @Nullable Object params,
                                                      @IntRange(from = 0) int timeoutMs)
             throws IOException {
+        return methodCall(method, params, timeoutMs, null);
+    }
+
+    // Throws UnsupportedOperationException
+    // If non-null, notificationHandler receives any notifications from the server that arrive while
+    // this method call is outstanding
+    @NonNull
+    public NotifyOnCompleteFuture<Object> methodCall(@NonNull String method,
+                                                     @Nullable Object params,
+                                                     @IntRange(from = 0) int timeoutMs,
+                                                     @Nullable NotificationHandler notificationHandler)
+            throws IOException {
         if (method.isEmpty()) {
             throw new IllegalArgumentException("method cannot be empty");
         } else if (method.startsWith("rpc.")) {
@@ -75,7 +87,7 @@ public class JsonRpc20Client implements MessageReceiver {
 
             mSender.send(o.toString().getBytes(StandardCharsets.UTF_8));
 
-            future = new MethodCallResultFuture(id);
+            future = new MethodCallResultFuture(id, notificationHandler);
             mOutstandingRequest = future;
 
             if (timeoutMs > 0) {
@@ -167,6 +179,12 @@ public class JsonRpc20Client implements MessageReceiver {
             return;
         }
 
+        // A message with a method but no ID is a notification from the server
+        if (o.has("method") && !o.has("id")) {
+            dispatchNotification(o.optString("method"), o.opt("params"));
+            return;
+        }
+
         // Try and get an ID, to look up the corresponding request. Without an ID, there's not much
         // interesting we can do with a response (result or error), so bail.
         final String id = o.optString("id");
@@ -223,6 +241,27 @@ public class JsonRpc20Client implements MessageReceiver {
                 "Received a response with neither error nor result for request with id=" + id));
     }
 
+    private void dispatchNotification(@NonNull String method, @Nullable Object params) {
+        final int id;
+        final NotificationHandler handler;
+        synchronized (this) {
+            if (mOutstandingRequest != null) {
+                id = mOutstandingRequest.mId;
+                handler = mOutstandingRequest.mNotificationHandler;
+            } else {
+                id = 0;
+                handler = null;
+            }
+        }
+        if (handler == null) {
+            Log.w(TAG, "No handler for notification '" + method + "', ignoring");
+            return;
+        }
+
+        Log.d(TAG, "Dispatching notification '" + method + "' for request with id=" + id);
+        handler.onNotification(id, method, params);
+    }
+
     @GuardedBy("this")
     private void clearOutstandingRequest() {
         mOutstandingRequest = null;
@@ -241,11 +280,23 @@ public class JsonRpc20Client implements MessageReceiver {
         return utf8Dec.decode(bb).toString();
     }
 
+    public interface NotificationHandler {
+        /**
+         * Invoked for each notification received from the server while the method call with
+         * {@code requestId} is outstanding. This is invoked on the thread receiving messages, and
+         * should not block.
+         */
+        void onNotification(int requestId, @NonNull String method, @Nullable Object params);
+    }
+
     private class MethodCallResultFuture extends NotifyingCompletableFuture<Object> {
         private final int mId;
+        @Nullable
+        private final NotificationHandler mNotificationHandler;
 
-        public MethodCallResultFuture(int id) {
+        public MethodCallResultFuture(int id, @Nullable NotificationHandler notificationHandler) {
             mId = id;
+            mNotificationHandler = notificationHandler;
         }
 
         @Override
@@ -840,6 +840,82 @@ public class MobileWalletAdapterClient extends JsonRpc20Client {
         }
     }
 
+    public interface SigningProgressListener {
+        /**
+         * Invoked as each payload of a sign request completes, before the request future
+         * completes. This is invoked on the thread receiving messages from the wallet endpoint,
+         * and should not block.
+         * @param index the index of the completed payload in the request
+         * @param result the signed payload, or for sign_and_send_transactions, the signature
+         */
+        void onPayloadCompleted(@IntRange(from = 0) int index, @NonNull byte[] result);
+    }
+
+    @NonNull
+    private NotifyOnCompleteFuture<Object> signingMethodCall(@NonNull String method,
+                                                             @NonNull JSONObject params,
+                                                             @IntRange(from = 1) int numPayloads,
+                                                             @NonNull String progressResultKey,
+                                                             @Nullable SigningProgressListener progressListener)
+            throws IOException {
+        if (progressListener == null) {
+            return methodCall(method, params, mClientTimeoutMs);
+        }
+
+        try {
+            params.put(ProtocolContract.PARAMETER_PROGRESS_NOTIFICATIONS, true);
+        } catch (JSONException e) {
+            throw new UnsupportedOperationException("Failed to create signing payload JSON params", e);
+        }
+
+        return methodCall(method, params, mClientTimeoutMs, new SigningProgressNotificationHandler(
+                progressListener, numPayloads, progressResultKey));
+    }
+
+    private static class SigningProgressNotificationHandler implements NotificationHandler {
+        @NonNull
+        private final SigningProgressListener mListener;
+        @IntRange(from = 1)
+        private final int mNumPayloads;
+        @NonNull
+        private final String mResultKey;
+
+        private SigningProgressNotificationHandler(@NonNull SigningProgressListener listener,
+                                                   @IntRange(from = 1) int numPayloads,
+                                                   @NonNull String resultKey) {
+            mListener = listener;
+            mNumPayloads = numPayloads;
+            mResultKey = resultKey;
+        }
+
+        @Override
+        public void onNotification(int requestId, @NonNull String method, @Nullable Object params) {
+            // Malformed progress is dropped; the result of the request itself is authoritative
+            if (!ProtocolContract.NOTIFICATION_SIGNING_PROGRESS.equals(method) ||
+                    !(params instanceof JSONObject)) {
+                return;
+            }
+
+            final JSONObject o = (JSONObject) params;
+            if (o.optInt(ProtocolContract.PARAMETER_PROGRESS_REQUEST_ID, -1) != requestId) {
+                return;
+            }
+            final int index = o.optInt(ProtocolContract.PARAMETER_PROGRESS_INDEX, -1);
+            final String result = o.optString(mResultKey);
+            if (index < 0 || index >= mNumPayloads || result.isEmpty()) {
+                return;
+            }
+
+            final byte[] resultBytes;
+            try {
+                resultBytes = JsonPack.unpackBase64PayloadToByteArray(result);
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+            mListener.onPayloadCompleted(index, resultBytes);
+        }
+    }
+
     // =============================================================================================
     // sign_transactions
     // =============================================================================================
@@ -906,6 +982,20 @@ public class MobileWalletAdapterClient extends JsonRpc20Client {
     public SignMessagesFuture signMessagesDetached(@NonNull @Size(min = 1) byte[][] messages,
                                                    @NonNull @Size(min = 1) byte[][] addresses)
             throws IOException {
+        return signMessagesDetached(messages, addresses, null);
+    }
+
+    /**
+     * As {@link #signMessagesDetached(byte[][], byte[][])}, additionally requesting that the wallet
+     * endpoint report each signed message to {@code progressListener} as soon as it is signed.
+     * Progress is only reported by wallet endpoints supporting
+     * {@link ProtocolContract#FEATURE_ID_PROGRESS_NOTIFICATIONS}.
+     */
+    @NonNull
+    public SignMessagesFuture signMessagesDetached(@NonNull @Size(min = 1) byte[][] messages,
+                                                   @NonNull @Size(min = 1) byte[][] addresses,
+                                                   @Nullable SigningProgressListener progressListener)
+            throws IOException {
         for (byte[] m : messages) {
             if (m == null || m.length == 0) {
                 throw new IllegalArgumentException("messages must not be null or empty");
@@ -923,7 +1013,9 @@ public class MobileWalletAdapterClient extends JsonRpc20Client {
         }
 
         return new SignMessagesFuture(
-                methodCall(ProtocolContract.METHOD_SIGN_MESSAGES, signPayloads, mClientTimeoutMs),
+                signingMethodCall(ProtocolContract.METHOD_SIGN_MESSAGES, signPayloads,
+                        messages.length, ProtocolContract.PARAMETER_PROGRESS_SIGNED_PAYLOAD,
+                        progressListener),
                 messages, addresses);
     }
 
@@ -1077,6 +1169,25 @@ public class MobileWalletAdapterClient extends JsonRpc20Client {
                                                                  @Nullable Integer maxRetries,
                                                                  @Nullable Boolean waitForCommitmentToSendNextTransaction)
             throws IOException {
+        return signAndSendTransactions(transactions, minContextSlot, commitment, skipPreflight,
+                maxRetries, waitForCommitmentToSendNextTransaction, null);
+    }
+
+    /**
+     * As {@link #signAndSendTransactions(byte[][], Integer, String, Boolean, Integer, Boolean)},
+     * additionally requesting that the wallet endpoint report the signature of each transaction to
+     * {@code progressListener} as soon as it has been submitted. Progress is only reported by
+     * wallet endpoints supporting {@link ProtocolContract#FEATURE_ID_PROGRESS_NOTIFICATIONS}.
+     */
+    @NonNull
+    public SignAndSendTransactionsFuture signAndSendTransactions(@NonNull @Size(min = 1) byte[][] transactions,
+                                                                 @Nullable Integer minContextSlot,
+                                                                 @Nullable String commitment,
+                                                                 @Nullable Boolean skipPreflight,
+                                                                 @Nullable Integer maxRetries,
+                                                                 @Nullable Boolean waitForCommitmentToSendNextTransaction,
+                                                                 @Nullable SigningProgressListener progressListener)
+            throws IOException {
         for (byte[] t : transactions) {
             if (t == null || t.length == 0) {
                 throw new IllegalArgumentException("transactions must be null or empty");
@@ -1109,8 +1220,9 @@ public class MobileWalletAdapterClient extends JsonRpc20Client {
         }
 
         return new SignAndSendTransactionsFuture(
-                methodCall(ProtocolContract.METHOD_SIGN_AND_SEND_TRANSACTIONS,
-                        signAndSendTransactions, mClientTimeoutMs),
+                signingMethodCall(ProtocolContract.METHOD_SIGN_AND_SEND_TRANSACTIONS,
+                        signAndSendTransactions, transactions.length,
+                        ProtocolContract.PARAMETER_PROGRESS_SIGNATURE, progressListener),
                 transactions.length);
     }
 
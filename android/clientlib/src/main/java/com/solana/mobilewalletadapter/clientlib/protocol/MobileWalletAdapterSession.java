@@ -9,6 +9,7 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.solana.mobilewalletadapter.common.crypto.CryptoPrimitives;
 import com.solana.mobilewalletadapter.common.crypto.ECDSAKeys;
 import com.solana.mobilewalletadapter.common.protocol.MessageReceiver;
 import com.solana.mobilewalletadapter.common.protocol.MobileWalletAdapterSessionCommon;
@@ -94,7 +95,7 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
 
         final byte[] sig;
         try {
-            final Signature ecdsaSignature = Signature.getInstance("SHA256withECDSA");
+            final Signature ecdsaSignature = CryptoPrimitives.sha256WithECDSA();
             ecdsaSignature.initSign(associationKeyPair.getPrivate());
             ecdsaSignature.update(ourPublicKeyEncoded);
             sig = ecdsaSignature.sign();
@@ -136,6 +137,17 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
             mSessionProperties = sessionProperties;
         }
 
+        // Large requests (e.g. many transactions) are split into chunked frames when the wallet
+        // endpoint accepts them, bounding the size of each frame it must receive and decrypt
+        setTxMaxChunkSize(sessionProperties.maxChunkSize);
+
+        // Large requests are compressed when the wallet endpoint accepts compressed frames. The
+        // wallet endpoint only compresses its responses after receiving a compressed request.
+        setTxMaxDecompressedSize(sessionProperties.maxDecompressedSize);
+        if (sessionProperties.maxDecompressedSize > 0) {
+            setRxMaxDecompressedSize(MAX_DECOMPRESSED_MESSAGE_SIZE);
+        }
+
         doSessionEstablished();
     }
 
@@ -163,7 +175,9 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
             throw new SessionMessageException("Failed to parse SESSION_PROPS", e);
         }
 
-        Log.v(TAG, "Received session properties: version = " + properties.protocolVersion);
+        Log.v(TAG, "Received session properties: version = " + properties.protocolVersion +
+                ", max chunk size = " + properties.maxChunkSize +
+                ", max decompressed size = " + properties.maxDecompressedSize);
 
         return properties;
     }
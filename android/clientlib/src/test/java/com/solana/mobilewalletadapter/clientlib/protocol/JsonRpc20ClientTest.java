@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.clientlib.protocol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class JsonRpc20ClientTest {
+
+    private final List<byte[]> mSent = new ArrayList<>();
+    private JsonRpc20Client mClient;
+
+    @Before
+    public void setUp() {
+        mClient = new JsonRpc20Client();
+        mClient.receiverConnected(mSent::add);
+    }
+
+    @Test
+    public void testNotificationsBeforeResponseReachHandler() throws Exception {
+        // given
+        final RecordingNotificationHandler handler = new RecordingNotificationHandler();
+        final NotifyOnCompleteFuture<Object> future =
+                mClient.methodCall("sign_messages", new JSONObject(), 0, handler);
+        final int id = sentId(0);
+
+        // when
+        mClient.receiverMessageReceived(notification("signing_progress", 0));
+        mClient.receiverMessageReceived(notification("signing_progress", 1));
+        final boolean doneBeforeResponse = future.isDone();
+        mClient.receiverMessageReceived(result(id));
+
+        // then
+        assertFalse(doneBeforeResponse);
+        assertTrue(future.isDone());
+        assertEquals(2, handler.notifications.size());
+        for (int i = 0; i < 2; i++) {
+            final RecordingNotificationHandler.Notification n = handler.notifications.get(i);
+            assertEquals(id, n.requestId);
+            assertEquals("signing_progress", n.method);
+            assertEquals(i, ((JSONObject) n.params).getInt("index"));
+        }
+    }
+
+    @Test
+    public void testNotificationReachesHandlerOfOutstandingCall() throws Exception {
+        // given
+        final RecordingNotificationHandler handler1 = new RecordingNotificationHandler();
+        final RecordingNotificationHandler handler2 = new RecordingNotificationHandler();
+        mClient.methodCall("sign_messages", new JSONObject(), 0, handler1);
+        mClient.receiverMessageReceived(result(sentId(0)));
+        mClient.methodCall("sign_messages", new JSONObject(), 0, handler2);
+        final int id2 = sentId(1);
+
+        // when
+        mClient.receiverMessageReceived(notification("signing_progress", 0));
+        mClient.receiverMessageReceived(result(id2));
+
+        // then
+        assertTrue(handler1.notifications.isEmpty());
+        assertEquals(1, handler2.notifications.size());
+        assertEquals(id2, handler2.notifications.get(0).requestId);
+    }
+
+    @Test
+    public void testNotificationWithoutOutstandingCallIsIgnored() throws Exception {
+        // given
+        final RecordingNotificationHandler handler = new RecordingNotificationHandler();
+        mClient.methodCall("sign_messages", new JSONObject(), 0, handler);
+        mClient.receiverMessageReceived(result(sentId(0)));
+
+        // when
+        mClient.receiverMessageReceived(notification("signing_progress", 0));
+
+        // then
+        assertTrue(handler.notifications.isEmpty());
+    }
+
+    private int sentId(int index) throws JSONException {
+        return new JSONObject(new String(mSent.get(index), StandardCharsets.UTF_8)).getInt("id");
+    }
+
+    @NonNull
+    private static byte[] notification(@NonNull String method, int index) throws JSONException {
+        return new JSONObject()
+                .put("jsonrpc", "2.0")
+                .put("method", method)
+                .put("params", new JSONObject().put("index", index))
+                .toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @NonNull
+    private static byte[] result(int id) throws JSONException {
+        return new JSONObject()
+                .put("jsonrpc", "2.0")
+                .put("result", new JSONObject())
+                .put("id", id)
+                .toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class RecordingNotificationHandler implements JsonRpc20Client.NotificationHandler {
+        final List<Notification> notifications = new ArrayList<>();
+
+        @Override
+        public void onNotification(int requestId, @NonNull String method, @Nullable Object params) {
+            notifications.add(new Notification(requestId, method, params));
+        }
+
+        static class Notification {
+            final int requestId;
+            @NonNull
+            final String method;
+            @Nullable
+            final Object params;
+
+            Notification(int requestId, @NonNull String method, @Nullable Object params) {
+                this.requestId = requestId;
+                this.method = method;
+                this.params = params;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.clientlib.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.solana.mobilewalletadapter.common.ProtocolContract;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class MobileWalletAdapterClientTest {
+
+    private final List<byte[]> mSent = new ArrayList<>();
+    private MobileWalletAdapterClient mClient;
+
+    @Before
+    public void setUp() {
+        mClient = new MobileWalletAdapterClient(0);
+        mClient.receiverConnected(mSent::add);
+    }
+
+    @Test
+    public void testSignMessagesWithoutListenerDoesNotRequestProgress() throws Exception {
+        // when
+        mClient.signMessagesDetached(new byte[][] { { 1 } }, new byte[][] { { 2 } });
+
+        // then
+        assertFalse(sentParams().has(ProtocolContract.PARAMETER_PROGRESS_NOTIFICATIONS));
+    }
+
+    @Test
+    public void testSignMessagesProgressIsReportedToListener() throws Exception {
+        // given
+        final List<Integer> indices = new ArrayList<>();
+        final List<byte[]> results = new ArrayList<>();
+        mClient.signMessagesDetached(new byte[][] { { 1 }, { 2 } }, new byte[][] { { 3 } },
+                (index, result) -> {
+                    indices.add(index);
+                    results.add(result);
+                });
+        final int id = new JSONObject(new String(mSent.get(0), StandardCharsets.UTF_8)).getInt("id");
+
+        // when
+        mClient.receiverMessageReceived(progress(id + 1, 0, new byte[] { 9 })); // another request
+        mClient.receiverMessageReceived(progress(id, 2, new byte[] { 9 })); // index out of range
+        mClient.receiverMessageReceived(progress(id, 1, new byte[] { 5, 6 }));
+        mClient.receiverMessageReceived(progress(id, 0, new byte[] { 7 }));
+
+        // then
+        assertTrue(sentParams().getBoolean(ProtocolContract.PARAMETER_PROGRESS_NOTIFICATIONS));
+        assertEquals(List.of(1, 0), indices);
+        assertArrayEquals(new byte[] { 5, 6 }, results.get(0));
+        assertArrayEquals(new byte[] { 7 }, results.get(1));
+    }
+
+    @NonNull
+    private JSONObject sentParams() throws JSONException {
+        return new JSONObject(new String(mSent.get(0), StandardCharsets.UTF_8))
+                .getJSONObject("params");
+    }
+
+    @NonNull
+    private static byte[] progress(int requestId, int index, @NonNull byte[] signedPayload)
+            throws JSONException {
+        return new JSONObject()
+                .put("jsonrpc", "2.0")
+                .put("method", ProtocolContract.NOTIFICATION_SIGNING_PROGRESS)
+                .put("params", new JSONObject()
+                        .put(ProtocolContract.PARAMETER_PROGRESS_REQUEST_ID, requestId)
+                        .put(ProtocolContract.PARAMETER_PROGRESS_INDEX, index)
+                        .put(ProtocolContract.PARAMETER_PROGRESS_SIGNED_PAYLOAD,
+                                Base64.encodeToString(signedPayload, Base64.NO_WRAP)))
+                .toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
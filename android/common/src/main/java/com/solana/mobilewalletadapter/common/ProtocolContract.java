@@ -77,6 +77,17 @@ public class ProtocolContract {
 
     public static final String PARAMETER_PAYLOADS = "payloads"; // type: JSON array of String (base64-encoded payloads)
 
+    // METHOD_SIGN_TRANSACTIONS, METHOD_SIGN_MESSAGES and METHOD_SIGN_AND_SEND_TRANSACTIONS take an
+    // optional PARAMETER_PROGRESS_NOTIFICATIONS, honored by wallets supporting FEATURE_ID_PROGRESS_NOTIFICATIONS
+    public static final String PARAMETER_PROGRESS_NOTIFICATIONS = "progress_notifications"; // type: Boolean
+
+    // Sent by the wallet endpoint (as a JSON-RPC notification) as each payload of a sign request completes
+    public static final String NOTIFICATION_SIGNING_PROGRESS = "signing_progress";
+    public static final String PARAMETER_PROGRESS_REQUEST_ID = "request_id"; // type: same as the sign request id
+    public static final String PARAMETER_PROGRESS_INDEX = "index"; // type: Number (index into PARAMETER_PAYLOADS)
+    public static final String PARAMETER_PROGRESS_SIGNED_PAYLOAD = "signed_payload"; // type: String (base64-encoded signed payload)
+    public static final String PARAMETER_PROGRESS_SIGNATURE = "signature"; // type: String (base64-encoded signature)
+
     public static final String RESULT_AUTH_TOKEN = "auth_token"; // type: String
     public static final String RESULT_ACCOUNTS = "accounts"; // type: JSON array of Account
     public static final String RESULT_ACCOUNTS_ADDRESS = "address"; // type: String (base64-encoded addresses)
@@ -130,6 +141,8 @@ public class ProtocolContract {
     public static final String FEATURE_ID_SIGN_IN_WITH_SOLANA = "solana:signInWithSolana";
     public static final String FEATURE_ID_CLONE_AUTHORIZATION = "solana:cloneAuthorization";
     public static final String FEATURE_ID_SIGN_TRANSACTIONS = "solana:signTransactions";
+    public static final String FEATURE_ID_PROGRESS_NOTIFICATIONS = "solana:progressNotifications";
+    public static final String FEATURE_ID_COMPRESSED_SESSION = "solana:compressedSession";
 
     private ProtocolContract() {}
 }
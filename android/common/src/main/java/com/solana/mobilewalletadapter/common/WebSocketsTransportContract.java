@@ -30,6 +30,9 @@ public class WebSocketsTransportContract {
 
     public static final String WEBSOCKETS_PROTOCOL = "com.solana.mobilewalletadapter.v1";
     public static final String WEBSOCKETS_BASE64_PROTOCOL = "com.solana.mobilewalletadapter.v1.base64";
+    // Selected by a reflector which supports reflection resume
+    public static final String WEBSOCKETS_RESUMABLE_PROTOCOL = "com.solana.mobilewalletadapter.v1.resumable";
+    public static final String WEBSOCKETS_BASE64_RESUMABLE_PROTOCOL = "com.solana.mobilewalletadapter.v1.base64.resumable";
 
     private WebSocketsTransportContract() {}
 }
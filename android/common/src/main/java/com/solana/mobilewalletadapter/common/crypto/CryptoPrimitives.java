@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.common.crypto;
+
+import androidx.annotation.NonNull;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+
+// Per-thread instances of the crypto primitives used on the session handshake and auth token
+// paths, so that each use doesn't repeat the provider lookup of getInstance. Callers must always
+// init the returned instance before use (which discards any state left by a previous use), and must
+// not hold it across a call which may itself use the same primitive on this thread.
+//
+// N.B. on Android, the provider is selected by the first init of an instance. All callers use
+// software keys (rather than e.g. AndroidKeyStore keys), so they all select the same provider.
+public class CryptoPrimitives {
+    private static final ThreadLocal<Mac> HMAC_SHA256 = new ThreadLocal<>();
+    private static final ThreadLocal<Signature> SHA256_WITH_ECDSA = new ThreadLocal<>();
+    private static final ThreadLocal<KeyAgreement> ECDH = new ThreadLocal<>();
+
+    @NonNull
+    public static Mac hmacSHA256() throws NoSuchAlgorithmException {
+        Mac mac = HMAC_SHA256.get();
+        if (mac == null) {
+            mac = Mac.getInstance("HmacSHA256");
+            HMAC_SHA256.set(mac);
+        }
+        return mac;
+    }
+
+    @NonNull
+    public static Signature sha256WithECDSA() throws NoSuchAlgorithmException {
+        Signature signature = SHA256_WITH_ECDSA.get();
+        if (signature == null) {
+            signature = Signature.getInstance("SHA256withECDSA");
+            SHA256_WITH_ECDSA.set(signature);
+        }
+        return signature;
+    }
+
+    @NonNull
+    public static KeyAgreement ecdh() throws NoSuchAlgorithmException {
+        KeyAgreement keyAgreement = ECDH.get();
+        if (keyAgreement == null) {
+            keyAgreement = KeyAgreement.getInstance("ECDH");
+            ECDH.set(keyAgreement);
+        }
+        return keyAgreement;
+    }
+
+    private CryptoPrimitives() {}
+}
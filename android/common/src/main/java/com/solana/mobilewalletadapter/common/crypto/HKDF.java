@@ -18,7 +18,7 @@ public class HKDF {
     public static byte[] hkdfSHA256L16(@NonNull byte[] ikm, @NonNull byte[] salt) {
         try {
             // Step 1: extract
-            final Mac hmacSHA256 = Mac.getInstance("HmacSHA256");
+            final Mac hmacSHA256 = CryptoPrimitives.hmacSHA256();
             hmacSHA256.init(new SecretKeySpec(salt, "HmacSHA256"));
             final byte[] prk = hmacSHA256.doFinal(ikm);
 
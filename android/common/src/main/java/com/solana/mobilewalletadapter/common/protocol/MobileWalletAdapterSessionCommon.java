@@ -6,9 +6,11 @@ package com.solana.mobilewalletadapter.common.protocol;
 
 import android.util.Log;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.solana.mobilewalletadapter.common.crypto.CryptoPrimitives;
 import com.solana.mobilewalletadapter.common.crypto.ECDSAKeys;
 import com.solana.mobilewalletadapter.common.crypto.HKDF;
 
@@ -26,6 +28,9 @@ import java.security.spec.ECGenParameterSpec;
 import java.security.spec.ECParameterSpec;
 import java.security.spec.InvalidParameterSpecException;
 import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -44,17 +49,69 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
     private static final int AES_IV_LENGTH_BYTES = 12;
     private static final int AES_TAG_LENGTH_BYTES = 16;
 
+    // Chunked frames set the most significant bit of the sequence number field, and carry a
+    // chunk header (flags, total message length) between the sequence number and the IV. The
+    // sequence number and chunk header are both authenticated as AAD.
+    private static final int SEQ_NUM_CHUNKED_FLAG = 0x80000000;
+    private static final int CHUNK_HEADER_LENGTH_BYTES = 5;
+    private static final byte CHUNK_FLAG_FINAL = 0x01;
+
+    // Compressed messages are DEFLATE-compressed (RFC 1951) before encryption. Unchunked frames
+    // carrying a compressed message set the second most significant bit of the sequence number
+    // field; chunked frames set CHUNK_FLAG_COMPRESSED in every chunk header.
+    private static final int SEQ_NUM_COMPRESSED_FLAG = 0x40000000;
+    private static final byte CHUNK_FLAG_COMPRESSED = 0x02;
+
+    /** Default maximum plaintext size of a single chunked encrypted frame */
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 64 * 1024;
+
+    /** Maximum size of a message reassembled from chunked encrypted frames */
+    public static final int MAX_CHUNKED_MESSAGE_SIZE = 32 * 1024 * 1024;
+
+    /** Maximum decompressed size of a compressed message */
+    public static final int MAX_DECOMPRESSED_MESSAGE_SIZE = 32 * 1024 * 1024;
+
+    /** Messages smaller than this are never compressed; the savings don't justify the CPU cost */
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    /** Maximum number of encrypted frames which may be received ahead of the next expected frame */
+    public static final int MAX_RX_REPLAY_WINDOW_SIZE = 64;
+
     @NonNull
     private final MessageReceiver mDecryptedPayloadReceiver;
     private final StateCallbacks mStateCallbacks;
 
     protected MessageSender mMessageSender;
+    // Held (without this session's lock) while a message's frames are handed to mMessageSender,
+    // so that frames are sent in sequence and the chunks of different messages never interleave
+    private final Object mSendLock = new Object();
     @NonNull
     private State mState = State.WAITING_FOR_CONNECTION;
     private KeyPair mECDHKeypair;
     private SecretKey mCachedEncryptionKey;
     private int mSeqNumberTx;
     private int mSeqNumberRx;
+    private int mTxMaxChunkSize; // 0 if chunked frames should not be sent
+    private int mRxMaxChunkSize; // 0 if chunked frames should not be accepted
+    private int mTxMaxDecompressedSize; // 0 if messages should not be compressed
+    private int mRxMaxDecompressedSize; // 0 if compressed frames should not be accepted
+    // Grown as authenticated chunks arrive, up to mRxChunkedMessageLength; never sized from a
+    // declared length which has not yet been authenticated
+    @Nullable
+    private byte[] mRxChunkedMessage;
+    private int mRxChunkedMessageLength;
+    private int mRxChunkedMessageOffset;
+    private boolean mRxChunkedMessageCompressed;
+    private int mRxReplayWindowSize; // 0 if frames must be received strictly in sequence
+    // Authenticated frames received ahead of sequence, indexed by sequence number modulo the
+    // window size. A frame is accepted only if its slot is empty, so this doubles as the
+    // anti-replay bitmap for the window.
+    @Nullable
+    private RxFrame[] mRxReorderBuffer;
+    @Nullable
+    private Deflater mDeflater;
+    @Nullable
+    private Inflater mInflater;
 
     protected MobileWalletAdapterSessionCommon(@NonNull MessageReceiver decryptedPayloadReceiver,
                                                @Nullable StateCallbacks stateCallbacks) {
@@ -112,6 +169,16 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
         mMessageSender = null;
         mECDHKeypair = null;
         mCachedEncryptionKey = null;
+        mRxChunkedMessage = null;
+        mRxReorderBuffer = null;
+        if (mDeflater != null) {
+            mDeflater.end();
+            mDeflater = null;
+        }
+        if (mInflater != null) {
+            mInflater.end();
+            mInflater = null;
+        }
         mDecryptedPayloadReceiver.receiverDisconnected();
     }
 
@@ -150,54 +217,255 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
     private void handleEncryptedSessionPayload(@NonNull byte[] encryptedPayload)
             throws SessionMessageException {
         Log.v(TAG, "handleEncryptedSessionMessage");
-        final byte[] payload = decryptSessionPayload(encryptedPayload);
-        mDecryptedPayloadReceiver.receiverMessageReceived(payload);
+        final boolean isChunked = encryptedPayload.length >= SEQ_NUM_LENGTH_BYTES &&
+                (encryptedPayload[0] & 0x80) != 0 && mRxMaxChunkSize > 0;
+        if (mRxReplayWindowSize > 0) {
+            handleWindowedSessionPayload(encryptedPayload, isChunked);
+        } else if (isChunked) {
+            final byte[] payload = decryptChunkedSessionPayload(encryptedPayload);
+            if (payload != null) {
+                mDecryptedPayloadReceiver.receiverMessageReceived(payload);
+            }
+        } else {
+            if (mRxChunkedMessage != null) {
+                throw new SessionMessageException("Unchunked message received while reassembling a chunked message");
+            }
+            final byte[] payload = decryptSessionPayload(encryptedPayload);
+            mDecryptedPayloadReceiver.receiverMessageReceived(payload);
+        }
     }
 
     @Override
     public void send(@NonNull byte[] message) throws IOException {
-        final byte[] encryptedPayload;
-
         Log.v(TAG, "send");
 
-        synchronized (this) {
-            if (mState != State.ENCRYPTED_SESSION) {
-                throw new IOException("Cannot send in " + mState);
+        synchronized (mSendLock) {
+            final MessageSender sender;
+            final byte[] payload;
+            final boolean compressed;
+            final int chunkSize;
+            final byte[] unchunkedFrame;
+
+            synchronized (this) {
+                if (mState != State.ENCRYPTED_SESSION) {
+                    throw new IOException("Cannot send in " + mState);
+                }
+
+                sender = mMessageSender;
+                final byte[] compressedMessage = (mTxMaxDecompressedSize > 0
+                        && message.length >= COMPRESSION_THRESHOLD
+                        && message.length <= mTxMaxDecompressedSize) ? compress(message) : null;
+                compressed = (compressedMessage != null);
+                payload = compressed ? compressedMessage : message;
+                if (mTxMaxChunkSize > 0 && payload.length > mTxMaxChunkSize) {
+                    chunkSize = mTxMaxChunkSize;
+                    unchunkedFrame = null;
+                } else {
+                    chunkSize = 0;
+                    unchunkedFrame = encryptSessionPayload(payload, compressed);
+                }
+            }
+
+            // Don't hold lock when calling into sender; it could lead to lock-ordering deadlocks.
+            if (unchunkedFrame != null) {
+                sender.send(unchunkedFrame);
+                return;
+            }
+
+            // Encrypt each chunk only once the previous one has been sent, so that at most one
+            // encrypted frame of this message is held in memory at a time
+            final ChunkEncryptor encryptor = new ChunkEncryptor(payload, chunkSize, compressed);
+            while (encryptor.hasNext()) {
+                final byte[] frame;
+                synchronized (this) {
+                    if (mState != State.ENCRYPTED_SESSION) {
+                        throw new IOException("Cannot send in " + mState);
+                    }
+                    frame = encryptor.next();
+                }
+                sender.send(frame);
             }
+        }
+    }
+
+    /**
+     * Enable sending messages larger than {@code maxChunkSize} as a sequence of chunked encrypted
+     * frames. This should only be enabled once the counterparty has advertised support for chunked
+     * frames via {@link SessionProperties#maxChunkSize}.
+     * @param maxChunkSize the maximum plaintext size of each chunked frame, or 0 to disable
+     */
+    protected synchronized void setTxMaxChunkSize(@IntRange(from = 0) int maxChunkSize) {
+        if (maxChunkSize < 0) {
+            throw new IllegalArgumentException("maxChunkSize must be >= 0");
+        }
+        mTxMaxChunkSize = maxChunkSize;
+    }
+
+    /**
+     * Enable receiving chunked encrypted frames. This should only be enabled when this endpoint
+     * has advertised support for chunked frames via {@link SessionProperties#maxChunkSize}.
+     * @param maxChunkSize the maximum plaintext size of each chunked frame, or 0 to disable
+     */
+    protected synchronized void setRxMaxChunkSize(@IntRange(from = 0) int maxChunkSize) {
+        if (maxChunkSize < 0) {
+            throw new IllegalArgumentException("maxChunkSize must be >= 0");
+        }
+        mRxMaxChunkSize = maxChunkSize;
+        if (maxChunkSize == 0) {
+            mRxChunkedMessage = null;
+        }
+    }
+
+    /**
+     * Enable DEFLATE compression of sent messages of at least {@link #COMPRESSION_THRESHOLD}
+     * bytes. This should only be enabled once the counterparty has indicated that it accepts
+     * compressed frames (e.g. via {@link SessionProperties#maxDecompressedSize}).
+     * @param maxDecompressedSize the maximum decompressed message size the counterparty accepts;
+     *      larger messages are sent uncompressed. 0 disables compression.
+     */
+    protected synchronized void setTxMaxDecompressedSize(@IntRange(from = 0) int maxDecompressedSize) {
+        if (maxDecompressedSize < 0) {
+            throw new IllegalArgumentException("maxDecompressedSize must be >= 0");
+        }
+        mTxMaxDecompressedSize = maxDecompressedSize;
+    }
 
-            encryptedPayload = encryptSessionPayload(message);
+    /**
+     * Enable receiving compressed frames. This should only be enabled when this endpoint has
+     * advertised support for compressed frames.
+     * @param maxDecompressedSize the maximum decompressed size of a compressed message; any
+     *      message which would decompress to more than this terminates the session. 0 disables
+     *      receiving compressed frames.
+     */
+    protected synchronized void setRxMaxDecompressedSize(@IntRange(from = 0) int maxDecompressedSize) {
+        if (maxDecompressedSize < 0) {
+            throw new IllegalArgumentException("maxDecompressedSize must be >= 0");
         }
+        mRxMaxDecompressedSize = Math.min(maxDecompressedSize, MAX_DECOMPRESSED_MESSAGE_SIZE);
+    }
 
-        // Don't hold lock when calling into sender; it could lead to lock-ordering deadlocks.
-        mMessageSender.send(encryptedPayload);
+    /**
+     * Accept encrypted frames received out of sequence, as long as they are no more than
+     * {@code windowSize} frames ahead of the next expected frame. Each frame is authenticated on
+     * receipt and accepted exactly once (duplicates are discarded), and decrypted messages are
+     * delivered strictly in sequence. This allows for transports which may reorder or duplicate
+     * frames (e.g. when racing several relays). A frame outside the window terminates the session.
+     * @param windowSize the size of the replay window, or 0 to require that frames are received
+     *      strictly in sequence. Must be set before any encrypted frames are received.
+     */
+    protected synchronized void setRxReplayWindowSize(
+            @IntRange(from = 0, to = MAX_RX_REPLAY_WINDOW_SIZE) int windowSize) {
+        if (windowSize < 0 || windowSize > MAX_RX_REPLAY_WINDOW_SIZE) {
+            throw new IllegalArgumentException("windowSize must be in the range [0, " +
+                    MAX_RX_REPLAY_WINDOW_SIZE + "]");
+        } else if (mSeqNumberRx != 0) {
+            throw new IllegalStateException("Cannot change the replay window once encrypted frames have been received");
+        }
+        mRxReplayWindowSize = windowSize;
+        mRxReorderBuffer = (windowSize > 0) ? new RxFrame[windowSize] : null;
     }
 
+    /**
+     * Invoked (while holding this session's lock) each time a compressed message is received. A
+     * counterparty which sends compressed messages also accepts them.
+     */
+    protected void onCompressedMessageReceived() {}
+
     @NonNull
     protected byte[] encryptSessionPayload(@NonNull byte[] payload) {
+        return encryptSessionPayload(payload, false);
+    }
+
+    @NonNull
+    private byte[] encryptSessionPayload(@NonNull byte[] payload, boolean compressed) {
         if (mCachedEncryptionKey == null) {
             throw new IllegalStateException("Cannot decrypt, no session key has been established");
         }
 
-        final byte[] seqNum = new byte[SEQ_NUM_LENGTH_BYTES];
-        ByteBuffer.wrap(seqNum).putInt(++mSeqNumberTx); // Big-endian
+        final byte[] header = new byte[SEQ_NUM_LENGTH_BYTES];
+        ByteBuffer.wrap(header).putInt(++mSeqNumberTx
+                | (compressed ? SEQ_NUM_COMPRESSED_FLAG : 0)); // Big-endian
 
         try {
             final Cipher aesCipher = Cipher.getInstance("AES/GCM/NoPadding");
+            return encryptFrame(aesCipher, new SecureRandom(), header, payload, 0, payload.length);
+        } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
+            throw new UnsupportedOperationException("Error encrypting session payload", e);
+        }
+    }
+
+    // Encrypts a message as a sequence of chunked frames, one frame per call to next(). Must be
+    // invoked while holding this session's lock.
+    private final class ChunkEncryptor {
+        @NonNull
+        private final byte[] mPayload;
+        private final int mMaxChunkSize;
+        private final boolean mCompressed;
+        @NonNull
+        private final Cipher mAesCipher;
+        @NonNull
+        private final SecureRandom mRandom = new SecureRandom();
+        private int mOffset;
+
+        ChunkEncryptor(@NonNull byte[] payload, int maxChunkSize, boolean compressed) {
+            mPayload = payload;
+            mMaxChunkSize = maxChunkSize;
+            mCompressed = compressed;
+            try {
+                mAesCipher = Cipher.getInstance("AES/GCM/NoPadding");
+            } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
+                throw new UnsupportedOperationException("Error encrypting session payload", e);
+            }
+        }
+
+        boolean hasNext() {
+            return mOffset < mPayload.length;
+        }
+
+        @NonNull
+        byte[] next() {
+            if (mCachedEncryptionKey == null) {
+                throw new IllegalStateException("Cannot encrypt, no session key has been established");
+            }
+
+            final int length = Math.min(mMaxChunkSize, mPayload.length - mOffset);
+            final boolean isFinal = (mOffset + length == mPayload.length);
+            final byte[] header = new byte[SEQ_NUM_LENGTH_BYTES + CHUNK_HEADER_LENGTH_BYTES];
+            ByteBuffer.wrap(header)
+                    .putInt(++mSeqNumberTx | SEQ_NUM_CHUNKED_FLAG) // Big-endian
+                    .put((byte) ((isFinal ? CHUNK_FLAG_FINAL : 0)
+                            | (mCompressed ? CHUNK_FLAG_COMPRESSED : 0)))
+                    .putInt(mPayload.length);
+            final byte[] frame = encryptFrame(mAesCipher, mRandom, header, mPayload, mOffset,
+                    length);
+            mOffset += length;
+            return frame;
+        }
+    }
+
+    // Produces header || IV || AES-GCM(payload), with header authenticated as AAD
+    @NonNull
+    private byte[] encryptFrame(@NonNull Cipher aesCipher,
+                                @NonNull SecureRandom random,
+                                @NonNull byte[] header,
+                                @NonNull byte[] payload,
+                                int offset,
+                                int length) {
+        try {
             final byte[] iv = new byte[AES_IV_LENGTH_BYTES];
-            new SecureRandom().nextBytes(iv);
+            random.nextBytes(iv);
             final GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(
                     AES_TAG_LENGTH_BYTES * 8, iv);
             aesCipher.init(Cipher.ENCRYPT_MODE, mCachedEncryptionKey, gcmParameterSpec);
-            aesCipher.updateAAD(seqNum, 0, SEQ_NUM_LENGTH_BYTES);
-            final byte[] encryptedMessage = Arrays.copyOf(seqNum, SEQ_NUM_LENGTH_BYTES +
-                    AES_IV_LENGTH_BYTES + aesCipher.getOutputSize(payload.length));
-            System.arraycopy(iv, 0, encryptedMessage, SEQ_NUM_LENGTH_BYTES, AES_IV_LENGTH_BYTES);
-            aesCipher.doFinal(payload, 0, payload.length, encryptedMessage,
-                    SEQ_NUM_LENGTH_BYTES + AES_IV_LENGTH_BYTES);
+            aesCipher.updateAAD(header, 0, header.length);
+            final byte[] encryptedMessage = Arrays.copyOf(header, header.length +
+                    AES_IV_LENGTH_BYTES + aesCipher.getOutputSize(length));
+            System.arraycopy(iv, 0, encryptedMessage, header.length, AES_IV_LENGTH_BYTES);
+            aesCipher.doFinal(payload, offset, length, encryptedMessage,
+                    header.length + AES_IV_LENGTH_BYTES);
             return encryptedMessage;
-        } catch (InvalidAlgorithmParameterException | NoSuchPaddingException |
-                IllegalBlockSizeException | ShortBufferException | NoSuchAlgorithmException |
-                BadPaddingException | InvalidKeyException e) {
+        } catch (InvalidAlgorithmParameterException | IllegalBlockSizeException |
+                ShortBufferException | BadPaddingException | InvalidKeyException e) {
             throw new UnsupportedOperationException("Error encrypting session payload", e);
         }
     }
@@ -208,20 +476,34 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
             throw new IllegalStateException("Cannot decrypt, no session key has been established");
         }
 
-        final int seqNum = ByteBuffer.wrap(payload, 0, SEQ_NUM_LENGTH_BYTES).getInt(); // Big-endian
+        int seqNum = ByteBuffer.wrap(payload, 0, SEQ_NUM_LENGTH_BYTES).getInt(); // Big-endian
+        // N.B. if compressed frames are not accepted, the flag makes the sequence number invalid
+        final boolean compressed = mRxMaxDecompressedSize > 0
+                && (seqNum & SEQ_NUM_COMPRESSED_FLAG) != 0;
+        if (compressed) {
+            seqNum &= ~SEQ_NUM_COMPRESSED_FLAG;
+        }
         if (seqNum != (mSeqNumberRx + 1)) {
             throw new SessionMessageException("Encrypted messages has invalid sequence number");
         }
         mSeqNumberRx = seqNum;
 
+        final byte[] plaintext = decryptFrame(payload, SEQ_NUM_LENGTH_BYTES);
+        return compressed ? decompress(plaintext) : plaintext;
+    }
+
+    // Authenticates and decrypts the ciphertext following a frame header of headerLength bytes
+    @NonNull
+    private byte[] decryptFrame(@NonNull byte[] payload, int headerLength)
+            throws SessionMessageException {
         try {
             final Cipher aesCipher = Cipher.getInstance("AES/GCM/NoPadding");
             final GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(
-                    AES_TAG_LENGTH_BYTES * 8, payload, SEQ_NUM_LENGTH_BYTES, AES_IV_LENGTH_BYTES);
+                    AES_TAG_LENGTH_BYTES * 8, payload, headerLength, AES_IV_LENGTH_BYTES);
             aesCipher.init(Cipher.DECRYPT_MODE, mCachedEncryptionKey, gcmParameterSpec);
-            aesCipher.updateAAD(payload, 0, SEQ_NUM_LENGTH_BYTES);
-            return aesCipher.doFinal(payload, SEQ_NUM_LENGTH_BYTES + AES_IV_LENGTH_BYTES,
-                    payload.length - SEQ_NUM_LENGTH_BYTES - AES_IV_LENGTH_BYTES);
+            aesCipher.updateAAD(payload, 0, headerLength);
+            return aesCipher.doFinal(payload, headerLength + AES_IV_LENGTH_BYTES,
+                    payload.length - headerLength - AES_IV_LENGTH_BYTES);
         } catch (InvalidAlgorithmParameterException | NoSuchPaddingException |
                 IllegalBlockSizeException | NoSuchAlgorithmException | BadPaddingException |
                 InvalidKeyException e) {
@@ -229,6 +511,251 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
         }
     }
 
+    // Authenticates and decrypts a chunked frame into the reassembly buffer. Returns the
+    // reassembled message once the final chunk has been received, else null.
+    @Nullable
+    private byte[] decryptChunkedSessionPayload(@NonNull byte[] payload)
+            throws SessionMessageException {
+        if (mCachedEncryptionKey == null) {
+            throw new IllegalStateException("Cannot decrypt, no session key has been established");
+        }
+
+        final int headerLength = SEQ_NUM_LENGTH_BYTES + CHUNK_HEADER_LENGTH_BYTES;
+        if (payload.length < headerLength + AES_IV_LENGTH_BYTES + AES_TAG_LENGTH_BYTES) {
+            throw new SessionMessageException("Chunked message smaller than expected");
+        }
+
+        final ByteBuffer header = ByteBuffer.wrap(payload, 0, headerLength); // Big-endian
+        final int seqNum = header.getInt() & ~SEQ_NUM_CHUNKED_FLAG;
+        if (seqNum != (mSeqNumberRx + 1)) {
+            throw new SessionMessageException("Encrypted messages has invalid sequence number");
+        }
+        mSeqNumberRx = seqNum;
+        final byte flags = header.get();
+        final int totalLength = header.getInt();
+        final int chunkLength = payload.length - headerLength - AES_IV_LENGTH_BYTES -
+                AES_TAG_LENGTH_BYTES;
+        checkChunk(flags, totalLength, chunkLength);
+        appendChunk(flags, totalLength, decryptFrame(payload, headerLength));
+        return endChunk(flags);
+    }
+
+    // Validates a chunk against the message being reassembled (or the new message it starts, if
+    // none is in progress), before it is authenticated
+    private void checkChunk(byte flags, int totalLength, int chunkLength)
+            throws SessionMessageException {
+        final boolean compressed = (flags & CHUNK_FLAG_COMPRESSED) != 0;
+        if (compressed && mRxMaxDecompressedSize == 0) {
+            throw new SessionMessageException("Compressed frames are not accepted");
+        }
+        if (mRxChunkedMessage == null) {
+            if (totalLength < 0 || totalLength > MAX_CHUNKED_MESSAGE_SIZE) {
+                throw new SessionMessageException("Chunked message length " + totalLength + " is not supported");
+            }
+        } else if (totalLength != mRxChunkedMessageLength) {
+            throw new SessionMessageException("Chunked message length changed during reassembly");
+        } else if (compressed != mRxChunkedMessageCompressed) {
+            throw new SessionMessageException("Chunked message compression changed during reassembly");
+        }
+
+        if (chunkLength > mRxMaxChunkSize) {
+            throw new SessionMessageException("Chunk exceeds the maximum chunk size");
+        } else if (chunkLength > totalLength
+                - (mRxChunkedMessage != null ? mRxChunkedMessageOffset : 0)) {
+            throw new SessionMessageException("Chunked message exceeds its declared length");
+        }
+    }
+
+    // Appends the plaintext of an authenticated (and checked) chunk to the message being
+    // reassembled, starting a new message if none is in progress
+    private void appendChunk(byte flags, int totalLength, @NonNull byte[] plaintext) {
+        if (mRxChunkedMessage == null) {
+            // Adopt the first chunk as the reassembly buffer; it grows as further chunks arrive
+            mRxChunkedMessage = plaintext;
+            mRxChunkedMessageLength = totalLength;
+            mRxChunkedMessageOffset = plaintext.length;
+            mRxChunkedMessageCompressed = (flags & CHUNK_FLAG_COMPRESSED) != 0;
+            return;
+        }
+
+        final int required = mRxChunkedMessageOffset + plaintext.length;
+        if (required > mRxChunkedMessage.length) {
+            mRxChunkedMessage = Arrays.copyOf(mRxChunkedMessage, (int) Math.min(
+                    Math.max(2L * mRxChunkedMessage.length, required), mRxChunkedMessageLength));
+        }
+        System.arraycopy(plaintext, 0, mRxChunkedMessage, mRxChunkedMessageOffset,
+                plaintext.length);
+        mRxChunkedMessageOffset = required;
+    }
+
+    // Returns the reassembled message if this was the final chunk, else null
+    @Nullable
+    private byte[] endChunk(byte flags) throws SessionMessageException {
+        if ((flags & CHUNK_FLAG_FINAL) == 0) {
+            return null;
+        }
+
+        if (mRxChunkedMessageOffset != mRxChunkedMessageLength) {
+            throw new SessionMessageException("Chunked message shorter than its declared length");
+        }
+        // N.B. the buffer never grows past the declared length, so it is now exactly full
+        final byte[] message = mRxChunkedMessage;
+        mRxChunkedMessage = null;
+        return mRxChunkedMessageCompressed ? decompress(message) : message;
+    }
+
+    // Accepts an encrypted frame within the replay window, then delivers any messages which are
+    // now complete and in sequence
+    private void handleWindowedSessionPayload(@NonNull byte[] payload, boolean isChunked)
+            throws SessionMessageException {
+        if (mCachedEncryptionKey == null) {
+            throw new IllegalStateException("Cannot decrypt, no session key has been established");
+        }
+
+        final int headerLength = SEQ_NUM_LENGTH_BYTES + (isChunked ? CHUNK_HEADER_LENGTH_BYTES : 0);
+        if (payload.length < headerLength + AES_IV_LENGTH_BYTES + AES_TAG_LENGTH_BYTES) {
+            throw new SessionMessageException("Encrypted message smaller than expected");
+        }
+
+        final ByteBuffer header = ByteBuffer.wrap(payload, 0, headerLength); // Big-endian
+        int seqNum = header.getInt();
+        boolean compressed = false;
+        if (isChunked) {
+            seqNum &= ~SEQ_NUM_CHUNKED_FLAG;
+        } else if (mRxMaxDecompressedSize > 0 && (seqNum & SEQ_NUM_COMPRESSED_FLAG) != 0) {
+            seqNum &= ~SEQ_NUM_COMPRESSED_FLAG;
+            compressed = true;
+        }
+        if (seqNum <= 0) {
+            throw new SessionMessageException("Encrypted messages has invalid sequence number");
+        }
+        final int ahead = seqNum - mSeqNumberRx;
+        final int slot = seqNum % mRxReplayWindowSize;
+        // N.B. the window bound must be checked first; a frame a multiple of the window size
+        // ahead maps onto the slot of a frame already buffered, and must not be mistaken for a
+        // replay of it
+        if (ahead > mRxReplayWindowSize) {
+            throw new SessionMessageException("Encrypted message is outside the replay window");
+        } else if (ahead <= 0 || mRxReorderBuffer[slot] != null) {
+            Log.d(TAG, "Discarding replayed encrypted message " + seqNum);
+            return;
+        }
+
+        // Authenticate before accepting, so that a forged frame can't claim this sequence number
+        final RxFrame frame = new RxFrame();
+        if (isChunked) {
+            frame.flags = header.get();
+            frame.totalLength = header.getInt();
+            if (payload.length - headerLength - AES_IV_LENGTH_BYTES - AES_TAG_LENGTH_BYTES > mRxMaxChunkSize) {
+                throw new SessionMessageException("Chunk exceeds the maximum chunk size");
+            }
+        }
+        frame.isChunked = isChunked;
+        frame.isCompressed = compressed;
+        frame.plaintext = decryptFrame(payload, headerLength);
+        mRxReorderBuffer[slot] = frame;
+
+        // N.B. delivering a message may close this session, releasing the reorder buffer
+        while (mRxReorderBuffer != null) {
+            final int nextSlot = (mSeqNumberRx + 1) % mRxReplayWindowSize;
+            final RxFrame next = mRxReorderBuffer[nextSlot];
+            if (next == null) {
+                break;
+            }
+            mRxReorderBuffer[nextSlot] = null;
+            mSeqNumberRx++;
+
+            final byte[] message;
+            if (next.isChunked) {
+                checkChunk(next.flags, next.totalLength, next.plaintext.length);
+                appendChunk(next.flags, next.totalLength, next.plaintext);
+                message = endChunk(next.flags);
+            } else if (mRxChunkedMessage != null) {
+                throw new SessionMessageException("Unchunked message received while reassembling a chunked message");
+            } else {
+                message = next.isCompressed ? decompress(next.plaintext) : next.plaintext;
+            }
+
+            if (message != null) {
+                mDecryptedPayloadReceiver.receiverMessageReceived(message);
+            }
+        }
+    }
+
+    private static final class RxFrame {
+        boolean isChunked;
+        boolean isCompressed; // unchunked frames only; chunked frames carry this in flags
+        byte flags; // chunked frames only
+        int totalLength; // chunked frames only
+        byte[] plaintext;
+    }
+
+    // Returns the DEFLATE-compressed message, or null if compression would not make it smaller
+    @Nullable
+    private byte[] compress(@NonNull byte[] message) {
+        if (mDeflater == null) {
+            mDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        mDeflater.reset();
+        mDeflater.setInput(message);
+        mDeflater.finish();
+        final byte[] compressed = new byte[message.length - 1];
+        int length = 0;
+        while (!mDeflater.finished()) {
+            if (length == compressed.length) {
+                return null;
+            }
+            length += mDeflater.deflate(compressed, length, compressed.length - length);
+        }
+        return Arrays.copyOf(compressed, length);
+    }
+
+    // Decompresses a DEFLATE-compressed message, enforcing mRxMaxDecompressedSize
+    @NonNull
+    private byte[] decompress(@NonNull byte[] compressed) throws SessionMessageException {
+        if (mInflater == null) {
+            mInflater = new Inflater(true);
+        }
+        mInflater.reset();
+        mInflater.setInput(compressed);
+
+        // Start from a typical compression ratio for JSON, and grow (up to the limit) as needed
+        byte[] message = new byte[(int) Math.min(Math.max(4L * compressed.length, 1024),
+                mRxMaxDecompressedSize)];
+        int length = 0;
+        try {
+            while (!mInflater.finished()) {
+                if (length == message.length) {
+                    if (message.length == mRxMaxDecompressedSize) {
+                        // The stream may still end without producing any more output
+                        if (mInflater.inflate(new byte[1]) != 0) {
+                            throw new SessionMessageException("Compressed message exceeds the maximum decompressed size");
+                        }
+                        if (!mInflater.finished()) {
+                            throw new SessionMessageException("Compressed message is truncated");
+                        }
+                        continue;
+                    }
+                    message = Arrays.copyOf(message,
+                            (int) Math.min(2L * message.length, mRxMaxDecompressedSize));
+                }
+                final int n = mInflater.inflate(message, length, message.length - length);
+                if (n == 0 && (mInflater.needsInput() || mInflater.needsDictionary())) {
+                    throw new SessionMessageException("Compressed message is truncated");
+                }
+                length += n;
+            }
+        } catch (DataFormatException e) {
+            throw new SessionMessageException("Compressed message is invalid", e);
+        }
+        if (mInflater.getRemaining() != 0) {
+            throw new SessionMessageException("Compressed message has trailing data");
+        }
+
+        onCompressedMessageReceived();
+        return (length == message.length) ? message : Arrays.copyOf(message, length);
+    }
+
     @NonNull
     private static SecretKey createEncryptionKey(@NonNull byte[] ecdhSecret,
                                                  @NonNull ECPublicKey associationPublicKey) {
@@ -273,7 +800,7 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
         }
 
         try {
-            final KeyAgreement keyAgreement = KeyAgreement.getInstance("ECDH");
+            final KeyAgreement keyAgreement = CryptoPrimitives.ecdh();
             keyAgreement.init(mECDHKeypair.getPrivate());
             keyAgreement.doPhase(otherPublicKey, true);
             final byte[] ecdhSecret = keyAgreement.generateSecret();
@@ -284,6 +811,7 @@ public abstract class MobileWalletAdapterSessionCommon implements MessageReceive
 
         mSeqNumberTx = 0;
         mSeqNumberRx = 0;
+        mRxChunkedMessage = null;
 
         mState = State.ENCRYPTED_SESSION;
 
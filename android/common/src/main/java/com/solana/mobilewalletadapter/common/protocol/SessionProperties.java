@@ -4,6 +4,7 @@
 
 package com.solana.mobilewalletadapter.common.protocol;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 
 import org.json.JSONException;
@@ -11,22 +12,65 @@ import org.json.JSONObject;
 
 public class SessionProperties {
     private static final String PROTOCOL_VERSION_KEY = "v";
+    private static final String MAX_CHUNK_SIZE_KEY = "max_chunk_size";
+    private static final String MAX_DECOMPRESSED_SIZE_KEY = "max_decompressed_size";
+
     @NonNull
     public ProtocolVersion protocolVersion;
 
+    /* Maximum plaintext size of a single chunked encrypted frame the wallet endpoint will
+     * accept, or 0 if the wallet endpoint does not accept chunked frames. */
+    @IntRange(from = 0)
+    public int maxChunkSize;
+
+    /* Maximum decompressed size of a compressed message the wallet endpoint will accept, or 0 if
+     * the wallet endpoint does not accept compressed frames. */
+    @IntRange(from = 0)
+    public int maxDecompressedSize;
+
     public SessionProperties(@NonNull ProtocolVersion protocolVersion) {
+        this(protocolVersion, 0);
+    }
+
+    public SessionProperties(@NonNull ProtocolVersion protocolVersion,
+                             @IntRange(from = 0) int maxChunkSize) {
+        this(protocolVersion, maxChunkSize, 0);
+    }
+
+    public SessionProperties(@NonNull ProtocolVersion protocolVersion,
+                             @IntRange(from = 0) int maxChunkSize,
+                             @IntRange(from = 0) int maxDecompressedSize) {
+        if (maxChunkSize < 0) {
+            throw new IllegalArgumentException("maxChunkSize must be >= 0");
+        }
+        if (maxDecompressedSize < 0) {
+            throw new IllegalArgumentException("maxDecompressedSize must be >= 0");
+        }
         this.protocolVersion = protocolVersion;
+        this.maxChunkSize = maxChunkSize;
+        this.maxDecompressedSize = maxDecompressedSize;
     }
 
     public static SessionProperties deserialize(byte[] bytes) throws JSONException {
         JSONObject json = new JSONObject(new String(bytes));
         String protocolVersionString = json.getString(PROTOCOL_VERSION_KEY);
-        return new SessionProperties(ProtocolVersion.from(protocolVersionString));
+        // N.B. absent for wallet endpoints which predate chunked frames
+        int maxChunkSize = Math.max(json.optInt(MAX_CHUNK_SIZE_KEY, 0), 0);
+        // N.B. absent for wallet endpoints which do not accept compressed frames
+        int maxDecompressedSize = Math.max(json.optInt(MAX_DECOMPRESSED_SIZE_KEY, 0), 0);
+        return new SessionProperties(ProtocolVersion.from(protocolVersionString), maxChunkSize,
+                maxDecompressedSize);
     }
 
     public byte[] serialize() throws JSONException {
         JSONObject json = new JSONObject();
         json.put(PROTOCOL_VERSION_KEY, protocolVersion);
+        if (maxChunkSize > 0) {
+            json.put(MAX_CHUNK_SIZE_KEY, maxChunkSize);
+        }
+        if (maxDecompressedSize > 0) {
+            json.put(MAX_DECOMPRESSED_SIZE_KEY, maxDecompressedSize);
+        }
         return json.toString().getBytes();
     }
 
@@ -20,8 +20,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class SignInWithSolana {
 
@@ -200,79 +198,83 @@ public class SignInWithSolana {
         }
 
         public String prepareMessage() {
+            final StringBuilder sb = new StringBuilder(estimateMessageLength());
+            prepareMessage(sb);
+            return sb.toString();
+        }
+
+        /**
+         * Append the sign in message for this payload to out. This allows callers preparing
+         * many messages to reuse a single {@link StringBuilder}.
+         * @param out the {@link StringBuilder} to which the message will be appended
+         */
+        public void prepareMessage(@NonNull StringBuilder out) {
             if (domain == null) {
                 throw new IllegalStateException("cannot prepare sign in message, no domain provided");
             }
             if (addressRaw == null) {
                 throw new IllegalStateException("cannot prepare sign in message, no address provided");
             }
-            return toV1Message();
+            appendV1Message(out);
         }
 
-        private String toV1Message() {
-            final String header = domain + " wants you to sign in with your Solana account:";
-            String prefix = String.join("\n", header, Base58.encode(addressRaw));
-
-            final List<String> suffixArray = new ArrayList<>();
-
-            if (uri != null) {
-                final String uriField = "URI: " + uri;
-                suffixArray.add(uriField);
-            }
-
-            if (version != null) {
-                final String versionField = "Version: " + version;
-                suffixArray.add(versionField);
-            }
-
-            if (chainId != null) {
-                final String chainField = "Chain ID: " + chainId;
-                suffixArray.add(chainField);
-            }
-
-            if (nonce != null) {
-                final String nonceField = "Nonce: " + nonce;
-                suffixArray.add(nonceField);
-            }
-
-            if (issuedAt != null) {
-                final String issuedAtField = "Issued At: " + issuedAt;
-                suffixArray.add(issuedAtField);
-            }
-
-            if (expirationTime != null) {
-                final String expirationTimeField = "Expiration Time: " + expirationTime;
-                suffixArray.add(expirationTimeField);
-            }
-
-            if (notBefore != null) {
-                final String expirationTime = "Not Before: " + notBefore;
-                suffixArray.add(expirationTime);
+        private int estimateMessageLength() {
+            int len = 128 + (domain != null ? domain.length() : 0) +
+                    (statement != null ? statement.length() : 0);
+            if (resources != null) {
+                len += 64 * resources.length;
             }
+            return len;
+        }
 
-            if (requestId != null) {
-                suffixArray.add("Request ID: " + requestId);
+        private void appendV1Message(@NonNull StringBuilder sb) {
+            final int start = sb.length();
+            sb.append(domain).append(Parser.HEADER_SUFFIX).append('\n')
+                    .append(Base58.encode(addressRaw));
+            if (statement != null) {
+                sb.append("\n\n").append(statement).append('\n');
+            } else {
+                sb.append("\n\n");
             }
 
+            final int fieldsStart = sb.length();
+            appendField(sb, Parser.FIELD_URI, uri);
+            appendField(sb, Parser.FIELD_VERSION, version);
+            appendField(sb, Parser.FIELD_CHAIN_ID, chainId);
+            appendField(sb, Parser.FIELD_NONCE, nonce);
+            appendField(sb, Parser.FIELD_ISSUED_AT, issuedAt);
+            appendField(sb, Parser.FIELD_EXPIRATION_TIME, expirationTime);
+            appendField(sb, Parser.FIELD_NOT_BEFORE, notBefore);
+            appendField(sb, Parser.FIELD_REQUEST_ID, requestId);
             if (resources != null && resources.length > 0) {
-                StringBuilder resourcesBuilder = new StringBuilder("Resources:");
-                for (int i  = 0; i < resources.length; i++) {
-                    resourcesBuilder.append("\n- ");
-                    resourcesBuilder.append(resources[i].toString());
+                sb.append('\n').append(Parser.FIELD_RESOURCES);
+                for (Uri resource : resources) {
+                    sb.append('\n').append(Parser.RESOURCE_PREFIX).append(resource);
                 }
-                suffixArray.add(resourcesBuilder.toString());
             }
 
-            final String suffix = String.join("\n", suffixArray);
-
-            if (statement != null) {
-                prefix = String.join("\n\n", prefix, statement);
-                prefix += "\n";
-            } else {
-                prefix += "\n\n";
+            // With no fields, the message ends at the address or statement. Strip surrounding
+            // whitespace, as String.trim() would.
+            if (sb.length() == fieldsStart) {
+                int end = sb.length();
+                while (end > start && sb.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+                sb.setLength(end);
+                int leading = start;
+                while (leading < end && sb.charAt(leading) <= ' ') {
+                    leading++;
+                }
+                sb.delete(start, leading);
             }
+        }
 
-            return suffix.isEmpty() ? prefix.trim() : String.join("\n", prefix, suffix);
+        private static void appendField(@NonNull StringBuilder sb,
+                                        @NonNull String field,
+                                        @Nullable Object value) {
+            if (value != null) {
+                sb.append('\n').append(field).append(value);
+            }
         }
 
         @NonNull
@@ -386,83 +388,286 @@ public class SignInWithSolana {
     }
 
     static class Parser {
-        static final String DOMAIN = "(?<domain>([^?#]*)) wants you to sign in with your Solana account:";
-        static final String ADDRESS = "\\n(?<address>[a-zA-Z0-9]{32,44})(?:\\n{1,2}|$)";
-        static final String STATEMENT = "((?<statement>[\\S\\s]+?)(?:\\n|$))??";
-        static final String URI = "(?:(?:[^:?#]+):)?(?:[^?#\\n]*)?(?:[^?#\\n]*)(?:\\?(?:[^#\\n]*))?(?:#(?:.*))";
-        static final String URI_LINE = "(?:\\nURI: (?<uri>" + URI + "?))?";
-        static final String VERSION = "(?:\\nVersion: (?<version>1))?";
-        static final String CHAIN_ID = "(?:\\nChain ID: (?<chainId>[0-9]+))?";
-        static final String NONCE = "(?:\\nNonce: (?<nonce>[a-zA-Z0-9]{8,}))?";
-        static final String DATETIME = "(?:[0-9]+)-(?:0[1-9]|1[012])-(?:0[1-9]|[12][0-9]|3[01])[Tt](?:[01][0-9]|2[0-3]):(?:[0-5][0-9]):(?:[0-5][0-9]|60)(?:.[0-9]+)?(?:(?:[Zz])|(?:[+|-](?:[01][0-9]|2[0-3]):[0-5][0-9]))";
-        static final String ISSUED_AT = "(?:\\nIssued At: (?<issuedAt>" + DATETIME + "))?";
-        static final String EXPIRATION_TIME = "(?:\\nExpiration Time: (?<expirationTime>" + DATETIME + "))?";
-        static final String NOT_BEFORE = "(?:\\nNot Before: (?<notBefore>" + DATETIME + "))?";
-        static final String REQUEST_ID = "(?:\\nRequest ID: (?<requestId>[-._~!$&'()*+,;=:@%a-zA-Z0-9]*))?";
-        static final String RESOURCES = "(?:\\nResources:(?<resources>(\\n- " + URI + "?)+))?";
-        static final String MESSAGE = "^" + DOMAIN + ADDRESS + STATEMENT + URI_LINE + VERSION + CHAIN_ID
-                + NONCE + ISSUED_AT + EXPIRATION_TIME + NOT_BEFORE + REQUEST_ID + RESOURCES + "$";
-
-        public static final Pattern messagePattern = Pattern.compile(MESSAGE);
-
-        // named groups requires Android API 26, so we have to fall back on group index
-        static final int GROUP_DOMAIN = 1;
-        static final int GROUP_ADDRESS = 3;
-        static final int GROUP_STATEMENT = 5;
-        static final int GROUP_URI = 6;
-        static final int GROUP_VERSION = 7;
-        static final int GROUP_CHAIN_ID = 8;
-        static final int GROUP_NONCE = 9;
-        static final int GROUP_ISSUED_AT = 10;
-        static final int GROUP_EXPIRATION_TIME = 11;
-        static final int GROUP_NOT_BEFORE = 12;
-        static final int GROUP_REQUEST_ID = 13;
-        static final int GROUP_RESOURCES = 14;
-
+        static final String HEADER_SUFFIX = " wants you to sign in with your Solana account:";
+        static final String FIELD_URI = "URI: ";
+        static final String FIELD_VERSION = "Version: ";
+        static final String FIELD_CHAIN_ID = "Chain ID: ";
+        static final String FIELD_NONCE = "Nonce: ";
+        static final String FIELD_ISSUED_AT = "Issued At: ";
+        static final String FIELD_EXPIRATION_TIME = "Expiration Time: ";
+        static final String FIELD_NOT_BEFORE = "Not Before: ";
+        static final String FIELD_REQUEST_ID = "Request ID: ";
+        static final String FIELD_RESOURCES = "Resources:";
+        static final String RESOURCE_PREFIX = "- ";
+
+        // Fields, in the order in which they must appear in a message
+        private static final String[] FIELDS = {
+                FIELD_URI, FIELD_VERSION, FIELD_CHAIN_ID, FIELD_NONCE, FIELD_ISSUED_AT,
+                FIELD_EXPIRATION_TIME, FIELD_NOT_BEFORE, FIELD_REQUEST_ID, FIELD_RESOURCES
+        };
+        private static final int INDEX_URI = 0;
+        private static final int INDEX_VERSION = 1;
+        private static final int INDEX_CHAIN_ID = 2;
+        private static final int INDEX_NONCE = 3;
+        private static final int INDEX_ISSUED_AT = 4;
+        private static final int INDEX_EXPIRATION_TIME = 5;
+        private static final int INDEX_NOT_BEFORE = 6;
+        private static final int INDEX_REQUEST_ID = 7;
+        private static final int INDEX_RESOURCES = 8;
+
+        private static final int ADDRESS_MIN_LENGTH = 32;
+        private static final int ADDRESS_MAX_LENGTH = 44;
+        private static final int NONCE_MIN_LENGTH = 8;
+
+        // Parses a message in a single pass over its lines. The message layout is:
+        //   <domain> wants you to sign in with your Solana account:
+        //   <address>
+        //   [blank line]
+        //   [statement, possibly spanning multiple lines]
+        //   [blank line, if both a statement and fields are present]
+        //   [fields, each on its own line, in the order of FIELDS]
+        // The fields are located by scanning backwards from the end of the message; everything
+        // between the address and the fields is the statement. This runs in linear time for any
+        // input, unlike matching against a single regex with many optional groups.
         static Payload parseMessage(String message) {
-            Matcher payloadMatcher = Parser.messagePattern.matcher(message);
-            // named groups requires Android API 26, so we have to fall back on this unfortunate code
-            if (payloadMatcher.find()) {
-                String domain = payloadMatcher.group(GROUP_DOMAIN);
-                if (domain == null) {
-                    throw new IllegalArgumentException("Failed to parse message: domain not found");
-                }
+            final List<String> lines = splitLines(message);
+            if (lines.size() < 2) {
+                throw new IllegalArgumentException("Input is not a valid SIWS message");
+            }
+
+            final String header = lines.get(0);
+            if (!header.endsWith(HEADER_SUFFIX)) {
+                throw new IllegalArgumentException("Failed to parse message: domain not found");
+            }
+            final String domain = header.substring(0, header.length() - HEADER_SUFFIX.length());
+            if (domain.indexOf('?') != -1 || domain.indexOf('#') != -1) {
+                throw new IllegalArgumentException("Failed to parse message: invalid domain");
+            }
 
-                String addressStr = payloadMatcher.group(GROUP_ADDRESS);
-                if (addressStr == null) {
-                    throw new IllegalArgumentException("Failed to parse message: address not found");
+            final String addressStr = lines.get(1);
+            if (addressStr.length() < ADDRESS_MIN_LENGTH || addressStr.length() > ADDRESS_MAX_LENGTH
+                    || !isAlphanumeric(addressStr)) {
+                throw new IllegalArgumentException("Failed to parse message: address not found");
+            }
+            final byte[] address = Base58.decode(addressStr);
+
+            // A blank line is expected between the address and the rest of the message
+            int bodyStart = 2;
+            if (bodyStart < lines.size() && lines.get(bodyStart).isEmpty()) {
+                bodyStart++;
+            }
+
+            // Walk backwards over the trailing field lines
+            final int end = lines.size();
+            final String[] fields = new String[FIELDS.length];
+            int fieldsStart = end;
+            int resourcesStart = end;
+            while (resourcesStart > bodyStart &&
+                    lines.get(resourcesStart - 1).startsWith(RESOURCE_PREFIX)) {
+                resourcesStart--;
+            }
+            int nextField = FIELDS.length;
+            if (resourcesStart < end && resourcesStart > bodyStart &&
+                    lines.get(resourcesStart - 1).equals(FIELD_RESOURCES)) {
+                fieldsStart = resourcesStart - 1;
+                nextField = INDEX_RESOURCES;
+            } else if (resourcesStart < end) {
+                // Not a resources list; the trailing lines are part of the statement
+                resourcesStart = end;
+            }
+            while (fieldsStart > bodyStart) {
+                final String line = lines.get(fieldsStart - 1);
+                final int field = fieldIndexOf(line);
+                if (field == -1 || field == INDEX_RESOURCES) {
+                    break;
+                } else if (field >= nextField) {
+                    throw new IllegalArgumentException("Failed to parse message: field '" +
+                            FIELDS[field] + "' is duplicated or out of order");
                 }
-                byte [] address = Base58.decode(addressStr);
-
-                String statement = payloadMatcher.group(GROUP_STATEMENT);
-                String uriString = payloadMatcher.group(GROUP_URI);
-                Uri uri = uriString != null ? Uri.parse(uriString) : null;
-
-                String version = payloadMatcher.group(GROUP_VERSION);
-                String chainId = payloadMatcher.group(GROUP_CHAIN_ID);
-                String nonce = payloadMatcher.group(GROUP_NONCE);
-                String issuedAt = payloadMatcher.group(GROUP_ISSUED_AT);
-                String expirationTime = payloadMatcher.group(GROUP_EXPIRATION_TIME);
-                String notBefore = payloadMatcher.group(GROUP_NOT_BEFORE);
-                String requestId = payloadMatcher.group(GROUP_REQUEST_ID);
-
-                String resourcesString = payloadMatcher.group(GROUP_RESOURCES);
-                Uri[] resources;
-                if (resourcesString == null){
-                    resources = null;
-                } else {
-                    String[] resourcesSplit = resourcesString.split("\n- ");
-                    resources = new Uri[resourcesSplit.length - 1];
-                    for (int i = 0; i < resources.length; i++) {
-                        resources[i] = Uri.parse(resourcesSplit[i + 1]);
+                final String value = line.substring(FIELDS[field].length());
+                validateField(field, value);
+                fields[field] = value;
+                nextField = field;
+                fieldsStart--;
+            }
+
+            // Fields must either directly follow the address, or be separated from the
+            // statement by a blank line. Otherwise, they are part of the statement.
+            final int statementEnd;
+            if (fieldsStart == bodyStart) {
+                statementEnd = bodyStart;
+            } else if (fieldsStart < end && lines.get(fieldsStart - 1).isEmpty()) {
+                statementEnd = fieldsStart - 1;
+            } else {
+                Arrays.fill(fields, null);
+                fieldsStart = end;
+                resourcesStart = end;
+                // A statement which ends the message may be followed by its own line terminator
+                // in addition to the message's (trailing) one
+                statementEnd = (end > bodyStart + 1 && lines.get(end - 1).isEmpty()) ? end - 1 : end;
+            }
+
+            final String statement;
+            if (statementEnd > bodyStart) {
+                final StringBuilder sb = new StringBuilder();
+                for (int i = bodyStart; i < statementEnd; i++) {
+                    if (i > bodyStart) {
+                        sb.append('\n');
                     }
+                    sb.append(lines.get(i));
                 }
+                statement = sb.length() > 0 ? sb.toString() : null;
+            } else {
+                statement = null;
+            }
+
+            final Uri uri = fields[INDEX_URI] != null ? Uri.parse(fields[INDEX_URI]) : null;
 
-                return new Payload(domain, address, statement, uri, version, chainId, nonce,
-                        issuedAt, expirationTime, notBefore, requestId, resources);
+            final Uri[] resources;
+            if (fieldsStart < end && resourcesStart < end) {
+                resources = new Uri[end - resourcesStart];
+                for (int i = 0; i < resources.length; i++) {
+                    resources[i] = Uri.parse(lines.get(resourcesStart + i)
+                            .substring(RESOURCE_PREFIX.length()));
+                }
             } else {
-                throw new IllegalArgumentException("Input is not a valid SIWS message");
+                resources = null;
+            }
+
+            return new Payload(domain, address, statement, uri, fields[INDEX_VERSION],
+                    fields[INDEX_CHAIN_ID], fields[INDEX_NONCE], fields[INDEX_ISSUED_AT],
+                    fields[INDEX_EXPIRATION_TIME], fields[INDEX_NOT_BEFORE],
+                    fields[INDEX_REQUEST_ID], resources);
+        }
+
+        // Splits on '\n'. A single trailing line terminator does not start a new line.
+        @NonNull
+        private static List<String> splitLines(@NonNull String message) {
+            final List<String> lines = new ArrayList<>();
+            int start = 0;
+            for (int i = message.indexOf('\n'); i != -1; i = message.indexOf('\n', start)) {
+                lines.add(message.substring(start, i));
+                start = i + 1;
+            }
+            if (start < message.length() || lines.isEmpty()) {
+                lines.add(message.substring(start));
+            }
+            return lines;
+        }
+
+        private static int fieldIndexOf(@NonNull String line) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (line.startsWith(FIELDS[i])) {
+                    return (i == INDEX_RESOURCES && line.length() != FIELD_RESOURCES.length()) ? -1 : i;
+                }
+            }
+            return -1;
+        }
+
+        private static void validateField(int field, @NonNull String value) {
+            final boolean valid;
+            switch (field) {
+                case INDEX_URI:
+                    valid = true; // any single line is accepted; validity is up to the verifier
+                    break;
+                case INDEX_VERSION:
+                    valid = value.equals("1");
+                    break;
+                case INDEX_CHAIN_ID:
+                    valid = !value.isEmpty() && isDigits(value, 0, value.length());
+                    break;
+                case INDEX_NONCE:
+                    valid = value.length() >= NONCE_MIN_LENGTH && isAlphanumeric(value);
+                    break;
+                case INDEX_ISSUED_AT:
+                case INDEX_EXPIRATION_TIME:
+                case INDEX_NOT_BEFORE:
+                    valid = isDateTime(value);
+                    break;
+                case INDEX_REQUEST_ID:
+                    valid = isRequestId(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected field index " + field);
+            }
+            if (!valid) {
+                throw new IllegalArgumentException("Failed to parse message: invalid value for field '" +
+                        FIELDS[field] + "'");
+            }
+        }
+
+        private static boolean isAlphanumeric(@NonNull String s) {
+            for (int i = 0; i < s.length(); i++) {
+                final char c = s.charAt(i);
+                if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isDigits(@NonNull String s, int start, int end) {
+            for (int i = start; i < end; i++) {
+                final char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isRequestId(@NonNull String s) {
+            for (int i = 0; i < s.length(); i++) {
+                final char c = s.charAt(i);
+                if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                        || "-._~!$&'()*+,;=:@%".indexOf(c) != -1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Whether [i, i+2) is a two-digit value in the range [min, max]
+        private static boolean isTwoDigits(@NonNull String s, int i, int min, int max) {
+            if (i + 2 > s.length() || !isDigits(s, i, i + 2)) {
+                return false;
+            }
+            final int v = (s.charAt(i) - '0') * 10 + (s.charAt(i + 1) - '0');
+            return v >= min && v <= max;
+        }
+
+        // RFC 3339 date-time: YYYY-MM-DDThh:mm:ss[.fraction](Z|+hh:mm|-hh:mm)
+        private static boolean isDateTime(@NonNull String s) {
+            int i = s.indexOf('-');
+            if (i < 1 || !isDigits(s, 0, i)) return false;
+            if (!isTwoDigits(s, i + 1, 1, 12)) return false;
+            i += 3;
+            if (i >= s.length() || s.charAt(i) != '-') return false;
+            if (!isTwoDigits(s, i + 1, 1, 31)) return false;
+            i += 3;
+            if (i >= s.length() || (s.charAt(i) != 'T' && s.charAt(i) != 't')) return false;
+            if (!isTwoDigits(s, i + 1, 0, 23)) return false;
+            i += 3;
+            if (i >= s.length() || s.charAt(i) != ':') return false;
+            if (!isTwoDigits(s, i + 1, 0, 59)) return false;
+            i += 3;
+            if (i >= s.length() || s.charAt(i) != ':') return false;
+            if (!isTwoDigits(s, i + 1, 0, 60)) return false;
+            i += 3;
+            if (i < s.length() && s.charAt(i) == '.') {
+                final int fractionStart = ++i;
+                while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') i++;
+                if (i == fractionStart) return false;
+            }
+            if (i >= s.length()) return false;
+            final char tz = s.charAt(i);
+            if (tz == 'Z' || tz == 'z') {
+                return i + 1 == s.length();
+            } else if (tz == '+' || tz == '-') {
+                return i + 6 == s.length() && isTwoDigits(s, i + 1, 0, 23) &&
+                        s.charAt(i + 3) == ':' && isTwoDigits(s, i + 4, 0, 59);
             }
+            return false;
         }
 
         private Parser() {}
@@ -4,88 +4,278 @@
 
 package com.solana.mobilewalletadapter.common.util;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 
-import java.nio.charset.StandardCharsets;
-
 public class Base58 {
+    // Base conversion is done on limbs rather than on individual digits. Encoding accumulates
+    // 32-bit input words into base 58^5 output limbs (5 base58 digits each), and decoding
+    // accumulates groups of 5 base58 digits into 32-bit output limbs. Both products fit in a long,
+    // reducing the number of inner loop iterations by ~20x relative to byte-at-a-time conversion.
+    private static final int DIGITS_PER_LIMB = 5;
+    private static final long LIMB_BASE = 58L * 58 * 58 * 58 * 58; // 58^5
+    private static final int[] POW58 = { 1, 58, 58 * 58, 58 * 58 * 58, 58 * 58 * 58 * 58 };
+
+    // Public keys (32 bytes) and signatures (64 bytes) are encoded and decoded on nearly every
+    // request. Inputs up to this size use a per-thread scratch buffer, so the only allocation is
+    // for the result.
+    private static final int MAX_CACHED_SCRATCH_BYTES = 64;
+    private static final ThreadLocal<Scratch> sScratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    @NonNull
+    private static Scratch scratchFor(int numBytes) {
+        return (numBytes <= MAX_CACHED_SCRATCH_BYTES) ? sScratch.get() : new Scratch();
+    }
+
     @NonNull
     public static byte[] decode(@NonNull final String base58) {
-        // Max output size is the same length as the input data (for a base58 string of all '1's)
-        final int maxDecodedSize = base58.length();
-        final byte[] decoded = new byte[maxDecodedSize];
+        final Scratch scratch = scratchFor(maxDecodedSize(base58.length()));
+        final int len = scratch.decode(base58);
+        final byte[] result = new byte[len];
+        scratch.copyDecoded(result, 0, len);
+        return result;
+    }
+
+    /**
+     * Decode a base58 string directly into a caller-supplied buffer
+     * @param base58 the base58 string to decode
+     * @param dst the buffer into which to write the decoded bytes
+     * @param dstOffset the offset in dst at which to start writing
+     * @return the number of bytes written to dst
+     * @throws IllegalArgumentException if base58 is not a valid base58 string, or if the decoded
+     *      bytes do not fit in dst
+     */
+    @IntRange(from = 0)
+    public static int decode(@NonNull final String base58,
+                             @NonNull final byte[] dst,
+                             @IntRange(from = 0) final int dstOffset) {
+        final Scratch scratch = scratchFor(maxDecodedSize(base58.length()));
+        final int len = scratch.decode(base58);
+        if (dstOffset < 0 || dstOffset + len > dst.length) {
+            throw new IllegalArgumentException("Decoded length " + len + " exceeds space in dst");
+        }
+        scratch.copyDecoded(dst, dstOffset, len);
+        return len;
+    }
+
+    /**
+     * Decode an array of base58 strings, reusing a single set of scratch buffers for all entries
+     * @param base58s the base58 strings to decode
+     * @return the decoded byte arrays, in the same order as base58s
+     * @throws IllegalArgumentException if any entry is not a valid base58 string
+     */
+    @NonNull
+    public static byte[][] decodeAll(@NonNull final String[] base58s) {
+        final Scratch scratch = new Scratch();
+        final byte[][] result = new byte[base58s.length][];
+        for (int i = 0; i < base58s.length; i++) {
+            final int len = scratch.decode(base58s[i]);
+            result[i] = new byte[len];
+            scratch.copyDecoded(result[i], 0, len);
+        }
+        return result;
+    }
+
+    @NonNull
+    public static String encode(@NonNull final byte[] bytes) {
+        return scratchFor(bytes.length).encode(bytes, 0, bytes.length);
+    }
+
+    @NonNull
+    public static String encode(@NonNull final byte[] bytes,
+                                @IntRange(from = 0) final int offset,
+                                @IntRange(from = 0) final int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Invalid offset/length for input of size " + bytes.length);
+        }
+        return scratchFor(length).encode(bytes, offset, length);
+    }
 
-        // Convert from base58 alphabet characters to the corresponding value
-        final byte[] bytes = new byte[maxDecodedSize];
+    /**
+     * Encode an array of byte arrays, reusing a single set of scratch buffers for all entries
+     * @param bytes the byte arrays to encode
+     * @return the base58 strings, in the same order as bytes
+     */
+    @NonNull
+    public static String[] encodeAll(@NonNull final byte[][] bytes) {
+        final Scratch scratch = new Scratch();
+        final String[] result = new String[bytes.length];
         for (int i = 0; i < bytes.length; i++) {
-            final char c = base58.charAt(i);
-            bytes[i] = (c <= BASE58_ALPHABET_ASCII_LOOKUP.length ?
-                    BASE58_ALPHABET_ASCII_LOOKUP[c] : -1);
-            if (bytes[i] == -1) {
-                throw new IllegalArgumentException("Character '" + c + "' at [" + i + "] is not a valid base58 character");
-            }
+            result[i] = scratch.encode(bytes[i], 0, bytes[i].length);
         }
+        return result;
+    }
+
+    // Max encoded size is ceil(log2(256) / log2(58) * input_size). In efficient integer math,
+    // a slight overestimate of this is (((input_size * 352) + 255) / 256).
+    private static int maxEncodedSize(int inputSize) {
+        return (((inputSize * 352) + 255) / 256);
+    }
+
+    // Max decoded size is ceil(log2(58) / log2(256) * input_size). In efficient integer math, a
+    // slight overestimate of this is (((input_size * 188) + 255) / 256).
+    private static int maxDecodedSize(int inputSize) {
+        return (((inputSize * 188) + 255) / 256);
+    }
+
+    private static final class Scratch {
+        private int[] mLimbs = new int[0];
+        private char[] mChars = new char[0];
+        private int mUsedLimbs;
 
-        // Skip all leading zeroes; we'll handle these separately at the end
-        int start = 0;
-        while (start < bytes.length && bytes[start] == 0) {
-            start++;
+        private void ensureLimbs(int numLimbs) {
+            if (mLimbs.length < numLimbs) {
+                mLimbs = new int[numLimbs];
+            }
         }
-        int zeroes = start;
 
-        int pos = bytes.length - 1; // NOTE: pos can go as low as -1
-        while (start < bytes.length) {
-            if (bytes[start] == (byte) 0) {
+        @NonNull
+        String encode(@NonNull final byte[] bytes, final int offset, final int length) {
+            final int end = offset + length;
+
+            int start = offset;
+            while (start < end && bytes[start] == (byte) 0) {
                 start++;
-            } else {
-                int mod = 0;
-                for (int i = start; i < bytes.length; i++) {
-                    mod = mod * 58 + bytes[i];
-                    bytes[i] = (byte) (mod / 256);
-                    mod %= 256;
+            }
+            final int zeroes = start - offset;
+            final int significant = end - start;
+
+            final int maxDigits = maxEncodedSize(significant);
+            ensureLimbs((maxDigits + DIGITS_PER_LIMB - 1) / DIGITS_PER_LIMB);
+            final int[] limbs = mLimbs; // little-endian, each entry in 0..(58^5 - 1)
+            int used = 0;
+
+            // Consume the input as big-endian 32-bit words. The first word may be partial, but
+            // as there are no limbs yet when it is consumed, it needs no special handling.
+            int pos = start;
+            int wordLen = (significant % 4 == 0) ? 4 : (significant % 4);
+            while (pos < end) {
+                long carry = 0;
+                for (int i = 0; i < wordLen; i++) {
+                    carry = (carry << 8) | (bytes[pos++] & 0xff);
                 }
-                decoded[pos--] = (byte) mod;
+                for (int i = 0; i < used; i++) {
+                    final long t = ((long) limbs[i] << 32) + carry;
+                    limbs[i] = (int) (t % LIMB_BASE);
+                    carry = t / LIMB_BASE;
+                }
+                while (carry != 0) {
+                    limbs[used++] = (int) (carry % LIMB_BASE);
+                    carry /= LIMB_BASE;
+                }
+                wordLen = 4;
             }
-        }
 
-        final byte[] result = new byte[zeroes + bytes.length - pos - 1];
-        System.arraycopy(decoded, pos + 1, result, zeroes, bytes.length - pos - 1);
-        return result;
-    }
+            final int totalChars = zeroes + used * DIGITS_PER_LIMB;
+            if (mChars.length < totalChars) {
+                mChars = new char[totalChars];
+            }
+            final char[] chars = mChars;
+            int c = 0;
+            while (c < zeroes) {
+                chars[c++] = (char) BASE58_ALPHABET[0];
+            }
+            if (used > 0) {
+                // Most significant limb is written without leading zero digits
+                int msl = limbs[used - 1];
+                int numDigits = 1;
+                while (numDigits < DIGITS_PER_LIMB && msl >= POW58[numDigits]) {
+                    numDigits++;
+                }
+                c = writeDigits(chars, c, msl, numDigits);
+                for (int i = used - 2; i >= 0; i--) {
+                    c = writeDigits(chars, c, limbs[i], DIGITS_PER_LIMB);
+                }
+            }
 
-    @NonNull
-    public static String encode(@NonNull final byte[] bytes) {
-        // Max output size is ceil(log2(256) / log2(58) * input_size). In efficient integer math,
-        // a slight overestimate of this is (((input_size * 352) + 255) / 256).
-        final int maxEncodedSize = (((bytes.length * 352) + 255) / 256);
-        final byte[] encoded = new byte[maxEncodedSize];
-
-        int start = 0;
-        while (start < bytes.length && bytes[start] == (byte) 0) {
-            encoded[start] = BASE58_ALPHABET[0];
-            start++;
+            return new String(chars, 0, c);
         }
 
-        // Note: during this processing loop, entries in encoded are bounded to 0..57
-        int pos = maxEncodedSize - 1; // NOTE: pos can go as low as -1
-        for (int i = start; i < bytes.length; i++) {
-            int carry = ((int) bytes[i]) & 0xff; // interpret signed byte as unsigned int
-            int j = maxEncodedSize - 1;
-            while(carry != 0 || j > pos) {
-                carry += encoded[j] * 256;
-                encoded[j] = (byte) (carry % 58);
-                carry /= 58;
-                j--;
+        private static int writeDigits(@NonNull char[] chars, int pos, int limb, int numDigits) {
+            for (int i = numDigits - 1; i >= 0; i--) {
+                chars[pos + i] = (char) BASE58_ALPHABET[limb % 58];
+                limb /= 58;
             }
-            pos = j;
+            return pos + numDigits;
         }
 
-        // Transform encoded into the base58 alphabet
-        for (int i = pos + 1; i < maxEncodedSize; i++) {
-            encoded[start++] = BASE58_ALPHABET[encoded[i]];
+        // Returns the decoded length; the decoded bytes are retrieved with copyDecoded
+        int decode(@NonNull final String base58) {
+            final int length = base58.length();
+
+            int zeroes = 0;
+            while (zeroes < length && base58.charAt(zeroes) == BASE58_ALPHABET[0]) {
+                zeroes++;
+            }
+            final int significant = length - zeroes;
+
+            ensureLimbs((maxDecodedSize(significant) + 3) / 4 + 1);
+            final int[] limbs = mLimbs; // little-endian, each entry an unsigned 32-bit value
+            int used = 0;
+
+            // Consume the input in groups of 5 digits. The first group may be partial, but as
+            // there are no limbs yet when it is consumed, it needs no special handling.
+            int pos = zeroes;
+            int groupLen = (significant % DIGITS_PER_LIMB == 0) ?
+                    DIGITS_PER_LIMB : (significant % DIGITS_PER_LIMB);
+            while (pos < length) {
+                long carry = 0;
+                for (int i = 0; i < groupLen; i++, pos++) {
+                    carry = carry * 58 + digitAt(base58, pos);
+                }
+                for (int i = 0; i < used; i++) {
+                    final long t = (limbs[i] & 0xffffffffL) * LIMB_BASE + carry;
+                    limbs[i] = (int) t;
+                    carry = t >>> 32;
+                }
+                while (carry != 0) {
+                    limbs[used++] = (int) carry;
+                    carry >>>= 32;
+                }
+                groupLen = DIGITS_PER_LIMB;
+            }
+            mUsedLimbs = used;
+
+            int significantBytes = used * 4;
+            if (used > 0) {
+                final int msl = limbs[used - 1];
+                significantBytes -= Integer.numberOfLeadingZeros(msl) / 8;
+            }
+            return zeroes + significantBytes;
+        }
+
+        private static int digitAt(@NonNull String base58, int i) {
+            final char c = base58.charAt(i);
+            final int digit = (c < BASE58_ALPHABET_ASCII_LOOKUP.length ?
+                    BASE58_ALPHABET_ASCII_LOOKUP[c] : -1);
+            if (digit == -1) {
+                throw new IllegalArgumentException("Character '" + c + "' at [" + i + "] is not a valid base58 character");
+            }
+            return digit;
         }
 
-        return new String(encoded, 0, start, StandardCharsets.UTF_8);
+        void copyDecoded(@NonNull final byte[] dst, final int dstOffset, final int decodedLength) {
+            // Write the limbs big-endian from the end of the output; leading zeroes fill the rest
+            int pos = dstOffset + decodedLength - 1;
+            for (int i = 0; i < mUsedLimbs; i++) {
+                int limb = mLimbs[i];
+                for (int j = 0; j < 4 && pos >= dstOffset; j++) {
+                    if (i == mUsedLimbs - 1 && limb == 0) {
+                        break;
+                    }
+                    dst[pos--] = (byte) limb;
+                    limb >>>= 8;
+                }
+            }
+            while (pos >= dstOffset) {
+                dst[pos--] = 0;
+            }
+        }
     }
 
     // Not constructable
@@ -6,11 +6,18 @@ package com.solana.mobilewalletadapter.common.util;
 
 import androidx.annotation.NonNull;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 
 public interface NotifyOnCompleteFuture<T> extends Future<T> {
     void notifyOnComplete(@NonNull OnCompleteCallback<? super NotifyOnCompleteFuture<T>> cb);
 
+    // As notifyOnComplete(cb), but cb runs on executor rather than on the completing thread
+    default void notifyOnComplete(@NonNull OnCompleteCallback<? super NotifyOnCompleteFuture<T>> cb,
+                                  @NonNull Executor executor) {
+        notifyOnComplete(f -> executor.execute(() -> cb.onComplete(f)));
+    }
+
     interface OnCompleteCallback<T extends Future<?>> {
         void onComplete(@NonNull T future);
     }
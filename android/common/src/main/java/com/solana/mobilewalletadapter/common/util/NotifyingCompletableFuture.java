@@ -4,89 +4,85 @@
 
 package com.solana.mobilewalletadapter.common.util;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+// Completion, cancellation, and callback registration are lock-free. Only get() blocks, and only
+// while the future is not yet complete.
 public class NotifyingCompletableFuture<T> implements NotifyOnCompleteFuture<T> {
-    private boolean mIsCancelled;
-    private boolean mIsComplete;
-    private T mResult;
-    private Exception mException;
-    private OnCompleteCallback<? super NotifyOnCompleteFuture<T>> mOnCompleteCallback;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<NotifyingCompletableFuture, Outcome> OUTCOME =
+            AtomicReferenceFieldUpdater.newUpdater(NotifyingCompletableFuture.class, Outcome.class, "mOutcome");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<NotifyingCompletableFuture, CallbackNode> CALLBACKS =
+            AtomicReferenceFieldUpdater.newUpdater(NotifyingCompletableFuture.class, CallbackNode.class, "mCallbacks");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<NotifyingCompletableFuture, CountDownLatch> WAITERS =
+            AtomicReferenceFieldUpdater.newUpdater(NotifyingCompletableFuture.class, CountDownLatch.class, "mWaiters");
+
+    // Replaces the callback stack once the future is complete, so that later registrations run
+    // their callback immediately
+    private static final CallbackNode<?> DISPATCHED = new CallbackNode<>(null, null, null);
+
+    private static final Outcome CANCELLED = new Outcome(null, null, true);
+
+    @Nullable
+    private volatile Outcome mOutcome; // null until complete
+    @Nullable
+    private volatile CallbackNode<T> mCallbacks; // most recently registered first
+    @Nullable
+    private volatile CountDownLatch mWaiters; // created by the first thread to block in get()
 
     public boolean complete(@Nullable T result) {
-        synchronized (this) {
-            if (mIsComplete) {
-                return false;
-            }
-            mIsComplete = true;
-            mResult = result;
-            notifyAll();
-        }
-        dispatchOnCompletionNotification();
-        return true;
+        return setOutcome(new Outcome(result, null, false));
     }
 
     public boolean completeExceptionally(@NonNull Exception ex) {
-        synchronized (this) {
-            if (mIsComplete) {
-                return false;
-            }
-            mIsComplete = true;
-            mException = ex;
-            notifyAll();
-        }
-        dispatchOnCompletionNotification();
-        return true;
+        return setOutcome(new Outcome(null, ex, false));
     }
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
-        synchronized (this) {
-            if (mIsComplete) {
-                return false;
-            }
-            mIsComplete = true;
-            mIsCancelled = true;
-            notifyAll();
-        }
-        dispatchOnCompletionNotification();
-        return true;
+        return setOutcome(CANCELLED);
     }
 
     @Override
     public boolean isCancelled() {
-        synchronized (this) {
-            return mIsCancelled;
-        }
+        final Outcome outcome = mOutcome;
+        return outcome != null && outcome.cancelled;
     }
 
     @Override
     public boolean isDone() {
-        synchronized (this) {
-            return mIsComplete;
-        }
+        return mOutcome != null;
     }
 
     @Nullable
     @Override
     public T get() throws ExecutionException, CancellationException, InterruptedException {
-        synchronized (this) {
-            while (!mIsComplete) {
-                wait();
+        Outcome outcome = mOutcome;
+        if (outcome == null) {
+            final CountDownLatch waiters = getWaiters();
+            // N.B. the outcome is checked again after the latch is published, so a completion that
+            // did not observe the latch is still observed here
+            if (mOutcome == null) {
+                waiters.await();
             }
-            if (mIsCancelled) {
-                throw new CancellationException();
-            } else if (mException != null) {
-                throw new ExecutionException(mException);
-            }
-            return mResult;
+            outcome = mOutcome;
         }
+        return outcome.getResult();
     }
 
     @Nullable
@@ -97,73 +93,176 @@ public class NotifyingCompletableFuture<T> implements NotifyOnCompleteFuture<T>
             throw new IllegalArgumentException("Invalid time unit specified");
         }
 
-        synchronized (this) {
-            final long deadline = System.nanoTime() + unit.toNanos(timeout);
-            while (!mIsComplete) {
-                final long now = System.nanoTime();
-                if (now >= deadline) break;
-                unit.timedWait(this, deadline - now);
-            }
-
-            if (!mIsComplete) {
+        Outcome outcome = mOutcome;
+        if (outcome == null) {
+            final CountDownLatch waiters = getWaiters();
+            if (mOutcome == null && !waiters.await(timeout, unit)) {
                 throw new TimeoutException();
-            } else if (mIsCancelled) {
-                throw new CancellationException();
-            } else if (mException != null) {
-                throw new ExecutionException(mException);
             }
-            return mResult;
+            outcome = mOutcome;
         }
+        return outcome.getResult();
     }
 
     @Override
     public void notifyOnComplete(@NonNull OnCompleteCallback<? super NotifyOnCompleteFuture<T>> cb) {
-        final boolean completeImmediately;
-        synchronized (this) {
-            if (mOnCompleteCallback != null) {
-                throw new UnsupportedOperationException("Only a single completion callback may be registered");
+        notifyOnComplete(cb, null);
+    }
+
+    // Any number of callbacks may be registered; they are dispatched in the order they were
+    // registered. If executor is null, cb runs on the completing thread (or immediately, if this
+    // future is already complete).
+    @Override
+    public void notifyOnComplete(@NonNull OnCompleteCallback<? super NotifyOnCompleteFuture<T>> cb,
+                                 @Nullable Executor executor) {
+        CallbackNode<T> head;
+        CallbackNode<T> node = null;
+        do {
+            head = mCallbacks;
+            if (head == DISPATCHED) {
+                dispatch(cb, executor);
+                return;
             }
+            if (node == null) {
+                node = new CallbackNode<>(cb, executor, head);
+            } else {
+                node.next = head;
+            }
+        } while (!CALLBACKS.compareAndSet(this, head, node));
+    }
 
-            if (mIsComplete) {
-                completeImmediately = true;
+    /**
+     * @return a {@link CompletableFuture} completed with the outcome of this future. Cancelling the
+     *         returned future does not cancel this one.
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    @NonNull
+    public CompletableFuture<T> toCompletableFuture() {
+        final CompletableFuture<T> cf = new CompletableFuture<>();
+        notifyOnComplete(f -> {
+            final Outcome outcome = mOutcome;
+            if (outcome.cancelled) {
+                cf.cancel(false);
+            } else if (outcome.exception != null) {
+                cf.completeExceptionally(outcome.exception);
             } else {
-                completeImmediately = false;
-                mOnCompleteCallback = cb;
+                cf.complete(uncheckedResult(outcome));
             }
+        });
+        return cf;
+    }
+
+    private boolean setOutcome(@NonNull Outcome outcome) {
+        if (!OUTCOME.compareAndSet(this, null, outcome)) {
+            return false;
         }
 
-        if (completeImmediately) {
-            cb.onComplete(this);
+        final CountDownLatch waiters = mWaiters;
+        if (waiters != null) {
+            waiters.countDown();
         }
+
+        dispatchOnCompletionNotifications();
+        return true;
     }
 
-    private void dispatchOnCompletionNotification() {
-        final OnCompleteCallback<? super NotifyOnCompleteFuture<T>> cb;
-        synchronized (this) {
-            cb = mOnCompleteCallback;
-            if (cb == null) {
-                return;
-            }
-            mOnCompleteCallback = null;
+    @NonNull
+    private CountDownLatch getWaiters() {
+        final CountDownLatch waiters = mWaiters;
+        if (waiters != null) {
+            return waiters;
         }
-        cb.onComplete(this);
+        WAITERS.compareAndSet(this, null, new CountDownLatch(1));
+        return mWaiters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatchOnCompletionNotifications() {
+        CallbackNode<T> node = CALLBACKS.getAndSet(this, DISPATCHED);
+
+        // Reverse the stack, to dispatch callbacks in the order they were registered
+        CallbackNode<T> ordered = null;
+        while (node != null) {
+            final CallbackNode<T> next = node.next;
+            node.next = ordered;
+            ordered = node;
+            node = next;
+        }
+
+        for (; ordered != null; ordered = ordered.next) {
+            dispatch(ordered.callback, ordered.executor);
+        }
+    }
+
+    private void dispatch(@NonNull OnCompleteCallback<? super NotifyOnCompleteFuture<T>> cb,
+                          @Nullable Executor executor) {
+        if (executor == null) {
+            cb.onComplete(this);
+        } else {
+            executor.execute(() -> cb.onComplete(this));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private T uncheckedResult(@NonNull Outcome outcome) {
+        return (T) outcome.result;
     }
 
     @NonNull
     @Override
     public String toString() {
+        final Outcome outcome = mOutcome;
         final String s;
-        if (mIsCancelled) {
+        if (outcome == null) {
+            s = "NotifyingCompletableFuture{NOT_COMPLETE}";
+        } else if (outcome.cancelled) {
             s = "NotifyingCompletableFuture{CANCELLED}";
-        } else if (mIsComplete) {
-            if (mResult != null) {
-                s = "NotifyingCompletableFuture{COMPLETE, mResult=" + mResult + '}';
-            } else {
-                s = "NotifyingCompletableFuture{EXCEPTION, mException=" + mException + '}';
-            }
+        } else if (outcome.exception != null) {
+            s = "NotifyingCompletableFuture{EXCEPTION, mException=" + outcome.exception + '}';
         } else {
-            s = "NotifyingCompletableFuture{NOT_COMPLETE}";
+            s = "NotifyingCompletableFuture{COMPLETE, mResult=" + outcome.result + '}';
         }
         return s;
     }
+
+    private static final class Outcome {
+        @Nullable
+        final Object result;
+        @Nullable
+        final Exception exception;
+        final boolean cancelled;
+
+        Outcome(@Nullable Object result, @Nullable Exception exception, boolean cancelled) {
+            this.result = result;
+            this.exception = exception;
+            this.cancelled = cancelled;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T getResult() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            } else if (exception != null) {
+                throw new ExecutionException(exception);
+            }
+            return (T) result;
+        }
+    }
+
+    private static final class CallbackNode<T> {
+        final OnCompleteCallback<? super NotifyOnCompleteFuture<T>> callback;
+        @Nullable
+        final Executor executor;
+        @Nullable
+        CallbackNode<T> next; // written only before publication, or by the dispatching thread
+
+        CallbackNode(OnCompleteCallback<? super NotifyOnCompleteFuture<T>> callback,
+                     @Nullable Executor executor,
+                     @Nullable CallbackNode<T> next) {
+            this.callback = callback;
+            this.executor = executor;
+            this.next = next;
+        }
+    }
 }
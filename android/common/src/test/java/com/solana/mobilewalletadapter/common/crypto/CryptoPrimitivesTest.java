@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.common.crypto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class CryptoPrimitivesTest {
+    @Test
+    public void testInstancesAreReusedOnSameThread() throws Exception {
+        assertSame(CryptoPrimitives.hmacSHA256(), CryptoPrimitives.hmacSHA256());
+        assertSame(CryptoPrimitives.sha256WithECDSA(), CryptoPrimitives.sha256WithECDSA());
+        assertSame(CryptoPrimitives.ecdh(), CryptoPrimitives.ecdh());
+    }
+
+    @Test
+    public void testInstancesAreNotSharedAcrossThreads() throws Exception {
+        // given
+        final Mac mac = CryptoPrimitives.hmacSHA256();
+        final AtomicReference<Mac> otherThreadMac = new AtomicReference<>();
+
+        // when
+        final Thread t = new Thread(() -> {
+            try {
+                otherThreadMac.set(CryptoPrimitives.hmacSHA256());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        t.start();
+        t.join();
+
+        // then
+        assertNotSame(mac, otherThreadMac.get());
+    }
+
+    @Test
+    public void testReusedMacMatchesFreshMac() throws Exception {
+        // given
+        final SecretKeySpec key1 = new SecretKeySpec(new byte[] { 1, 2, 3 }, "HmacSHA256");
+        final SecretKeySpec key2 = new SecretKeySpec(new byte[] { 4, 5, 6 }, "HmacSHA256");
+        final byte[] data = new byte[] { 7, 8, 9 };
+        final Mac cached = CryptoPrimitives.hmacSHA256();
+        cached.init(key1);
+        cached.update(data); // left unfinished
+
+        // when
+        cached.init(key2);
+        final byte[] hmac = cached.doFinal(data);
+
+        // then
+        final Mac fresh = Mac.getInstance("HmacSHA256");
+        fresh.init(key2);
+        assertArrayEquals(fresh.doFinal(data), hmac);
+    }
+}
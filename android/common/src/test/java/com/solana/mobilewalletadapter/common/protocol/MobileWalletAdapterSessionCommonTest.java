@@ -0,0 +1,607 @@
+package com.solana.mobilewalletadapter.common.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(RobolectricTestRunner.class)
+public class MobileWalletAdapterSessionCommonTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private TestSession mSender;
+    private TestSession mReceiver;
+
+    @Before
+    public void setUp() {
+        final ECPublicKey associationPublicKey =
+                (ECPublicKey) MobileWalletAdapterSessionCommon.generateECP256KeyPair().getPublic();
+        mSender = new TestSession(associationPublicKey);
+        mReceiver = new TestSession(associationPublicKey);
+        final ECPublicKey senderPublicKey = mSender.startEstablishment();
+        final ECPublicKey receiverPublicKey = mReceiver.startEstablishment();
+        mSender.finishEstablishment(receiverPublicKey);
+        mReceiver.finishEstablishment(senderPublicKey);
+    }
+
+    @Test
+    public void testLargeMessageIsSentAsChunkedFrames() throws IOException {
+        // given
+        final byte[] message = randomBytes(CHUNK_SIZE * 3 + 1);
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+
+        // when
+        mSender.send(message);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertEquals(4, mSender.sentFrames.size());
+        for (byte[] frame : mSender.sentFrames) {
+            assertTrue(frame.length <= CHUNK_SIZE + 64);
+        }
+        assertEquals(1, mReceiver.receivedMessages.size());
+        assertArrayEquals(message, mReceiver.receivedMessages.get(0));
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testSmallMessageIsNotChunked() throws IOException {
+        // given
+        final byte[] message = randomBytes(CHUNK_SIZE);
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+
+        // when
+        mSender.send(message);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertEquals(1, mSender.sentFrames.size());
+        assertEquals(0, mSender.sentFrames.get(0)[0] & 0x80);
+        assertArrayEquals(message, mReceiver.receivedMessages.get(0));
+    }
+
+    @Test
+    public void testChunkedAndUnchunkedMessagesInterleave() throws IOException {
+        // given
+        final byte[] message1 = randomBytes(CHUNK_SIZE * 2);
+        final byte[] message2 = randomBytes(10);
+        final byte[] message3 = randomBytes(CHUNK_SIZE * 5 + 7);
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+
+        // when
+        mSender.send(message1);
+        mSender.send(message2);
+        mSender.send(message3);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertEquals(3, mReceiver.receivedMessages.size());
+        assertArrayEquals(message1, mReceiver.receivedMessages.get(0));
+        assertArrayEquals(message2, mReceiver.receivedMessages.get(1));
+        assertArrayEquals(message3, mReceiver.receivedMessages.get(2));
+    }
+
+    @Test
+    public void testChunkedFramesRejectedWhenNotAdvertised() throws IOException {
+        // given
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+
+        // when
+        mSender.send(randomBytes(CHUNK_SIZE * 2));
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testChunkLargerThanAdvertisedIsRejected() throws IOException {
+        // given
+        mSender.setTxMaxChunkSize(CHUNK_SIZE * 2);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+
+        // when
+        mSender.send(randomBytes(CHUNK_SIZE * 4));
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testDroppedChunkIsRejected() throws IOException {
+        // given
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+        mSender.send(randomBytes(CHUNK_SIZE * 3));
+
+        // when
+        mSender.sentFrames.remove(1);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testTamperedChunkHeaderIsRejected() throws IOException {
+        // given
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+        mSender.send(randomBytes(CHUNK_SIZE * 3));
+
+        // when
+        mSender.sentFrames.get(0)[4] ^= 0x01; // mark the first chunk as final
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentChunkedMessagesDoNotInterleave() throws Exception {
+        // given
+        final byte[] message1 = randomBytes(CHUNK_SIZE * 20 + 1);
+        final byte[] message2 = randomBytes(CHUNK_SIZE * 20 + 2);
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+        final Thread sender1 = new Thread(() -> sendUnchecked(mSender, message1));
+        final Thread sender2 = new Thread(() -> sendUnchecked(mSender, message2));
+
+        // when
+        sender1.start();
+        sender2.start();
+        sender1.join();
+        sender2.join();
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertFalse(mReceiver.sessionError);
+        assertEquals(2, mReceiver.receivedMessages.size());
+        final byte[] first = mReceiver.receivedMessages.get(0);
+        final byte[] second = mReceiver.receivedMessages.get(1);
+        assertTrue((Arrays.equals(message1, first) && Arrays.equals(message2, second)) ||
+                (Arrays.equals(message2, first) && Arrays.equals(message1, second)));
+    }
+
+    @Test
+    public void testChunksAreEncryptedAsTheyAreSent() throws IOException {
+        // given
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+        mSender.closeAfterFrames = 2;
+
+        // when
+        final IOException thrown = assertThrows(IOException.class,
+                () -> mSender.send(randomBytes(CHUNK_SIZE * 5)));
+
+        // then
+        assertTrue(thrown.getMessage().contains("CLOSED"));
+        assertEquals(2, mSender.sentFrames.size());
+    }
+
+    @Test
+    public void testSessionPropertiesRoundTripMaxChunkSize() throws JSONException {
+        // given
+        final SessionProperties properties =
+                new SessionProperties(SessionProperties.ProtocolVersion.V1, CHUNK_SIZE);
+
+        // when
+        final SessionProperties deserialized = SessionProperties.deserialize(properties.serialize());
+
+        // then
+        assertEquals(SessionProperties.ProtocolVersion.V1, deserialized.protocolVersion);
+        assertEquals(CHUNK_SIZE, deserialized.maxChunkSize);
+    }
+
+    @Test
+    public void testSessionPropertiesWithoutMaxChunkSize() throws JSONException {
+        // given
+        final byte[] serialized = "{\"v\":\"1\"}".getBytes();
+
+        // when
+        final SessionProperties deserialized = SessionProperties.deserialize(serialized);
+
+        // then
+        assertEquals(0, deserialized.maxChunkSize);
+    }
+
+    @Test
+    public void testLargeMessageIsCompressed() throws IOException {
+        // given
+        final byte[] message = compressibleBytes(CHUNK_SIZE * 20);
+        mSender.setTxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+        mReceiver.setRxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+
+        // when
+        mSender.send(message);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertEquals(1, mSender.sentFrames.size());
+        assertTrue(mSender.sentFrames.get(0).length < message.length / 2);
+        assertEquals(0x40, mSender.sentFrames.get(0)[0] & 0xC0);
+        assertEquals(1, mReceiver.receivedMessages.size());
+        assertArrayEquals(message, mReceiver.receivedMessages.get(0));
+        assertEquals(1, mReceiver.compressedMessagesReceived);
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testSmallOrIncompressibleMessageIsNotCompressed() throws IOException {
+        // given
+        final byte[] message1 = compressibleBytes(MobileWalletAdapterSessionCommon.COMPRESSION_THRESHOLD - 1);
+        final byte[] message2 = randomBytes(CHUNK_SIZE * 5);
+        mSender.setTxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+        mReceiver.setRxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+
+        // when
+        mSender.send(message1);
+        mSender.send(message2);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertEquals(2, mSender.sentFrames.size());
+        assertEquals(0, mSender.sentFrames.get(0)[0] & 0x40);
+        assertEquals(0, mSender.sentFrames.get(1)[0] & 0x40);
+        assertArrayEquals(message1, mReceiver.receivedMessages.get(0));
+        assertArrayEquals(message2, mReceiver.receivedMessages.get(1));
+        assertEquals(0, mReceiver.compressedMessagesReceived);
+    }
+
+    @Test
+    public void testCompressedMessageIsSentAsChunkedFrames() throws IOException {
+        // given
+        final byte[] message = compressibleBytes(CHUNK_SIZE * 200);
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+        mSender.setTxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+        mReceiver.setRxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+
+        // when
+        mSender.send(message);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mSender.sentFrames.size() > 1);
+        assertTrue(mSender.sentFrames.size() < 100);
+        for (byte[] frame : mSender.sentFrames) {
+            assertEquals(0x80, frame[0] & 0xC0);
+            assertEquals(0x02, frame[4] & 0x02);
+        }
+        assertEquals(1, mReceiver.receivedMessages.size());
+        assertArrayEquals(message, mReceiver.receivedMessages.get(0));
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testCompressedFramesRejectedWhenNotAdvertised() throws IOException {
+        // given
+        mSender.setTxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+
+        // when
+        mSender.send(compressibleBytes(CHUNK_SIZE * 10));
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testCompressedMessageLargerThanAdvertisedIsRejected() throws IOException {
+        // given
+        mSender.setTxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+        mReceiver.setRxMaxDecompressedSize(CHUNK_SIZE * 10);
+
+        // when
+        mSender.send(compressibleBytes(CHUNK_SIZE * 10 + 1));
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testCompressedMessageOfExactlyAdvertisedSizeIsAccepted() throws IOException {
+        // given
+        final byte[] message = compressibleBytes(CHUNK_SIZE * 10);
+        mSender.setTxMaxDecompressedSize(message.length);
+        mReceiver.setRxMaxDecompressedSize(message.length);
+
+        // when
+        mSender.send(message);
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertArrayEquals(message, mReceiver.receivedMessages.get(0));
+        assertEquals(1, mReceiver.compressedMessagesReceived);
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testSessionPropertiesRoundTripMaxDecompressedSize() throws JSONException {
+        // given
+        final SessionProperties properties = new SessionProperties(
+                SessionProperties.ProtocolVersion.V1, CHUNK_SIZE,
+                MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+
+        // when
+        final SessionProperties deserialized = SessionProperties.deserialize(properties.serialize());
+
+        // then
+        assertEquals(CHUNK_SIZE, deserialized.maxChunkSize);
+        assertEquals(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE,
+                deserialized.maxDecompressedSize);
+        assertEquals(0, SessionProperties.deserialize("{\"v\":\"1\"}".getBytes()).maxDecompressedSize);
+    }
+
+    @Test
+    public void testReorderedFramesAreDeliveredInSequenceWithinReplayWindow() throws IOException {
+        // given
+        final byte[] message1 = randomBytes(10);
+        final byte[] message2 = randomBytes(20);
+        final byte[] message3 = randomBytes(30);
+        mReceiver.setRxReplayWindowSize(MobileWalletAdapterSessionCommon.MAX_RX_REPLAY_WINDOW_SIZE);
+        mSender.send(message1);
+        mSender.send(message2);
+        mSender.send(message3);
+
+        // when
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(2));
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(1));
+        final int receivedBeforeFirstFrame = mReceiver.receivedMessages.size();
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(0));
+
+        // then
+        assertEquals(0, receivedBeforeFirstFrame);
+        assertEquals(3, mReceiver.receivedMessages.size());
+        assertArrayEquals(message1, mReceiver.receivedMessages.get(0));
+        assertArrayEquals(message2, mReceiver.receivedMessages.get(1));
+        assertArrayEquals(message3, mReceiver.receivedMessages.get(2));
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testReplayedFramesAreDiscardedWithinReplayWindow() throws IOException {
+        // given
+        mReceiver.setRxReplayWindowSize(MobileWalletAdapterSessionCommon.MAX_RX_REPLAY_WINDOW_SIZE);
+        mSender.send(randomBytes(10));
+        mSender.send(randomBytes(20));
+        mSender.send(randomBytes(30));
+
+        // when
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(0));
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(2));
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(2)); // replay of a buffered frame
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(0)); // replay of a delivered frame
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(1));
+        mSender.deliverSentFramesTo(mReceiver);
+
+        // then
+        assertEquals(3, mReceiver.receivedMessages.size());
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testFrameBeyondReplayWindowSharingABufferedSlotIsRejected() throws IOException {
+        // given
+        mReceiver.setRxReplayWindowSize(2);
+        for (int i = 0; i < 4; i++) {
+            mSender.send(randomBytes(10 + i));
+        }
+
+        // when
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(1)); // seq 2, buffered in slot 0
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(3)); // seq 4, also slot 0
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testFrameBeyondReplayWindowIsRejected() throws IOException {
+        // given
+        mReceiver.setRxReplayWindowSize(2);
+        mSender.send(randomBytes(10));
+        mSender.send(randomBytes(20));
+        mSender.send(randomBytes(30));
+
+        // when
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(2));
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testForgedFrameWithinReplayWindowIsRejected() throws IOException {
+        // given
+        final byte[] message = randomBytes(10);
+        mReceiver.setRxReplayWindowSize(MobileWalletAdapterSessionCommon.MAX_RX_REPLAY_WINDOW_SIZE);
+        mSender.send(message);
+        final byte[] forged = Arrays.copyOf(mSender.sentFrames.get(0), mSender.sentFrames.get(0).length);
+        forged[forged.length - 1] ^= 0x01;
+
+        // when
+        mReceiver.receiverMessageReceived(forged);
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    @Test
+    public void testReorderedChunksAreReassembledWithinReplayWindow() throws IOException {
+        // given
+        final byte[] message1 = randomBytes(CHUNK_SIZE * 3 + 1);
+        final byte[] message2 = compressibleBytes(CHUNK_SIZE * 4);
+        mSender.setTxMaxChunkSize(CHUNK_SIZE);
+        mSender.setTxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+        mReceiver.setRxMaxChunkSize(CHUNK_SIZE);
+        mReceiver.setRxMaxDecompressedSize(MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE);
+        mReceiver.setRxReplayWindowSize(MobileWalletAdapterSessionCommon.MAX_RX_REPLAY_WINDOW_SIZE);
+        mSender.send(message1);
+        mSender.send(message2);
+
+        // when
+        for (int i = mSender.sentFrames.size() - 1; i >= 0; i--) {
+            mReceiver.receiverMessageReceived(mSender.sentFrames.get(i));
+        }
+
+        // then
+        assertEquals(2, mReceiver.receivedMessages.size());
+        assertArrayEquals(message1, mReceiver.receivedMessages.get(0));
+        assertArrayEquals(message2, mReceiver.receivedMessages.get(1));
+        assertFalse(mReceiver.sessionError);
+    }
+
+    @Test
+    public void testReorderedFrameIsRejectedWithoutReplayWindow() throws IOException {
+        // given
+        mSender.send(randomBytes(10));
+        mSender.send(randomBytes(20));
+
+        // when
+        mReceiver.receiverMessageReceived(mSender.sentFrames.get(1));
+
+        // then
+        assertTrue(mReceiver.sessionError);
+        assertTrue(mReceiver.receivedMessages.isEmpty());
+    }
+
+    // Resembles a JSON-RPC request carrying many similar transactions
+    @NonNull
+    private static byte[] compressibleBytes(int length) {
+        final Random random = new Random(length);
+        final StringBuilder sb = new StringBuilder(length + 64);
+        while (sb.length() < length) {
+            sb.append("{\"jsonrpc\":\"2.0\",\"id\":").append(random.nextInt(100))
+                    .append(",\"method\":\"sign_transactions\"}");
+        }
+        return sb.substring(0, length).getBytes();
+    }
+
+    private static void sendUnchecked(@NonNull TestSession session, @NonNull byte[] message) {
+        try {
+            session.send(message);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @NonNull
+    private static byte[] randomBytes(int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static class TestSession extends MobileWalletAdapterSessionCommon {
+        final List<byte[]> sentFrames = Collections.synchronizedList(new ArrayList<>());
+        final List<byte[]> receivedMessages;
+        boolean sessionError;
+        int closeAfterFrames; // 0 to never close
+        int compressedMessagesReceived;
+
+        @NonNull
+        private final ECPublicKey mAssociationPublicKey;
+
+        TestSession(@NonNull ECPublicKey associationPublicKey) {
+            this(associationPublicKey, new ArrayList<>());
+        }
+
+        private TestSession(@NonNull ECPublicKey associationPublicKey,
+                            @NonNull List<byte[]> receivedMessages) {
+            super(new MessageReceiver() {
+                @Override public void receiverConnected(@NonNull MessageSender messageSender) {}
+                @Override public void receiverDisconnected() {}
+                @Override public void receiverMessageReceived(@NonNull byte[] payload) {
+                    receivedMessages.add(payload);
+                }
+            }, new StateCallbacks() {
+                @Override public void onSessionEstablished() {}
+                @Override public void onSessionClosed() {}
+                @Override public void onSessionError() {}
+            });
+            mAssociationPublicKey = associationPublicKey;
+            this.receivedMessages = receivedMessages;
+        }
+
+        @NonNull
+        ECPublicKey startEstablishment() {
+            receiverConnected(message -> {
+                sentFrames.add(Arrays.copyOf(message, message.length));
+                if (sentFrames.size() == closeAfterFrames) {
+                    receiverDisconnected();
+                }
+            });
+            return generateSessionECDHKeyPair();
+        }
+
+        void finishEstablishment(@NonNull ECPublicKey otherPublicKey) {
+            generateSessionECDHSecret(otherPublicKey);
+        }
+
+        void deliverSentFramesTo(@NonNull TestSession other) {
+            for (byte[] frame : sentFrames) {
+                other.receiverMessageReceived(frame);
+            }
+        }
+
+        @Override
+        protected void onSessionError() {
+            sessionError = true;
+            super.onSessionError();
+        }
+
+        @Override
+        protected void onCompressedMessageReceived() {
+            compressedMessagesReceived++;
+        }
+
+        @NonNull
+        @Override
+        protected ECPublicKey getAssociationPublicKey() {
+            return mAssociationPublicKey;
+        }
+
+        @NonNull
+        @Override
+        protected SessionProperties getSessionProperties() {
+            return new SessionProperties(SessionProperties.ProtocolVersion.V1);
+        }
+
+        @Override
+        protected void handleSessionEstablishmentMessage(@NonNull byte[] payload) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.common.signin;
+
+import android.net.Uri;
+
+import com.solana.mobilewalletadapter.common.util.Base58;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Single-regex SIWS parser that predates the line-oriented parser in
+// SignInWithSolana; retained as the reference for ParserDifferentialTest.
+class LegacySignInWithSolanaParser {
+    static final String DOMAIN = "(?<domain>([^?#]*)) wants you to sign in with your Solana account:";
+    static final String ADDRESS = "\\n(?<address>[a-zA-Z0-9]{32,44})(?:\\n{1,2}|$)";
+    static final String STATEMENT = "((?<statement>[\\S\\s]+?)(?:\\n|$))??";
+    static final String URI = "(?:(?:[^:?#]+):)?(?:[^?#\\n]*)?(?:[^?#\\n]*)(?:\\?(?:[^#\\n]*))?(?:#(?:.*))";
+    static final String URI_LINE = "(?:\\nURI: (?<uri>" + URI + "?))?";
+    static final String VERSION = "(?:\\nVersion: (?<version>1))?";
+    static final String CHAIN_ID = "(?:\\nChain ID: (?<chainId>[0-9]+))?";
+    static final String NONCE = "(?:\\nNonce: (?<nonce>[a-zA-Z0-9]{8,}))?";
+    static final String DATETIME = "(?:[0-9]+)-(?:0[1-9]|1[012])-(?:0[1-9]|[12][0-9]|3[01])[Tt](?:[01][0-9]|2[0-3]):(?:[0-5][0-9]):(?:[0-5][0-9]|60)(?:.[0-9]+)?(?:(?:[Zz])|(?:[+|-](?:[01][0-9]|2[0-3]):[0-5][0-9]))";
+    static final String ISSUED_AT = "(?:\\nIssued At: (?<issuedAt>" + DATETIME + "))?";
+    static final String EXPIRATION_TIME = "(?:\\nExpiration Time: (?<expirationTime>" + DATETIME + "))?";
+    static final String NOT_BEFORE = "(?:\\nNot Before: (?<notBefore>" + DATETIME + "))?";
+    static final String REQUEST_ID = "(?:\\nRequest ID: (?<requestId>[-._~!$&'()*+,;=:@%a-zA-Z0-9]*))?";
+    static final String RESOURCES = "(?:\\nResources:(?<resources>(\\n- " + URI + "?)+))?";
+    static final String MESSAGE = "^" + DOMAIN + ADDRESS + STATEMENT + URI_LINE + VERSION + CHAIN_ID
+            + NONCE + ISSUED_AT + EXPIRATION_TIME + NOT_BEFORE + REQUEST_ID + RESOURCES + "$";
+
+    public static final Pattern messagePattern = Pattern.compile(MESSAGE);
+
+    // named groups requires Android API 26, so we have to fall back on group index
+    static final int GROUP_DOMAIN = 1;
+    static final int GROUP_ADDRESS = 3;
+    static final int GROUP_STATEMENT = 5;
+    static final int GROUP_URI = 6;
+    static final int GROUP_VERSION = 7;
+    static final int GROUP_CHAIN_ID = 8;
+    static final int GROUP_NONCE = 9;
+    static final int GROUP_ISSUED_AT = 10;
+    static final int GROUP_EXPIRATION_TIME = 11;
+    static final int GROUP_NOT_BEFORE = 12;
+    static final int GROUP_REQUEST_ID = 13;
+    static final int GROUP_RESOURCES = 14;
+
+    static SignInWithSolana.Payload parseMessage(String message) {
+        Matcher payloadMatcher = messagePattern.matcher(message);
+        // named groups requires Android API 26, so we have to fall back on this unfortunate code
+        if (payloadMatcher.find()) {
+            String domain = payloadMatcher.group(GROUP_DOMAIN);
+            if (domain == null) {
+                throw new IllegalArgumentException("Failed to parse message: domain not found");
+            }
+
+            String addressStr = payloadMatcher.group(GROUP_ADDRESS);
+            if (addressStr == null) {
+                throw new IllegalArgumentException("Failed to parse message: address not found");
+            }
+            byte [] address = Base58.decode(addressStr);
+
+            String statement = payloadMatcher.group(GROUP_STATEMENT);
+            String uriString = payloadMatcher.group(GROUP_URI);
+            Uri uri = uriString != null ? Uri.parse(uriString) : null;
+
+            String version = payloadMatcher.group(GROUP_VERSION);
+            String chainId = payloadMatcher.group(GROUP_CHAIN_ID);
+            String nonce = payloadMatcher.group(GROUP_NONCE);
+            String issuedAt = payloadMatcher.group(GROUP_ISSUED_AT);
+            String expirationTime = payloadMatcher.group(GROUP_EXPIRATION_TIME);
+            String notBefore = payloadMatcher.group(GROUP_NOT_BEFORE);
+            String requestId = payloadMatcher.group(GROUP_REQUEST_ID);
+
+            String resourcesString = payloadMatcher.group(GROUP_RESOURCES);
+            Uri[] resources;
+            if (resourcesString == null){
+                resources = null;
+            } else {
+                String[] resourcesSplit = resourcesString.split("\n- ");
+                resources = new Uri[resourcesSplit.length - 1];
+                for (int i = 0; i < resources.length; i++) {
+                    resources[i] = Uri.parse(resourcesSplit[i + 1]);
+                }
+            }
+
+            return new SignInWithSolana.Payload(domain, address, statement, uri, version, chainId, nonce,
+                    issuedAt, expirationTime, notBefore, requestId, resources);
+        } else {
+            throw new IllegalArgumentException("Input is not a valid SIWS message");
+        }
+    }
+
+    private LegacySignInWithSolanaParser() {}
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.common.signin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+
+import com.solana.mobilewalletadapter.common.util.Base58;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Compares SignInWithSolana.Parser against the regex parser it replaced, on randomly generated
+// messages. Wherever both parsers accept a message, they must produce the same payload. The
+// parsers intentionally differ on some messages; see the testDivergence* cases below.
+@RunWith(RobolectricTestRunner.class)
+public class ParserDifferentialTest {
+    private static final int ITERATIONS = 20000;
+
+    private static final String[] DOMAINS = {
+            "service.org", "localhost:8080", "sub.example.com", "", "bad?domain", "bad#domain"
+    };
+    private static final String[] STATEMENT_LINES = {
+            "I accept the terms of service", "", "multiple words on a line", "- not a resource",
+            "URI: in the statement", "Version: 1", "Chain ID: 1", "Resources:", "Nonce: abc",
+            "Issued At: 2022-01-01T00:00:00Z", "trailing space ", " leading space"
+    };
+    private static final String[] URIS = {
+            "https://service.org/login", "https://service.org/login#frag", "urn:x:y", "ipfs://Qm",
+            "https://a.b/?q=1", ""
+    };
+    private static final String[] VERSIONS = { "1", "2", "" };
+    private static final String[] CHAIN_IDS = { "1", "101", "mainnet", "" };
+    private static final String[] NONCES = { "32891756", "abcdEFGH1234", "short", "has space1" };
+    private static final String[] DATE_TIMES = {
+            "2021-12-07T18:28:18.807Z", "2022-01-01T00:00:00Z", "2022-01-01T00:00:00+05:30",
+            "2022-13-01T00:00:00Z", "2022-01-01", "not a date"
+    };
+    private static final String[] REQUEST_IDS = { "req-1", "", "a.b~c", "has space" };
+    private static final String[] RESOURCES = {
+            "ipfs://bafybeiemxf5abjwjbikoz4mc3a3dla6ual3jsgpdr4cjr3oz3evfyavhwq/",
+            "https://example.com/my-web2-claim.json", "urn:resource", ""
+    };
+
+    @Test
+    public void testParsersAgreeWhenBothAccept() {
+        // given
+        final Random random = new Random(99);
+        int bothAccepted = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            final String message = mutate(random, generateMessage(random));
+
+            // when
+            final SignInWithSolana.Payload legacy = parseOrNull(message, true);
+            final SignInWithSolana.Payload payload = parseOrNull(message, false);
+
+            // then
+            if (legacy != null && payload != null && !isKnownDivergence(legacy, payload)) {
+                assertEquals("Parsers disagree on message:\n" + message, legacy, payload);
+                bothAccepted++;
+            }
+        }
+
+        // Guard against a generator which only produces messages rejected by either parser
+        assertTrue("Too few messages accepted by both parsers: " + bothAccepted,
+                bothAccepted > ITERATIONS / 10);
+    }
+
+    @Test
+    public void testParsersAgreeOnPreparedMessages() {
+        // given
+        final Random random = new Random(100);
+
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            final String message = generatePayload(random).prepareMessage();
+
+            // when
+            final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+            final SignInWithSolana.Payload payload = SignInWithSolana.Parser.parseMessage(message);
+
+            // then
+            assertEquals("Parsers disagree on message:\n" + message, legacy, payload);
+        }
+    }
+
+    // The legacy parser only recognized fields whose values matched its grammar; a field line with
+    // an invalid value made it fail to match, or folded the line into the statement. Field values
+    // are now validated, and an invalid value is an error.
+    @Test
+    public void testDivergenceInvalidFieldValueThrows() {
+        // given
+        final String message = header() + "\n\nstatement\n\nChain ID: mainnet";
+
+        // when
+        final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+
+        // then
+        assertEquals("statement\n\nChain ID: mainnet", legacy.statement);
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInWithSolana.Parser.parseMessage(message));
+    }
+
+    // The legacy parser folded fields appearing out of the spec order into the statement. They are
+    // now an error.
+    @Test
+    public void testDivergenceOutOfOrderFieldsThrow() {
+        // given
+        final String message = header() + "\n\nstatement\n\nVersion: 1\nURI: https://service.org";
+
+        // when
+        final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+
+        // then
+        assertEquals("statement\n\nVersion: 1\nURI: https://service.org", legacy.statement);
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInWithSolana.Parser.parseMessage(message));
+    }
+
+    @Test
+    public void testDivergenceDuplicatedFieldThrows() {
+        // given
+        final String message = header() + "\n\nstatement\n\nVersion: 1\nVersion: 1";
+
+        // when
+        final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+
+        // then
+        assertEquals("statement\n\nVersion: 1\nVersion: 1", legacy.statement);
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInWithSolana.Parser.parseMessage(message));
+    }
+
+    // With no statement, the legacy parser read a field block separated from the address by a
+    // single blank line as the statement. It is now parsed as fields. (Payload.prepareMessage
+    // separates them with two blank lines, which both parsers read as fields.)
+    @Test
+    public void testDivergenceFieldsDirectlyAfterAddress() {
+        // given
+        final String message = header() + "\n\nURI: https://service.org\nVersion: 1";
+
+        // when
+        final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+        final SignInWithSolana.Payload payload = SignInWithSolana.Parser.parseMessage(message);
+
+        // then
+        assertEquals("URI: https://service.org\nVersion: 1", legacy.statement);
+        assertNull(payload.statement);
+        assertEquals(Uri.parse("https://service.org"), payload.uri);
+        assertEquals("1", payload.version);
+    }
+
+    // The legacy URI grammar allowed a URI scheme to contain line breaks, so an empty URI or
+    // resource could swallow the following line. Each field is now a single line.
+    @Test
+    public void testDivergenceUriDoesNotSpanLines() {
+        // given
+        final String message = header() + "\n\n\nURI: \nNonce: 32891756";
+
+        // when
+        final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+        final SignInWithSolana.Payload payload = SignInWithSolana.Parser.parseMessage(message);
+
+        // then
+        assertEquals(Uri.parse("\nNonce: 32891756"), legacy.uri);
+        assertNull(legacy.nonce);
+        assertEquals(Uri.parse(""), payload.uri);
+        assertEquals("32891756", payload.nonce);
+    }
+
+    // The legacy parser dropped empty resources from the end of a resources list, and failed with a
+    // NegativeArraySizeException if all were empty. Each is now an empty resource URI.
+    @Test
+    public void testDivergenceEmptyTrailingResource() {
+        // given
+        final String message = header() + "\n\n\nResources:\n- urn:resource\n- ";
+        final String emptyMessage = header() + "\n\n\nResources:\n- ";
+
+        // when
+        final SignInWithSolana.Payload legacy = LegacySignInWithSolanaParser.parseMessage(message);
+        final SignInWithSolana.Payload payload = SignInWithSolana.Parser.parseMessage(message);
+        final SignInWithSolana.Payload emptyPayload = SignInWithSolana.Parser.parseMessage(emptyMessage);
+
+        // then
+        assertArrayEquals(new Uri[] { Uri.parse("urn:resource") }, legacy.resources);
+        assertArrayEquals(new Uri[] { Uri.parse("urn:resource"), Uri.parse("") }, payload.resources);
+        assertThrows(NegativeArraySizeException.class,
+                () -> LegacySignInWithSolanaParser.parseMessage(emptyMessage));
+        assertArrayEquals(new Uri[] { Uri.parse("") }, emptyPayload.resources);
+    }
+
+    // Messages which both parsers accept, but parse differently by design
+    private static boolean isKnownDivergence(SignInWithSolana.Payload legacy,
+                                             SignInWithSolana.Payload payload) {
+        // See testDivergenceFieldsDirectlyAfterAddress
+        if (legacy.statement != null && payload.statement == null) {
+            return true;
+        }
+        // See testDivergenceUriDoesNotSpanLines
+        if (legacy.uri != null && legacy.uri.toString().indexOf('\n') != -1) {
+            return true;
+        }
+        // See testDivergenceEmptyTrailingResource
+        if (payload.resources != null &&
+                payload.resources[payload.resources.length - 1].toString().isEmpty()) {
+            return true;
+        }
+        if (legacy.resources != null) {
+            for (Uri resource : legacy.resources) {
+                if (resource.toString().indexOf('\n') != -1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String header() {
+        return "service.org wants you to sign in with your Solana account:\n" +
+                "43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj";
+    }
+
+    // N.B. the legacy parser may also fail with other exceptions (see
+    // testDivergenceEmptyTrailingResource), but the new parser must only throw
+    // IllegalArgumentException
+    private static SignInWithSolana.Payload parseOrNull(String message, boolean legacy) {
+        if (legacy) {
+            try {
+                return LegacySignInWithSolanaParser.parseMessage(message);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        try {
+            return SignInWithSolana.Parser.parseMessage(message);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Generates a payload with only valid values
+    private static SignInWithSolana.Payload generatePayload(Random random) {
+        final byte[] address = new byte[32];
+        random.nextBytes(address);
+        final Uri[] resources;
+        if (random.nextInt(4) == 0) {
+            resources = new Uri[1 + random.nextInt(3)];
+            for (int i = 0; i < resources.length; i++) {
+                resources[i] = Uri.parse(RESOURCES[random.nextInt(3)]);
+            }
+        } else {
+            resources = null;
+        }
+        return new SignInWithSolana.Payload(
+                DOMAINS[random.nextInt(3)],
+                address,
+                random.nextBoolean() ? STATEMENT_LINES[0] : null,
+                random.nextBoolean() ? Uri.parse(URIS[random.nextInt(5)]) : null,
+                random.nextBoolean() ? "1" : null,
+                random.nextBoolean() ? CHAIN_IDS[random.nextInt(2)] : null,
+                random.nextBoolean() ? NONCES[random.nextInt(2)] : null,
+                random.nextBoolean() ? DATE_TIMES[random.nextInt(3)] : null,
+                random.nextBoolean() ? DATE_TIMES[random.nextInt(3)] : null,
+                random.nextBoolean() ? DATE_TIMES[random.nextInt(3)] : null,
+                random.nextBoolean() ? REQUEST_IDS[random.nextInt(3)] : null,
+                resources);
+    }
+
+    private static String generateMessage(Random random) {
+        final boolean wellFormed = random.nextInt(4) == 0;
+        final StringBuilder sb = new StringBuilder();
+        sb.append(wellFormed ? DOMAINS[random.nextInt(3)] : pick(random, DOMAINS))
+                .append(" wants you to sign in with your Solana account:\n");
+        final byte[] address = new byte[32];
+        random.nextBytes(address);
+        sb.append(Base58.encode(address));
+
+        final List<String> fields = new ArrayList<>();
+        maybeAdd(random, fields, "URI: ", wellFormed ? URIS[random.nextInt(5)] : pick(random, URIS));
+        maybeAdd(random, fields, "Version: ", wellFormed ? "1" : pick(random, VERSIONS));
+        maybeAdd(random, fields, "Chain ID: ", wellFormed ? CHAIN_IDS[random.nextInt(2)] : pick(random, CHAIN_IDS));
+        maybeAdd(random, fields, "Nonce: ", wellFormed ? NONCES[random.nextInt(2)] : pick(random, NONCES));
+        maybeAdd(random, fields, "Issued At: ", wellFormed ? DATE_TIMES[random.nextInt(3)] : pick(random, DATE_TIMES));
+        maybeAdd(random, fields, "Expiration Time: ", wellFormed ? DATE_TIMES[random.nextInt(3)] : pick(random, DATE_TIMES));
+        maybeAdd(random, fields, "Not Before: ", wellFormed ? DATE_TIMES[random.nextInt(3)] : pick(random, DATE_TIMES));
+        maybeAdd(random, fields, "Request ID: ", wellFormed ? REQUEST_IDS[random.nextInt(3)] : pick(random, REQUEST_IDS));
+        if (random.nextInt(4) == 0) {
+            fields.add("Resources:");
+            final int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                fields.add("- " + (wellFormed ? RESOURCES[random.nextInt(3)] : pick(random, RESOURCES)));
+            }
+        }
+
+        final boolean hasStatement = random.nextBoolean();
+        if (hasStatement) {
+            sb.append("\n\n");
+            final int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    sb.append('\n');
+                }
+                sb.append(wellFormed ? STATEMENT_LINES[0] : pick(random, STATEMENT_LINES));
+            }
+        }
+        if (!fields.isEmpty()) {
+            // N.B. prepareMessage separates the address from the fields with two blank lines
+            sb.append(hasStatement || random.nextBoolean() ? "\n\n" : "\n\n\n");
+            sb.append(String.join("\n", fields));
+        }
+        return sb.toString();
+    }
+
+    // Applies a few random line-level edits, e.g. dropping or duplicating a line, or swapping two
+    // adjacent lines
+    private static String mutate(Random random, String message) {
+        final List<String> lines = new ArrayList<>(Arrays.asList(message.split("\n", -1)));
+        final int edits = random.nextInt(3);
+        for (int i = 0; i < edits && lines.size() > 2; i++) {
+            final int at = 2 + random.nextInt(lines.size() - 2);
+            switch (random.nextInt(4)) {
+                case 0: lines.remove(at); break;
+                case 1: lines.add(at, lines.get(at)); break;
+                case 2: lines.add(at, ""); break;
+                default:
+                    if (at + 1 < lines.size()) {
+                        lines.add(at + 1, lines.remove(at));
+                    }
+                    break;
+            }
+        }
+        return String.join("\n", lines);
+    }
+
+    private static void maybeAdd(Random random, List<String> fields, String field, String value) {
+        if (random.nextBoolean()) {
+            fields.add(field + value);
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
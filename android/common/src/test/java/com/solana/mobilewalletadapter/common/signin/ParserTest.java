@@ -1,6 +1,7 @@
 package com.solana.mobilewalletadapter.common.signin;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 
 import android.net.Uri;
 
@@ -253,4 +254,93 @@ public class ParserTest {
         // then
         assertEquals(expectedPayload, payload);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParseSIWSMessageWithFieldLinesInStatement() {
+        // given
+        String message = "service.org wants you to sign in with your Solana account:" +
+                "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj" +
+                "\n\nURI: https://service.org/not-a-field" +
+                "\n\nURI: https://service.org/login";
+
+        SignInWithSolana.Payload expectedPayload = new SignInWithSolana.Payload(
+                "service.org",
+                Base58.decode("43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj"),
+                "URI: https://service.org/not-a-field",
+                Uri.parse("https://service.org/login"),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+        );
+
+        // when
+        SignInWithSolana.Payload payload = SignInWithSolana.Parser.parseMessage(message);
+
+        // then
+        assertEquals(expectedPayload, payload);
+    }
+
+    @Test
+    public void testParseSIWSMessageWithOutOfOrderFieldsThrows() {
+        // given
+        String message = "service.org wants you to sign in with your Solana account:" +
+                "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj" +
+                "\n\nVersion: 1" +
+                "\nURI: https://service.org/login";
+
+        // when / then
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInWithSolana.Parser.parseMessage(message));
+    }
+
+    @Test
+    public void testParseSIWSMessageWithInvalidVersionThrows() {
+        // given
+        String message = "service.org wants you to sign in with your Solana account:" +
+                "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj" +
+                "\n\nURI: https://service.org/login" +
+                "\nVersion: 2";
+
+        // when / then
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInWithSolana.Parser.parseMessage(message));
+    }
+
+    @Test
+    public void testParseSIWSMessageWithInvalidAddressThrows() {
+        // given
+        String message = "service.org wants you to sign in with your Solana account:" +
+                "\n43h6BNKzvoV43qBLje5dxn7vhc";
+
+        // when / then
+        assertThrows(IllegalArgumentException.class,
+                () -> SignInWithSolana.Parser.parseMessage(message));
+    }
+
+    @Test
+    public void testPrepareMessageIntoBuilderMatchesPrepareMessage() {
+        // given
+        String message = "service.org wants you to sign in with your Solana account:" +
+                "\n43h6BNKzvoV43qBLje5dxn7vhcChZjVEAn8PQLZvMiqj" +
+                "\n\nI accept the ServiceOrg Terms of Service: https://service.org/tos" +
+                "\n\nURI: https://service.org/login" +
+                "\nVersion: 1" +
+                "\nNonce: 32832457" +
+                "\nResources:" +
+                "\n- https://example.com/my-web2-claim.json";
+        SignInWithSolana.Payload payload = SignInWithSolana.Parser.parseMessage(message);
+        StringBuilder sb = new StringBuilder("prefix:");
+
+        // when
+        payload.prepareMessage(sb);
+
+        // then
+        assertEquals(message, payload.prepareMessage());
+        assertEquals("prefix:" + message, sb.toString());
+    }
+}
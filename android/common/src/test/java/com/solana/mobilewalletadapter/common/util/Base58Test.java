@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.common.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public class Base58Test {
+    private static final String ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+
+    @Test
+    public void testEncodeKnownVectors() {
+        assertEquals("", Base58.encode(new byte[0]));
+        assertEquals("1", Base58.encode(new byte[] { 0 }));
+        assertEquals("111", Base58.encode(new byte[3]));
+        assertEquals("2g", Base58.encode(new byte[] { 0x61 }));
+        assertEquals("StV1DL6CwTryKyV", Base58.encode("hello world".getBytes()));
+        assertEquals("11111111111111111111111111111111", Base58.encode(new byte[32]));
+    }
+
+    @Test
+    public void testDecodeKnownVectors() {
+        assertArrayEquals(new byte[0], Base58.decode(""));
+        assertArrayEquals(new byte[3], Base58.decode("111"));
+        assertArrayEquals("hello world".getBytes(), Base58.decode("StV1DL6CwTryKyV"));
+    }
+
+    @Test
+    public void testRoundTripMatchesReferenceImplementation() {
+        // given
+        final Random random = new Random(58);
+
+        for (int i = 0; i < 2000; i++) {
+            final byte[] bytes = new byte[random.nextInt(i % 10 == 0 ? 1232 : 96)];
+            random.nextBytes(bytes);
+            for (int j = random.nextInt(4); j > 0 && j <= bytes.length; j--) {
+                bytes[j - 1] = 0;
+            }
+
+            // when
+            final String encoded = Base58.encode(bytes);
+            final byte[] decoded = Base58.decode(encoded);
+
+            // then
+            assertEquals(referenceEncode(bytes), encoded);
+            assertArrayEquals(bytes, decoded);
+        }
+    }
+
+    @Test
+    public void testDecodeIntoBuffer() {
+        // given
+        final byte[] bytes = new byte[] { 0, 0, 1, 2, 3, (byte) 0xff };
+        final byte[] dst = new byte[10];
+
+        // when
+        final int len = Base58.decode(Base58.encode(bytes), dst, 3);
+
+        // then
+        assertEquals(bytes.length, len);
+        assertArrayEquals(new byte[] { 0, 0, 0, 0, 0, 1, 2, 3, (byte) 0xff, 0 }, dst);
+    }
+
+    @Test
+    public void testDecodeIntoBufferTooSmall() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Base58.decode(Base58.encode(new byte[32]), new byte[32], 1));
+    }
+
+    @Test
+    public void testEncodeRange() {
+        final byte[] bytes = new byte[] { 9, 0, 0x61, 9 };
+        assertEquals("12g", Base58.encode(bytes, 1, 2));
+    }
+
+    @Test
+    public void testBatchMatchesSingle() {
+        // given
+        final Random random = new Random(1);
+        final byte[][] inputs = new byte[50][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new byte[i % 2 == 0 ? 32 : random.nextInt(1232)];
+            random.nextBytes(inputs[i]);
+        }
+
+        // when
+        final String[] encoded = Base58.encodeAll(inputs);
+        final byte[][] decoded = Base58.decodeAll(encoded);
+
+        // then
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(Base58.encode(inputs[i]), encoded[i]);
+            assertArrayEquals(inputs[i], decoded[i]);
+        }
+    }
+
+    @Test
+    public void testDecodeInvalidCharacter() {
+        assertThrows(IllegalArgumentException.class, () -> Base58.decode("abc0"));
+        assertThrows(IllegalArgumentException.class, () -> Base58.decode("abcl"));
+        assertThrows(IllegalArgumentException.class, () -> Base58.decode("abcÿ"));
+    }
+
+    private static String referenceEncode(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        BigInteger value = new BigInteger(1, bytes);
+        final BigInteger base = BigInteger.valueOf(58);
+        while (value.signum() > 0) {
+            final BigInteger[] qr = value.divideAndRemainder(base);
+            sb.append(ALPHABET.charAt(qr[1].intValue()));
+            value = qr[0];
+        }
+        for (int i = 0; i < bytes.length && bytes[i] == 0; i++) {
+            sb.append('1');
+        }
+        return sb.reverse().toString();
+    }
+}
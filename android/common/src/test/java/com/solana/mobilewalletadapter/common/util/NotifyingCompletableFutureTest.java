@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NotifyingCompletableFutureTest {
+    @Test
+    public void testCompleteOnlyOnce() throws Exception {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+
+        // when
+        final boolean completed = future.complete("first");
+        final boolean completedAgain = future.complete("second");
+        final boolean completedExceptionally = future.completeExceptionally(new Exception());
+        final boolean cancelled = future.cancel(true);
+
+        // then
+        assertTrue(completed);
+        assertFalse(completedAgain);
+        assertFalse(completedExceptionally);
+        assertFalse(cancelled);
+        assertTrue(future.isDone());
+        assertFalse(future.isCancelled());
+        assertEquals("first", future.get());
+    }
+
+    @Test
+    public void testCompleteWithNull() throws Exception {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+
+        // when
+        future.complete(null);
+
+        // then
+        assertTrue(future.isDone());
+        assertEquals(null, future.get());
+    }
+
+    @Test
+    public void testCompleteExceptionally() {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+        final Exception ex = new Exception("failed");
+
+        // when
+        future.completeExceptionally(ex);
+
+        // then
+        final ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertSame(ex, thrown.getCause());
+    }
+
+    @Test
+    public void testCancel() {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+
+        // when
+        final boolean cancelled = future.cancel(true);
+
+        // then
+        assertTrue(cancelled);
+        assertTrue(future.isCancelled());
+        assertThrows(CancellationException.class, future::get);
+    }
+
+    @Test
+    public void testGetTimesOut() {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+
+        // when/then
+        assertThrows(TimeoutException.class, () -> future.get(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testGetWaitsForCompletion() throws Exception {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+        final Thread completer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {}
+            future.complete("done");
+        });
+
+        // when
+        completer.start();
+        final String result = future.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals("done", result);
+        completer.join();
+    }
+
+    @Test
+    public void testCallbacksRunInRegistrationOrder() {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int n = i;
+            future.notifyOnComplete(f -> order.add(n));
+        }
+
+        // when
+        future.complete("done");
+
+        // then
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+    }
+
+    @Test
+    public void testCallbackRegisteredAfterCompletionRunsImmediately() {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+        future.complete("done");
+        final AtomicInteger calls = new AtomicInteger();
+
+        // when
+        future.notifyOnComplete(f -> calls.incrementAndGet());
+
+        // then
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testCallbackRunsOnExecutor() {
+        // given
+        final NotifyingCompletableFuture<String> future = new NotifyingCompletableFuture<>();
+        final List<Runnable> queued = new ArrayList<>();
+        final Executor executor = queued::add;
+        final AtomicInteger calls = new AtomicInteger();
+        future.notifyOnComplete(f -> calls.incrementAndGet(), executor);
+
+        // when
+        future.complete("done");
+
+        // then
+        assertEquals(0, calls.get());
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testConcurrentCompletionHasOneWinner() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            // given
+            final NotifyingCompletableFuture<Integer> future = new NotifyingCompletableFuture<>();
+            final List<Integer> notified = Collections.synchronizedList(new ArrayList<>());
+            final int threadCount = 4;
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicInteger winners = new AtomicInteger();
+            final Thread[] threads = new Thread[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                final int n = i;
+                threads[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ignored) {}
+                    future.notifyOnComplete(f -> notified.add(n));
+                    if (future.complete(n)) {
+                        winners.incrementAndGet();
+                    }
+                });
+                threads[i].start();
+            }
+
+            // when
+            start.countDown();
+            for (Thread t : threads) {
+                t.join();
+            }
+
+            // then
+            assertEquals(1, winners.get());
+            assertEquals(threadCount, notified.size());
+            assertTrue(future.get() >= 0 && future.get() < threadCount);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@RunWith(AndroidJUnit4::class)
+class Bip39UseCaseBenchmark {
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    @Test
+    fun validate() {
+        benchmarkRule.measureRepeated {
+            Bip39UseCase.validate(PHRASE_24)
+        }
+    }
+
+    @Test
+    fun validateUnnormalized() {
+        benchmarkRule.measureRepeated {
+            Bip39UseCase.validate(PHRASE_24_UNNORMALIZED)
+        }
+    }
+
+    @Test
+    fun indexOf() {
+        benchmarkRule.measureRepeated {
+            for (word in WORDS) {
+                Bip39UseCase.indexOf(word)
+            }
+        }
+    }
+
+    @Test
+    fun completions() {
+        benchmarkRule.measureRepeated {
+            Bip39UseCase.completions("ab", 8)
+        }
+    }
+
+    @Test
+    fun toSeed() {
+        benchmarkRule.measureRepeated {
+            Bip39UseCase.toSeed(PHRASE_24).fill(0)
+        }
+    }
+
+    @Test
+    fun deriveKeypairFromPhrase() {
+        benchmarkRule.measureRepeated {
+            val seed = Bip39UseCase.toSeed(PHRASE_24)
+            Ed25519Slip10UseCase.derivePrivateKey(seed, 0)
+            seed.fill(0)
+        }
+    }
+
+    private companion object {
+        // BIP-39 test vector (all-zero entropy for 24 words)
+        val PHRASE_24 = List(23) { "abandon" }.joinToString(" ") + " art"
+        val PHRASE_24_UNNORMALIZED = "  " + PHRASE_24.uppercase().replace(" ", " \t ") + "\n"
+
+        // Spread across the wordlist, including its first and last words
+        val WORDS = (0 until 2048 step 97).map { Bip39UseCase.bip39EnglishWordlist[it] } +
+                Bip39UseCase.bip39EnglishWordlist.last()
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import org.bouncycastle.crypto.AsymmetricCipherKeyPair
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.ByteArrayOutputStream
+import java.security.SecureRandom
+import kotlin.random.Random
+
+// Parses and signs a v0 transaction with 2 signers, 8 account keys, 4 instructions (of 256 data
+// bytes each), and 1 address table lookup
+@RunWith(AndroidJUnit4::class)
+class SolanaSigningUseCaseBenchmark {
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val keypairs = List(2) {
+        val privateKey = Ed25519PrivateKeyParameters(SecureRandom())
+        AsymmetricCipherKeyPair(privateKey.generatePublicKey(), privateKey)
+    }
+    private val transaction = buildTransaction(keypairs)
+
+    @Test
+    fun wrapPrefix() {
+        val view = SolanaTransactionView()
+        benchmarkRule.measureRepeated {
+            view.wrap(transaction)
+        }
+    }
+
+    @Test
+    fun wrapAndParseMessage() {
+        val view = SolanaTransactionView()
+        benchmarkRule.measureRepeated {
+            view.wrap(transaction)
+            view.numAddressTableLookups
+        }
+    }
+
+    @Test
+    fun getSignersForTransaction() {
+        benchmarkRule.measureRepeated {
+            SolanaSigningUseCase.getSignersForTransaction(transaction)
+        }
+    }
+
+    @Test
+    fun signTransaction() {
+        val signers = keypairs.subList(0, 1)
+        benchmarkRule.measureRepeated {
+            SolanaSigningUseCase.signTransaction(transaction, signers)
+        }
+    }
+
+    @Test
+    fun signMessage() {
+        val message = Random(1).nextBytes(256)
+        val signers = keypairs.subList(0, 1)
+        benchmarkRule.measureRepeated {
+            SolanaSigningUseCase.signMessage(message, signers)
+        }
+    }
+
+    private companion object {
+        const val NUM_ACCOUNTS = 8
+        const val NUM_INSTRUCTIONS = 4
+        const val INSTRUCTION_DATA_LEN = 256
+
+        fun buildTransaction(signers: List<AsymmetricCipherKeyPair>): ByteArray {
+            val random = Random(0)
+            val out = ByteArrayOutputStream()
+            out.writeCompactU16(signers.size)
+            out.write(ByteArray(SolanaSigningUseCase.SIGNATURE_LEN * signers.size))
+            out.write(0x80) // v0 message prefix
+            out.write(signers.size) // num required signatures
+            out.write(0) // num readonly signed accounts
+            out.write(1) // num readonly unsigned accounts
+            out.writeCompactU16(NUM_ACCOUNTS)
+            signers.forEach { out.write((it.public as Ed25519PublicKeyParameters).encoded) }
+            repeat(NUM_ACCOUNTS - signers.size) { out.write(random.nextBytes(SolanaSigningUseCase.PUBLIC_KEY_LEN)) }
+            out.write(random.nextBytes(32)) // blockhash
+            out.writeCompactU16(NUM_INSTRUCTIONS)
+            repeat(NUM_INSTRUCTIONS) {
+                out.write(NUM_ACCOUNTS - 1) // program ID index
+                out.writeCompactU16(3)
+                out.write(byteArrayOf(0, 2, 3))
+                out.writeCompactU16(INSTRUCTION_DATA_LEN)
+                out.write(random.nextBytes(INSTRUCTION_DATA_LEN))
+            }
+            out.writeCompactU16(1) // address table lookups
+            out.write(random.nextBytes(SolanaSigningUseCase.PUBLIC_KEY_LEN))
+            out.writeCompactU16(2)
+            out.write(byteArrayOf(0, 1))
+            out.writeCompactU16(1)
+            out.write(byteArrayOf(2))
+            return out.toByteArray()
+        }
+
+        // compact-u16: little-endian, 7 bits per byte, high bit set on all but the last byte
+        fun ByteArrayOutputStream.writeCompactU16(value: Int) {
+            var v = value
+            while (v >= 0x80) {
+                write((v and 0x7f) or 0x80)
+                v = v ushr 7
+            }
+            write(v)
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.transport.websockets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import com.solana.mobilewalletadapter.common.protocol.MessageReceiver;
+import com.solana.mobilewalletadapter.common.protocol.MessageSender;
+import com.solana.mobilewalletadapter.walletlib.transport.websockets.server.WebSocketReflectorServer;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class ReflectorWebSocketResumeTest {
+
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final long TIMEOUT_MS = 10000;
+
+    private WebSocketReflectorServer mServer;
+    private Endpoint mDapp;
+    private Endpoint mWallet;
+
+    @After
+    public void tearDown() {
+        if (mDapp != null) {
+            mDapp.webSocket.close();
+        }
+        if (mWallet != null) {
+            mWallet.webSocket.close();
+        }
+        if (mServer != null) {
+            mServer.close();
+        }
+    }
+
+    @Test
+    public void testLostConnectionIsResumedAndUnreceivedFramesAreRetransmitted() throws Exception {
+        // given
+        final String id = startReflection(true);
+        mDapp.webSocket.send(bytes("m1"));
+        mWallet.webSocket.send(bytes("r1"));
+        assertTrue(mWallet.awaitMessages(1));
+        assertTrue(mDapp.awaitMessages(1));
+
+        // when
+        assertTrue(mServer.dropJoinedConnection(id));
+        mDapp.webSocket.send(bytes("m2")); // lost with the connection, or sent while reconnecting
+        assertTrue(mWallet.reconnecting.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        mWallet.webSocket.send(bytes("r2")); // sent while reconnecting or resuming
+
+        // then
+        assertTrue(mWallet.resumed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(mDapp.resumed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(mWallet.awaitMessages(2));
+        assertTrue(mDapp.awaitMessages(2));
+        assertEquals(List.of("m1", "resumed", "m2"), mWallet.events);
+        assertEquals(List.of("r1", "resumed", "r2"), mDapp.events);
+        assertFalse(mWallet.disconnected);
+        assertFalse(mDapp.disconnected);
+    }
+
+    @Test
+    public void testLostConnectionIsNotResumedWithoutReflectorSupport() throws Exception {
+        // given
+        final String id = startReflection(false);
+
+        // when
+        assertTrue(mServer.dropJoinedConnection(id));
+
+        // then
+        assertTrue(mWallet.closed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(mDapp.closed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(1, mWallet.reconnecting.getCount());
+        assertTrue(mWallet.disconnected);
+        assertTrue(mDapp.disconnected);
+    }
+
+    @Test
+    public void testLostConnectionIsClosedWhenReconnectionIsNotResumable() throws Exception {
+        // given
+        final String id = startReflection(true);
+        mServer.setResumeSupported(false);
+
+        // when
+        assertTrue(mServer.dropJoinedConnection(id));
+
+        // then
+        // N.B. well within ReflectorWebSocket.RESUME_TIMEOUT_MS, after which it would close anyway
+        assertTrue(mWallet.reconnecting.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(mWallet.closed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(mDapp.closed.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(1, mWallet.resumed.getCount());
+        assertTrue(mWallet.disconnected);
+        assertTrue(mDapp.disconnected);
+    }
+
+    // Connects a dapp and a wallet endpoint (both offering resume) to a new reflection, and
+    // returns its reflector ID
+    @NonNull
+    private String startReflection(boolean reflectorResumable) throws Exception {
+        mServer = new WebSocketReflectorServer(0, reflectorResumable); // any free port
+        mServer.init();
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (mServer.getPort() <= 0) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        final URI uri = URI.create("ws://localhost:" + mServer.getPort() + "/reflect");
+
+        mDapp = new Endpoint(uri);
+        mDapp.webSocket.connect();
+        List<String> ids;
+        while ((ids = mServer.getHalfOpenReflectionIds()).isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        final String id = ids.get(0);
+
+        mWallet = new Endpoint(URI.create(uri + "?id=" + id));
+        mWallet.webSocket.connect();
+        assertTrue(mDapp.connected.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(mWallet.connected.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        return id;
+    }
+
+    @NonNull
+    private static byte[] bytes(@NonNull String message) {
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Records the messages received, interleaved with resume events
+    private static class Endpoint implements MessageReceiver, ReflectorWebSocket.StateCallbacks {
+        final ReflectorWebSocket webSocket;
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch connected = new CountDownLatch(1);
+        final CountDownLatch reconnecting = new CountDownLatch(1);
+        final CountDownLatch resumed = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        volatile boolean disconnected;
+        private int mMessages;
+
+        Endpoint(@NonNull URI uri) {
+            webSocket = new ReflectorWebSocket(uri, this, this, CONNECT_TIMEOUT_MS, true);
+        }
+
+        synchronized boolean awaitMessages(int count) throws InterruptedException {
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            long remaining;
+            while (mMessages < count && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                wait(remaining);
+            }
+            return mMessages >= count;
+        }
+
+        @Override
+        public void receiverConnected(@NonNull MessageSender messageSender) {
+            connected.countDown();
+        }
+
+        @Override
+        public void receiverDisconnected() {
+            disconnected = true;
+        }
+
+        @Override
+        public void receiverMessageReceived(@NonNull byte[] payload) {
+            events.add(new String(payload, StandardCharsets.UTF_8));
+            synchronized (this) {
+                mMessages++;
+                notifyAll();
+            }
+        }
+
+        @Override public void onConnected() {}
+        @Override public void onConnectionFailed() {}
+        @Override public void onReflectionEstablished() {}
+
+        @Override
+        public void onReconnecting() {
+            reconnecting.countDown();
+        }
+
+        @Override
+        public void onResumed() {
+            events.add("resumed");
+            resumed.countDown();
+        }
+
+        @Override
+        public void onConnectionClosed() {
+            closed.countDown();
+        }
+    }
+}
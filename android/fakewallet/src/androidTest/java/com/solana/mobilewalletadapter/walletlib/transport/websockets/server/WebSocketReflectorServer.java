@@ -19,7 +19,9 @@ import org.java_websocket.WebSocketImpl;
 import org.java_websocket.WebSocketServerFactory;
 import org.java_websocket.drafts.Draft;
 import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.protocols.IProtocol;
 import org.java_websocket.protocols.Protocol;
 import org.java_websocket.server.WebSocketServer;
 
@@ -35,6 +37,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,20 +54,47 @@ public class WebSocketReflectorServer extends WebSocketServer {
     @NonNull
     private final List<String> mFullOpenConnections = new ArrayList<>(1);
 
+    @NonNull
+    private final AtomicBoolean mResumeSupported;
+
     private final Pattern idPattern = Pattern.compile("id=([A-Za-z0-9-_]*={0,3})");
 
     public WebSocketReflectorServer() { this(8080); }
 
-    public WebSocketReflectorServer(int port) {
+    public WebSocketReflectorServer(int port) { this(port, false); }
+
+    /**
+     * @param resumable if true, this reflector supports reflection resume, and selects
+     *      {@link WebSocketsTransportContract#WEBSOCKETS_RESUMABLE_PROTOCOL} for connections which
+     *      offer it
+     */
+    public WebSocketReflectorServer(int port, boolean resumable) {
+        this(port, new AtomicBoolean(resumable));
+    }
+
+    private WebSocketReflectorServer(int port, @NonNull AtomicBoolean resumeSupported) {
         // Create a WebSocket server on localhost:${port}, with 1 decoding thread, which
         // only accepts connections for protocol WebSocketsTransportContract.WEBSOCKETS_PROTOCOL
+        // (or WebSocketsTransportContract.WEBSOCKETS_RESUMABLE_PROTOCOL, if resume is supported)
         super(new InetSocketAddress(WebSocketsTransportContract.WEBSOCKETS_LOCAL_HOST, port), 1,
-                Collections.singletonList(new Draft_6455(Collections.emptyList(), Collections.singletonList(
+                Collections.singletonList(new Draft_6455(Collections.emptyList(), List.of(
+                        new ResumableProtocol(resumeSupported),
                         new Protocol(WebSocketsTransportContract.WEBSOCKETS_PROTOCOL)))));
+        mResumeSupported = resumeSupported;
         setConnectionLostTimeout(PING_TIME_SEC);
         setWebSocketFactory(new ReflectorWebSocketServerFactory());
     }
 
+    /**
+     * Sets whether connections opened from now on may select
+     * {@link WebSocketsTransportContract#WEBSOCKETS_RESUMABLE_PROTOCOL} (as though this reflector
+     * had been replaced with one which does or doesn't support resume). Connections which are
+     * already open are unaffected.
+     */
+    public void setResumeSupported(boolean resumeSupported) {
+        mResumeSupported.set(resumeSupported);
+    }
+
     public void init() {
         if (mState == State.NOT_INITIALIZED) {
             Log.i(TAG, "Starting local reflector WebSocket server on port " + getPort());
@@ -90,8 +120,32 @@ public class WebSocketReflectorServer extends WebSocketServer {
         Log.d(TAG, "reflector WebSocket started");
     }
 
+    /** Returns the IDs of reflections awaiting a connection from their second endpoint */
+    @NonNull
+    public synchronized List<String> getHalfOpenReflectionIds() {
+        return new ArrayList<>(mHalfOpenConnections.keySet());
+    }
+
+    /**
+     * Abruptly closes the connection of the endpoint which joined reflection {@code id} (i.e. the
+     * one which connected with its reflector ID), as though its network had been lost
+     *
+     * @return true if a connection was closed, else false
+     */
+    public synchronized boolean dropJoinedConnection(@NonNull String id) {
+        for (WebSocket conn : getConnections()) {
+            final ReflectorWebSocket ws = (ReflectorWebSocket) conn;
+            if (id.equals(ws.id) && ws.joined && ws.isOpen()) {
+                Log.d(TAG, "reflector WebSocket dropping connection " + id);
+                ws.closeConnection(CloseFrame.ABNORMAL_CLOSE, "Connection dropped");
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
-    public void onOpen(WebSocket conn, ClientHandshake handshake) {
+    public synchronized void onOpen(WebSocket conn, ClientHandshake handshake) {
         Log.d(TAG, "reflector WebSocket opened: " + handshake.getResourceDescriptor());
         final URI uri = URI.create(handshake.getResourceDescriptor());
         final ReflectorWebSocket ws = (ReflectorWebSocket) conn;
@@ -117,6 +171,7 @@ public class WebSocketReflectorServer extends WebSocketServer {
             if (matcher.find()) {
                 id = matcher.group(1);
                 ws.id = id;
+                ws.joined = true;
                 if (mFullOpenConnections.contains(id)) {
                     Log.d(TAG, "reflector WebSocket connection already exists for id: " + id + ", closing");
                     conn.close();
@@ -143,16 +198,25 @@ public class WebSocketReflectorServer extends WebSocketServer {
     }
 
     @Override
-    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+    public synchronized void onClose(WebSocket conn, int code, String reason, boolean remote) {
         Log.d(TAG, "reflector WebSocket closed");
         final ReflectorWebSocket ws = (ReflectorWebSocket) conn;
         if (mHalfOpenConnections.containsKey(ws.id)) {
             Log.d(TAG, "reflector WebSocket closing half open connection " + ws.id);
             mHalfOpenConnections.remove(ws.id);
         } else if (mFullOpenConnections.contains(ws.id)) {
-            Log.d(TAG, "reflector WebSocket closing fully open connection " + ws.id);
             mFullOpenConnections.remove(ws.id);
-            ws.reflect.close();
+            final ReflectorWebSocket other = (ReflectorWebSocket) ws.reflect;
+            if (code == CloseFrame.NORMAL || !isResumable(ws) || !isResumable(other) ||
+                    other.isClosing() || other.isClosed()) {
+                Log.d(TAG, "reflector WebSocket closing fully open connection " + ws.id);
+                other.close();
+            } else {
+                // The connection was lost; allow it to reconnect and resume the reflection
+                Log.d(TAG, "reflector WebSocket connection lost, awaiting resume on " + ws.id);
+                other.reflect = null;
+                mHalfOpenConnections.put(ws.id, other);
+            }
         }
     }
 
@@ -180,6 +244,11 @@ public class WebSocketReflectorServer extends WebSocketServer {
         }
     }
 
+    private static boolean isResumable(@NonNull WebSocket conn) {
+        return conn.getProtocol() != null && conn.getProtocol().acceptProvidedProtocol(
+                WebSocketsTransportContract.WEBSOCKETS_RESUMABLE_PROTOCOL);
+    }
+
     @Override
     public void onError(WebSocket conn, Exception ex) {
         if (conn == null) {
@@ -190,6 +259,26 @@ public class WebSocketReflectorServer extends WebSocketServer {
         }
     }
 
+    // Each connection selects its protocol from copies of the known protocols, made as it is opened.
+    // A copy of this protocol is the resumable protocol if resume is supported at that time, and
+    // otherwise just the base protocol.
+    private static class ResumableProtocol extends Protocol {
+        @NonNull
+        private final AtomicBoolean mResumeSupported;
+
+        ResumableProtocol(@NonNull AtomicBoolean resumeSupported) {
+            super(WebSocketsTransportContract.WEBSOCKETS_RESUMABLE_PROTOCOL);
+            mResumeSupported = resumeSupported;
+        }
+
+        @Override
+        public IProtocol copyInstance() {
+            return new Protocol(mResumeSupported.get() ?
+                    WebSocketsTransportContract.WEBSOCKETS_RESUMABLE_PROTOCOL :
+                    WebSocketsTransportContract.WEBSOCKETS_PROTOCOL);
+        }
+    }
+
     private static class ReflectorWebSocketServerFactory implements WebSocketServerFactory {
         @Override
         public WebSocketImpl createWebSocket(WebSocketAdapter a, Draft d) {
@@ -213,6 +302,7 @@ public class WebSocketReflectorServer extends WebSocketServer {
 
     private static class ReflectorWebSocket extends WebSocketImpl implements MessageSender {
         private String id; // valid only after opened
+        private boolean joined; // true if connected with the ID of an existing reflection
         private WebSocket reflect; // valid only after full connection established
 
         public ReflectorWebSocket(WebSocketAdapter a, Draft d) {
@@ -5,10 +5,35 @@
 package com.solana.mobilewalletadapter.fakewallet
 
 import android.app.Application
+import android.content.BroadcastReceiver
+import android.content.Context
+import android.content.Intent
+import android.content.IntentFilter
+import androidx.core.content.ContextCompat
 import com.solana.mobilewalletadapter.fakewallet.data.Ed25519KeyRepository
+import com.solana.mobilewalletadapter.fakewallet.usecase.PackageVerificationCache
 
 class FakeWalletApplication : Application() {
     val keyRepository: Ed25519KeyRepository by lazy {
         Ed25519KeyRepository(this)
     }
-}
\ No newline at end of file
+
+    val packageVerificationCache = PackageVerificationCache()
+
+    override fun onCreate() {
+        super.onCreate()
+
+        // Cached verifications are also checked against the package's last update time; this
+        // additionally drops them as soon as a package is updated or removed
+        val packageChangedFilter = IntentFilter().apply {
+            addAction(Intent.ACTION_PACKAGE_REPLACED)
+            addAction(Intent.ACTION_PACKAGE_REMOVED)
+            addDataScheme("package")
+        }
+        ContextCompat.registerReceiver(this, object : BroadcastReceiver() {
+            override fun onReceive(context: Context, intent: Intent) {
+                intent.data?.schemeSpecificPart?.let { packageVerificationCache.invalidate(it) }
+            }
+        }, packageChangedFilter, ContextCompat.RECEIVER_NOT_EXPORTED)
+    }
+}
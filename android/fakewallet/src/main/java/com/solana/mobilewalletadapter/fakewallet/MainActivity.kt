@@ -150,7 +150,12 @@ class MainActivity : AppCompatActivity() {
         viewBinding.labelActiveAccount.text = getString(
             R.string.label_active_account_path, Ed25519Slip10UseCase.derivationPath(seed.accountIndex))
         showActiveAddress {
-            Ed25519Slip10UseCase.derivePrivateKey(Bip39UseCase.toSeed(seed.mnemonic), seed.accountIndex)
+            val bip39Seed = Bip39UseCase.deriveSeed(seed.mnemonic)
+            try {
+                Ed25519Slip10UseCase.derivePrivateKey(bip39Seed, seed.accountIndex)
+            } finally {
+                bip39Seed.fill(0)
+            }
         }
     }
 
@@ -169,7 +174,7 @@ class MainActivity : AppCompatActivity() {
         }
     }
 
-    private fun showActiveAddress(derivePrivateKey: () -> ByteArray) {
+    private fun showActiveAddress(derivePrivateKey: suspend () -> ByteArray) {
         viewBinding.textActiveAccount.text = "…"
         deriveAddressJob = lifecycleScope.launch {
             val address = withContext(Dispatchers.Default) {
@@ -65,7 +65,8 @@ class MobileWalletAdapterViewModel(application: Application) : AndroidViewModel(
             viewModelScope,
             getApplication<Application>().packageManager,
             callingPackage,
-            associationUri
+            associationUri,
+            getApplication<FakeWalletApplication>().packageVerificationCache
         )
 
         scenario = if (BuildConfig.PROTOCOL_VERSION == SessionProperties.ProtocolVersion.LEGACY
@@ -100,7 +101,9 @@ class MobileWalletAdapterViewModel(application: Application) : AndroidViewModel(
                     LOW_POWER_NO_CONNECTION_TIMEOUT_MS,
                     arrayOf(
                         ProtocolContract.FEATURE_ID_SIGN_TRANSACTIONS,
-                        ProtocolContract.FEATURE_ID_SIGN_IN_WITH_SOLANA
+                        ProtocolContract.FEATURE_ID_SIGN_IN_WITH_SOLANA,
+                        ProtocolContract.FEATURE_ID_PROGRESS_NOTIFICATIONS,
+                        ProtocolContract.FEATURE_ID_COMPRESSED_SESSION
                     )
                 ),
                 AuthIssuerConfig("fakewallet"),
@@ -242,7 +245,9 @@ class MobileWalletAdapterViewModel(application: Application) : AndroidViewModel(
                             Base58.encodeToString((it.public as Ed25519PublicKeyParameters).encoded)
                         }}")
                         try {
-                            SolanaSigningUseCase.signTransaction(tx, keypairs).signedPayload
+                            SolanaSigningUseCase.signTransaction(tx, keypairs).signedPayload.also {
+                                request.request.notifySignedPayload(i, it)
+                            }
                         } catch (e: IllegalArgumentException) {
                             Log.w(TAG, "Transaction [$i] is not a valid Solana transaction", e)
                             valid[i] = false
@@ -262,7 +267,9 @@ class MobileWalletAdapterViewModel(application: Application) : AndroidViewModel(
                     Array(request.request.payloads.size) { i ->
                         // TODO: wallet should check that the payload is NOT a transaction
                         //  to ensure the user is not being tricked into signing a transaction
-                        SolanaSigningUseCase.signMessage(request.request.payloads[i], keypairs).signedPayload
+                        SolanaSigningUseCase.signMessage(request.request.payloads[i], keypairs).signedPayload.also {
+                            request.request.notifySignedPayload(i, it)
+                        }
                     }
                 }
             }
@@ -414,8 +421,11 @@ class MobileWalletAdapterViewModel(application: Application) : AndroidViewModel(
                     request.request.minContextSlot,
                     request.request.commitment,
                     request.request.skipPreflight,
-                    request.request.maxRetries
-                )
+                    request.request.maxRetries,
+                    request.request.waitForCommitmentToSendNextTransaction
+                ) { i ->
+                    request.request.notifySignature(i, request.signatures[i])
+                }
                 Log.d(TAG, "All transactions submitted via RPC")
                 request.request.completeWithSignatures(request.signatures)
             } catch (e: SendTransactionsUseCase.InvalidTransactionsException) {
@@ -509,8 +519,12 @@ class MobileWalletAdapterViewModel(application: Application) : AndroidViewModel(
     private suspend fun getKeypair(): AsymmetricCipherKeyPair =
         getApplication<FakeWalletApplication>().keyRepository.getSeed()?.let { seed ->
             val privateKeyRaw = withContext(Dispatchers.Default) {
-                Ed25519Slip10UseCase.derivePrivateKey(
-                    Bip39UseCase.toSeed(seed.mnemonic), seed.accountIndex)
+                val bip39Seed = Bip39UseCase.deriveSeed(seed.mnemonic)
+                try {
+                    Ed25519Slip10UseCase.derivePrivateKey(bip39Seed, seed.accountIndex)
+                } finally {
+                    bip39Seed.fill(0)
+                }
             }
             getApplication<FakeWalletApplication>().keyRepository.getOrInsertKeypair(privateKeyRaw).also {
                 val publicKey = it.public as Ed25519PublicKeyParameters
@@ -4,10 +4,13 @@
 
 package com.solana.mobilewalletadapter.fakewallet.usecase
 
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.withContext
 import java.security.MessageDigest
 import java.security.SecureRandom
-import javax.crypto.SecretKeyFactory
-import javax.crypto.spec.PBEKeySpec
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
 
 // BIP-39 mnemonic phrase handling, adapted from the SeedVaultSimulator implementation
 // (solana-mobile/seed-vault-sdk, Bip39PhraseUseCase.kt)
@@ -24,39 +27,148 @@ object Bip39UseCase {
     fun normalize(phrase: String): String =
         phrase.trim().lowercase().split(WHITESPACE).joinToString(" ")
 
-    // Throws IllegalArgumentException with a user-presentable message if the phrase is invalid
-    fun validate(phrase: String) {
-        val words = normalize(phrase).split(" ")
-        require(words.size == WORD_COUNT_SHORT || words.size == WORD_COUNT_LONG) {
-            "Seed phrase must be $WORD_COUNT_SHORT or $WORD_COUNT_LONG words, got ${words.size}"
+    // Throws IllegalArgumentException with a user-presentable message if the phrase is invalid.
+    // The phrase need not be normalized; words are matched case-insensitively as it is scanned.
+    fun validate(phrase: CharSequence) {
+        val validator = PhraseValidator()
+        var wordStart = -1
+        for (i in 0..phrase.length) {
+            val isSeparator = i == phrase.length || phrase[i].isWhitespace()
+            if (!isSeparator && wordStart == -1) {
+                wordStart = i
+            } else if (isSeparator && wordStart != -1) {
+                validator.addWord(phrase, wordStart, i)
+                wordStart = -1
+            }
         }
+        validator.finish()
+    }
 
-        val totalBits = words.size * 11
-        val checksumBits = totalBits / 33
-        val entropyBytes = (totalBits - checksumBits) / 8
-        val bits = ByteArray((totalBits + 7) / 8)
-        words.forEachIndexed { wordNum, word ->
-            val index = bip39EnglishWordlist.binarySearch(word)
-            require(index >= 0) { "'$word' is not a BIP-39 word" }
-            for (b in 0 until 11) {
-                if ((index shr (10 - b)) and 1 == 1) {
-                    val bit = wordNum * 11 + b
-                    bits[bit / 8] = (bits[bit / 8].toInt() or (0x80 ushr (bit % 8))).toByte()
+    // Returns the index of word in the wordlist (matched case-insensitively), or -1 if it is not a
+    // BIP-39 word
+    fun indexOf(word: CharSequence, start: Int = 0, end: Int = word.length): Int {
+        var low = 0
+        var high = wordIndex.size - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            val cmp = compareWord(wordIndex[mid], word, start, end)
+            when {
+                cmp < 0 -> low = mid + 1
+                cmp > 0 -> high = mid - 1
+                else -> return mid
+            }
+        }
+        return -1
+    }
+
+    // Returns up to limit wordlist words beginning with prefix (matched case-insensitively), in
+    // wordlist order, e.g. for autocompleting phrase entry
+    fun completions(prefix: CharSequence, limit: Int = Int.MAX_VALUE): List<String> {
+        // Binary search for the first word >= prefix; all words beginning with prefix follow it
+        var low = 0
+        var high = wordIndex.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (compareWord(wordIndex[mid], prefix, 0, prefix.length) < 0) low = mid + 1 else high = mid
+        }
+
+        val completions = mutableListOf<String>()
+        var i = low
+        while (i < wordIndex.size && completions.size < limit && startsWith(wordIndex[i], prefix)) {
+            completions.add(wordIndex[i++])
+        }
+        return completions
+    }
+
+    // Validates a phrase one word at a time, without materializing the phrase or its words
+    class PhraseValidator {
+        private val bits = ByteArray((WORD_COUNT_LONG * 11 + 7) / 8)
+        private var invalidWord: String? = null
+
+        var wordCount = 0
+            private set
+
+        // Returns the index of the word in the wordlist, or -1 if it is not a BIP-39 word
+        fun addWord(word: CharSequence, start: Int = 0, end: Int = word.length): Int {
+            val index = indexOf(word, start, end)
+            if (index < 0) {
+                if (invalidWord == null) {
+                    invalidWord = word.subSequence(start, end).toString().lowercase()
+                }
+            } else if (wordCount < WORD_COUNT_LONG) {
+                for (b in 0 until 11) {
+                    if ((index shr (10 - b)) and 1 == 1) {
+                        val bit = wordCount * 11 + b
+                        bits[bit / 8] = (bits[bit / 8].toInt() or (0x80 ushr (bit % 8))).toByte()
+                    }
                 }
             }
+            wordCount++
+            return index
+        }
+
+        // Throws IllegalArgumentException with a user-presentable message if the phrase is invalid
+        fun finish() {
+            require(wordCount == WORD_COUNT_SHORT || wordCount == WORD_COUNT_LONG) {
+                "Seed phrase must be $WORD_COUNT_SHORT or $WORD_COUNT_LONG words, got $wordCount"
+            }
+            invalidWord?.let { word -> throw IllegalArgumentException("'$word' is not a BIP-39 word") }
+
+            val totalBits = wordCount * 11
+            val checksumBits = totalBits / 33
+            val entropyBytes = (totalBits - checksumBits) / 8
+            val checksumMask = (0xFF shl (8 - checksumBits)) and 0xFF
+            val digest = MessageDigest.getInstance("SHA-256")
+            digest.update(bits, 0, entropyBytes)
+            val expected = digest.digest()[0].toInt() and checksumMask
+            val actual = bits[entropyBytes].toInt() and checksumMask
+            require(expected == actual) { "Seed phrase checksum is invalid" }
         }
 
-        val checksumMask = (0xFF shl (8 - checksumBits)) and 0xFF
-        val expected = sha256(bits.copyOf(entropyBytes))[0].toInt() and checksumMask
-        val actual = bits[entropyBytes].toInt() and checksumMask
-        require(expected == actual) { "Seed phrase checksum is invalid" }
+        fun reset() {
+            bits.fill(0)
+            invalidWord = null
+            wordCount = 0
+        }
     }
 
-    fun toSeed(phrase: String): ByteArray {
-        val pbkdf2HmacSha512Factory = SecretKeyFactory.getInstance("PBKDF2withHmacSHA512")
-        val keySpec = PBEKeySpec(
-            normalize(phrase).toCharArray(), "mnemonic".encodeToByteArray(), 2048, 512)
-        return pbkdf2HmacSha512Factory.generateSecret(keySpec).encoded
+    // The returned seed is not retained; callers should zero it once they have derived their keys
+    fun toSeed(phrase: String): ByteArray = pbkdf2HmacSha512(normalize(phrase)) {}
+
+    // As toSeed, but runs off the calling thread and stops promptly if the caller is cancelled
+    suspend fun deriveSeed(phrase: String): ByteArray = withContext(Dispatchers.Default) {
+        pbkdf2HmacSha512(normalize(phrase)) { ensureActive() }
+    }
+
+    // PBKDF2-HMAC-SHA512(password = phrase, salt = "mnemonic", 2048 iterations, 512 bits). The
+    // output length equals the HMAC length, so only a single PBKDF2 block is needed.
+    private inline fun pbkdf2HmacSha512(normalizedPhrase: String, checkCancelled: () -> Unit): ByteArray {
+        val mac = hmacSha512.get()!!
+        val key = normalizedPhrase.encodeToByteArray()
+        val u = ByteArray(SEED_LEN)
+        try {
+            mac.init(SecretKeySpec(key, "HmacSHA512"))
+            mac.update(SEED_SALT)
+            mac.update(PBKDF2_BLOCK_INDEX)
+            mac.doFinal(u, 0)
+            val t = u.copyOf()
+            for (i in 1 until SEED_ITERATIONS) {
+                if (i % CANCELLATION_CHECK_INTERVAL == 0) {
+                    checkCancelled()
+                }
+                mac.update(u)
+                mac.doFinal(u, 0)
+                for (j in t.indices) {
+                    t[j] = (t[j].toInt() xor u[j].toInt()).toByte()
+                }
+            }
+            return t
+        } finally {
+            // This thread's Mac outlives the derivation; don't leave it keyed with the phrase
+            mac.init(CLEARED_KEY)
+            key.fill(0)
+            u.fill(0)
+        }
     }
 
     private fun toPhrase(entropy: ByteArray): String {
@@ -76,8 +188,40 @@ object Bip39UseCase {
     private fun sha256(data: ByteArray): ByteArray =
         MessageDigest.getInstance("SHA-256").digest(data)
 
+    // Compares a (lowercase) wordlist word to word[start, end), ignoring the case of the latter
+    private fun compareWord(listWord: String, word: CharSequence, start: Int, end: Int): Int {
+        val len = end - start
+        val n = minOf(listWord.length, len)
+        for (i in 0 until n) {
+            val cmp = listWord[i].compareTo(word[start + i].lowercaseChar())
+            if (cmp != 0) return cmp
+        }
+        return listWord.length - len
+    }
+
+    private fun startsWith(listWord: String, prefix: CharSequence): Boolean {
+        if (listWord.length < prefix.length) return false
+        for (i in prefix.indices) {
+            if (listWord[i] != prefix[i].lowercaseChar()) return false
+        }
+        return true
+    }
+
     private val WHITESPACE = Regex("\\s+")
 
+    private const val SEED_LEN = 64
+    private const val SEED_ITERATIONS = 2048
+    private const val CANCELLATION_CHECK_INTERVAL = 128
+    private val SEED_SALT = "mnemonic".encodeToByteArray()
+    private val PBKDF2_BLOCK_INDEX = byteArrayOf(0, 0, 0, 1)
+    private val CLEARED_KEY = SecretKeySpec(ByteArray(1), "HmacSHA512")
+
+    // Mac instances are costly to create; each thread reuses its own, re-keyed with CLEARED_KEY
+    // after each use
+    private val hmacSha512 = object : ThreadLocal<Mac>() {
+        override fun initialValue(): Mac = Mac.getInstance("HmacSHA512")
+    }
+
     val bip39EnglishWordlist: List<String> = listOf(
         "abandon",
         "ability",
@@ -2128,4 +2272,7 @@ object Bip39UseCase {
         "zone",
         "zoo",
     )
+
+    // Sorted, for binary searching words and prefixes
+    private val wordIndex: Array<String> = bip39EnglishWordlist.toTypedArray()
 }
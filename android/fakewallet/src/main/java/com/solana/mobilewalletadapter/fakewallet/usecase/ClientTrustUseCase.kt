@@ -6,6 +6,7 @@ package com.solana.mobilewalletadapter.fakewallet.usecase
 
 import android.annotation.TargetApi
 import android.content.pm.PackageManager
+import android.content.pm.Signature
 import android.net.Uri
 import android.os.Build
 import android.util.Log
@@ -13,12 +14,14 @@ import com.solana.digitalassetlinks.AndroidAppPackageVerifier
 import com.solana.mobilewalletadapter.walletlib.association.AssociationUri
 import kotlinx.coroutines.*
 import java.net.URI
+import java.security.MessageDigest
 
 @TargetApi(Build.VERSION_CODES.N) // for conditional use of PackageManager.getPackageUid(...)
 class ClientTrustUseCase(private val repositoryScope: CoroutineScope,
                          private val packageManager: PackageManager,
                          private val callingPackage: String?,
-                         associationUri: AssociationUri) {
+                         associationUri: AssociationUri,
+                         private val verificationCache: PackageVerificationCache) {
     private val associationType: AssociationType
 
     init {
@@ -39,6 +42,15 @@ class ClientTrustUseCase(private val repositoryScope: CoroutineScope,
         }
     }
 
+    // For app associations, the calling package's identity is loaded as soon as the association
+    // begins, in parallel with session establishment and the dapp's authorize request
+    private val callingPackageIdentity: Deferred<PackageIdentity?>? =
+        if (associationType == AssociationType.LocalFromApp) {
+            repositoryScope.async(Dispatchers.IO) { loadPackageIdentity(callingPackage!!) }
+        } else {
+            null
+        }
+
     val verificationInProgress = VerificationInProgress(associationType.scopeTag)
     val verificationTimedOut = VerificationFailed(associationType.scopeTag)
 
@@ -63,24 +75,30 @@ class ClientTrustUseCase(private val repositoryScope: CoroutineScope,
             AssociationType.LocalFromApp -> {
                 if (clientIdentityUri != null) {
                     repositoryScope.async(Dispatchers.IO) {
-                        val verifier = AndroidAppPackageVerifier(packageManager)
                         val callingPackage = callingPackage!! // NOTE: AssociationType.LOCAL_FROM_APP implies that callingPackage is not null
+                        val identity = callingPackageIdentity!!.await()
+                        if (identity == null) {
+                            Log.w(TAG, "App-scoped authorization failed; '${callingPackage}' not found")
+                            return@async VerificationFailed(AssociationType.LocalFromApp.scopeTag)
+                        }
                         val verified = try {
-                            verifier.verify(callingPackage, URI.create(clientIdentityUri.toString()))
+                            verificationCache.getOrVerify(
+                                PackageVerificationCache.Key(callingPackage,
+                                    clientIdentityUri.toString(), identity.signingCertDigest),
+                                identity.lastUpdateTime
+                            ) {
+                                AndroidAppPackageVerifier(packageManager)
+                                    .verify(callingPackage, URI.create(clientIdentityUri.toString()))
+                            }.await()
                         } catch (e: AndroidAppPackageVerifier.CouldNotVerifyPackageException) {
                             Log.w(TAG, "Package verification failed for callingPackage=$callingPackage, clientIdentityUri=$clientIdentityUri")
                             false
                         }
                         if (verified) {
-                            val uid = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
-                                packageManager.getPackageUid(callingPackage, 0)
-                            } else {
-                                packageManager.getApplicationInfo(callingPackage, 0).uid
-                            }
                             Log.d(TAG, "App-scoped authorization succeeded for '${callingPackage}'")
                             VerificationSucceeded(
                                 AssociationType.LocalFromApp.scopeTag,
-                                uid.toString()
+                                identity.uid.toString()
                             )
                         } else {
                             Log.w(TAG, "App-scoped authorization failed for '${callingPackage}'")
@@ -183,6 +201,34 @@ class ClientTrustUseCase(private val repositoryScope: CoroutineScope,
         }
     }
 
+    @Suppress("DEPRECATION") // GET_SIGNATURES and signatures, used below API 28
+    private fun loadPackageIdentity(packageName: String): PackageIdentity? {
+        val packageInfo = try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                packageManager.getPackageInfo(packageName, PackageManager.GET_SIGNING_CERTIFICATES)
+            } else {
+                packageManager.getPackageInfo(packageName, PackageManager.GET_SIGNATURES)
+            }
+        } catch (e: PackageManager.NameNotFoundException) {
+            return null
+        }
+        val uid = packageInfo.applicationInfo?.uid ?: return null
+        val signatures: Array<Signature> = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            packageInfo.signingInfo?.apkContentsSigners
+        } else {
+            packageInfo.signatures
+        } ?: return null
+        return PackageIdentity(uid, signingCertDigest(signatures), packageInfo.lastUpdateTime)
+    }
+
+    // The identity of an installed package. A verification applies only to the same signing
+    // certificates, and only until the package is next updated.
+    private class PackageIdentity(
+        val uid: Int,
+        val signingCertDigest: String,
+        val lastUpdateTime: Long
+    )
+
     private enum class AssociationType(val scopeTag: String) {
         LocalFromBrowser("web"),
         LocalFromApp("app"),
@@ -202,5 +248,16 @@ class ClientTrustUseCase(private val repositoryScope: CoroutineScope,
     private companion object {
         val TAG = ClientTrustUseCase::class.simpleName
         const val SCOPE_DELIMITER = ','
+
+        // SHA-256 digests of each signing certificate, in a stable order
+        fun signingCertDigest(signatures: Array<Signature>): String {
+            val sha256 = MessageDigest.getInstance("SHA-256")
+            return signatures
+                .map { signature ->
+                    sha256.digest(signature.toByteArray()).joinToString("") { "%02x".format(it) }
+                }
+                .sorted()
+                .joinToString(":")
+        }
     }
 }
\ No newline at end of file
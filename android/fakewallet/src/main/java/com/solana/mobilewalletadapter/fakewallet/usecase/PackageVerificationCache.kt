@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import android.os.SystemClock
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import java.util.concurrent.ConcurrentHashMap
+
+// Caches the outcome of verifying that an app package may act for a client identity URI (e.g. with
+// Digital Asset Links), so that repeat authorizations and reauthorizations from the same app don't
+// wait on verification. An entry is used only while it is fresh and the package has not been
+// updated since it was verified. Verifications are shared by concurrent callers, and run in the
+// cache's own scope so that they outlive the (short-lived) caller that started them.
+class PackageVerificationCache(
+    private val ttlMs: Long = DEFAULT_TTL_MS,
+    private val clock: () -> Long = SystemClock::elapsedRealtime,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+) {
+    data class Key(
+        val callingPackage: String,
+        val identityUri: String,
+        val signingCertDigest: String
+    )
+
+    private class Entry(
+        val packageLastUpdateTime: Long,
+        val expiresAt: Long,
+        val verified: Deferred<Boolean>
+    )
+
+    private val entries = ConcurrentHashMap<Key, Entry>()
+
+    // Returns the cached verification for key if still valid, otherwise starts verify. If verify
+    // fails (rather than returning false), the failure is not reused by later calls.
+    fun getOrVerify(
+        key: Key,
+        packageLastUpdateTime: Long,
+        verify: suspend () -> Boolean
+    ): Deferred<Boolean> {
+        val now = clock()
+        return entries.compute(key) { _, entry ->
+            if (entry != null && entry.isValid(packageLastUpdateTime, now)) {
+                entry
+            } else {
+                Entry(packageLastUpdateTime, now + ttlMs, scope.async { verify() })
+            }
+        }!!.verified
+    }
+
+    // Drops all cached verifications for callingPackage, e.g. when it is updated or removed
+    fun invalidate(callingPackage: String) {
+        entries.keys.removeIf { it.callingPackage == callingPackage }
+    }
+
+    // N.B. a Deferred which failed is also cancelled
+    private fun Entry.isValid(packageLastUpdateTime: Long, now: Long) =
+        this.packageLastUpdateTime == packageLastUpdateTime && now < expiresAt &&
+                !verified.isCancelled
+
+    companion object {
+        const val DEFAULT_TTL_MS = 60 * 60 * 1000L // 1 hour
+    }
+}
@@ -8,16 +8,24 @@ import android.net.Uri
 import android.util.Base64
 import android.util.Log
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import kotlinx.coroutines.withContext
-import org.json.JSONArray
 import org.json.JSONException
 import org.json.JSONObject
+import java.io.IOException
 import java.net.HttpURLConnection
 import java.net.URL
 
 // Note: this class is for testing purposes only. It does not comprehensively check for error
 // results from the RPC server.
 object SendTransactionsUseCase {
+    // N.B. kept below the default HTTP keep-alive pool size (http.maxConnections = 5), so that
+    // connections to the RPC server are reused across transactions rather than re-established
+    const val MAX_CONCURRENT_REQUESTS = 4
+
     @Suppress("BlockingMethodInNonBlockingContext") // runs in Dispatchers.IO
     suspend operator fun invoke(
         rpcUri: Uri,
@@ -26,76 +34,84 @@ object SendTransactionsUseCase {
         commitment: String?,
         skipPreflight: Boolean?,
         maxRetries: Int?,
-        // TODO: wait for commitment to send next transaction
+        waitForCommitmentToSendNextTransaction: Boolean? = null,
+        onTransactionSubmitted: ((index: Int) -> Unit)? = null
     ) {
-        withContext(Dispatchers.IO) {
-            // Send all transactions and accumulate transaction signatures
-            val signatures = Array<String?>(transactions.size) { null }
-            // TODO: wait for commitment to send next transaction
-            transactions.forEachIndexed { i, transaction ->
-                val transactionBase64 = Base64.encodeToString(transaction, Base64.NO_WRAP)
-                Log.d(TAG, "Sending transaction: '$transactionBase64' with minContextSlot=$minContextSlot")
+        val rpcUrl = URL(rpcUri.toString())
+        val options = createSendTransactionOptions(minContextSlot, commitment, skipPreflight, maxRetries)
 
-                val conn = URL(rpcUri.toString()).openConnection() as HttpURLConnection
-                conn.requestMethod = "POST"
-                conn.setRequestProperty("Content-Type", "application/json")
-                conn.readTimeout = TIMEOUT_MS
-                conn.connectTimeout = TIMEOUT_MS
-                conn.doOutput = true
-                conn.outputStream.use { outputStream ->
-                    outputStream.write(
-                        createSendTransactionRequest(
-                            transactionBase64,
-                            minContextSlot,
-                            commitment,
-                            skipPreflight,
-                            maxRetries
-                        ).encodeToByteArray()
-                    )
+        // Send all transactions and accumulate transaction signatures
+        val signatures = withContext(Dispatchers.IO) {
+            if (waitForCommitmentToSendNextTransaction == true) {
+                // TODO: wait for commitment to send next transaction. Until then, transactions
+                //  which must be sent in order are at least submitted one at a time, in order.
+                transactions.indices.map { i ->
+                    sendTransaction(rpcUrl, i, transactions[i], options)
+                        ?.also { onTransactionSubmitted?.invoke(i) }
                 }
-                conn.connect()
-                signatures[i] = if (conn.responseCode == HttpURLConnection.HTTP_OK) {
-                    val result = conn.inputStream.use { inputStream ->
-                        inputStream.readBytes()
-                    }
-                    try {
-                        parseSendTransactionResult(result)
-                    } catch (e: IllegalArgumentException) {
-                        Log.e(TAG, "sendTransaction did not return a signature, response=${String(result)}")
-                        null
+            } else {
+                val submitPermits = Semaphore(MAX_CONCURRENT_REQUESTS)
+                transactions.indices.map { i ->
+                    async {
+                        submitPermits.withPermit {
+                            sendTransaction(rpcUrl, i, transactions[i], options)
+                        }?.also { onTransactionSubmitted?.invoke(i) }
                     }
-                } else {
-                    Log.e(TAG, "Failed sending transaction, response code=${conn.responseCode}")
-                    null
-                }
+                }.awaitAll()
             }
+        }
+
+        // Ensure all transactions were submitted successfully
+        val valid = signatures.map { signature -> signature != null }
+        if (valid.any { !it }) {
+            throw InvalidTransactionsException(valid.toBooleanArray())
+        }
+    }
+
+    private fun sendTransaction(
+        rpcUrl: URL,
+        id: Int,
+        transaction: ByteArray,
+        options: String
+    ): String? {
+        val transactionBase64 = Base64.encodeToString(transaction, Base64.NO_WRAP)
+        Log.d(TAG, "Sending transaction $id: '$transactionBase64' with options=$options")
+        val request = createSendTransactionRequest(id, transactionBase64, options)
+
+        val conn = rpcUrl.openConnection() as HttpURLConnection
+        return try {
+            conn.requestMethod = "POST"
+            conn.setRequestProperty("Content-Type", "application/json")
+            conn.readTimeout = TIMEOUT_MS
+            conn.connectTimeout = TIMEOUT_MS
+            conn.doOutput = true
+            conn.setFixedLengthStreamingMode(request.size)
+            conn.outputStream.use { outputStream -> outputStream.write(request) }
 
-            // Ensure all transactions were submitted successfully
-            val valid = signatures.map { signature -> signature != null }
-            if (valid.any { !it }) {
-                throw InvalidTransactionsException(valid.toBooleanArray())
+            // N.B. response bodies are always read to completion and closed (but the connection is
+            // not disconnected), which returns the connection to the keep-alive pool for reuse
+            val responseCode = conn.responseCode
+            if (responseCode == HttpURLConnection.HTTP_OK) {
+                val result = conn.inputStream.use { inputStream -> inputStream.readBytes() }
+                parseSendTransactionResult(result)
+            } else {
+                conn.errorStream?.use { errorStream -> errorStream.readBytes() }
+                Log.e(TAG, "Failed sending transaction $id, response code=$responseCode")
+                null
             }
+        } catch (e: IOException) {
+            Log.e(TAG, "Failed sending transaction $id", e)
+            null
         }
     }
 
-    private fun createSendTransactionRequest(
-        transactionBase64: String,
+    // The options are the same for every transaction in a request, so they are encoded only once
+    private fun createSendTransactionOptions(
         minContextSlot: Int?,
         commitment: String?,
         skipPreflight: Boolean?,
         maxRetries: Int?
     ): String {
-        val jo = JSONObject()
-        jo.put("jsonrpc", "2.0")
-        jo.put("id", 1)
-        jo.put("method", "sendTransaction")
-
-        val arr = JSONArray()
-
-        // Parameter 0 - base64-encoded transaction
-        arr.put(transactionBase64)
-
-        // Parameter 1 - options
         val opt = JSONObject()
         opt.put("encoding", "base64")
         opt.put("preflightCommitment", commitment ?: "processed")
@@ -108,11 +124,24 @@ object SendTransactionsUseCase {
         if (maxRetries != null) {
             opt.put("maxRetries", maxRetries)
         }
-        arr.put(opt)
-
-        jo.put("params", arr)
+        return opt.toString()
+    }
 
-        return jo.toString()
+    // N.B. base64 contains no characters which require escaping in a JSON string
+    private fun createSendTransactionRequest(
+        id: Int,
+        transactionBase64: String,
+        options: String
+    ): ByteArray {
+        return StringBuilder(transactionBase64.length + options.length + 80)
+            .append("{\"jsonrpc\":\"2.0\",\"id\":").append(id)
+            .append(",\"method\":\"sendTransaction\",\"params\":[\"")
+            .append(transactionBase64) // Parameter 0 - base64-encoded transaction
+            .append("\",")
+            .append(options) // Parameter 1 - options
+            .append("]}")
+            .toString()
+            .encodeToByteArray()
     }
 
     private fun parseSendTransactionResult(result: ByteArray): String? {
@@ -130,4 +159,4 @@ object SendTransactionsUseCase {
     private const val TIMEOUT_MS = 20000
 
     class InvalidTransactionsException(val valid: BooleanArray, message: String? = null, cause: Throwable? = null) : RuntimeException(message, cause)
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+/**
+ * A reusable, allocation-free view over a legacy or v0 Solana transaction in wire format. The view
+ * records only offsets into the wrapped buffer; no part of the transaction is copied. A single view
+ * can be reused for many transactions by calling [wrap] again.
+ *
+ * [wrap] validates the transaction only up through the account keys array, which is all that is
+ * needed to sign it. The remainder of the message (blockhash, instructions and address table
+ * lookups) is validated the first time any of those parts is accessed.
+ *
+ * Note: this class is not thread safe.
+ */
+class SolanaTransactionView {
+    var buffer: ByteArray = EMPTY_BUFFER
+        private set
+
+    var numSignatures = 0
+        private set
+    var signaturesOffset = 0
+        private set
+
+    var messageOffset = 0
+        private set
+    val messageLength: Int
+        get() = buffer.size - messageOffset
+
+    // VERSION_LEGACY, or the version number of a versioned message
+    var version = VERSION_LEGACY
+        private set
+
+    var numRequiredSignatures = 0
+        private set
+    var numReadonlySignedAccounts = 0
+        private set
+    var numReadonlyUnsignedAccounts = 0
+        private set
+
+    var numAccountKeys = 0
+        private set
+    var accountKeysOffset = 0
+        private set
+
+    private var messageBodyParsed = false
+    private var _blockhashOffset = 0
+    private var _numInstructions = 0
+    private var _instructionsOffset = 0
+    private var _numAddressTableLookups = 0
+    private var _addressTableLookupsOffset = 0
+
+    val blockhashOffset: Int
+        get() { parseMessageBody(); return _blockhashOffset }
+    val numInstructions: Int
+        get() { parseMessageBody(); return _numInstructions }
+    val instructionsOffset: Int
+        get() { parseMessageBody(); return _instructionsOffset }
+    val numAddressTableLookups: Int
+        get() { parseMessageBody(); return _numAddressTableLookups }
+
+    // Set by seekAddressTableLookup
+    var lookupAccountKeyOffset = 0
+        private set
+    var lookupNumWritableIndexes = 0
+        private set
+    var lookupWritableIndexesOffset = 0
+        private set
+    var lookupNumReadonlyIndexes = 0
+        private set
+    var lookupReadonlyIndexesOffset = 0
+        private set
+
+    // Number of bytes consumed by the most recent readCompactArrayLen
+    private var compactArrayLenBytes = 0
+
+    // throws IllegalArgumentException
+    fun wrap(transaction: ByteArray): SolanaTransactionView {
+        buffer = transaction
+        messageBodyParsed = false
+
+        numSignatures = readCompactArrayLen(0)
+        signaturesOffset = compactArrayLenBytes
+        messageOffset = signaturesOffset + SolanaSigningUseCase.SIGNATURE_LEN * numSignatures
+        require(messageOffset < transaction.size) { "signatures array extends beyond buffer bounds" }
+
+        // if the highest bit of the prefix is not set, the message is not versioned
+        val prefix = readU8(messageOffset)
+        val headerOffset: Int
+        if (prefix and VERSION_PREFIX_MASK == 0) {
+            version = VERSION_LEGACY
+            headerOffset = messageOffset
+        } else {
+            version = prefix and VERSION_PREFIX_MASK.inv()
+            require(version == 0) { "unsupported transaction version $version" }
+            headerOffset = messageOffset + 1
+        }
+
+        val accountsArrayOffset = headerOffset + 3
+        require(accountsArrayOffset <= transaction.size) { "transaction header extends beyond buffer bounds" }
+        numRequiredSignatures = readU8(headerOffset)
+        numReadonlySignedAccounts = readU8(headerOffset + 1)
+        numReadonlyUnsignedAccounts = readU8(headerOffset + 2)
+        require(numSignatures == numRequiredSignatures) { "Signatures array length does not match transaction required number of signatures" }
+
+        numAccountKeys = readCompactArrayLen(accountsArrayOffset)
+        accountKeysOffset = accountsArrayOffset + compactArrayLenBytes
+        require(numAccountKeys >= numSignatures) { "Accounts array is smaller than number of required signatures" }
+        val accountsEndOffset = accountKeysOffset + SolanaSigningUseCase.PUBLIC_KEY_LEN * numAccountKeys
+        require(accountsEndOffset <= transaction.size) { "Accounts array extends beyond buffer bounds" }
+        _blockhashOffset = accountsEndOffset
+
+        return this
+    }
+
+    fun signatureOffset(index: Int): Int {
+        checkIndex(index, numSignatures)
+        return signaturesOffset + SolanaSigningUseCase.SIGNATURE_LEN * index
+    }
+
+    fun accountKeyOffset(index: Int): Int {
+        checkIndex(index, numAccountKeys)
+        return accountKeysOffset + SolanaSigningUseCase.PUBLIC_KEY_LEN * index
+    }
+
+    fun copyAccountKey(index: Int): ByteArray {
+        val off = accountKeyOffset(index)
+        return buffer.copyOfRange(off, off + SolanaSigningUseCase.PUBLIC_KEY_LEN)
+    }
+
+    // Returns the index of the signer (and signature slot) for publicKey, or -1 if publicKey is not
+    // a required signer of this transaction
+    fun signerIndexOf(publicKey: ByteArray, publicKeyOffset: Int = 0): Int {
+        require(publicKeyOffset >= 0 && publicKeyOffset + SolanaSigningUseCase.PUBLIC_KEY_LEN <= publicKey.size) {
+            "publicKey extends beyond buffer bounds"
+        }
+        var off = accountKeysOffset
+        for (i in 0 until numRequiredSignatures) {
+            if (rangeEquals(buffer, off, publicKey, publicKeyOffset, SolanaSigningUseCase.PUBLIC_KEY_LEN)) {
+                return i
+            }
+            off += SolanaSigningUseCase.PUBLIC_KEY_LEN
+        }
+        return -1
+    }
+
+    // Positions the lookup* properties on the address table lookup at index
+    // throws IllegalArgumentException
+    fun seekAddressTableLookup(index: Int) {
+        checkIndex(index, numAddressTableLookups)
+        var off = _addressTableLookupsOffset
+        for (i in 0..index) {
+            lookupAccountKeyOffset = off
+            off += SolanaSigningUseCase.PUBLIC_KEY_LEN
+            lookupNumWritableIndexes = readCompactArrayLen(off)
+            lookupWritableIndexesOffset = off + compactArrayLenBytes
+            off = lookupWritableIndexesOffset + lookupNumWritableIndexes
+            lookupNumReadonlyIndexes = readCompactArrayLen(off)
+            lookupReadonlyIndexesOffset = off + compactArrayLenBytes
+            off = lookupReadonlyIndexesOffset + lookupNumReadonlyIndexes
+        }
+    }
+
+    // throws IllegalArgumentException
+    private fun parseMessageBody() {
+        if (messageBodyParsed) return
+
+        var off = _blockhashOffset + BLOCKHASH_LEN
+        require(off <= buffer.size) { "blockhash extends beyond buffer bounds" }
+
+        _numInstructions = readCompactArrayLen(off)
+        _instructionsOffset = off + compactArrayLenBytes
+        off = _instructionsOffset
+        for (i in 0 until _numInstructions) {
+            require(off < buffer.size) { "instruction extends beyond buffer bounds" }
+            off += 1 // program ID index
+            val numAccounts = readCompactArrayLen(off)
+            off += compactArrayLenBytes + numAccounts
+            val dataLen = readCompactArrayLen(off)
+            off += compactArrayLenBytes + dataLen
+            require(off <= buffer.size) { "instruction extends beyond buffer bounds" }
+        }
+
+        if (version == VERSION_LEGACY) {
+            _numAddressTableLookups = 0
+            _addressTableLookupsOffset = off
+        } else {
+            _numAddressTableLookups = readCompactArrayLen(off)
+            _addressTableLookupsOffset = off + compactArrayLenBytes
+            off = _addressTableLookupsOffset
+            for (i in 0 until _numAddressTableLookups) {
+                off += SolanaSigningUseCase.PUBLIC_KEY_LEN
+                val numWritable = readCompactArrayLen(off)
+                off += compactArrayLenBytes + numWritable
+                val numReadonly = readCompactArrayLen(off)
+                off += compactArrayLenBytes + numReadonly
+                require(off <= buffer.size) { "address table lookup extends beyond buffer bounds" }
+            }
+        }
+
+        messageBodyParsed = true
+    }
+
+    private fun readU8(off: Int): Int = buffer[off].toInt() and 0xff
+
+    // Reads a compact-u16 (little-endian, 7 bits per byte) array length. Sets
+    // compactArrayLenBytes to the number of bytes consumed.
+    // throws IllegalArgumentException
+    private fun readCompactArrayLen(off: Int): Int {
+        val b = buffer
+        require(off < b.size) { "compact array length extends beyond buffer bounds" }
+        val b0 = b[off].toInt() and 0xff
+        var len = b0 and 0x7f
+        if (b0 and 0x80 == 0) {
+            compactArrayLenBytes = 1
+            return len
+        }
+
+        require((off + 1) < b.size) { "compact array length extends beyond buffer bounds" }
+        val b1 = b[off + 1].toInt() and 0xff
+        len = len or (b1 and 0x7f).shl(7)
+        if (b1 and 0x80 == 0) {
+            compactArrayLenBytes = 2
+            return len
+        }
+
+        require((off + 2) < b.size) { "compact array length extends beyond buffer bounds" }
+        val b2 = b[off + 2].toInt() and 0xff
+        require(b2 and (0x3).inv() == 0) { "third byte of compact array length has unexpected bits set" }
+        len = len or b2.shl(14)
+        compactArrayLenBytes = 3
+        return len
+    }
+
+    companion object {
+        const val VERSION_LEGACY = -1
+        const val BLOCKHASH_LEN = 32
+        private const val VERSION_PREFIX_MASK = 0x80
+        private val EMPTY_BUFFER = ByteArray(0)
+
+        private fun checkIndex(index: Int, size: Int) {
+            if (index < 0 || index >= size) {
+                throw IndexOutOfBoundsException("index $index out of range [0, $size)")
+            }
+        }
+
+        private fun rangeEquals(a: ByteArray, aOff: Int, b: ByteArray, bOff: Int, len: Int): Boolean {
+            for (i in 0 until len) {
+                if (a[aOff + i] != b[bOff + i]) return false
+            }
+            return true
+        }
+    }
+}
@@ -4,6 +4,9 @@
 
 package com.solana.mobilewalletadapter.fakewallet.usecase
 
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.runBlocking
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertThrows
 import org.junit.Test
@@ -72,6 +75,71 @@ class Bip39UseCaseTest {
         )
     }
 
+    @Test
+    fun `toSeed is unaffected by previous seeds derived on the same thread`() {
+        val expected = Bip39UseCase.toSeed(TEST_PHRASE).toHex()
+        Bip39UseCase.toSeed(Bip39UseCase.generatePhrase())
+        assertEquals(expected, Bip39UseCase.toSeed(TEST_PHRASE).toHex())
+    }
+
+    @Test
+    fun `indexOf finds every wordlist word`() {
+        Bip39UseCase.bip39EnglishWordlist.forEachIndexed { i, word ->
+            assertEquals(i, Bip39UseCase.indexOf(word))
+        }
+        assertEquals(3, Bip39UseCase.indexOf("ABOUT"))
+        assertEquals(-1, Bip39UseCase.indexOf("solana"))
+        assertEquals(-1, Bip39UseCase.indexOf("abando"))
+        assertEquals(-1, Bip39UseCase.indexOf(""))
+    }
+
+    @Test
+    fun `completions returns words with prefix in wordlist order`() {
+        assertEquals(listOf("zebra", "zero", "zone", "zoo"), Bip39UseCase.completions("z"))
+        assertEquals(listOf("zebra", "zero"), Bip39UseCase.completions("Z", limit = 2))
+        assertEquals(listOf("abandon"), Bip39UseCase.completions("aband"))
+        assertEquals(emptyList<String>(), Bip39UseCase.completions("xyz"))
+        assertEquals(2048, Bip39UseCase.completions("").size)
+    }
+
+    @Test
+    fun `streaming validator accepts words one at a time`() {
+        val validator = Bip39UseCase.PhraseValidator()
+        TEST_PHRASE.split(" ").forEach { word -> validator.addWord(word) }
+        validator.finish() // must not throw
+
+        validator.reset()
+        repeat(Bip39UseCase.WORD_COUNT_SHORT) { validator.addWord("abandon") }
+        assertThrows(IllegalArgumentException::class.java) { validator.finish() }
+    }
+
+    @Test
+    fun `validate reports word count before invalid words`() {
+        val e = assertThrows(IllegalArgumentException::class.java) {
+            Bip39UseCase.validate("abandon solana")
+        }
+        assertEquals("Seed phrase must be 12 or 24 words, got 2", e.message)
+    }
+
+    @Test
+    fun `deriveSeed matches toSeed`() {
+        val phrase = Bip39UseCase.generatePhrase()
+        assertEquals(
+            Bip39UseCase.toSeed(phrase).toHex(),
+            runBlocking { Bip39UseCase.deriveSeed(" ${phrase.uppercase()} ") }.toHex()
+        )
+    }
+
+    @Test
+    fun `deriveSeed stops when cancelled`() {
+        assertThrows(CancellationException::class.java) {
+            runBlocking {
+                coroutineContext.cancel()
+                Bip39UseCase.deriveSeed(Bip39UseCase.generatePhrase())
+            }
+        }
+    }
+
     companion object {
         const val TEST_PHRASE = "abandon abandon abandon abandon abandon abandon " +
                 "abandon abandon abandon abandon abandon about"
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+// The original transaction parser from SolanaSigningUseCase, retained as a reference for
+// differential testing of SolanaTransactionView
+object LegacySolanaTransactionParser {
+    fun getSignersForTransaction(
+        transaction: ByteArray
+    ): List<ByteArray> {
+
+        val signers = mutableListOf<ByteArray>()
+
+        // Validate the transaction only up through the account addresses array
+        val (numSignatures, numSignaturesOffset) = readCompactArrayLen(transaction, 0)
+        val prefixOffset = numSignaturesOffset + (SolanaSigningUseCase.SIGNATURE_LEN * numSignatures)
+        val prefix = transaction[prefixOffset].toInt()
+
+        // if the highest bit of the prefix is not set, the message is not versioned
+        val txnVersionOffset = if (prefix and 0x7f == prefix) 0 else 1
+        val headerOffset = prefixOffset + txnVersionOffset
+
+        val accountsArrayOffset = headerOffset + 3
+        require(accountsArrayOffset <= transaction.size) { "transaction header extends beyond buffer bounds" }
+        val numSignaturesHeader = transaction[headerOffset].toInt()
+        require(numSignatures == numSignaturesHeader) { "Signatures array length does not match transaction required number of signatures" }
+
+        val (numAccounts, numAccountsOffset) = readCompactArrayLen(transaction, accountsArrayOffset)
+        require(numAccounts >= numSignatures) { "Accounts array is smaller than number of required signatures" }
+        val blockhashOffset = accountsArrayOffset + numAccountsOffset + SolanaSigningUseCase.PUBLIC_KEY_LEN * numAccounts
+        require(blockhashOffset <= transaction.size) { "Accounts array extends beyond buffer bounds" }
+        for (i in 0 until numSignatures) {
+            val accountOff = accountsArrayOffset + numAccountsOffset + SolanaSigningUseCase.PUBLIC_KEY_LEN * i
+            val accountPublicKey = transaction.copyOfRange(accountOff, accountOff + SolanaSigningUseCase.PUBLIC_KEY_LEN)
+            signers.add(accountPublicKey)
+        }
+
+        return signers.toList()
+    }
+
+    private fun readCompactArrayLen(b: ByteArray, off: Int): Pair<Int, Int> {
+        var len: Int
+
+        require(off < b.size) { "compact array length extends beyond buffer bounds" }
+        val b0 = b[off].toUByte().toInt()
+        len = (b0.and(0x7f))
+        if (b0.and(0x80) == 0) {
+            return len to 1
+        }
+
+        require((off + 1) < b.size) { "compact array length extends beyond buffer bounds" }
+        val b1 = b[off + 1].toUByte().toInt()
+        len = len.shl(7).or(b1.and(0x7f))
+        if (b1.and(0x80) == 0) {
+            return len to 2
+        }
+
+        require((off + 2) < b.size) { "compact array length extends beyond buffer bounds" }
+        val b2 = b[off + 2].toUByte().toInt()
+        require(b2.and((0x3).inv()) == 0) { "third byte of compact array length has unexpected bits set" }
+        len = len.shl(2).or(b2)
+        return len to 3
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class PackageVerificationCacheTest {
+    private var now = 0L
+    private val cache = PackageVerificationCache(ttlMs = TTL_MS, clock = { now })
+    private val verifications = AtomicInteger()
+
+    private suspend fun verify(): Boolean {
+        verifications.incrementAndGet()
+        return true
+    }
+
+    @Test
+    fun `fresh verification is reused`() = runBlocking {
+        // given
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+        now += TTL_MS - 1
+
+        // when
+        val verified = cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // then
+        assertTrue(verified)
+        assertEquals(1, verifications.get())
+    }
+
+    @Test
+    fun `expired verification is repeated`() = runBlocking {
+        // given
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+        now += TTL_MS
+
+        // when
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // then
+        assertEquals(2, verifications.get())
+    }
+
+    @Test
+    fun `verification is repeated after package update`() = runBlocking {
+        // given
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // when
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME + 1, ::verify).await()
+
+        // then
+        assertEquals(2, verifications.get())
+    }
+
+    @Test
+    fun `verification is repeated after invalidation`() = runBlocking {
+        // given
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // when
+        cache.invalidate(KEY.callingPackage)
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // then
+        assertEquals(2, verifications.get())
+    }
+
+    @Test
+    fun `verifications are per identity and signing certificate`() = runBlocking {
+        // given
+        cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // when
+        cache.getOrVerify(KEY.copy(identityUri = "https://other.example.com"), LAST_UPDATE_TIME, ::verify).await()
+        cache.getOrVerify(KEY.copy(signingCertDigest = "00"), LAST_UPDATE_TIME, ::verify).await()
+
+        // then
+        assertEquals(3, verifications.get())
+    }
+
+    @Test
+    fun `concurrent callers share one verification`() = runBlocking {
+        // given
+        val gate = CompletableDeferred<Unit>()
+        val slowVerify: suspend () -> Boolean = {
+            verifications.incrementAndGet()
+            gate.await()
+            false
+        }
+
+        // when
+        val first = cache.getOrVerify(KEY, LAST_UPDATE_TIME, slowVerify)
+        val second = cache.getOrVerify(KEY, LAST_UPDATE_TIME, slowVerify)
+        gate.complete(Unit)
+
+        // then
+        assertSame(first, second)
+        assertFalse(second.await())
+        assertEquals(1, verifications.get())
+    }
+
+    @Test
+    fun `failed verification is not reused`() = runBlocking {
+        // given
+        val failed = cache.getOrVerify(KEY, LAST_UPDATE_TIME) {
+            verifications.incrementAndGet()
+            throw IllegalStateException("could not reach host")
+        }
+        assertThrows(IllegalStateException::class.java) { runBlocking { failed.await() } }
+
+        // when
+        val verified = cache.getOrVerify(KEY, LAST_UPDATE_TIME, ::verify).await()
+
+        // then
+        assertTrue(verified)
+        assertEquals(2, verifications.get())
+    }
+
+    private companion object {
+        const val TTL_MS = 1000L
+        const val LAST_UPDATE_TIME = 1234L
+        val KEY = PackageVerificationCache.Key(
+            "com.example.dapp", "https://dapp.example.com", "abcdef")
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import android.net.Uri
+import android.util.Base64
+import com.sun.net.httpserver.HttpServer
+import kotlinx.coroutines.runBlocking
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.net.InetSocketAddress
+import java.util.Collections
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(RobolectricTestRunner::class)
+class SendTransactionsUseCaseTest {
+    private lateinit var server: HttpServer
+    private lateinit var rpcUri: Uri
+
+    private val receivedTransactions = Collections.synchronizedList(mutableListOf<ByteArray>())
+    private val inFlight = AtomicInteger()
+    private val maxInFlight = AtomicInteger()
+
+    // Transactions whose first byte is REJECT are rejected with a JSON-RPC error, and those whose
+    // first byte is FAIL are rejected with an HTTP error
+    @Before
+    fun setUp() {
+        server = HttpServer.create(InetSocketAddress("127.0.0.1", 0), 0)
+        server.executor = Executors.newCachedThreadPool()
+        server.createContext("/") { exchange ->
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), ::maxOf)
+            try {
+                val request = JSONObject(String(exchange.requestBody.use { it.readBytes() }))
+                val transaction = Base64.decode(request.getJSONArray("params").getString(0), Base64.DEFAULT)
+                receivedTransactions.add(transaction)
+                Thread.sleep(20) // give concurrent requests a chance to overlap
+
+                val (code, response) = when (transaction[0]) {
+                    FAIL -> 500 to "internal error"
+                    REJECT -> 200 to """{"jsonrpc":"2.0","id":${request.getInt("id")},"error":{"code":-32002,"message":"rejected"}}"""
+                    else -> 200 to """{"jsonrpc":"2.0","id":${request.getInt("id")},"result":"sig${transaction[1]}"}"""
+                }
+                val responseBytes = response.encodeToByteArray()
+                exchange.sendResponseHeaders(code, responseBytes.size.toLong())
+                exchange.responseBody.use { it.write(responseBytes) }
+            } finally {
+                inFlight.decrementAndGet()
+            }
+        }
+        server.start()
+        rpcUri = Uri.parse("http://127.0.0.1:${server.address.port}/")
+    }
+
+    @After
+    fun tearDown() {
+        server.stop(0)
+    }
+
+    @Test
+    fun `all transactions are submitted with bounded concurrency`() {
+        val transactions = Array(20) { i -> byteArrayOf(OK, i.toByte()) }
+        val submitted = Collections.synchronizedSet(mutableSetOf<Int>())
+
+        runBlocking {
+            SendTransactionsUseCase(rpcUri, transactions, null, null, null, null) { i ->
+                submitted.add(i)
+            }
+        }
+
+        assertEquals(transactions.indices.toSet(), submitted)
+        assertEquals(
+            transactions.map { it.toList() }.toSet(),
+            receivedTransactions.map { it.toList() }.toSet()
+        )
+        assertTrue(maxInFlight.get() > 1)
+        assertTrue(maxInFlight.get() <= SendTransactionsUseCase.MAX_CONCURRENT_REQUESTS)
+    }
+
+    @Test
+    fun `transactions are submitted one at a time and in order when waiting for commitment`() {
+        val transactions = Array(10) { i -> byteArrayOf(OK, i.toByte()) }
+        val submitted = Collections.synchronizedList(mutableListOf<Int>())
+
+        runBlocking {
+            SendTransactionsUseCase(rpcUri, transactions, null, null, null, null, true) { i ->
+                submitted.add(i)
+            }
+        }
+
+        assertEquals(
+            transactions.map { it.toList() },
+            receivedTransactions.map { it.toList() }
+        )
+        assertEquals(transactions.indices.toList(), submitted)
+        assertEquals(1, maxInFlight.get())
+    }
+
+    @Test
+    fun `failed transactions are reported individually`() {
+        val transactions = arrayOf(
+            byteArrayOf(OK, 0),
+            byteArrayOf(REJECT, 1),
+            byteArrayOf(OK, 2),
+            byteArrayOf(FAIL, 3),
+        )
+        val submitted = Collections.synchronizedSet(mutableSetOf<Int>())
+
+        val e = assertThrows(SendTransactionsUseCase.InvalidTransactionsException::class.java) {
+            runBlocking {
+                SendTransactionsUseCase(rpcUri, transactions, null, null, null, null) { i ->
+                    submitted.add(i)
+                }
+            }
+        }
+
+        assertArrayEquals(booleanArrayOf(true, false, true, false), e.valid)
+        assertEquals(setOf(0, 2), submitted)
+    }
+
+    @Test
+    fun `unreachable RPC server fails all transactions`() {
+        server.stop(0)
+        val transactions = Array(3) { i -> byteArrayOf(OK, i.toByte()) }
+
+        val e = assertThrows(SendTransactionsUseCase.InvalidTransactionsException::class.java) {
+            runBlocking {
+                SendTransactionsUseCase(rpcUri, transactions, null, null, null, null)
+            }
+        }
+
+        assertArrayEquals(booleanArrayOf(false, false, false), e.valid)
+    }
+
+    companion object {
+        private const val OK: Byte = 0
+        private const val REJECT: Byte = 1
+        private const val FAIL: Byte = 2
+    }
+}
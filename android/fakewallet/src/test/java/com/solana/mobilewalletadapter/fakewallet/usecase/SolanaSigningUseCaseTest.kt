@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import org.bouncycastle.crypto.AsymmetricCipherKeyPair
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters
+import org.bouncycastle.crypto.signers.Ed25519Signer
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Test
+import java.security.SecureRandom
+import kotlin.random.Random
+
+class SolanaSigningUseCaseTest {
+    private val keypairs = List(3) {
+        val privateKey = Ed25519PrivateKeyParameters(SecureRandom())
+        AsymmetricCipherKeyPair(privateKey.generatePublicKey(), privateKey)
+    }
+
+    @Test
+    fun `transaction signatures are written to signer slots`() {
+        val tx = SolanaTransactionViewTest.buildTransaction(Random(1), version = 0, numSigners = 3,
+            numAccounts = 4, numInstructions = 2, numLookups = 1)
+        keypairs.forEachIndexed { i, keypair -> keypairPublicKey(keypair).copyInto(tx.bytes, accountKeyOffset(tx, i)) }
+
+        val result = SolanaSigningUseCase.signTransaction(tx.bytes, listOf(keypairs[2], keypairs[0]))
+
+        val message = tx.bytes.copyOfRange(tx.messageOffset, tx.bytes.size)
+        assertArrayEquals(referenceSign(keypairs[0], message), result.signedPayload.copyOfRange(1, 65))
+        assertArrayEquals(ByteArray(64), result.signedPayload.copyOfRange(65, 129))
+        assertArrayEquals(referenceSign(keypairs[2], message), result.signedPayload.copyOfRange(129, 193))
+        assertArrayEquals(message, result.signedPayload.copyOfRange(tx.messageOffset, result.signedPayload.size))
+        assertArrayEquals(result.signedPayload.copyOfRange(1, 65), result.signature)
+    }
+
+    @Test
+    fun `signing with a keypair that is not a signer is rejected`() {
+        val tx = SolanaTransactionViewTest.buildTransaction(Random(2), version = null, numSigners = 1,
+            numAccounts = 2, numInstructions = 1, numLookups = 0)
+
+        assertThrows(IllegalArgumentException::class.java) {
+            SolanaSigningUseCase.signTransaction(tx.bytes, listOf(keypairs[0]))
+        }
+    }
+
+    @Test
+    fun `message signatures are appended in keypair order`() {
+        val message = "hello world".encodeToByteArray()
+
+        val result = SolanaSigningUseCase.signMessage(message, keypairs)
+
+        assertEquals(message.size + 64 * keypairs.size, result.signedPayload.size)
+        assertArrayEquals(message, result.signedPayload.copyOf(message.size))
+        keypairs.forEachIndexed { i, keypair ->
+            val off = message.size + 64 * i
+            assertArrayEquals(referenceSign(keypair, message), result.signedPayload.copyOfRange(off, off + 64))
+        }
+        assertArrayEquals(referenceSign(keypairs[0], message), result.signature)
+    }
+
+    @Test
+    fun `signers are the required signer account keys`() {
+        val tx = SolanaTransactionViewTest.buildTransaction(Random(3), version = null, numSigners = 2,
+            numAccounts = 5, numInstructions = 1, numLookups = 0)
+
+        val signers = SolanaSigningUseCase.getSignersForTransaction(tx.bytes)
+
+        assertEquals(2, signers.size)
+        assertArrayEquals(tx.accountKeys[0], signers[0])
+        assertArrayEquals(tx.accountKeys[1], signers[1])
+    }
+
+    private fun accountKeyOffset(tx: SolanaTransactionViewTest.TestTransaction, index: Int): Int =
+        SolanaTransactionView().wrap(tx.bytes).accountKeyOffset(index)
+
+    private fun keypairPublicKey(keypair: AsymmetricCipherKeyPair): ByteArray =
+        (keypair.private as Ed25519PrivateKeyParameters).generatePublicKey().encoded
+
+    // Signs with the original Ed25519Signer-based implementation
+    private fun referenceSign(keypair: AsymmetricCipherKeyPair, message: ByteArray): ByteArray {
+        val signer = Ed25519Signer()
+        signer.init(true, keypair.private)
+        signer.update(message, 0, message.size)
+        return signer.generateSignature()
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.fakewallet.usecase
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertThrows
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.ByteArrayOutputStream
+import kotlin.random.Random
+
+class SolanaTransactionViewTest {
+    @Test
+    fun `legacy transaction is parsed`() {
+        val tx = buildTransaction(Random(1), version = null, numSigners = 2, numAccounts = 5,
+            numInstructions = 2, numLookups = 0)
+
+        val view = SolanaTransactionView().wrap(tx.bytes)
+
+        assertEquals(SolanaTransactionView.VERSION_LEGACY, view.version)
+        assertEquals(2, view.numSignatures)
+        assertEquals(2, view.numRequiredSignatures)
+        assertEquals(5, view.numAccountKeys)
+        assertEquals(tx.messageOffset, view.messageOffset)
+        assertEquals(tx.blockhashOffset, view.blockhashOffset)
+        assertEquals(2, view.numInstructions)
+        assertEquals(0, view.numAddressTableLookups)
+        for (i in 0 until 5) {
+            assertArrayEquals(tx.accountKeys[i], view.copyAccountKey(i))
+        }
+    }
+
+    @Test
+    fun `v0 transaction with address table lookups is parsed`() {
+        val tx = buildTransaction(Random(2), version = 0, numSigners = 1, numAccounts = 3,
+            numInstructions = 1, numLookups = 2)
+
+        val view = SolanaTransactionView().wrap(tx.bytes)
+
+        assertEquals(0, view.version)
+        assertEquals(tx.messageOffset, view.messageOffset)
+        assertEquals(tx.blockhashOffset, view.blockhashOffset)
+        assertEquals(2, view.numAddressTableLookups)
+        for (i in 0 until 2) {
+            view.seekAddressTableLookup(i)
+            assertEquals(tx.lookupKeyOffsets[i], view.lookupAccountKeyOffset)
+            assertEquals(tx.lookupNumWritable[i], view.lookupNumWritableIndexes)
+            assertEquals(tx.lookupNumReadonly[i], view.lookupNumReadonlyIndexes)
+        }
+    }
+
+    @Test
+    fun `instruction data longer than 127 bytes is parsed`() {
+        val tx = buildTransaction(Random(3), version = 0, numSigners = 1, numAccounts = 2,
+            numInstructions = 1, numLookups = 1, instructionDataLen = 300)
+
+        val view = SolanaTransactionView().wrap(tx.bytes)
+
+        assertEquals(1, view.numAddressTableLookups)
+        view.seekAddressTableLookup(0)
+        assertEquals(tx.lookupKeyOffsets[0], view.lookupAccountKeyOffset)
+    }
+
+    @Test
+    fun `signer index is found in place`() {
+        val tx = buildTransaction(Random(4), version = null, numSigners = 3, numAccounts = 4,
+            numInstructions = 0, numLookups = 0)
+        val view = SolanaTransactionView().wrap(tx.bytes)
+
+        assertEquals(2, view.signerIndexOf(tx.accountKeys[2]))
+        assertEquals(-1, view.signerIndexOf(tx.accountKeys[3])) // not a signer
+        assertEquals(-1, view.signerIndexOf(ByteArray(32)))
+    }
+
+    @Test
+    fun `view is reusable`() {
+        val tx1 = buildTransaction(Random(5), version = 0, numSigners = 1, numAccounts = 2,
+            numInstructions = 1, numLookups = 1)
+        val tx2 = buildTransaction(Random(6), version = null, numSigners = 2, numAccounts = 2,
+            numInstructions = 3, numLookups = 0)
+        val view = SolanaTransactionView()
+
+        view.wrap(tx1.bytes)
+        assertEquals(1, view.numAddressTableLookups)
+        view.wrap(tx2.bytes)
+
+        assertEquals(SolanaTransactionView.VERSION_LEGACY, view.version)
+        assertEquals(0, view.numAddressTableLookups)
+        assertEquals(3, view.numInstructions)
+    }
+
+    @Test
+    fun `mismatched signature count is rejected`() {
+        val tx = buildTransaction(Random(7), version = null, numSigners = 2, numAccounts = 2,
+            numInstructions = 0, numLookups = 0)
+        tx.bytes[0] = 1
+
+        assertThrows(IllegalArgumentException::class.java) { SolanaTransactionView().wrap(tx.bytes) }
+    }
+
+    @Test
+    fun `fuzzed transactions are parsed or rejected with IllegalArgumentException`() {
+        val random = Random(0x5eed)
+        val view = SolanaTransactionView()
+        repeat(FUZZ_ITERATIONS) {
+            val tx = buildTransaction(random,
+                version = if (random.nextBoolean()) null else 0,
+                numSigners = random.nextInt(1, 4),
+                numAccounts = random.nextInt(4, 8),
+                numInstructions = random.nextInt(0, 4),
+                numLookups = random.nextInt(0, 3),
+                instructionDataLen = random.nextInt(0, 200))
+            val mutated = mutate(random, tx.bytes)
+
+            try {
+                view.wrap(mutated)
+            } catch (e: IllegalArgumentException) {
+                return@repeat
+            }
+            checkInBounds(view, mutated)
+
+            // The new parser must agree with the original parser on all transactions it accepts
+            val legacySigners = try {
+                LegacySolanaTransactionParser.getSignersForTransaction(mutated)
+            } catch (e: Exception) {
+                null
+            }
+            if (legacySigners != null && view.numAccountKeys < 128) {
+                assertEquals(legacySigners.size, view.numRequiredSignatures)
+                legacySigners.forEachIndexed { i, signer ->
+                    assertArrayEquals(signer, view.copyAccountKey(i))
+                }
+            }
+
+            try {
+                view.blockhashOffset
+            } catch (e: IllegalArgumentException) {
+                return@repeat
+            }
+            assertTrue(view.blockhashOffset + SolanaTransactionView.BLOCKHASH_LEN <= mutated.size)
+            for (i in 0 until view.numAddressTableLookups) {
+                view.seekAddressTableLookup(i)
+                assertTrue(view.lookupReadonlyIndexesOffset + view.lookupNumReadonlyIndexes <= mutated.size)
+            }
+        }
+    }
+
+    @Test
+    fun `random bytes are parsed or rejected with IllegalArgumentException`() {
+        val random = Random(0xf00d)
+        val view = SolanaTransactionView()
+        repeat(FUZZ_ITERATIONS) {
+            val bytes = random.nextBytes(random.nextInt(0, 512))
+            try {
+                view.wrap(bytes)
+                checkInBounds(view, bytes)
+                view.numAddressTableLookups
+            } catch (e: IllegalArgumentException) {
+                // expected for most inputs
+            }
+        }
+    }
+
+    private fun checkInBounds(view: SolanaTransactionView, bytes: ByteArray) {
+        assertTrue(view.messageOffset < bytes.size)
+        for (i in 0 until view.numSignatures) {
+            assertTrue(view.signatureOffset(i) + SolanaSigningUseCase.SIGNATURE_LEN <= bytes.size)
+        }
+        for (i in 0 until view.numAccountKeys) {
+            assertTrue(view.accountKeyOffset(i) + SolanaSigningUseCase.PUBLIC_KEY_LEN <= bytes.size)
+        }
+    }
+
+    private fun mutate(random: Random, bytes: ByteArray): ByteArray {
+        return when (random.nextInt(4)) {
+            0 -> bytes // unmodified
+            1 -> bytes.copyOf(random.nextInt(0, bytes.size)) // truncated
+            2 -> bytes.clone().also { b -> // random bit flips
+                repeat(random.nextInt(1, 4)) {
+                    val i = random.nextInt(b.size)
+                    b[i] = (b[i].toInt() xor (1 shl random.nextInt(8))).toByte()
+                }
+            }
+            else -> bytes.clone().also { b -> // random byte in the header region
+                b[random.nextInt(minOf(b.size, 200))] = random.nextInt(256).toByte()
+            }
+        }
+    }
+
+    class TestTransaction(
+        val bytes: ByteArray,
+        val messageOffset: Int,
+        val blockhashOffset: Int,
+        val accountKeys: List<ByteArray>,
+        val lookupKeyOffsets: List<Int>,
+        val lookupNumWritable: List<Int>,
+        val lookupNumReadonly: List<Int>,
+    )
+
+    companion object {
+        private const val FUZZ_ITERATIONS = 20000
+
+        fun buildTransaction(
+            random: Random,
+            version: Int?,
+            numSigners: Int,
+            numAccounts: Int,
+            numInstructions: Int,
+            numLookups: Int,
+            instructionDataLen: Int = 8,
+        ): TestTransaction {
+            val out = ByteArrayOutputStream()
+            writeCompactArrayLen(out, numSigners)
+            out.write(ByteArray(SolanaSigningUseCase.SIGNATURE_LEN * numSigners))
+            val messageOffset = out.size()
+            if (version != null) {
+                out.write(0x80 or version)
+            }
+            out.write(numSigners)
+            out.write(0)
+            out.write(1)
+            writeCompactArrayLen(out, numAccounts)
+            val accountKeys = List(numAccounts) { random.nextBytes(SolanaSigningUseCase.PUBLIC_KEY_LEN) }
+            accountKeys.forEach { out.write(it) }
+            val blockhashOffset = out.size()
+            out.write(random.nextBytes(SolanaTransactionView.BLOCKHASH_LEN))
+            writeCompactArrayLen(out, numInstructions)
+            repeat(numInstructions) {
+                out.write(random.nextInt(numAccounts))
+                val accounts = random.nextInt(0, numAccounts)
+                writeCompactArrayLen(out, accounts)
+                repeat(accounts) { out.write(random.nextInt(numAccounts)) }
+                writeCompactArrayLen(out, instructionDataLen)
+                out.write(random.nextBytes(instructionDataLen))
+            }
+            val lookupKeyOffsets = mutableListOf<Int>()
+            val lookupNumWritable = mutableListOf<Int>()
+            val lookupNumReadonly = mutableListOf<Int>()
+            if (version != null) {
+                writeCompactArrayLen(out, numLookups)
+                repeat(numLookups) {
+                    lookupKeyOffsets.add(out.size())
+                    out.write(random.nextBytes(SolanaSigningUseCase.PUBLIC_KEY_LEN))
+                    val writable = random.nextInt(0, 4)
+                    writeCompactArrayLen(out, writable)
+                    out.write(random.nextBytes(writable))
+                    val readonly = random.nextInt(0, 4)
+                    writeCompactArrayLen(out, readonly)
+                    out.write(random.nextBytes(readonly))
+                    lookupNumWritable.add(writable)
+                    lookupNumReadonly.add(readonly)
+                }
+            }
+            return TestTransaction(out.toByteArray(), messageOffset, blockhashOffset, accountKeys,
+                lookupKeyOffsets, lookupNumWritable, lookupNumReadonly)
+        }
+
+        private fun writeCompactArrayLen(out: ByteArrayOutputStream, len: Int) {
+            var rem = len
+            while (true) {
+                val b = rem and 0x7f
+                rem = rem ushr 7
+                if (rem == 0) {
+                    out.write(b)
+                    return
+                }
+                out.write(b or 0x80)
+            }
+        }
+    }
+}
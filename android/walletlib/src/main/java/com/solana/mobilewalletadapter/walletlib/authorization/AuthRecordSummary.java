@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.authorization;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * A lightweight view of an {@link AuthRecord}, with only its identity and validity period. Use
+ * {@link AuthRepository#getAuthorization(AuthRecordSummary)} to load the full {@link AuthRecord}.
+ */
+public class AuthRecordSummary {
+    @IntRange(from = 1)
+    /*package*/ final int id;
+
+    @NonNull
+    public final IdentityRecord identity;
+
+    @IntRange(from = 0)
+    public final long issued;
+
+    @IntRange(from = 0)
+    public final long expires;
+
+    /*package*/ AuthRecordSummary(@IntRange(from = 1) int id,
+                                  @NonNull IdentityRecord identity,
+                                  @IntRange(from = 0) long issued,
+                                  @IntRange(from = 0) long expires) {
+        this.id = id;
+        this.identity = identity;
+        this.issued = issued;
+        this.expires = expires;
+    }
+
+    public boolean isExpired() {
+        final long now = System.currentTimeMillis();
+        return (now < issued || now > expires);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuthRecordSummary that = (AuthRecordSummary) o;
+        return id == that.id; // equality is strictly defined by the database primary key
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id); // id is the database primary key
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "AuthRecordSummary{" +
+                "id=" + id +
+                ", identity=" + identity +
+                ", issued=" + issued +
+                ", expires=" + expires +
+                '}';
+    }
+}
@@ -5,14 +5,23 @@ import android.net.Uri;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture;
+import com.solana.mobilewalletadapter.common.util.NotifyingCompletableFuture;
 import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizedAccount;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface AuthRepository {
 
     void start();
 
+    /**
+     * Stops this repository, closing its database. Any {@link #issueAsync} or
+     * {@link #reissueAsync} requests already made are completed first; this method blocks until
+     * they have, and the database is closed, before returning. The repository may be restarted
+     * with {@link #start()}.
+     */
     void stop();
 
     @Nullable
@@ -51,9 +60,51 @@ public interface AuthRepository {
                      @Nullable Uri walletUriBase,
                      @Nullable byte[] scope);
 
+    /**
+     * As {@link #issue(String, Uri, Uri, AuthorizedAccount[], String, Uri, byte[])}, but the
+     * result is delivered via the returned future. Implementations may perform the issue on a
+     * writer thread rather than the caller's; by default, it is performed on the caller's thread,
+     * and the returned future is already complete.
+     */
+    @NonNull
+    default NotifyOnCompleteFuture<AuthRecord> issueAsync(@NonNull String name,
+                                                          @NonNull Uri uri,
+                                                          @NonNull Uri relativeIconUri,
+                                                          @NonNull AuthorizedAccount[] accounts,
+                                                          @NonNull String cluster,
+                                                          @Nullable Uri walletUriBase,
+                                                          @Nullable byte[] scope) {
+        final NotifyingCompletableFuture<AuthRecord> future = new NotifyingCompletableFuture<>();
+        try {
+            future.complete(issue(name, uri, relativeIconUri, accounts, cluster, walletUriBase,
+                    scope));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     @Nullable
     AuthRecord reissue(@NonNull AuthRecord authRecord);
 
+    /**
+     * As {@link #reissue(AuthRecord)}, but the result is delivered via the returned future.
+     * Implementations may perform the reissue on a writer thread rather than the caller's, and
+     * coalesce requests to reissue an {@link AuthRecord} which is already pending reissue, so
+     * that they complete with the same result. By default, it is performed on the caller's
+     * thread, and the returned future is already complete.
+     */
+    @NonNull
+    default NotifyOnCompleteFuture<AuthRecord> reissueAsync(@NonNull AuthRecord authRecord) {
+        final NotifyingCompletableFuture<AuthRecord> future = new NotifyingCompletableFuture<>();
+        try {
+            future.complete(reissue(authRecord));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     boolean revoke(@NonNull AuthRecord authRecord);
 
     boolean revoke(@NonNull IdentityRecord identityRecord);
@@ -63,4 +114,37 @@ public interface AuthRepository {
 
     @NonNull
     List<AuthRecord> getAuthorizations(@NonNull IdentityRecord identityRecord);
+
+    /**
+     * As {@link #getAuthorizations(IdentityRecord)}, but without loading the accounts, scope, or
+     * wallet URI base of each authorization. Prefer this for listing authorizations or checking
+     * their expiry, and use {@link #getAuthorization(AuthRecordSummary)} to load the full
+     * {@link AuthRecord} when it is needed. By default, the summaries are derived from
+     * {@link #getAuthorizations(IdentityRecord)}.
+     */
+    @NonNull
+    default List<AuthRecordSummary> getAuthorizationSummaries(
+            @NonNull IdentityRecord identityRecord) {
+        final List<AuthRecord> authRecords = getAuthorizations(identityRecord);
+        final ArrayList<AuthRecordSummary> summaries = new ArrayList<>(authRecords.size());
+        for (AuthRecord authRecord : authRecords) {
+            summaries.add(new AuthRecordSummary(authRecord.id, authRecord.identity,
+                    authRecord.issued, authRecord.expires));
+        }
+        return summaries;
+    }
+
+    /**
+     * Loads the full {@link AuthRecord} for summary, or returns null if it has since been revoked.
+     * By default, it is found in {@link #getAuthorizations(IdentityRecord)}.
+     */
+    @Nullable
+    default AuthRecord getAuthorization(@NonNull AuthRecordSummary summary) {
+        for (AuthRecord authRecord : getAuthorizations(summary.identity)) {
+            if (authRecord.id == summary.id) {
+                return authRecord;
+            }
+        }
+        return null;
+    }
 }
@@ -18,6 +18,9 @@ import androidx.annotation.GuardedBy;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.solana.mobilewalletadapter.common.crypto.CryptoPrimitives;
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture;
+import com.solana.mobilewalletadapter.common.util.NotifyingCompletableFuture;
 import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizedAccount;
 
 import org.json.JSONException;
@@ -36,7 +39,13 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -60,6 +69,8 @@ public class AuthRepositoryImpl implements AuthRepository {
 
     private static final int AUTH_TOKEN_HMAC_LENGTH_BYTES = 32;
 
+    private static final long WRITER_THREAD_KEEP_ALIVE_MS = 10000;
+
     @NonNull
     private final Context mContext;
 
@@ -76,9 +87,25 @@ public class AuthRepositoryImpl implements AuthRepository {
     private PublicKeysDao mPublicKeysDao;
     private AccountRecordsDao mAccountsDao;
 
+    // Async writes are serialized on a single thread, so that callers don't block on SQLite and
+    // queued writes run back-to-back. The thread exits when idle.
+    @NonNull
+    private final ThreadPoolExecutor mWriterExecutor;
+    @Nullable
+    private volatile Thread mWriterThread;
+
+    // Callers awaiting the reissue of an AuthRecord, keyed by AuthRecord id
+    @GuardedBy("mPendingReissues")
+    private final Map<Integer, List<NotifyingCompletableFuture<AuthRecord>>> mPendingReissues =
+            new HashMap<>();
+
     public AuthRepositoryImpl(@NonNull Context context, @NonNull AuthIssuerConfig authIssuerConfig) {
         mContext = context;
         mAuthIssuerConfig = authIssuerConfig;
+        mWriterExecutor = new ThreadPoolExecutor(1, 1,
+                WRITER_THREAD_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> mWriterThread = new Thread(r, TAG + "-writer"));
+        mWriterExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
@@ -88,9 +115,32 @@ public class AuthRepositoryImpl implements AuthRepository {
     }
 
     @Override
-    public synchronized void stop() {
+    public void stop() {
         Log.v(TAG, "Stopping AuthRepository");
-        mAuthDb.close();
+        awaitPendingWrites();
+        synchronized (this) {
+            if (mInitialized) {
+                mAuthDb.close();
+                mInitialized = false;
+            }
+        }
+    }
+
+    // Blocks until all async writes queued before this call have completed. Must not hold the lock
+    // on this, as the writes require it.
+    private void awaitPendingWrites() {
+        if (Thread.currentThread() == mWriterThread) {
+            // Called from an async write completion; any writes queued behind it will reopen the DB
+            return;
+        }
+        try {
+            mWriterExecutor.submit(() -> {}).get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unexpected failure of no-op writer task", e);
+        } catch (InterruptedException e) {
+            Log.w(TAG, "Interrupted waiting for pending writes; closing AuthRepository now");
+            Thread.currentThread().interrupt();
+        }
     }
 
     @GuardedBy("this")
@@ -117,7 +167,7 @@ public class AuthRepositoryImpl implements AuthRepository {
 
     // Note: only uses final mAuthIssuerConfig, does not require any locks
     @Nullable
-    private SecretKey getSecretKey() {
+    /*package*/ SecretKey getSecretKey() {
         try {
             final KeyStore ks = KeyStore.getInstance("AndroidKeyStore");
             ks.load(null);
@@ -130,7 +180,7 @@ public class AuthRepositoryImpl implements AuthRepository {
 
     // Note: only uses final mAuthIssuerConfig, does not require any locks
     @NonNull
-    private SecretKey createSecretKey() {
+    /*package*/ SecretKey createSecretKey() {
         try {
             final KeyGenerator kg = KeyGenerator.getInstance(
                     KeyProperties.KEY_ALGORITHM_AES, "AndroidKeyStore");
@@ -195,7 +245,7 @@ public class AuthRepositoryImpl implements AuthRepository {
                 identityRecord.getSecretKeyCiphertext(), identityRecord.getSecretKeyIV());
         final boolean verified;
         try {
-            final Mac hmac = Mac.getInstance("HmacSHA256");
+            final Mac hmac = CryptoPrimitives.hmacSHA256();
             hmac.init(identityKey);
             hmac.update(payload, 0, payload.length - AUTH_TOKEN_HMAC_LENGTH_BYTES);
             final byte[] decodedHmac = hmac.doFinal();
@@ -256,7 +306,7 @@ public class AuthRepositoryImpl implements AuthRepository {
         // Verify the HMAC on the auth token
         final byte[] payloadHmac;
         try {
-            final Mac hmac = Mac.getInstance("HmacSHA256");
+            final Mac hmac = CryptoPrimitives.hmacSHA256();
             hmac.init(identityKey);
             payloadHmac = hmac.doFinal(payload);
         } catch (NoSuchAlgorithmException | InvalidKeyException e) {
@@ -332,15 +382,58 @@ public class AuthRepositoryImpl implements AuthRepository {
 
     @NonNull
     @Override
-    public AuthRecord issue(@NonNull String name,
-                            @NonNull Uri uri,
-                            @NonNull Uri relativeIconUri,
-                            @NonNull AuthorizedAccount[] accounts,
-                            @NonNull String cluster,
-                            @Nullable Uri walletUriBase,
-                            @Nullable byte[] scope) {
+    public synchronized AuthRecord issue(@NonNull String name,
+                                         @NonNull Uri uri,
+                                         @NonNull Uri relativeIconUri,
+                                         @NonNull AuthorizedAccount[] accounts,
+                                         @NonNull String cluster,
+                                         @Nullable Uri walletUriBase,
+                                         @Nullable byte[] scope) {
         ensureStarted();
 
+        final SQLiteDatabase database = mAuthDb.getWritableDatabase();
+        database.beginTransaction();
+        try {
+            final AuthRecord authRecord = doIssue(name, uri, relativeIconUri, accounts, cluster,
+                    walletUriBase, scope);
+            database.setTransactionSuccessful();
+            return authRecord;
+        } finally {
+            database.endTransaction();
+        }
+    }
+
+    // Performed on the writer thread
+    @NonNull
+    @Override
+    public NotifyOnCompleteFuture<AuthRecord> issueAsync(@NonNull String name,
+                                                         @NonNull Uri uri,
+                                                         @NonNull Uri relativeIconUri,
+                                                         @NonNull AuthorizedAccount[] accounts,
+                                                         @NonNull String cluster,
+                                                         @Nullable Uri walletUriBase,
+                                                         @Nullable byte[] scope) {
+        final NotifyingCompletableFuture<AuthRecord> future = new NotifyingCompletableFuture<>();
+        mWriterExecutor.execute(() -> {
+            try {
+                future.complete(issue(name, uri, relativeIconUri, accounts, cluster,
+                        walletUriBase, scope));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @NonNull
+    @GuardedBy("this")
+    private AuthRecord doIssue(@NonNull String name,
+                               @NonNull Uri uri,
+                               @NonNull Uri relativeIconUri,
+                               @NonNull AuthorizedAccount[] accounts,
+                               @NonNull String cluster,
+                               @Nullable Uri walletUriBase,
+                               @Nullable byte[] scope) {
         if (scope == null) {
             scope = new byte[0];
         }
@@ -388,6 +481,9 @@ public class AuthRepositoryImpl implements AuthRepository {
         final long now = System.currentTimeMillis();
 
         final int authRecordId = (int) mAuthorizationsDao.insert(identityRecord.getId(), now, cluster, walletUriBaseId, scope);
+        if (authRecordId < 1) {
+            throw new SQLException("Error inserting AuthRecord");
+        }
 
         // If needed, purge oldest entries for this identity
         final int purgeCount = mAuthorizationsDao.purgeOldestEntries(identityRecord.getId());
@@ -405,6 +501,9 @@ public class AuthRepositoryImpl implements AuthRepository {
             // create an account record for each account in this auth record
             final int accountId = (int) mAccountsDao.insert(authRecordId, account.publicKey,
                         account.accountLabel, account.accountIcon, account.chains, account.features);
+            if (accountId < 1) {
+                throw new SQLException("Error inserting AccountRecord");
+            }
             final AccountRecord accountRecord = new AccountRecord(accountId, authRecordId, account.publicKey,
                         account.accountLabel, account.accountIcon, account.chains, account.features);
             accountRecords.add(accountRecord);
@@ -419,6 +518,63 @@ public class AuthRepositoryImpl implements AuthRepository {
     @Override
     public synchronized AuthRecord reissue(@NonNull AuthRecord authRecord) {
         ensureStarted();
+
+        final SQLiteDatabase database = mAuthDb.getWritableDatabase();
+        database.beginTransaction();
+        try {
+            final AuthRecord reissued = doReissue(authRecord);
+            database.setTransactionSuccessful();
+            return reissued;
+        } finally {
+            database.endTransaction();
+        }
+    }
+
+    // Performed on the writer thread, coalescing requests for an AuthRecord pending reissue
+    @NonNull
+    @Override
+    public NotifyOnCompleteFuture<AuthRecord> reissueAsync(@NonNull AuthRecord authRecord) {
+        final NotifyingCompletableFuture<AuthRecord> future = new NotifyingCompletableFuture<>();
+        synchronized (mPendingReissues) {
+            final List<NotifyingCompletableFuture<AuthRecord>> pending =
+                    mPendingReissues.get(authRecord.id);
+            if (pending != null) {
+                Log.d(TAG, "Coalescing reissue of AuthRecord " + authRecord.id);
+                pending.add(future);
+                return future;
+            }
+            final List<NotifyingCompletableFuture<AuthRecord>> waiters = new ArrayList<>();
+            waiters.add(future);
+            mPendingReissues.put(authRecord.id, waiters);
+        }
+
+        mWriterExecutor.execute(() -> {
+            AuthRecord reissued = null;
+            RuntimeException exception = null;
+            try {
+                reissued = reissue(authRecord);
+            } catch (RuntimeException e) {
+                exception = e;
+            }
+
+            final List<NotifyingCompletableFuture<AuthRecord>> waiters;
+            synchronized (mPendingReissues) {
+                waiters = mPendingReissues.remove(authRecord.id);
+            }
+            for (NotifyingCompletableFuture<AuthRecord> waiter : waiters) {
+                if (exception != null) {
+                    waiter.completeExceptionally(exception);
+                } else {
+                    waiter.complete(reissued);
+                }
+            }
+        });
+        return future;
+    }
+
+    @Nullable
+    @GuardedBy("this")
+    private AuthRecord doReissue(@NonNull AuthRecord authRecord) {
         assert (!authRecord.isRevoked());
 
         final long now = System.currentTimeMillis();
@@ -435,6 +591,9 @@ public class AuthRepositoryImpl implements AuthRepository {
         } else {
             final int id = (int) mAuthorizationsDao.insert(authRecord.identity.getId(), now,
                     authRecord.chain, authRecord.walletUriBaseId, authRecord.scope);
+            if (id < 1) {
+                throw new SQLException("Error inserting reissued AuthRecord");
+            }
             mAccountsDao.updateParentId(authRecord.id, id);
             reissued = new AuthRecord(id, authRecord.identity, authRecord.accounts,
                     authRecord.chain, authRecord.scope, authRecord.walletUriBase,
@@ -511,6 +670,21 @@ public class AuthRepositoryImpl implements AuthRepository {
         return mAuthorizationsDao.getAuthorizations(identityRecord);
     }
 
+    @NonNull
+    @Override
+    public synchronized List<AuthRecordSummary> getAuthorizationSummaries(
+            @NonNull IdentityRecord identityRecord) {
+        ensureStarted();
+        return mAuthorizationsDao.getAuthorizationSummaries(identityRecord);
+    }
+
+    @Nullable
+    @Override
+    public synchronized AuthRecord getAuthorization(@NonNull AuthRecordSummary summary) {
+        ensureStarted();
+        return mAuthorizationsDao.getAuthorization(summary.identity, Integer.toString(summary.id));
+    }
+
     @NonNull
     @GuardedBy("this")
     private Pair<byte[], byte[]> createEncryptedHmacSha256SecretKey() {
@@ -21,6 +21,33 @@ import java.util.List;
         implements AuthorizationsSchema, AccountRecordsSchema,
         WalletUriBaseSchema, AuthorizationsDaoInterface {
 
+    // Authorizations joined with their wallet URI base and accounts, one row per account, so that a
+    // full AuthRecord is loaded by a single query. Must be followed by a WHERE clause on the
+    // authorizations table, and then AUTHORIZATION_WITH_ACCOUNTS_ORDER.
+    private static final String AUTHORIZATION_WITH_ACCOUNTS_QUERY = "SELECT " +
+            TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID +
+            ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ISSUED +
+            ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_WALLET_URI_BASE_ID +
+            ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_SCOPE +
+            ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_CHAIN +
+            ", " + TABLE_WALLET_URI_BASE + '.' + COLUMN_WALLET_URI_BASE_URI +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_ID +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_PUBLIC_KEY_RAW +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_LABEL +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_ICON +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_CHAINS +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_FEATURES +
+            " FROM " + TABLE_AUTHORIZATIONS +
+            " INNER JOIN " + TABLE_WALLET_URI_BASE +
+            " ON " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_WALLET_URI_BASE_ID +
+            " = " + TABLE_WALLET_URI_BASE + '.' + COLUMN_WALLET_URI_BASE_ID +
+            " LEFT JOIN " + TABLE_ACCOUNTS +
+            " ON " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_PARENT_ID +
+            " = " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID;
+    private static final String AUTHORIZATION_WITH_ACCOUNTS_ORDER = " ORDER BY " +
+            TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID +
+            ", " + TABLE_ACCOUNTS + '.' + COLUMN_ACCOUNTS_ID;
+
     @NonNull
     private final AuthIssuerConfig authIssuerConfig;
 
@@ -32,21 +59,40 @@ import java.util.List;
     @NonNull
     @Override
     protected AuthRecord cursorToEntity(@NonNull Cursor cursor) {
-        throw new UnsupportedOperationException("Use cursorToEntity(cursor, identityRecord)");
+        throw new UnsupportedOperationException("Use cursorToEntities(cursor, identityRecord)");
     }
 
+    // Builds an AuthRecord from each run of rows of an AUTHORIZATION_WITH_ACCOUNTS_QUERY result which
+    // share an authorization ID (one row per account)
     @NonNull
-    private AuthRecord cursorToEntity(@NonNull Cursor cursor, @NonNull IdentityRecord identityRecord) {
-        final int id = cursor.getInt(0);
-        final long issued = cursor.getLong(1);
-        final int walletUriBaseId = cursor.getInt(2);
-        final byte[] scope = cursor.getBlob(3);
-        final String cluster = cursor.getString(4);
-        final Uri walletUriBase = cursor.isNull(5) ? null : Uri.parse(cursor.getString(5));
-        // look up accounts for this auth record
-        final AccountRecord[] accounts = getAccounts(id).toArray(new AccountRecord[0]);
-        return new AuthRecord(id, identityRecord, accounts, cluster, scope, walletUriBase,
-                walletUriBaseId, issued, issued + authIssuerConfig.authorizationValidityMs);
+    private List<AuthRecord> cursorToEntities(@NonNull Cursor cursor,
+                                              @NonNull IdentityRecord identityRecord) {
+        final ArrayList<AuthRecord> authorizations = new ArrayList<>();
+        final ArrayList<AccountRecord> accounts = new ArrayList<>();
+        boolean hasRow = cursor.moveToNext();
+        while (hasRow) {
+            final int id = cursor.getInt(0);
+            final long issued = cursor.getLong(1);
+            final int walletUriBaseId = cursor.getInt(2);
+            final byte[] scope = cursor.getBlob(3);
+            final String cluster = cursor.getString(4);
+            final Uri walletUriBase = cursor.isNull(5) ? null : Uri.parse(cursor.getString(5));
+
+            accounts.clear();
+            do {
+                if (!cursor.isNull(6)) { // no accounts for this authorization
+                    accounts.add(AccountRecordsDao.buildAccountRecordFromRaw(cursor.getInt(6), id,
+                            cursor.getBlob(7), cursor.getString(8), cursor.getString(9),
+                            cursor.getString(10), cursor.getString(11)));
+                }
+                hasRow = cursor.moveToNext();
+            } while (hasRow && cursor.getInt(0) == id);
+
+            authorizations.add(new AuthRecord(id, identityRecord,
+                    accounts.toArray(new AccountRecord[0]), cluster, scope, walletUriBase,
+                    walletUriBaseId, issued, issued + authIssuerConfig.authorizationValidityMs));
+        }
+        return authorizations;
     }
 
     @IntRange(from = -1)
@@ -88,66 +134,45 @@ import java.util.List;
     }
 
     @NonNull
-    private List<AccountRecord> getAccounts(int parentId) {
-        final List<AccountRecord> accounts = new ArrayList<>();
-        try (final Cursor c = super.query(TABLE_ACCOUNTS,
-                ACCOUNTS_COLUMNS,
-                COLUMN_ACCOUNTS_PARENT_ID + "=" + parentId,
-                null,
-                COLUMN_ACCOUNTS_ID)) {
-            while (c.moveToNext()) {
-                accounts.add(AccountRecordsDao.buildAccountRecordFromCursor(c));
-            }
-        }
-        return accounts;
-    }
-
-    @NonNull
+    @Override
     public synchronized List<AuthRecord> getAuthorizations(@NonNull IdentityRecord identityRecord) {
-        final ArrayList<AuthRecord> authorizations = new ArrayList<>();
-        try (final Cursor cursor = super.rawQuery("SELECT " +
-                        TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ISSUED +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_WALLET_URI_BASE_ID +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_SCOPE +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_CHAIN +
-                        ", " + TABLE_WALLET_URI_BASE + '.' + COLUMN_WALLET_URI_BASE_URI +
-                        " FROM " + TABLE_AUTHORIZATIONS +
-                        " INNER JOIN " + TABLE_WALLET_URI_BASE +
-                        " ON " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_WALLET_URI_BASE_ID +
-                        " = " + TABLE_WALLET_URI_BASE + '.' + COLUMN_WALLET_URI_BASE_ID +
-                        " WHERE " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_IDENTITY_ID + "=?",
+        try (final Cursor cursor = super.rawQuery(AUTHORIZATION_WITH_ACCOUNTS_QUERY +
+                        " WHERE " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_IDENTITY_ID + "=?" +
+                        AUTHORIZATION_WITH_ACCOUNTS_ORDER,
                 new String[]{Integer.toString(identityRecord.getId())})) {
-            while (cursor.moveToNext()) {
-                authorizations.add(cursorToEntity(cursor, identityRecord));
-            }
+            return cursorToEntities(cursor, identityRecord);
         }
-        return authorizations;
     }
 
     @Nullable
     @Override
     public AuthRecord getAuthorization(@NonNull IdentityRecord identityRecord,
                                        @NonNull String tokenIdStr) {
-        try (final Cursor cursor = super.rawQuery("SELECT " +
-                        TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ISSUED +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_WALLET_URI_BASE_ID +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_SCOPE +
-                        ", " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_CHAIN +
-                        ", " + TABLE_WALLET_URI_BASE + '.' + COLUMN_WALLET_URI_BASE_URI +
-                        " FROM " + TABLE_AUTHORIZATIONS +
-                        " INNER JOIN " + TABLE_WALLET_URI_BASE +
-                        " ON " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_WALLET_URI_BASE_ID +
-                        " = " + TABLE_WALLET_URI_BASE + '.' + COLUMN_WALLET_URI_BASE_ID +
-                        " WHERE " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID + "=?",
+        try (final Cursor cursor = super.rawQuery(AUTHORIZATION_WITH_ACCOUNTS_QUERY +
+                        " WHERE " + TABLE_AUTHORIZATIONS + '.' + COLUMN_AUTHORIZATIONS_ID + "=?" +
+                        AUTHORIZATION_WITH_ACCOUNTS_ORDER,
                 new String[]{tokenIdStr})) {
-            if (!cursor.moveToNext()) {
-                return null;
-            }
+            final List<AuthRecord> authorizations = cursorToEntities(cursor, identityRecord);
+            return authorizations.isEmpty() ? null : authorizations.get(0);
+        }
+    }
 
-            return cursorToEntity(cursor, identityRecord);
+    @NonNull
+    @Override
+    public List<AuthRecordSummary> getAuthorizationSummaries(@NonNull IdentityRecord identityRecord) {
+        final ArrayList<AuthRecordSummary> summaries = new ArrayList<>();
+        try (final Cursor cursor = super.query(TABLE_AUTHORIZATIONS,
+                new String[] { COLUMN_AUTHORIZATIONS_ID, COLUMN_AUTHORIZATIONS_ISSUED },
+                COLUMN_AUTHORIZATIONS_IDENTITY_ID + "=" + identityRecord.getId(),
+                null,
+                COLUMN_AUTHORIZATIONS_ID)) {
+            while (cursor.moveToNext()) {
+                final long issued = cursor.getLong(1);
+                summaries.add(new AuthRecordSummary(cursor.getInt(0), identityRecord, issued,
+                        issued + authIssuerConfig.authorizationValidityMs));
+            }
         }
+        return summaries;
     }
 
     @IntRange(from = 0)
@@ -30,6 +30,9 @@ import java.util.List;
     @Nullable
     AuthRecord getAuthorization(@NonNull IdentityRecord identityRecord, @NonNull String tokenIdStr);
 
+    @NonNull
+    List<AuthRecordSummary> getAuthorizationSummaries(@NonNull IdentityRecord identityRecord);
+
     @IntRange(from = 0)
     int purgeOldestEntries(@IntRange(from = 1) int identityId);
 }
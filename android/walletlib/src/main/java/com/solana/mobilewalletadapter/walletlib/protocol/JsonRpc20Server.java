@@ -33,6 +33,7 @@ public abstract class JsonRpc20Server implements MessageReceiver {
     public static final int ERROR_INTERNAL = -32603;
 
     private MessageSender mSender;
+    private final Object mSendLock = new Object();
 
     @Override
     public void receiverConnected(@NonNull MessageSender messageSender) {
@@ -153,6 +154,70 @@ public abstract class JsonRpc20Server implements MessageReceiver {
         respondWithError(code, message, data, id);
     }
 
+    // Sends a response prepared with prepareResult or prepareError, with id written in place
+    protected void handlePreparedResponse(@Nullable Object id,
+                                          @NonNull PreparedResponse response)
+            throws IOException {
+        if (id == null) {
+            Log.v(TAG, "Discarding prepared response for notification");
+            return;
+        }
+        Log.d(TAG, "Responding with prepared response for id=" + id);
+        send(response.encode(id));
+    }
+
+    // Serializes a result response that does not depend on the request, so that it can be sent any
+    // number of times with handlePreparedResponse. result should be a type compatible with
+    // JSONObject.put(...), and must not be modified afterwards.
+    @NonNull
+    protected static PreparedResponse prepareResult(@NonNull Object result) {
+        final JSONObject o = new JSONObject();
+        try {
+            o.put("jsonrpc", "2.0");
+            o.put("result", result);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Error creating JSON-RPC 2.0 response object", e);
+        }
+        return new PreparedResponse(o);
+    }
+
+    // As prepareResult, for an error response. If non-null, data should be a type compatible with
+    // JSONObject.put(...).
+    @NonNull
+    protected static PreparedResponse prepareError(int code,
+                                                   @NonNull String message,
+                                                   @Nullable Object data) {
+        final JSONObject o = new JSONObject();
+        try {
+            final JSONObject error = new JSONObject();
+            error.put("code", code);
+            error.put("message", message);
+            error.put("data", data);
+            o.put("jsonrpc", "2.0");
+            o.put("error", error);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Error creating JSON-RPC 2.0 response object", e);
+        }
+        return new PreparedResponse(o);
+    }
+
+    // params, if non-null, must be a JSONObject or JSONArray
+    protected void sendNotification(@NonNull String method,
+                                    @Nullable Object params)
+            throws IOException {
+        final JSONObject o = new JSONObject();
+        try {
+            o.put("jsonrpc", "2.0");
+            o.put("method", method);
+            o.put("params", params); // OK if params is null
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Error creating JSON-RPC 2.0 notification object", e);
+        }
+
+        Log.v(TAG, "Sending notification '" + method + "'");
+        send(o.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
     // If non-null, data should be a type compatible with JSONObject.put(...)
     private void respondWithError(int code,
                                   @NonNull String message,
@@ -172,12 +237,7 @@ public abstract class JsonRpc20Server implements MessageReceiver {
             throw new IllegalArgumentException("Error creating JSON-RPC 2.0 response object", e);
         }
 
-        synchronized (this) {
-            if (mSender == null) {
-                throw new IOException("JSON-RPC 2.0 server is disconnected");
-            }
-            mSender.send(o.toString().getBytes(StandardCharsets.UTF_8));
-        }
+        send(o.toString().getBytes(StandardCharsets.UTF_8));
     }
 
     // result should be a type compatible with JSONObject.put(...)
@@ -193,11 +253,60 @@ public abstract class JsonRpc20Server implements MessageReceiver {
             throw new IllegalArgumentException("Error creating JSON-RPC 2.0 response object", e);
         }
 
+        send(o.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // N.B. the sender may block (e.g. on a transport with no send queue of its own), so it is not
+    // called while holding this server's monitor. Sends are still serialized with each other, as
+    // each message must be encrypted and queued by the sender in order.
+    private void send(@NonNull byte[] message) throws IOException {
+        final MessageSender sender;
         synchronized (this) {
-            if (mSender == null) {
-                throw new IOException("JSON-RPC 2.0 server is disconnected");
+            sender = mSender;
+        }
+        if (sender == null) {
+            throw new IOException("JSON-RPC 2.0 server is disconnected");
+        }
+        synchronized (mSendLock) {
+            sender.send(message);
+        }
+    }
+
+    // A serialized response, missing only its id. The id is written last, as respondWithResult and
+    // respondWithError do, so prepared responses are identical to those built per request.
+    protected static final class PreparedResponse {
+        @NonNull
+        private final byte[] mPrefix;
+
+        private PreparedResponse(@NonNull JSONObject response) {
+            final String json = response.toString();
+            mPrefix = (json.substring(0, json.length() - 1) + ",\"id\":")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+
+        // id must be a valid JSON-RPC 2.0 request id (a Number, String, or JSONObject.NULL)
+        @NonNull
+        byte[] encode(@NonNull Object id) {
+            final String idJson;
+            if (id instanceof String) {
+                idJson = JSONObject.quote((String) id);
+            } else if (id instanceof Number) {
+                try {
+                    idJson = JSONObject.numberToString((Number) id);
+                } catch (JSONException e) {
+                    throw new IllegalArgumentException("id is not a valid JSON number", e);
+                }
+            } else if (id == JSONObject.NULL) {
+                idJson = "null";
+            } else {
+                throw new IllegalArgumentException("id must be a Number, String, or JSONObject.NULL");
             }
-            mSender.send(o.toString().getBytes(StandardCharsets.UTF_8));
+            final byte[] idBytes = idJson.getBytes(StandardCharsets.UTF_8);
+            final byte[] message = new byte[mPrefix.length + idBytes.length + 1];
+            System.arraycopy(mPrefix, 0, message, 0, mPrefix.length);
+            System.arraycopy(idBytes, 0, message, mPrefix.length, idBytes.length);
+            message[message.length - 1] = '}';
+            return message;
         }
     }
 
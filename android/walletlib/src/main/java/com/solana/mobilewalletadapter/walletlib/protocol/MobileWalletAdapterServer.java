@@ -5,7 +5,6 @@
 package com.solana.mobilewalletadapter.walletlib.protocol;
 
 import android.net.Uri;
-import android.os.Handler;
 import android.os.Looper;
 import android.util.Base64;
 import android.util.Log;
@@ -16,6 +15,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.Size;
 
 import com.solana.mobilewalletadapter.common.ProtocolContract;
+import com.solana.mobilewalletadapter.common.protocol.MessageSender;
 import com.solana.mobilewalletadapter.common.signin.SignInWithSolana;
 import com.solana.mobilewalletadapter.common.util.Identifier;
 import com.solana.mobilewalletadapter.common.util.JsonPack;
@@ -23,6 +23,8 @@ import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture;
 import com.solana.mobilewalletadapter.common.util.NotifyingCompletableFuture;
 import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizedAccount;
 import com.solana.mobilewalletadapter.walletlib.scenario.SignInResult;
+import com.solana.mobilewalletadapter.walletlib.util.SerialExecutor;
+import com.solana.mobilewalletadapter.walletlib.util.WorkerPools;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -32,16 +34,50 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 public class MobileWalletAdapterServer extends JsonRpc20Server {
     private static final String TAG = MobileWalletAdapterServer.class.getSimpleName();
 
+    private static final int MAX_WORKER_THREADS = 4;
+    private static final long WORKER_THREAD_KEEP_ALIVE_MS = 10000;
+
+    // Bounded pool of worker threads shared by all servers. Each server parses, validates, and
+    // dispatches its requests one at a time, in the order received (see mDispatchExecutor). The
+    // responses to requests are encoded and sent on a per-request queue (see
+    // RequestFuture.mExecutor), so a large signing response doesn't hold up dispatching the
+    // requests which follow it.
+    private static final Executor WORKER_POOL = WorkerPools.newBoundedPool(TAG + "-worker",
+            WorkerPools.threadsForProcessors(2, MAX_WORKER_THREADS), WORKER_THREAD_KEEP_ALIVE_MS);
+
+    // Responses which do not depend on the request, serialized once
+    private static final PreparedResponse RESPONSE_EMPTY_RESULT =
+            prepareResult(new JSONObject());
+    private static final PreparedResponse RESPONSE_PARAMS_NOT_OBJECT =
+            prepareError(ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+    private static final PreparedResponse RESPONSE_INVALID_PAYLOADS_ENTRY =
+            prepareError(ERROR_INVALID_PARAMS, "request contains an invalid payloads entry", null);
+    private static final PreparedResponse RESPONSE_AUTHORIZATION_DECLINED =
+            prepareError(ProtocolContract.ERROR_AUTHORIZATION_FAILED, "authorization request declined", null);
+    private static final PreparedResponse RESPONSE_SIGN_DECLINED =
+            prepareError(ProtocolContract.ERROR_NOT_SIGNED, "sign request declined", null);
+    private static final PreparedResponse RESPONSE_SIGN_AUTHORIZATION_FAILED =
+            prepareError(ProtocolContract.ERROR_AUTHORIZATION_FAILED, "auth_token not valid for signing", null);
+
     @NonNull
     private final MobileWalletAdapterConfig mConfig;
     @NonNull
-    private final Handler mHandler;
-    @NonNull
     private final MethodHandlers mMethodHandlers;
+    @NonNull
+    private final PreparedResponse mGetCapabilitiesResponse;
+
+    // The MethodHandlers see requests in the order the dapp sent them, as they would if dispatched
+    // on the receiving thread; e.g. a sign_* request pipelined behind an authorize request must be
+    // checked against the authorization as of that authorize request.
+    @NonNull
+    private final SerialExecutor mDispatchExecutor = new SerialExecutor(WORKER_POOL);
+    // Requests still queued when the server is disconnected are dropped, rather than dispatched
+    private volatile boolean mDisconnected;
 
     public interface MethodHandlers {
         void authorize(@NonNull AuthorizeRequest request);
@@ -52,11 +88,43 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
     }
 
     public MobileWalletAdapterServer(@NonNull MobileWalletAdapterConfig config,
-                                     @NonNull Looper ioLooper,
                                      @NonNull MethodHandlers methodHandlers) {
         mConfig = config;
-        mHandler = new Handler(ioLooper);
         mMethodHandlers = methodHandlers;
+        mGetCapabilitiesResponse = prepareResult(createCapabilities(config));
+    }
+
+    /** @deprecated requests are no longer handled on ioLooper; use the constructor without it */
+    @Deprecated
+    public MobileWalletAdapterServer(@NonNull MobileWalletAdapterConfig config,
+                                     @NonNull Looper ioLooper,
+                                     @NonNull MethodHandlers methodHandlers) {
+        this(config, methodHandlers);
+    }
+
+    @Override
+    public void receiverConnected(@NonNull MessageSender messageSender) {
+        mDisconnected = false;
+        super.receiverConnected(messageSender);
+    }
+
+    @Override
+    public void receiverDisconnected() {
+        mDisconnected = true;
+        super.receiverDisconnected();
+    }
+
+    // Returns immediately, so that the transport can keep receiving (and e.g. acknowledging)
+    // messages while earlier requests are being handled
+    @Override
+    public void receiverMessageReceived(@NonNull byte[] payload) {
+        mDispatchExecutor.execute(() -> {
+            if (mDisconnected) {
+                Log.w(TAG, "Server disconnected; dropping queued request");
+                return;
+            }
+            super.receiverMessageReceived(payload);
+        });
     }
 
     @Override
@@ -104,6 +172,10 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         @Nullable
         public final Object id;
 
+        // Progress notifications and the response for this request are sent in order
+        @NonNull
+        /*package*/ final Executor mExecutor = new SerialExecutor(WORKER_POOL);
+
         public RequestFuture(@Nullable Object id) {
             this.id = id;
         }
@@ -127,7 +199,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
 
     private void handleAuthorize(@Nullable Object id, @Nullable Object params) throws IOException {
         if (!(params instanceof JSONObject)) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+            handlePreparedResponse(id, RESPONSE_PARAMS_NOT_OBJECT);
             return;
         }
 
@@ -203,7 +275,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
 
         final AuthorizeRequest request =
                 new AuthorizeRequest(id, identityUri, iconUri, identityName, chain, features, addresses, authToken, signInPayload);
-        request.notifyOnComplete((f) -> mHandler.post(() -> onAuthorizationComplete(f)));
+        request.notifyOnComplete(this::onAuthorizationComplete, request.mExecutor);
         mMethodHandlers.authorize(request);
     }
 
@@ -226,7 +298,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                 return;
             } catch (CancellationException e) {
                 // Treat cancellation as a declined request
-                handleRpcError(request.id, ProtocolContract.ERROR_AUTHORIZATION_FAILED, "authorization request declined", null);
+                handlePreparedResponse(request.id, RESPONSE_AUTHORIZATION_DECLINED);
                 return;
             } catch (InterruptedException e) {
                 throw new RuntimeException("Should never occur!");
@@ -427,7 +499,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
 
     private void handleDeauthorize(@Nullable Object id, @Nullable Object params) throws IOException {
         if (!(params instanceof JSONObject)) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+            handlePreparedResponse(id, RESPONSE_PARAMS_NOT_OBJECT);
             return;
         }
 
@@ -440,7 +512,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         }
 
         final DeauthorizeRequest request = new DeauthorizeRequest(id, authToken);
-        request.notifyOnComplete((f) -> mHandler.post(() -> onDeauthorizeComplete(f)));
+        request.notifyOnComplete(this::onDeauthorizeComplete, request.mExecutor);
         mMethodHandlers.deauthorize(request);
     }
 
@@ -458,7 +530,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                 throw new RuntimeException("Should never occur!");
             }
 
-            handleRpcResult(request.id, new JSONObject());
+            handlePreparedResponse(request.id, RESPONSE_EMPTY_RESULT);
         } catch (IOException e) {
             Log.e(TAG, "Failed sending response for id=" + request.id, e);
         }
@@ -491,50 +563,116 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
 
     private void handleGetCapabilities(@Nullable Object id, @Nullable Object params) throws IOException {
         if (!(params instanceof JSONObject)) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+            handlePreparedResponse(id, RESPONSE_PARAMS_NOT_OBJECT);
             return;
         }
 
         final JSONObject o = (JSONObject) params;
         if (o.keys().hasNext()) {
             handleRpcError(id, ERROR_INVALID_PARAMS, "params expected to be empty", null);
+            return;
         }
 
+        handlePreparedResponse(id, mGetCapabilitiesResponse);
+    }
+
+    // The configuration is fixed for the lifetime of this server, and so is its get_capabilities
+    // result
+    @NonNull
+    private static JSONObject createCapabilities(@NonNull MobileWalletAdapterConfig config) {
         final JSONObject result = new JSONObject();
         try {
             result.put(ProtocolContract.RESULT_SUPPORTS_CLONE_AUTHORIZATION, false);
-            if (mConfig.maxTransactionsPerSigningRequest != 0) {
-                result.put(ProtocolContract.RESULT_MAX_TRANSACTIONS_PER_REQUEST, mConfig.maxTransactionsPerSigningRequest);
+            if (config.maxTransactionsPerSigningRequest != 0) {
+                result.put(ProtocolContract.RESULT_MAX_TRANSACTIONS_PER_REQUEST, config.maxTransactionsPerSigningRequest);
             }
-            if (mConfig.maxMessagesPerSigningRequest != 0) {
-                result.put(ProtocolContract.RESULT_MAX_MESSAGES_PER_REQUEST, mConfig.maxMessagesPerSigningRequest);
+            if (config.maxMessagesPerSigningRequest != 0) {
+                result.put(ProtocolContract.RESULT_MAX_MESSAGES_PER_REQUEST, config.maxMessagesPerSigningRequest);
             }
-            result.put(ProtocolContract.RESULT_SUPPORTED_TRANSACTION_VERSIONS, new JSONArray(mConfig.supportedTransactionVersions));
-            result.put(ProtocolContract.RESULT_SUPPORTED_FEATURES, new JSONArray(mConfig.optionalFeatures));
+            result.put(ProtocolContract.RESULT_SUPPORTED_TRANSACTION_VERSIONS, new JSONArray(config.supportedTransactionVersions));
+            result.put(ProtocolContract.RESULT_SUPPORTED_FEATURES, new JSONArray(config.optionalFeatures));
 
             // retained for backwards compatibility
-            result.put(ProtocolContract.RESULT_SUPPORTS_SIGN_AND_SEND_TRANSACTIONS, mConfig.supportsSignAndSendTransactions);
+            result.put(ProtocolContract.RESULT_SUPPORTS_SIGN_AND_SEND_TRANSACTIONS, config.supportsSignAndSendTransactions);
         } catch (JSONException e) {
             throw new RuntimeException("Failed preparing get_capabilities response", e);
         }
-        handleRpcResult(id, result);
+        return result;
     }
 
     // =============================================================================================
     // sign_* common
     // =============================================================================================
 
+    private interface ProgressCallback {
+        void onProgress(@IntRange(from = 0) int index, @NonNull byte[] result);
+    }
+
     public static abstract class SignRequest<T extends SignResult> extends RequestFuture<T> {
         @NonNull
         @Size(min = 1)
         public final byte[][] payloads;
 
+        // Set by MobileWalletAdapterServer before this request is dispatched, if the dapp
+        // requested progress notifications and the wallet supports them
+        @Nullable
+        private ProgressCallback mProgressCallback;
+        @Nullable
+        private boolean[] mProgressNotified;
+
         private SignRequest(@Nullable Object id,
                             @NonNull @Size(min = 1) byte[][] payloads) {
             super(id);
             this.payloads = payloads;
         }
 
+        /**
+         * @return true if the dapp endpoint will receive notifications reported via
+         *         {@link #notifyProgress(int, byte[])}
+         */
+        public boolean isProgressNotificationEnabled() {
+            return mProgressCallback != null;
+        }
+
+        /**
+         * Report that the payload at {@code index} has completed, ahead of completing the request
+         * as a whole. This is a no-op if the dapp endpoint did not request progress notifications,
+         * or if this request has already completed.
+         * @param index the index of the completed payload in {@link #payloads}
+         * @param result the signed payload, or for sign_and_send_transactions, the signature
+         * @throws IllegalArgumentException if index is out of range, or progress for index has
+         *      already been reported
+         */
+        public void notifyProgress(@IntRange(from = 0) int index, @NonNull byte[] result) {
+            if (index < 0 || index >= payloads.length) {
+                throw new IllegalArgumentException("index out of range of payloads");
+            }
+
+            final ProgressCallback callback = mProgressCallback;
+            if (callback == null) {
+                return;
+            }
+
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                if (mProgressNotified == null) {
+                    mProgressNotified = new boolean[payloads.length];
+                } else if (mProgressNotified[index]) {
+                    throw new IllegalArgumentException("progress already reported for index " + index);
+                }
+                mProgressNotified[index] = true;
+
+                // N.B. invoked with the lock held, so that progress can't be posted after completion
+                callback.onProgress(index, result);
+            }
+        }
+
+        // N.B. completion is lock-free in NotifyingCompletableFuture; requests which report
+        // progress also complete with the lock held, so that notifyProgress is atomic with respect
+        // to completion
+
         @Override
         public boolean complete(@Nullable T result) {
             if (result == null) {
@@ -543,7 +681,9 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                 throw new IllegalArgumentException("Number of signed results does not match the number of requested signatures");
             }
 
-            return super.complete(result);
+            synchronized (this) {
+                return super.complete(result);
+            }
         }
 
         @Override
@@ -554,7 +694,16 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                     throw new IllegalArgumentException("Number of valid payload entries does not match the number of payloads to sign");
                 }
             }
-            return super.completeExceptionally(ex);
+            synchronized (this) {
+                return super.completeExceptionally(ex);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (this) {
+                return super.cancel(mayInterruptIfRunning);
+            }
         }
 
         @NonNull
@@ -593,6 +742,40 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         }
     }
 
+    // Returns true if the dapp requested, and this wallet supports, progress notifications
+    private boolean checkProgressNotificationsRequested(@NonNull JSONObject jo) {
+        return jo.optBoolean(ProtocolContract.PARAMETER_PROGRESS_NOTIFICATIONS, false) &&
+                Arrays.asList(mConfig.optionalFeatures).contains(ProtocolContract.FEATURE_ID_PROGRESS_NOTIFICATIONS);
+    }
+
+    // N.B. progress is queued on the request's executor ahead of the request completion, so
+    // notifications are always sent before the response to the request
+    private void enableProgressNotifications(@NonNull SignRequest<?> request,
+                                             @NonNull String resultKey) {
+        request.mProgressCallback = (index, result) ->
+                request.mExecutor.execute(() -> onSignProgress(request, index, result, resultKey));
+    }
+
+    private void onSignProgress(@NonNull SignRequest<?> request,
+                                @IntRange(from = 0) int index,
+                                @NonNull byte[] result,
+                                @NonNull String resultKey) {
+        final JSONObject o = new JSONObject();
+        try {
+            o.put(ProtocolContract.PARAMETER_PROGRESS_REQUEST_ID, request.id);
+            o.put(ProtocolContract.PARAMETER_PROGRESS_INDEX, index);
+            o.put(resultKey, Base64.encodeToString(result, Base64.NO_WRAP));
+        } catch (JSONException e) {
+            throw new RuntimeException("Failed preparing signing progress notification", e);
+        }
+
+        try {
+            sendNotification(ProtocolContract.NOTIFICATION_SIGNING_PROGRESS, o);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed sending progress notification for id=" + request.id, e);
+        }
+    }
+
     @NonNull
     @Size(min = 1)
     private static byte[][] unpackPayloadsArray(@NonNull JSONObject jo) {
@@ -626,9 +809,9 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
             } catch (ExecutionException e) {
                 final Throwable cause = e.getCause();
                 if (cause instanceof RequestDeclinedException) {
-                    handleRpcError(request.id, ProtocolContract.ERROR_NOT_SIGNED, "sign request declined", null);
+                    handlePreparedResponse(request.id, RESPONSE_SIGN_DECLINED);
                 } else if (cause instanceof AuthorizationNotValidException) {
-                    handleRpcError(request.id, ProtocolContract.ERROR_AUTHORIZATION_FAILED, "auth_token not valid for signing", null);
+                    handlePreparedResponse(request.id, RESPONSE_SIGN_AUTHORIZATION_FAILED);
                 } else if (cause instanceof InvalidPayloadsException) {
                     handleRpcError(request.id, ProtocolContract.ERROR_INVALID_PAYLOADS, "payloads invalid for signing",
                             createInvalidPayloadsData(((InvalidPayloadsException) cause).valid));
@@ -640,7 +823,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                 return;
             } catch (CancellationException e) {
                 // Treat cancellation as a declined request
-                handleRpcError(request.id, ProtocolContract.ERROR_NOT_SIGNED, "sign request declined", null);
+                handlePreparedResponse(request.id, RESPONSE_SIGN_DECLINED);
                 return;
             } catch (InterruptedException e) {
                 throw new RuntimeException("Should never occur!");
@@ -703,7 +886,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                                         @Nullable Object params)
             throws IOException {
         if (!(params instanceof JSONObject)) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+            handlePreparedResponse(id, RESPONSE_PARAMS_NOT_OBJECT);
             return;
         }
 
@@ -713,7 +896,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         try {
             payloads = unpackPayloadsArray(o);
         } catch (IllegalArgumentException e) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "request contains an invalid payloads entry", null);
+            handlePreparedResponse(id, RESPONSE_INVALID_PAYLOADS_ENTRY);
             return;
         }
 
@@ -723,7 +906,10 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         }
 
         final SignTransactionsRequest request = new SignTransactionsRequest(id, payloads);
-        request.notifyOnComplete((f) -> mHandler.post(() -> onSignPayloadsComplete(f)));
+        if (id != null && checkProgressNotificationsRequested(o)) {
+            enableProgressNotifications(request, ProtocolContract.PARAMETER_PROGRESS_SIGNED_PAYLOAD);
+        }
+        request.notifyOnComplete(this::onSignPayloadsComplete, request.mExecutor);
         mMethodHandlers.signTransactions(request);
     }
 
@@ -750,7 +936,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                                     @Nullable Object params)
             throws IOException {
         if (!(params instanceof JSONObject)) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+            handlePreparedResponse(id, RESPONSE_PARAMS_NOT_OBJECT);
             return;
         }
 
@@ -760,7 +946,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         try {
             payloads = unpackPayloadsArray(o);
         } catch (IllegalArgumentException e) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "request contains an invalid payloads entry", null);
+            handlePreparedResponse(id, RESPONSE_INVALID_PAYLOADS_ENTRY);
             return;
         }
 
@@ -787,7 +973,10 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         }
 
         final SignMessagesRequest request = new SignMessagesRequest(id, payloads, addresses);
-        request.notifyOnComplete((f) -> mHandler.post(() -> onSignPayloadsComplete(f)));
+        if (id != null && checkProgressNotificationsRequested(o)) {
+            enableProgressNotifications(request, ProtocolContract.PARAMETER_PROGRESS_SIGNED_PAYLOAD);
+        }
+        request.notifyOnComplete(this::onSignPayloadsComplete, request.mExecutor);
         mMethodHandlers.signMessages(request);
     }
 
@@ -892,7 +1081,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
     private void handleSignAndSendTransactions(@Nullable Object id, @Nullable Object params)
             throws IOException {
         if (!(params instanceof JSONObject)) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+            handlePreparedResponse(id, RESPONSE_PARAMS_NOT_OBJECT);
             return;
         }
 
@@ -902,7 +1091,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
         try {
             payloads = unpackPayloadsArray(o);
         } catch (IllegalArgumentException e) {
-            handleRpcError(id, ERROR_INVALID_PARAMS, "request contains an invalid payloads entry", null);
+            handlePreparedResponse(id, RESPONSE_INVALID_PAYLOADS_ENTRY);
             return;
         }
 
@@ -979,7 +1168,10 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
 
         final SignAndSendTransactionsRequest request = new SignAndSendTransactionsRequest(
                 id, payloads, minContextSlot, commitment, skipPreflight, maxRetries, waitForCommitmentToSendNextTransaction);
-        request.notifyOnComplete((f) -> mHandler.post(() -> onSignAndSendTransactionsComplete(f)));
+        if (id != null && checkProgressNotificationsRequested(o)) {
+            enableProgressNotifications(request, ProtocolContract.PARAMETER_PROGRESS_SIGNATURE);
+        }
+        request.notifyOnComplete(this::onSignAndSendTransactionsComplete, request.mExecutor);
         mMethodHandlers.signAndSendTransactions(request);
     }
 
@@ -993,9 +1185,9 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
             } catch (ExecutionException e) {
                 final Throwable cause = e.getCause();
                 if (cause instanceof RequestDeclinedException) {
-                    handleRpcError(request.id, ProtocolContract.ERROR_NOT_SIGNED, "sign request declined", null);
+                    handlePreparedResponse(request.id, RESPONSE_SIGN_DECLINED);
                 } else if (cause instanceof AuthorizationNotValidException) {
-                    handleRpcError(request.id, ProtocolContract.ERROR_AUTHORIZATION_FAILED, "auth_token not valid for signing", null);
+                    handlePreparedResponse(request.id, RESPONSE_SIGN_AUTHORIZATION_FAILED);
                 } else if (cause instanceof InvalidPayloadsException) {
                     final InvalidPayloadsException e2 = (InvalidPayloadsException) cause;
                     handleRpcError(request.id, ProtocolContract.ERROR_INVALID_PAYLOADS, "payloads invalid for signing",
@@ -1012,7 +1204,7 @@ public class MobileWalletAdapterServer extends JsonRpc20Server {
                 return;
             } catch (CancellationException e) {
                 // Treat cancellation as a declined request
-                handleRpcError(request.id, ProtocolContract.ERROR_NOT_SIGNED, "sign request declined", null);
+                handlePreparedResponse(request.id, RESPONSE_SIGN_DECLINED);
                 return;
             } catch (InterruptedException e) {
                 throw new RuntimeException("Should never occur!");
@@ -6,9 +6,11 @@ package com.solana.mobilewalletadapter.walletlib.protocol;
 
 import android.util.Log;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.solana.mobilewalletadapter.common.crypto.CryptoPrimitives;
 import com.solana.mobilewalletadapter.common.crypto.ECDSAKeys;
 import com.solana.mobilewalletadapter.common.protocol.MessageReceiver;
 import com.solana.mobilewalletadapter.common.protocol.MobileWalletAdapterSessionCommon;
@@ -40,6 +42,17 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
     public MobileWalletAdapterSession(@NonNull Scenario scenario,
                                       @NonNull MessageReceiver decryptedPayloadReceiver,
                                       @Nullable StateCallbacks stateCallbacks) {
+        this(scenario, decryptedPayloadReceiver, stateCallbacks, 0);
+    }
+
+    /**
+     * @param maxDecompressedSize the maximum decompressed size of a compressed message to accept
+     *      from the dapp endpoint, or 0 if compressed frames should not be offered
+     */
+    public MobileWalletAdapterSession(@NonNull Scenario scenario,
+                                      @NonNull MessageReceiver decryptedPayloadReceiver,
+                                      @Nullable StateCallbacks stateCallbacks,
+                                      @IntRange(from = 0) int maxDecompressedSize) {
         super(decryptedPayloadReceiver, stateCallbacks);
         mScenario = scenario;
         mAssociationPublicKey = ECDSAKeys.decodeP256PublicKey(scenario.getAssociationPublicKey());
@@ -50,7 +63,18 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
                 maxSupportedProtocolVersion = version;
             }
         }
-        mSessionProperties = new SessionProperties(maxSupportedProtocolVersion);
+        // Session properties are not sent for legacy sessions, so chunked and compressed frames
+        // can't be offered
+        final boolean isLegacy = maxSupportedProtocolVersion == SessionProperties.ProtocolVersion.LEGACY;
+        mSessionProperties = new SessionProperties(maxSupportedProtocolVersion,
+                isLegacy ? 0 : DEFAULT_MAX_CHUNK_SIZE,
+                isLegacy ? 0 : Math.min(maxDecompressedSize, MAX_DECOMPRESSED_MESSAGE_SIZE));
+    }
+
+    @Override
+    public synchronized void setRxReplayWindowSize(
+            @IntRange(from = 0, to = MAX_RX_REPLAY_WINDOW_SIZE) int windowSize) {
+        super.setRxReplayWindowSize(windowSize);
     }
 
     @NonNull
@@ -73,6 +97,8 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
         // Generate an EC key on the P-256 curve, and do ECDH to produce the shared secret
         final ECPublicKey ourPublicKey = generateSessionECDHKeyPair();
         generateSessionECDHSecret(theirPublicKey);
+        setRxMaxChunkSize(mSessionProperties.maxChunkSize);
+        setRxMaxDecompressedSize(mSessionProperties.maxDecompressedSize);
         doSessionEstablished();
 
         // Send a response to allow the counterparty to perform ECDH as well
@@ -87,6 +113,13 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
         }
     }
 
+    // HELLO_REQ carries no session properties, so the dapp endpoint signals that it accepts
+    // compressed frames by sending one
+    @Override
+    protected void onCompressedMessageReceived() {
+        setTxMaxDecompressedSize(MAX_DECOMPRESSED_MESSAGE_SIZE);
+    }
+
     // throw news SessionMessageException on any parsing or content failure within message
     @NonNull
     private ECPublicKey parseHelloReq(@NonNull byte[] message) throws SessionMessageException {
@@ -104,7 +137,7 @@ public class MobileWalletAdapterSession extends MobileWalletAdapterSessionCommon
 
         final boolean verified;
         try {
-            final Signature ecdsaSignature = Signature.getInstance("SHA256withECDSA");
+            final Signature ecdsaSignature = CryptoPrimitives.sha256WithECDSA();
             ecdsaSignature.initVerify(mAssociationPublicKey);
             ecdsaSignature.update(message, 0, ECDSAKeys.ENCODED_PUBLIC_KEY_LENGTH_BYTES);
             verified = ecdsaSignature.verify(derSig);
@@ -7,7 +7,9 @@ package com.solana.mobilewalletadapter.walletlib.scenario;
 import android.content.Context;
 import android.net.Uri;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.Message;
 import android.util.Log;
 
 import androidx.annotation.GuardedBy;
@@ -15,6 +17,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.solana.mobilewalletadapter.common.ProtocolContract;
+import com.solana.mobilewalletadapter.common.protocol.MobileWalletAdapterSessionCommon;
 import com.solana.mobilewalletadapter.common.protocol.SessionProperties;
 import com.solana.mobilewalletadapter.common.util.NotifyingCompletableFuture;
 import com.solana.mobilewalletadapter.walletlib.authorization.AuthIssuerConfig;
@@ -23,16 +26,36 @@ import com.solana.mobilewalletadapter.walletlib.authorization.AuthRepository;
 import com.solana.mobilewalletadapter.walletlib.authorization.AuthRepositoryImpl;
 import com.solana.mobilewalletadapter.walletlib.protocol.MobileWalletAdapterConfig;
 import com.solana.mobilewalletadapter.walletlib.protocol.MobileWalletAdapterServer;
-import com.solana.mobilewalletadapter.walletlib.util.LooperThread;
+import com.solana.mobilewalletadapter.walletlib.util.SerialExecutor;
+import com.solana.mobilewalletadapter.walletlib.util.WorkerPools;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 public abstract class BaseScenario implements Scenario {
     private static final String TAG = BaseScenario.class.getSimpleName();
 
+    private static final int MAX_IO_THREADS = 4;
+    private static final long IO_THREAD_KEEP_ALIVE_MS = 10000;
+
+    // Shared by the IO queues of all scenarios, so that a wallet serving many associations doesn't
+    // need a thread per scenario
+    private static final Executor IO_POOL = WorkerPools.newBoundedPool(TAG + "-io",
+            WorkerPools.threadsForProcessors(2, MAX_IO_THREADS), IO_THREAD_KEEP_ALIVE_MS);
+
+    @Nullable
+    @GuardedBy("BaseScenario.class")
+    private static Looper sLegacyIoLooper;
+    // Backs the deprecated mIoHandler. Unlike sLegacyIoLooper, it isn't handed out to scenarios, so
+    // a scenario quitting its mIoLooper can't stop mIoHandler of every other scenario.
+    @Nullable
+    @GuardedBy("BaseScenario.class")
+    private static Looper sLegacyDispatchLooper;
+
     @NonNull
     final public byte[] associationPublicKey;
     @NonNull
@@ -40,8 +63,24 @@ public abstract class BaseScenario implements Scenario {
 
     @NonNull
     protected final MobileWalletAdapterConfig mMobileWalletAdapterConfig;
+    // The IO "thread" of this scenario: a serial queue of tasks, run on threads shared with all
+    // other scenarios. These threads have no Looper; Callbacks are invoked on them.
+    @NonNull
+    protected final SerialExecutor mIoExecutor;
+    /**
+     * @deprecated scenarios no longer have an IO thread of their own. This is the Looper of a
+     * single thread shared by all scenarios; it does not back {@link #mIoHandler}, so quitting it
+     * only stops Handlers created on it. Use {@link #mIoExecutor} instead.
+     */
+    @Deprecated
     @NonNull
     protected final Looper mIoLooper;
+    /**
+     * @deprecated use {@link #mIoExecutor} instead. Messages sent to this Handler (including
+     * delayed messages, once their delay has elapsed) are handled on {@link #mIoExecutor}, in
+     * order with the other IO tasks of this scenario.
+     */
+    @Deprecated
     @NonNull
     protected final Handler mIoHandler;
     @NonNull
@@ -60,7 +99,11 @@ public abstract class BaseScenario implements Scenario {
     @GuardedBy("mLock")
     private NotifyingCompletableFuture<String> mSessionEstablishedFuture = null;
 
-    private final Uri mWalletIcon;
+    @NonNull
+    private final WalletIconProvider mIconProvider;
+    private boolean mWalletIconResolved = false; // only accessed from the IO thread
+    @Nullable
+    private Uri mWalletIcon; // only accessed from the IO thread
 
     protected BaseScenario(@NonNull Context context,
                            @NonNull MobileWalletAdapterConfig mobileWalletAdapterConfig,
@@ -93,21 +136,15 @@ public abstract class BaseScenario implements Scenario {
         this.associationProtocolVersions = associationProtocolVersions;
         this.associationPublicKey = associationPublicKey;
 
-        final LooperThread t = new LooperThread();
-        t.start();
-        mIoLooper = t.getLooper(); // blocks until Looper is available
-        mIoHandler = new Handler(mIoLooper);
+        mIoExecutor = new SerialExecutor(IO_POOL);
+        mIoLooper = getLegacyIoLooper();
+        mIoHandler = new ExecutorHandler(getLegacyDispatchLooper(null), mIoExecutor);
 
         mAuthRepository = new AuthRepositoryImpl(context, authIssuerConfig);
 
-        Uri walletIcon = iconProvider.getWalletIconDataUri();
-        if (walletIcon == null ||
-                (walletIcon.getScheme() != null && walletIcon.getScheme().equals("data"))) {
-            this.mWalletIcon = walletIcon;
-        } else {
-            throw new IllegalArgumentException("wallet icon provider returned an invalid icon URI: " +
-                    "the wallet icon must be a data URI");
-        }
+        // N.B. the wallet icon is not resolved until it is first needed, so that scenario
+        // construction never waits on the icon being rendered and encoded
+        mIconProvider = iconProvider;
     }
 
     @Override
@@ -121,9 +158,29 @@ public abstract class BaseScenario implements Scenario {
         return associationProtocolVersions;
     }
 
-    @Override
-    protected void finalize() {
-        mIoLooper.quitSafely();
+    // Maximum decompressed size of compressed frames to offer to the dapp endpoint, or 0 if the
+    // wallet has not opted in to compressed sessions
+    protected int getMaxDecompressedMessageSize() {
+        return Arrays.asList(mMobileWalletAdapterConfig.optionalFeatures)
+                .contains(ProtocolContract.FEATURE_ID_COMPRESSED_SESSION) ?
+                MobileWalletAdapterSessionCommon.MAX_DECOMPRESSED_MESSAGE_SIZE : 0;
+    }
+
+    // Must be called on the IO thread
+    @Nullable
+    private Uri getWalletIcon() {
+        if (!mWalletIconResolved) {
+            final Uri walletIcon = mIconProvider.getWalletIconDataUri();
+            if (walletIcon == null ||
+                    (walletIcon.getScheme() != null && walletIcon.getScheme().equals("data"))) {
+                mWalletIcon = walletIcon;
+            } else {
+                Log.e(TAG, "wallet icon provider returned an invalid icon URI: " +
+                        "the wallet icon must be a data URI");
+            }
+            mWalletIconResolved = true;
+        }
+        return mWalletIcon;
     }
 
     @NonNull
@@ -171,6 +228,87 @@ public abstract class BaseScenario implements Scenario {
     @Override
     public abstract void close();
 
+    // Returns the Looper of the deprecated mIoLooper, which is started when the first scenario is
+    // created. It is restarted if it was quit (as scenario subclasses used to do with their own
+    // mIoLooper).
+    @NonNull
+    private static synchronized Looper getLegacyIoLooper() {
+        if (sLegacyIoLooper == null || !sLegacyIoLooper.getThread().isAlive()) {
+            sLegacyIoLooper = startLooper(TAG + "-legacy-io");
+        }
+        return sLegacyIoLooper;
+    }
+
+    // Returns the Looper backing the deprecated mIoHandler, restarting it if it has stopped or if it
+    // is quitLooper (which was found to have been quit, but may not have stopped yet)
+    @NonNull
+    private static synchronized Looper getLegacyDispatchLooper(@Nullable Looper quitLooper) {
+        if (sLegacyDispatchLooper == null || sLegacyDispatchLooper == quitLooper ||
+                !sLegacyDispatchLooper.getThread().isAlive()) {
+            sLegacyDispatchLooper = startLooper(TAG + "-legacy-dispatch");
+        }
+        return sLegacyDispatchLooper;
+    }
+
+    @NonNull
+    private static Looper startLooper(@NonNull String name) {
+        final HandlerThread t = new HandlerThread(name);
+        t.setDaemon(true);
+        t.start();
+        return t.getLooper();
+    }
+
+    // Hands each message off to an executor once the Looper dispatches it, so that Handler-based
+    // code runs on (and in order with) that executor
+    private static class ExecutorHandler extends Handler {
+        @NonNull
+        private final Executor mExecutor;
+        // Set once the Looper of this Handler has been quit (through getLooper()), after which
+        // messages are forwarded to a Handler on a live Looper. N.B. removeCallbacks and
+        // removeMessages don't reach messages which have been forwarded.
+        @Nullable
+        private volatile Handler mForwarder;
+
+        ExecutorHandler(@NonNull Looper looper, @NonNull Executor executor) {
+            super(looper);
+            mExecutor = executor;
+        }
+
+        @Override
+        public boolean sendMessageAtTime(@NonNull Message msg, long uptimeMillis) {
+            // N.B. a Looper which has been quit recycles msg and refuses it
+            final Message copy = Message.obtain(msg);
+            final Handler forwarder = mForwarder;
+            if (forwarder == null ? super.sendMessageAtTime(msg, uptimeMillis)
+                    : forwarder.sendMessageAtTime(msg, uptimeMillis)) {
+                copy.recycle();
+                return true;
+            }
+            final Looper quitLooper = (forwarder == null) ? getLooper() : forwarder.getLooper();
+            return getForwarder(quitLooper).sendMessageAtTime(copy, uptimeMillis);
+        }
+
+        @Override
+        public void dispatchMessage(@NonNull Message msg) {
+            final Message copy = Message.obtain(msg); // msg is recycled once this returns
+            mExecutor.execute(() -> super.dispatchMessage(copy));
+        }
+
+        @NonNull
+        private synchronized Handler getForwarder(@NonNull Looper quitLooper) {
+            final Looper looper = getLegacyDispatchLooper(quitLooper);
+            if (mForwarder == null || mForwarder.getLooper() != looper) {
+                mForwarder = new Handler(looper) {
+                    @Override
+                    public void dispatchMessage(@NonNull Message msg) {
+                        ExecutorHandler.this.dispatchMessage(msg);
+                    }
+                };
+            }
+            return mForwarder;
+        }
+    }
+
     public static class ConnectionFailedException extends RuntimeException {
         public ConnectionFailedException(@NonNull String message) {
             super(message);
@@ -196,7 +334,7 @@ public abstract class BaseScenario implements Scenario {
                             ? request.chain : ProtocolContract.CHAIN_SOLANA_MAINNET;
 
                     final NotifyingCompletableFuture<AuthorizeRequest.Result> future = new NotifyingCompletableFuture<>();
-                    future.notifyOnComplete(f -> mIoHandler.post(() -> { // Note: run in IO thread context
+                    future.notifyOnComplete(f -> { // Note: run in IO thread context
                         try {
                             final AuthorizeRequest.Result authorize = f.get(); // won't block
 
@@ -204,16 +342,29 @@ public abstract class BaseScenario implements Scenario {
                                 final String name = request.identityName != null ? request.identityName : "";
                                 final Uri uri = request.identityUri != null ? request.identityUri : Uri.EMPTY;
                                 final Uri relativeIconUri = request.iconUri != null ? request.iconUri : Uri.EMPTY;
-                                final AuthRecord authRecord = mAuthRepository.issue(name, uri, relativeIconUri,
-                                        authorize.accounts,chain, authorize.walletUriBase, authorize.scope);
-                                Log.d(TAG, "Authorize request completed successfully; issued auth: " + authRecord);
-                                synchronized (mLock) {
-                                    mActiveAuthorization = authRecord;
-                                }
-
-                                final String authToken = mAuthRepository.toAuthToken(authRecord);
-                                request.complete(new MobileWalletAdapterServer.AuthorizationResult(authToken,
-                                        authorize.accounts, authorize.walletUriBase, mWalletIcon, authorize.signInResult));
+                                mAuthRepository.issueAsync(name, uri, relativeIconUri, authorize.accounts,
+                                        chain, authorize.walletUriBase, authorize.scope).notifyOnComplete(
+                                                issued -> { // Note: run in IO thread context
+                                    final AuthRecord authRecord;
+                                    try {
+                                        authRecord = issued.get(); // won't block
+                                    } catch (ExecutionException e) {
+                                        final Throwable cause = e.getCause();
+                                        assert(cause instanceof Exception); // expected to always be an Exception
+                                        request.completeExceptionally((Exception)cause);
+                                        return;
+                                    } catch (InterruptedException e) {
+                                        throw new RuntimeException("Unexpected interruption while waiting for authorization", e);
+                                    }
+                                    Log.d(TAG, "Authorize request completed successfully; issued auth: " + authRecord);
+                                    synchronized (mLock) {
+                                        mActiveAuthorization = authRecord;
+                                    }
+
+                                    final String authToken = mAuthRepository.toAuthToken(authRecord);
+                                    request.complete(new MobileWalletAdapterServer.AuthorizationResult(authToken,
+                                            authorize.accounts, authorize.walletUriBase, getWalletIcon(), authorize.signInResult));
+                                }, mIoExecutor);
                             } else {
                                 request.completeExceptionally(new MobileWalletAdapterServer.RequestDeclinedException(
                                         "authorize request declined"));
@@ -227,9 +378,9 @@ public abstract class BaseScenario implements Scenario {
                         } catch (CancellationException e) {
                             request.cancel(true);
                         }
-                    }));
+                    }, mIoExecutor);
 
-                    mIoHandler.post(() -> mCallbacks.onAuthorizeRequest(new AuthorizeRequest(
+                    mIoExecutor.post(() -> mCallbacks.onAuthorizeRequest(new AuthorizeRequest(
                             future, request.identityName, request.identityUri, request.iconUri, chain,
                             request.features, request.addresses, request.signInPayload)));
                 }
@@ -238,56 +389,68 @@ public abstract class BaseScenario implements Scenario {
                     assert request.authToken != null;
                     final AuthRecord authRecord = mAuthRepository.fromAuthToken(request.authToken);
                     if (authRecord == null) {
-                        mIoHandler.post(() -> request.completeExceptionally(
+                        mIoExecutor.post(() -> request.completeExceptionally(
                                 new MobileWalletAdapterServer.AuthorizationNotValidException(
                                         "auth_token not valid for this request")));
                         return;
                     }
 
                     if (request.chain != null && !authRecord.chain.equals(request.chain)) {
-                        mIoHandler.post(() -> request.completeExceptionally(
+                        mIoExecutor.post(() -> request.completeExceptionally(
                                 new MobileWalletAdapterServer.AuthorizationNotValidException(
                                         "requested chain not valid for specified auth_token")));
                         return;
                     }
 
                     final NotifyingCompletableFuture<Boolean> future = new NotifyingCompletableFuture<>();
-                    future.notifyOnComplete(f -> mIoHandler.post(() -> { // Note: run in IO thread context
+                    future.notifyOnComplete(f -> { // Note: run in IO thread context
                         try {
                             final Boolean reauthorize = f.get(); // won't block
                             if (!reauthorize) {
-                                mIoHandler.post(() -> request.completeExceptionally(
+                                mIoExecutor.post(() -> request.completeExceptionally(
                                         new MobileWalletAdapterServer.RequestDeclinedException(
                                                 "app declined reauthorization request")));
                                 mAuthRepository.revoke(authRecord);
                                 return;
                             }
 
-                            final AuthRecord reissuedAuthRecord = mAuthRepository.reissue(authRecord);
-                            if (reissuedAuthRecord == null) {
-                                // No need to explicitly revoke the old auth token; that is part of the
-                                // reissue method contract
-                                mIoHandler.post(() -> request.completeExceptionally(
-                                        new MobileWalletAdapterServer.RequestDeclinedException(
-                                                "auth_token not valid for reissue")));
-                                return;
-                            }
-                            synchronized (mLock) {
-                                mActiveAuthorization = reissuedAuthRecord;
-                            }
+                            mAuthRepository.reissueAsync(authRecord).notifyOnComplete(
+                                    reissued -> { // Note: run in IO thread context
+                                final AuthRecord reissuedAuthRecord;
+                                try {
+                                    reissuedAuthRecord = reissued.get(); // won't block
+                                } catch (ExecutionException e) {
+                                    final Throwable cause = e.getCause();
+                                    assert(cause instanceof Exception); // expected to always be an Exception
+                                    request.completeExceptionally((Exception)cause);
+                                    return;
+                                } catch (InterruptedException e) {
+                                    throw new RuntimeException("Unexpected interruption while waiting for reauthorization", e);
+                                }
+                                if (reissuedAuthRecord == null) {
+                                    // No need to explicitly revoke the old auth token; that is part of the
+                                    // reissue method contract
+                                    request.completeExceptionally(
+                                            new MobileWalletAdapterServer.RequestDeclinedException(
+                                                    "auth_token not valid for reissue"));
+                                    return;
+                                }
+                                synchronized (mLock) {
+                                    mActiveAuthorization = reissuedAuthRecord;
+                                }
 
-                            final String authToken;
-                            if (reissuedAuthRecord == authRecord) {
-                                // Reissued same auth record; don't regenerate the token
-                                authToken = request.authToken;
-                            } else {
-                                authToken = mAuthRepository.toAuthToken(reissuedAuthRecord);
-                            }
+                                final String authToken;
+                                if (reissuedAuthRecord == authRecord) {
+                                    // Reissued same auth record; don't regenerate the token
+                                    authToken = request.authToken;
+                                } else {
+                                    authToken = mAuthRepository.toAuthToken(reissuedAuthRecord);
+                                }
 
-                            mIoHandler.post(() -> request.complete(
-                                    new MobileWalletAdapterServer.AuthorizationResult(
-                                            authToken, authRecord.getAuthorizedAccounts(),
-                                            authRecord.walletUriBase, mWalletIcon, null)));
+                                request.complete(new MobileWalletAdapterServer.AuthorizationResult(
+                                        authToken, authRecord.getAuthorizedAccounts(),
+                                        authRecord.walletUriBase, getWalletIcon(), null));
+                            }, mIoExecutor);
                         } catch (ExecutionException e) {
                             final Throwable cause = e.getCause();
                             assert(cause instanceof Exception); // expected to always be an Exception
@@ -297,9 +460,9 @@ public abstract class BaseScenario implements Scenario {
                         } catch (CancellationException e) {
                             request.cancel(true);
                         }
-                    }));
+                    }, mIoExecutor);
 
-                    mIoHandler.post(() -> mCallbacks.onReauthorizeRequest(new ReauthorizeRequest(
+                    mIoExecutor.post(() -> mCallbacks.onReauthorizeRequest(new ReauthorizeRequest(
                             future, request.identityName, request.identityUri, request.iconUri,
                             authRecord.chain, authRecord.scope)));
                 }
@@ -317,14 +480,14 @@ public abstract class BaseScenario implements Scenario {
                     }
 
                     if (authRecord != null) {
-                        mIoHandler.post(() -> mCallbacks.onDeauthorizedEvent(new DeauthorizedEvent(
+                        mIoExecutor.post(() -> mCallbacks.onDeauthorizedEvent(new DeauthorizedEvent(
                                 request, authRecord.identity.getName(), authRecord.identity.getUri(),
                                 authRecord.identity.getRelativeIconUri(), authRecord.chain,
                                 authRecord.scope)));
                     } else {
                         // No auth token was found. Just complete successfully, to avoid disclosing whether
                         // the auth token was valid.
-                        mIoHandler.post(() -> request.complete(null));
+                        mIoExecutor.post(() -> request.complete(null));
                     }
                 }
 
@@ -335,12 +498,12 @@ public abstract class BaseScenario implements Scenario {
                         authRecord = mActiveAuthorization;
                     }
                     if (authRecord == null || authRecord.isRevoked()) {
-                        mIoHandler.post(() -> request.completeExceptionally(
+                        mIoExecutor.post(() -> request.completeExceptionally(
                                 new MobileWalletAdapterServer.AuthorizationNotValidException("Session not authorized for privileged requests")));
                         return;
                     }
 
-                    mIoHandler.post(() -> mCallbacks.onSignTransactionsRequest(new SignTransactionsRequest(
+                    mIoExecutor.post(() -> mCallbacks.onSignTransactionsRequest(new SignTransactionsRequest(
                             request, authRecord.identity.getName(), authRecord.identity.getUri(),
                             authRecord.identity.getRelativeIconUri(), authRecord.scope,
                             authRecord.getAuthorizedAccounts(), authRecord.chain)));
@@ -353,7 +516,7 @@ public abstract class BaseScenario implements Scenario {
                         authRecord = mActiveAuthorization;
                     }
                     if (authRecord == null || authRecord.isRevoked()) {
-                        mIoHandler.post(() -> request.completeExceptionally(
+                        mIoExecutor.post(() -> request.completeExceptionally(
                                 new MobileWalletAdapterServer.AuthorizationNotValidException("Session not authorized for privileged requests")));
                         return;
                     }
@@ -363,9 +526,9 @@ public abstract class BaseScenario implements Scenario {
                                 authRecord.identity.getName(), authRecord.identity.getUri(),
                                 authRecord.identity.getRelativeIconUri(), authRecord.scope,
                                 authRecord.getAuthorizedAccounts(), authRecord.chain);
-                        mIoHandler.post(() -> mCallbacks.onSignMessagesRequest(smr));
+                        mIoExecutor.post(() -> mCallbacks.onSignMessagesRequest(smr));
                     } catch (IllegalArgumentException e) {
-                        mIoHandler.post(() -> request.completeExceptionally(
+                        mIoExecutor.post(() -> request.completeExceptionally(
                                 new MobileWalletAdapterServer.RequestDeclinedException("Unexpected address; not signing message"))); // TODO(#44): support multiple addresses
                     }
                 }
@@ -378,12 +541,12 @@ public abstract class BaseScenario implements Scenario {
                         authRecord = mActiveAuthorization;
                     }
                     if (authRecord == null || authRecord.isRevoked()) {
-                        mIoHandler.post(() -> request.completeExceptionally(
+                        mIoExecutor.post(() -> request.completeExceptionally(
                                 new MobileWalletAdapterServer.AuthorizationNotValidException("Session not authorized for privileged requests")));
                         return;
                     }
 
-                    mIoHandler.post(() -> mCallbacks.onSignAndSendTransactionsRequest(
+                    mIoExecutor.post(() -> mCallbacks.onSignAndSendTransactionsRequest(
                             new SignAndSendTransactionsRequest(request, authRecord.identity.getName(),
                                     authRecord.identity.getUri(), authRecord.identity.getRelativeIconUri(),
                                     authRecord.scope, authRecord.getAuthorizedAccounts(), authRecord.chain)));
@@ -1,29 +1,153 @@
 package com.solana.mobilewalletadapter.walletlib.scenario;
 
 import android.content.Context;
+import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
+import android.os.Build;
 import android.util.Base64;
+import android.util.Log;
+import android.util.SparseArray;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Provides the application icon of the wallet as a data URI. Encoding the icon is expensive, so it
+ * is done once per process on a background thread, starting when the first provider is created
+ * (see {@link #prefetch(Context)}), and the result is shared by all subsequent providers. The
+ * cached icon is discarded when the wallet app is updated.
+ */
+public class DefaultWalletIconProvider implements WalletIconProvider {
+    private static final String TAG = DefaultWalletIconProvider.class.getSimpleName();
+
+    public static final int DEFAULT_MAX_ICON_DIMENSION_PX = 256;
+
+    private static final ExecutorService sIconEncoderExecutor = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "WalletIconEncoder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Encoded icons (keyed by max dimension) for the installed version of the wallet app
+    @GuardedBy("sIconCache")
+    private static final SparseArray<Future<Uri>> sIconCache = new SparseArray<>();
+    @GuardedBy("sIconCache")
+    private static long sIconCacheVersion;
+
+    @NonNull
+    private final Future<Uri> mIconFuture;
+
+    public DefaultWalletIconProvider(@NonNull Context context) {
+        this(context, DEFAULT_MAX_ICON_DIMENSION_PX);
+    }
+
+    /**
+     * @param context the {@link Context} of the wallet app
+     * @param maxDimensionPx the maximum width and height of the encoded icon. Larger icons are
+     *      scaled down, preserving their aspect ratio.
+     */
+    public DefaultWalletIconProvider(@NonNull Context context,
+                                     @IntRange(from = 1) int maxDimensionPx) {
+        if (maxDimensionPx < 1) {
+            throw new IllegalArgumentException("maxDimensionPx must be >= 1");
+        }
+
+        final Context appContext = context.getApplicationContext() != null ?
+                context.getApplicationContext() : context;
+        final long version = getInstalledVersion(appContext);
 
-public class DefaultWalletIconProvider implements WalletIconProvider{
-    private final Drawable mIconDrawable;
-    public DefaultWalletIconProvider(Context context) {
-        this.mIconDrawable = context.getPackageManager().getApplicationIcon(context.getApplicationInfo());
+        synchronized (sIconCache) {
+            if (version != sIconCacheVersion) {
+                sIconCache.clear();
+                sIconCacheVersion = version;
+            }
+            Future<Uri> iconFuture = sIconCache.get(maxDimensionPx);
+            if (iconFuture == null) {
+                iconFuture = sIconEncoderExecutor.submit(() -> encodeIcon(appContext, maxDimensionPx));
+                sIconCache.put(maxDimensionPx, iconFuture);
+            }
+            mIconFuture = iconFuture;
+        }
     }
 
+    /**
+     * Start encoding the wallet icon in the background, so that it is ready by the time the first
+     * association completes. Wallets may call this early, e.g. from {@code Application.onCreate}.
+     */
+    public static void prefetch(@NonNull Context context) {
+        new DefaultWalletIconProvider(context);
+    }
+
+    // Blocks until the icon has been encoded, if it is not already available
+    @Nullable
     @Override
     public Uri getWalletIconDataUri() {
-        int width = mIconDrawable.getIntrinsicWidth();
-        int height = mIconDrawable.getIntrinsicHeight();
-        Bitmap iconBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-        mIconDrawable.setBounds(0, 0, width, height);
-        mIconDrawable.draw(new Canvas(iconBitmap));
-        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        iconBitmap.compress(Bitmap.CompressFormat.PNG, 100, byteStream);
-        return Uri.parse("data:image/png;base64," + Base64.encodeToString(byteStream.toByteArray(), Base64.DEFAULT));
+        try {
+            return mIconFuture.get();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Failed encoding wallet icon", e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // N.B. lastUpdateTime changes on each install or update of the package
+    private static long getInstalledVersion(@NonNull Context context) {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+
+    @NonNull
+    private static Uri encodeIcon(@NonNull Context context, @IntRange(from = 1) int maxDimensionPx) {
+        final Drawable iconDrawable =
+                context.getPackageManager().getApplicationIcon(context.getApplicationInfo());
+
+        int width = iconDrawable.getIntrinsicWidth();
+        int height = iconDrawable.getIntrinsicHeight();
+        if (width <= 0 || height <= 0) {
+            // Drawables without an intrinsic size (e.g. solid colors) fill the maximum size
+            width = maxDimensionPx;
+            height = maxDimensionPx;
+        } else if (width > maxDimensionPx || height > maxDimensionPx) {
+            final float scale = (float) maxDimensionPx / Math.max(width, height);
+            width = Math.max(1, Math.round(width * scale));
+            height = Math.max(1, Math.round(height * scale));
+        }
+
+        final Bitmap iconBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        iconDrawable.setBounds(0, 0, width, height);
+        iconDrawable.draw(new Canvas(iconBitmap));
+
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        final String mimeType;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            iconBitmap.compress(Bitmap.CompressFormat.WEBP_LOSSLESS, 100, byteStream);
+            mimeType = "image/webp";
+        } else {
+            iconBitmap.compress(Bitmap.CompressFormat.PNG, 100, byteStream);
+            mimeType = "image/png";
+        }
+        iconBitmap.recycle();
+
+        final Uri iconUri = Uri.parse("data:" + mimeType + ";base64," +
+                Base64.encodeToString(byteStream.toByteArray(), Base64.NO_WRAP));
+        Log.d(TAG, "Encoded " + width + "x" + height + " wallet icon (" + byteStream.size() + " bytes)");
+        return iconUri;
     }
 }
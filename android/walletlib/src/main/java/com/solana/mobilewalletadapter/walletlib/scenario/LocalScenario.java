@@ -74,7 +74,7 @@ public abstract class LocalScenario extends BaseScenario {
 
     @Override
     public NotifyingCompletableFuture<String> startAsync() {
-        mIoHandler.post(this::startNoConnectionTimer);
+        mIoExecutor.post(this::startNoConnectionTimer);
         return super.startAsync();
     }
 
@@ -82,8 +82,9 @@ public abstract class LocalScenario extends BaseScenario {
     public MessageReceiver createMessageReceiver() {
         return new MobileWalletAdapterSession(
                 this,
-                new MobileWalletAdapterServer(mMobileWalletAdapterConfig, mIoLooper, mMethodHandlers),
-                mSessionStateCallbacks);
+                new MobileWalletAdapterServer(mMobileWalletAdapterConfig, mMethodHandlers),
+                mSessionStateCallbacks,
+                getMaxDecompressedMessageSize());
     }
 
     private long getNoConnectionTimeout() {
@@ -98,7 +99,7 @@ public abstract class LocalScenario extends BaseScenario {
         if (noConnectionTimeout > 0)
             mNoConnectionTimeoutHandler = mTimeoutExecutorService.schedule(() -> {
                 Log.i(TAG, "No connection timeout reached");
-                mIoHandler.post(((Callbacks) mCallbacks)::onLowPowerAndNoConnection);
+                mIoExecutor.post(((Callbacks) mCallbacks)::onLowPowerAndNoConnection);
             }, noConnectionTimeout, TimeUnit.MILLISECONDS);
     }
 
@@ -117,12 +118,12 @@ public abstract class LocalScenario extends BaseScenario {
                 public void onSessionEstablished() {
                     Log.d(TAG, "MobileWalletAdapter session established");
                     if (mClientCount.incrementAndGet() == 1) {
-                        mIoHandler.post(LocalScenario.this::stopNoConnectionTimer);
+                        mIoExecutor.post(LocalScenario.this::stopNoConnectionTimer);
                         synchronized (mLock) {
                             notifySessionEstablishmentSucceeded();
                         }
-                        mIoHandler.post(mAuthRepository::start);
-                        mIoHandler.post(mCallbacks::onScenarioServingClients);
+                        mIoExecutor.post(mAuthRepository::start);
+                        mIoExecutor.post(mCallbacks::onScenarioServingClients);
                     }
                 }
 
@@ -130,25 +131,25 @@ public abstract class LocalScenario extends BaseScenario {
                 public void onSessionClosed() {
                     Log.d(TAG, "MobileWalletAdapter session terminated");
                     if (mClientCount.decrementAndGet() == 0) {
-                        mIoHandler.post(LocalScenario.this::stopNoConnectionTimer);
+                        mIoExecutor.post(LocalScenario.this::stopNoConnectionTimer);
                         synchronized (mLock) {
                             mActiveAuthorization = null;
                         }
-                        mIoHandler.post(mCallbacks::onScenarioServingComplete);
-                        mIoHandler.post(mAuthRepository::stop);
+                        mIoExecutor.post(mCallbacks::onScenarioServingComplete);
+                        mIoExecutor.post(mAuthRepository::stop);
                     }
                 }
 
                 @Override
                 public void onSessionError() {
                     Log.w(TAG, "MobileWalletAdapter session error");
-                    mIoHandler.post(LocalScenario.this::stopNoConnectionTimer);
+                    mIoExecutor.post(LocalScenario.this::stopNoConnectionTimer);
                     if (mClientCount.decrementAndGet() == 0) {
                         synchronized (mLock) {
                             mActiveAuthorization = null;
                         }
-                        mIoHandler.post(mCallbacks::onScenarioServingComplete);
-                        mIoHandler.post(mAuthRepository::stop);
+                        mIoExecutor.post(mCallbacks::onScenarioServingComplete);
+                        mIoExecutor.post(mAuthRepository::stop);
                     }
                 }
             };
@@ -92,7 +92,7 @@ public class LocalWebSocketServerScenario extends LocalScenario {
             return;
         }
         mState = State.CLOSED;
-        mIoHandler.post(() -> {
+        mIoExecutor.post(() -> {
             mCallbacks.onScenarioComplete();
             mWebSocketServer.close(); // this will close all MobileWalletAdapterSessions
             mCallbacks.onScenarioTeardownComplete();
@@ -104,12 +104,12 @@ public class LocalWebSocketServerScenario extends LocalScenario {
             new LocalWebSocketServer.Callbacks() {
         @Override
         public void onStarted() {
-            mIoHandler.post(mCallbacks::onScenarioReady);
+            mIoExecutor.post(mCallbacks::onScenarioReady);
         }
 
         @Override
         public void onFatalError() {
-            mIoHandler.post(mCallbacks::onScenarioError);
+            mIoExecutor.post(mCallbacks::onScenarioError);
         }
     };
 
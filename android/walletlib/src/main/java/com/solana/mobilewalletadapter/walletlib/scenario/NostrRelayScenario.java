@@ -159,10 +159,14 @@ public class NostrRelayScenario extends BaseScenario {
 
     @Override
     public MessageReceiver createMessageReceiver() {
-        return new MobileWalletAdapterSession(this,
-                new MobileWalletAdapterServer(mMobileWalletAdapterConfig, mIoLooper, mMethodHandlers),
-                mSessionStateCallbacks
+        final MobileWalletAdapterSession session = new MobileWalletAdapterSession(this,
+                new MobileWalletAdapterServer(mMobileWalletAdapterConfig, mMethodHandlers),
+                mSessionStateCallbacks,
+                getMaxDecompressedMessageSize()
         );
+        // Relays don't guarantee the order in which events are delivered, and may redeliver them
+        session.setRxReplayWindowSize(MobileWalletAdapterSession.MAX_RX_REPLAY_WINDOW_SIZE);
+        return session;
     }
 
     @GuardedBy("mLock")
@@ -301,8 +305,8 @@ public class NostrRelayScenario extends BaseScenario {
                         doSessionEstablished();
                     }
                     if (mClientCount.incrementAndGet() == 1) {
-                        mIoHandler.post(mAuthRepository::start);
-                        mIoHandler.post(mCallbacks::onScenarioServingClients);
+                        mIoExecutor.post(mAuthRepository::start);
+                        mIoExecutor.post(mCallbacks::onScenarioServingClients);
                     }
                 }
 
@@ -313,8 +317,8 @@ public class NostrRelayScenario extends BaseScenario {
                         synchronized (mLock) {
                             mActiveAuthorization = null;
                         }
-                        mIoHandler.post(mCallbacks::onScenarioServingComplete);
-                        mIoHandler.post(mAuthRepository::stop);
+                        mIoExecutor.post(mCallbacks::onScenarioServingComplete);
+                        mIoExecutor.post(mAuthRepository::stop);
                     }
                 }
 
@@ -325,8 +329,8 @@ public class NostrRelayScenario extends BaseScenario {
                         synchronized (mLock) {
                             mActiveAuthorization = null;
                         }
-                        mIoHandler.post(mCallbacks::onScenarioServingComplete);
-                        mIoHandler.post(mAuthRepository::stop);
+                        mIoExecutor.post(mCallbacks::onScenarioServingComplete);
+                        mIoExecutor.post(mAuthRepository::stop);
                     }
                 }
             };
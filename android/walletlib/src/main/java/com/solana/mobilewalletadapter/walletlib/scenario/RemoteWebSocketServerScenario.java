@@ -215,16 +215,21 @@ public class RemoteWebSocketServerScenario extends BaseScenario {
     public MessageReceiver createMessageReceiver() {
         return new MobileWalletAdapterSession(
                 this,
-                new MobileWalletAdapterServer(mMobileWalletAdapterConfig, mIoLooper, mMethodHandlers),
-                mSessionStateCallbacks);
+                new MobileWalletAdapterServer(mMobileWalletAdapterConfig, mMethodHandlers),
+                mSessionStateCallbacks,
+                getMaxDecompressedMessageSize());
     }
 
     @GuardedBy("mLock")
     private void doTryConnect() {
         assert(mState == State.CONNECTING || mState == State.CLOSING);
         if (mState == State.CLOSING) return;
+        // N.B. resume is offered to the reflector, and used only if it selects a resumable
+        // subprotocol. In that case, if the connection to the reflector is lost mid-session, the
+        // reflector WebSocket reconnects and resumes the same session, rather than tearing down
+        // the scenario.
         mReflectorWebSocket = new ReflectorWebSocket(mWebSocketUri,
-                createMessageReceiver(), mWebSocketStateCallbacks, CONNECT_TIMEOUT_MS);
+                createMessageReceiver(), mWebSocketStateCallbacks, CONNECT_TIMEOUT_MS, true);
         mReflectorWebSocket.connect(); // [async]
     }
 
@@ -330,6 +335,16 @@ public class RemoteWebSocketServerScenario extends BaseScenario {
             }
         }
 
+        @Override
+        public void onReconnecting() {
+            Log.i(TAG, "Connection to reflector lost, attempting to resume the session");
+        }
+
+        @Override
+        public void onResumed() {
+            Log.i(TAG, "Session resumed");
+        }
+
         @Override
         public void onConnectionClosed() {
             synchronized (mLock) {
@@ -349,8 +364,8 @@ public class RemoteWebSocketServerScenario extends BaseScenario {
                         doSessionEstablished();
                     }
                     if (mClientCount.incrementAndGet() == 1) {
-                        mIoHandler.post(mAuthRepository::start);
-                        mIoHandler.post(mCallbacks::onScenarioServingClients);
+                        mIoExecutor.post(mAuthRepository::start);
+                        mIoExecutor.post(mCallbacks::onScenarioServingClients);
                     }
                 }
 
@@ -361,8 +376,8 @@ public class RemoteWebSocketServerScenario extends BaseScenario {
                         synchronized (mLock) {
                             mActiveAuthorization = null;
                         }
-                        mIoHandler.post(mCallbacks::onScenarioServingComplete);
-                        mIoHandler.post(mAuthRepository::stop);
+                        mIoExecutor.post(mCallbacks::onScenarioServingComplete);
+                        mIoExecutor.post(mAuthRepository::stop);
                     }
                 }
 
@@ -373,8 +388,8 @@ public class RemoteWebSocketServerScenario extends BaseScenario {
                         synchronized (mLock) {
                             mActiveAuthorization = null;
                         }
-                        mIoHandler.post(mCallbacks::onScenarioServingComplete);
-                        mIoHandler.post(mAuthRepository::stop);
+                        mIoExecutor.post(mCallbacks::onScenarioServingComplete);
+                        mIoExecutor.post(mAuthRepository::stop);
                     }
                 }
             };
@@ -44,6 +44,12 @@ public interface Scenario {
     @Deprecated
     void start();
 
+    /**
+     * Scenario callbacks are invoked one at a time, in order, on worker threads shared by all
+     * scenarios. These threads have no {@link android.os.Looper}; work which requires one (e.g.
+     * creating a {@link android.os.Handler}, or updating UI) must be posted to a thread which has
+     * one, such as the main thread.
+     */
     interface Callbacks {
         // Scenario state callbacks
         void onScenarioReady();
@@ -6,6 +6,7 @@ package com.solana.mobilewalletadapter.walletlib.scenario;
 
 import android.net.Uri;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Size;
@@ -77,6 +78,24 @@ public class SignAndSendTransactionsRequest
         return getWaitForCommitmentToSendNextTransaction();
     }
 
+    /**
+     * @return true if the dapp endpoint requested progress notifications for this request (and
+     *         this wallet supports them); see {@link #notifySignature(int, byte[])}
+     */
+    public boolean isProgressNotificationEnabled() {
+        return mRequest.isProgressNotificationEnabled();
+    }
+
+    /**
+     * Send the signature of the transaction at {@code index} to the dapp endpoint as soon as it
+     * has been submitted, ahead of completing the whole request. This is a no-op if
+     * {@link #isProgressNotificationEnabled()} is false. The request must still be completed with
+     * {@link #completeWithSignatures(byte[][])} or {@link #completeWithNotSubmitted(byte[][])}.
+     */
+    public void notifySignature(@IntRange(from = 0) int index, @NonNull byte[] signature) {
+        mRequest.notifyProgress(index, signature);
+    }
+
     public void completeWithSignatures(@NonNull @Size(min = 1) byte[][] signatures) {
         mRequest.complete(new MobileWalletAdapterServer.SignaturesResult(signatures));
     }
@@ -6,6 +6,7 @@ package com.solana.mobilewalletadapter.walletlib.scenario;
 
 import android.net.Uri;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Size;
@@ -65,6 +66,23 @@ public abstract class SignPayloadsRequest
         return mRequest.payloads;
     }
 
+    /**
+     * @return true if the dapp endpoint requested progress notifications for this request (and
+     *         this wallet supports them); see {@link #notifySignedPayload(int, byte[])}
+     */
+    public boolean isProgressNotificationEnabled() {
+        return mRequest.isProgressNotificationEnabled();
+    }
+
+    /**
+     * Send the signed payload at {@code index} to the dapp endpoint ahead of completing the whole
+     * request. This is a no-op if {@link #isProgressNotificationEnabled()} is false. The request
+     * must still be completed with {@link #completeWithSignedPayloads(byte[][])}.
+     */
+    public void notifySignedPayload(@IntRange(from = 0) int index, @NonNull byte[] signedPayload) {
+        mRequest.notifyProgress(index, signedPayload);
+    }
+
     public void completeWithSignedPayloads(@NonNull @Size(min = 1) byte[][] signedPayloads) {
         mRequest.complete(new MobileWalletAdapterServer.SignedPayloadsResult(signedPayloads));
     }
@@ -27,6 +27,8 @@ import java.util.Map;
 public class NostrCrypto {
     public static final int NOSTR_EVENT_KIND_MWA = 20012;
 
+    private static final byte[] EVENT_SERIALIZATION_SUFFIX = { '"', ']' };
+
     private static final ECNamedCurveParameterSpec SECP256K1_SPEC =
             ECNamedCurveTable.getParameterSpec("secp256k1");
     private static final ECDomainParameters SECP256K1_DOMAIN = new ECDomainParameters(
@@ -93,6 +95,29 @@ public class NostrCrypto {
         return bytesToHex(sha256(serialized.getBytes(StandardCharsets.UTF_8)));
     }
 
+    /**
+     * Computes the event ID hash for an event whose content is supplied as raw ASCII bytes (e.g. the
+     * Base64-encoded MWA payload), hashing the content in place rather than first building the
+     * serialized event string.
+     * @throws IllegalArgumentException if the content contains any character which would need to be
+     *      escaped (or is not printable ASCII); use
+     *      {@link #computeEventId(String, long, int, String[][], String)} for such content
+     */
+    @NonNull
+    public static byte[] computeEventIdHash(@NonNull String pubkey, long createdAt, int kind,
+                                            @NonNull String[][] tags, @NonNull byte[] content,
+                                            int contentOffset, int contentLength) {
+        if (!isRawJsonStringContent(content, contentOffset, contentLength)) {
+            throw new IllegalArgumentException("content requires escaping");
+        }
+        final MessageDigest digest = sha256Digest();
+        digest.update(serializeEventPrefix(pubkey, createdAt, kind, tags)
+                .getBytes(StandardCharsets.UTF_8));
+        digest.update(content, contentOffset, contentLength);
+        digest.update(EVENT_SERIALIZATION_SUFFIX);
+        return digest.digest();
+    }
+
     @NonNull
     public static byte[] schnorrSign(@NonNull byte[] messageHash, @NonNull byte[] privateKey) {
         // hardcoded zero randomness here - this produces valid signatures which is all we need for interacting with
@@ -279,6 +304,14 @@ public class NostrCrypto {
     @NonNull
     private static String serializeEvent(@NonNull String pubkey, long createdAt, int kind,
                                          @NonNull String[][] tags, @NonNull String content) {
+        return serializeEventPrefix(pubkey, createdAt, kind, tags)
+                + escapeJsonString(content) + "\"]";
+    }
+
+    // Everything in the serialized event up to (and including) the opening quote of the content
+    @NonNull
+    private static String serializeEventPrefix(@NonNull String pubkey, long createdAt, int kind,
+                                               @NonNull String[][] tags) {
         StringBuilder sb = new StringBuilder();
         sb.append("[0,\"").append(pubkey).append("\",")
                 .append(createdAt).append(",").append(kind).append(",");
@@ -295,12 +328,27 @@ public class NostrCrypto {
         }
         sb.append("],");
 
-        sb.append("\"").append(escapeJsonString(content)).append("\"]");
+        sb.append("\"");
         return sb.toString();
     }
 
+    // True if content can be written into a JSON string as-is: printable ASCII, with no quotes or
+    // backslashes. This holds for all Base64-encoded content.
+    /*package*/ static boolean isRawJsonStringContent(@NonNull byte[] content, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > content.length) {
+            throw new IndexOutOfBoundsException("content range out of bounds");
+        }
+        for (int i = offset; i < offset + length; i++) {
+            final byte b = content[i];
+            if (b < 0x20 || b == 0x7f || b == '"' || b == '\\') { // N.B. b < 0 for non-ASCII bytes
+                return false;
+            }
+        }
+        return true;
+    }
+
     @NonNull
-    private static String escapeJsonString(@NonNull String s) {
+    /*package*/ static String escapeJsonString(@NonNull String s) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < s.length(); i++) {
             char c = s.charAt(i);
@@ -320,8 +368,13 @@ public class NostrCrypto {
 
     @NonNull
     private static byte[] sha256(@NonNull byte[] data) {
+        return sha256Digest().digest(data);
+    }
+
+    @NonNull
+    private static MessageDigest sha256Digest() {
         try {
-            return MessageDigest.getInstance("SHA-256").digest(data);
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 not available", e);
         }
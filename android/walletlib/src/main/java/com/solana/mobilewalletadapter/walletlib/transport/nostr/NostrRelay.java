@@ -25,8 +25,6 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 public class NostrRelay implements MessageSender {
@@ -186,7 +184,10 @@ public class NostrRelay implements MessageSender {
 
     @Override
     public synchronized void send(@NonNull byte[] message) throws IOException {
-        Log.d(TAG, "WALLET SEND MESSAGE: " + new String(message));
+        // N.B. only build the log message when it will actually be logged; message may be large
+        if (Log.isLoggable(TAG, Log.VERBOSE)) {
+            Log.v(TAG, "send: " + message.length + " bytes");
+        }
         if (mState != State.REFLECTION_ESTABLISHED) {
             throw new IOException("Send failed; session not ready");
         }
@@ -225,13 +226,16 @@ public class NostrRelay implements MessageSender {
 
     private void handleRelayMessage(@NonNull String message) {
         try {
-            JSONArray msg = new JSONArray(message);
-            String type = msg.getString(0);
+            // EVENT messages carry the (potentially large) MWA payloads, and are read in place.
+            // All other relay messages are small, and are parsed normally.
+            String type = NostrRelayMessage.peekType(message);
+            if (NostrRelayMessage.TYPE_EVENT.equals(type)) {
+                handleEventMessage(NostrRelayMessage.readEvent(message));
+                return;
+            }
 
+            JSONArray msg = new JSONArray(message);
             switch (type) {
-                case "EVENT":
-                    handleEventMessage(msg);
-                    break;
                 case "OK":
                     handleOkMessage(msg);
                     break;
@@ -261,31 +265,34 @@ public class NostrRelay implements MessageSender {
         }
     }
 
-    private void handleEventMessage(@NonNull JSONArray msg) throws JSONException {
-        JSONObject event = msg.getJSONObject(2);
-
-        if (!NostrCrypto.verifyEvent(event)) {
-            Log.w(TAG, "Received event with invalid id or signature, discarding");
+    private void handleEventMessage(@NonNull NostrRelayMessage.Event event) {
+        // N.B. the (cheap) sender check is done before the (expensive) signature verification;
+        // events failing either are discarded, so the order is not observable
+        if (!event.pubkey.equals(mDappNostrPubkey)) {
+            Log.w(TAG, "Received event from unexpected pubkey, discarding");
             return;
         }
 
-        String senderPubkey = event.getString("pubkey");
-        if (!senderPubkey.equals(mDappNostrPubkey)) {
-            Log.w(TAG, "Received event from unexpected pubkey, discarding");
+        if (!event.verify()) {
+            Log.w(TAG, "Received event with invalid id or signature, discarding");
             return;
         }
 
-        String content = event.getString("content");
         if (mState == State.SUBSCRIBED || mState == State.REFLECTION_ESTABLISHED) {
-            Map<String, String[]> tags = NostrCrypto.getEventTags(event);
-            if (Arrays.toString(tags.get("msg")).contains("SESSION_END")
-                    || content.isEmpty()) {
+            if (Arrays.toString(event.getTagValues("msg")).contains("SESSION_END")
+                    || event.isContentEmpty()) {
                 Log.d(TAG, "Received SESSION_END event from Dapp");
                 close();
                 return;
             }
 
-            byte[] payload = Base64.decode(content, Base64.DEFAULT);
+            final byte[] payload;
+            try {
+                payload = event.decodeContent();
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Received event with invalid content, discarding", e);
+                return;
+            }
 
             mMessageReceiver.receiverMessageReceived(payload);
         }
@@ -312,14 +319,9 @@ public class NostrRelay implements MessageSender {
         fullTags[1] = new String[]{"p", mDappNostrPubkey};
         System.arraycopy(tags, 0, fullTags, 2, tags.length);
 
-        String base64Content = Base64.encodeToString(message, Base64.NO_WRAP);
-        JSONObject event = NostrCrypto.buildEvent(mPrivateKey,
-                NostrCrypto.NOSTR_EVENT_KIND_MWA, base64Content, fullTags);
-
-        JSONArray eventMsg = new JSONArray();
-        eventMsg.put("EVENT");
-        eventMsg.put(event);
-        mWebSocketClient.send(eventMsg.toString());
+        byte[] base64Content = Base64.encode(message, Base64.NO_WRAP);
+        mWebSocketClient.send(NostrRelayMessage.buildEvent(mPrivateKey,
+                NostrCrypto.NOSTR_EVENT_KIND_MWA, base64Content, fullTags));
     }
 
     public interface StateCallbacks {
@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.transport.nostr;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+
+import java.util.ArrayList;
+
+/**
+ * Streaming reader and writer for the Nostr relay messages exchanged by {@link NostrRelay}.
+ * <p>Relay messages carrying MWA payloads are dominated by the Base64-encoded ciphertext in the
+ * event content. Rather than parsing each message into a JSON tree (which copies the content
+ * several times), the message type and event fields are read directly from the message text. The
+ * content is left in place, and copied exactly once (into a byte array which is then both hashed
+ * for event ID verification and Base64-decoded).</p>
+ */
+public final class NostrRelayMessage {
+    public static final String TYPE_EVENT = "EVENT";
+
+    private NostrRelayMessage() {}
+
+    /**
+     * Reads the type (the first element) of a relay message, without parsing the rest of it
+     * @throws JSONException if message does not start with a JSON array containing a string
+     */
+    @NonNull
+    public static String peekType(@NonNull String message) throws JSONException {
+        final Reader reader = new Reader(message);
+        reader.expect('[');
+        return reader.readString();
+    }
+
+    /**
+     * Reads a relay {@code ["EVENT", <subscription ID>, <event>]} message
+     * @throws JSONException if message is not a well-formed EVENT message, or the event is missing
+     *      any required field
+     */
+    @NonNull
+    public static Event readEvent(@NonNull String message) throws JSONException {
+        final Reader reader = new Reader(message);
+        reader.expect('[');
+        final String type = reader.readString();
+        if (!TYPE_EVENT.equals(type)) {
+            throw new JSONException("Expected an EVENT message, found " + type);
+        }
+        reader.expect(',');
+        reader.readString(); // subscription ID
+        reader.expect(',');
+        final Event event = reader.readEvent();
+        reader.expect(']');
+        reader.expectEnd();
+        return event;
+    }
+
+    /**
+     * Builds a client {@code ["EVENT", <event>]} message, signed with privateKey
+     * @param content the event content, which must be printable ASCII containing no characters
+     *      which require escaping in a JSON string (e.g. Base64-encoded data)
+     * @throws IllegalArgumentException if content contains characters which require escaping
+     */
+    @NonNull
+    public static String buildEvent(@NonNull byte[] privateKey, int kind, @NonNull byte[] content,
+                                    @NonNull String[][] tags) {
+        final String pubkey = NostrCrypto.bytesToHex(NostrCrypto.getXOnlyPublicKey(privateKey));
+        final long createdAt = System.currentTimeMillis() / 1000;
+        final byte[] id = NostrCrypto.computeEventIdHash(pubkey, createdAt, kind, tags,
+                content, 0, content.length);
+        final byte[] sig = NostrCrypto.schnorrSign(id, privateKey);
+
+        final StringBuilder sb = new StringBuilder(content.length + 512);
+        sb.append("[\"").append(TYPE_EVENT).append("\",{\"id\":\"")
+                .append(NostrCrypto.bytesToHex(id))
+                .append("\",\"pubkey\":\"").append(pubkey)
+                .append("\",\"created_at\":").append(createdAt)
+                .append(",\"kind\":").append(kind)
+                .append(",\"tags\":[");
+        for (int i = 0; i < tags.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('[');
+            for (int j = 0; j < tags[i].length; j++) {
+                if (j > 0) sb.append(',');
+                sb.append('"').append(NostrCrypto.escapeJsonString(tags[i][j])).append('"');
+            }
+            sb.append(']');
+        }
+        sb.append("],\"content\":\"");
+        for (byte b : content) {
+            sb.append((char) b); // N.B. content was checked to be printable ASCII above
+        }
+        sb.append("\",\"sig\":\"").append(NostrCrypto.bytesToHex(sig)).append("\"}]");
+        return sb.toString();
+    }
+
+    /** A Nostr event read from a relay message */
+    public static final class Event {
+        @NonNull public final String id;
+        @NonNull public final String pubkey;
+        @NonNull public final String sig;
+        public final long createdAt;
+        public final int kind;
+        @NonNull public final String[][] tags;
+
+        // If the content appeared in the message with no escape sequences and only printable ASCII
+        // characters, it is referenced in place as [mContentStart, mContentEnd) in mMessage.
+        // Otherwise, it is unescaped into mContent.
+        @NonNull private final String mMessage;
+        private final int mContentStart;
+        private final int mContentEnd;
+        @Nullable private final String mContent;
+        @Nullable private byte[] mContentBytes;
+
+        private Event(@NonNull String id, @NonNull String pubkey, @NonNull String sig,
+                      long createdAt, int kind, @NonNull String[][] tags,
+                      @NonNull String message, int contentStart, int contentEnd,
+                      @Nullable String content) {
+            this.id = id;
+            this.pubkey = pubkey;
+            this.sig = sig;
+            this.createdAt = createdAt;
+            this.kind = kind;
+            this.tags = tags;
+            mMessage = message;
+            mContentStart = contentStart;
+            mContentEnd = contentEnd;
+            mContent = content;
+        }
+
+        public boolean isContentEmpty() {
+            return (mContent != null) ? mContent.isEmpty() : (mContentStart == mContentEnd);
+        }
+
+        /**
+         * Returns the values of the last tag named key, or null if there is no such tag. This
+         * matches the behavior of {@link NostrCrypto#getEventTags(org.json.JSONObject)}.
+         */
+        @Nullable
+        public String[] getTagValues(@NonNull String key) {
+            for (int i = tags.length - 1; i >= 0; i--) {
+                final String[] tag = tags[i];
+                if (tag.length > 0 && key.equals(tag[0])) {
+                    final String[] values = new String[tag.length - 1];
+                    System.arraycopy(tag, 1, values, 0, values.length);
+                    return values;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Verifies the event ID and signature. This is equivalent to
+         * {@link NostrCrypto#verifyEvent(org.json.JSONObject)}.
+         */
+        public boolean verify() {
+            final byte[] expectedId;
+            if (mContent == null) {
+                final byte[] content = getContentBytes();
+                expectedId = NostrCrypto.computeEventIdHash(pubkey, createdAt, kind, tags,
+                        content, 0, content.length);
+            } else {
+                expectedId = NostrCrypto.hexToBytes(
+                        NostrCrypto.computeEventId(pubkey, createdAt, kind, tags, mContent));
+            }
+            if (!NostrCrypto.bytesToHex(expectedId).equals(id)) return false;
+
+            return NostrCrypto.schnorrVerify(expectedId, NostrCrypto.hexToBytes(sig),
+                    NostrCrypto.hexToBytes(pubkey));
+        }
+
+        /**
+         * Base64-decodes the event content
+         * @throws IllegalArgumentException if the content is not valid Base64
+         */
+        @NonNull
+        public byte[] decodeContent() {
+            if (mContent != null) {
+                return Base64.decode(mContent, Base64.DEFAULT);
+            }
+            final byte[] content = getContentBytes();
+            return Base64.decode(content, 0, content.length, Base64.DEFAULT);
+        }
+
+        // The in-place content as ASCII bytes. This is the only copy made of the content, and is
+        // shared by verify and decodeContent.
+        @NonNull
+        private byte[] getContentBytes() {
+            if (mContentBytes == null) {
+                final byte[] content = new byte[mContentEnd - mContentStart];
+                for (int i = 0; i < content.length; i++) {
+                    content[i] = (byte) mMessage.charAt(mContentStart + i);
+                }
+                mContentBytes = content;
+            }
+            return mContentBytes;
+        }
+    }
+
+    // A minimal forward-only JSON reader over a String, supporting just what is needed to read
+    // relay messages. Unknown event fields are skipped without being materialized.
+    private static final class Reader {
+        @NonNull private final String mJson;
+        private int mPos;
+
+        // Set by scanString
+        private boolean mRawString;
+
+        Reader(@NonNull String json) {
+            mJson = json;
+        }
+
+        @NonNull
+        Event readEvent() throws JSONException {
+            String id = null, pubkey = null, sig = null;
+            long createdAt = 0;
+            int kind = 0;
+            boolean hasCreatedAt = false, hasKind = false;
+            String[][] tags = null;
+            int contentStart = -1, contentEnd = -1;
+            String content = null;
+
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    final String key = readString();
+                    expect(':');
+                    switch (key) {
+                        case "id": id = readString(); break;
+                        case "pubkey": pubkey = readString(); break;
+                        case "sig": sig = readString(); break;
+                        case "created_at": createdAt = readLong(); hasCreatedAt = true; break;
+                        case "kind": kind = (int) readLong(); hasKind = true; break;
+                        case "tags": tags = readTags(); break;
+                        case "content":
+                            skipWhitespace();
+                            final int start = mPos + 1;
+                            final int end = scanString();
+                            if (mRawString) {
+                                contentStart = start;
+                                contentEnd = end;
+                                content = null;
+                            } else {
+                                mPos = start - 1;
+                                content = readString();
+                                contentStart = contentEnd = -1;
+                            }
+                            break;
+                        default: skipValue(); break;
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+
+            if (id == null || pubkey == null || sig == null || !hasCreatedAt || !hasKind
+                    || tags == null || (content == null && contentStart < 0)) {
+                throw new JSONException("Event is missing a required field");
+            }
+            return new Event(id, pubkey, sig, createdAt, kind, tags,
+                    mJson, contentStart, contentEnd, content);
+        }
+
+        @NonNull
+        String[][] readTags() throws JSONException {
+            final ArrayList<String[]> tags = new ArrayList<>();
+            final ArrayList<String> tag = new ArrayList<>();
+            expect('[');
+            if (!consume(']')) {
+                do {
+                    expect('[');
+                    tag.clear();
+                    if (!consume(']')) {
+                        do {
+                            tag.add(readString());
+                        } while (consume(','));
+                        expect(']');
+                    }
+                    tags.add(tag.toArray(new String[0]));
+                } while (consume(','));
+                expect(']');
+            }
+            return tags.toArray(new String[0][]);
+        }
+
+        @NonNull
+        String readString() throws JSONException {
+            skipWhitespace();
+            final int start = mPos + 1;
+            final int end = scanString();
+            if (mRawString) {
+                return mJson.substring(start, end);
+            }
+
+            final StringBuilder sb = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                final char c = mJson.charAt(i);
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                final char e = mJson.charAt(++i);
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u': sb.append((char) Integer.parseInt(mJson.substring(i + 1, i + 5), 16)); i += 4; break;
+                    default: throw syntaxError("Invalid escape sequence");
+                }
+            }
+            return sb.toString();
+        }
+
+        // Scans the string starting at mPos, leaving mPos after its closing quote. Returns the
+        // index of the closing quote, and sets mRawString to true if the string contains no escape
+        // sequences and only printable ASCII characters.
+        int scanString() throws JSONException {
+            if (mPos >= mJson.length() || mJson.charAt(mPos) != '"') {
+                throw syntaxError("Expected a string");
+            }
+            boolean raw = true;
+            for (int i = mPos + 1; i < mJson.length(); i++) {
+                final char c = mJson.charAt(i);
+                if (c == '"') {
+                    mPos = i + 1;
+                    mRawString = raw;
+                    return i;
+                } else if (c == '\\') {
+                    raw = false;
+                    if (++i >= mJson.length()) break;
+                    if (mJson.charAt(i) == 'u') {
+                        if (i + 4 >= mJson.length()) break;
+                        for (int j = i + 1; j <= i + 4; j++) {
+                            if (Character.digit(mJson.charAt(j), 16) < 0) {
+                                throw syntaxError("Invalid unicode escape sequence");
+                            }
+                        }
+                        i += 4;
+                    }
+                } else if (c < 0x20 || c >= 0x7f) {
+                    raw = false;
+                }
+            }
+            throw syntaxError("Unterminated string");
+        }
+
+        long readLong() throws JSONException {
+            skipWhitespace();
+            final int start = mPos;
+            if (mPos < mJson.length() && mJson.charAt(mPos) == '-') mPos++;
+            while (mPos < mJson.length() && mJson.charAt(mPos) >= '0' && mJson.charAt(mPos) <= '9') {
+                mPos++;
+            }
+            try {
+                return Long.parseLong(mJson.substring(start, mPos));
+            } catch (NumberFormatException e) {
+                throw syntaxError("Expected an integer");
+            }
+        }
+
+        void skipValue() throws JSONException {
+            skipWhitespace();
+            if (mPos >= mJson.length()) throw syntaxError("Expected a value");
+            final char c = mJson.charAt(mPos);
+            if (c == '"') {
+                scanString();
+            } else if (c == '{') {
+                mPos++;
+                if (!consume('}')) {
+                    do {
+                        skipWhitespace();
+                        scanString();
+                        expect(':');
+                        skipValue();
+                    } while (consume(','));
+                    expect('}');
+                }
+            } else if (c == '[') {
+                mPos++;
+                if (!consume(']')) {
+                    do {
+                        skipValue();
+                    } while (consume(','));
+                    expect(']');
+                }
+            } else {
+                // number, true, false or null
+                final int start = mPos;
+                while (mPos < mJson.length() && "+-.0123456789Eabeflnrstu".indexOf(mJson.charAt(mPos)) >= 0) {
+                    mPos++;
+                }
+                if (mPos == start) throw syntaxError("Expected a value");
+            }
+        }
+
+        void expect(char c) throws JSONException {
+            if (!consume(c)) {
+                throw syntaxError("Expected '" + c + "'");
+            }
+        }
+
+        void expectEnd() throws JSONException {
+            skipWhitespace();
+            if (mPos != mJson.length()) {
+                throw syntaxError("Unexpected trailing characters");
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (mPos < mJson.length() && mJson.charAt(mPos) == c) {
+                mPos++;
+                return true;
+            }
+            return false;
+        }
+
+        void skipWhitespace() {
+            while (mPos < mJson.length()) {
+                final char c = mJson.charAt(mPos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') break;
+                mPos++;
+            }
+        }
+
+        @NonNull
+        JSONException syntaxError(@NonNull String message) {
+            return new JSONException(message + " at character " + mPos);
+        }
+    }
+}
@@ -4,9 +4,11 @@
 
 package com.solana.mobilewalletadapter.walletlib.transport.websockets;
 
+import android.os.SystemClock;
 import android.util.Base64;
 import android.util.Log;
 
+import androidx.annotation.GuardedBy;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -17,7 +19,10 @@ import com.solana.mobilewalletadapter.common.protocol.MessageSender;
 
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ServerHandshake;
+import org.java_websocket.protocols.IProtocol;
 import org.java_websocket.protocols.Protocol;
 
 import java.io.IOException;
@@ -25,30 +30,75 @@ import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class ReflectorWebSocket implements MessageSender {
     private static final String TAG = ReflectorWebSocket.class.getSimpleName();
 
+    /** Maximum time to spend reconnecting to the reflector after the connection is lost */
+    public static final int RESUME_TIMEOUT_MS = 30000;
+    private static final int[] RECONNECT_BACKOFF_SCHEDULE_MS = { 0, 250, 500, 1000, 2000 };
+
+    // Frames retained for retransmission when a reflection is resumed
+    private static final int MAX_UNACKNOWLEDGED_BYTES = 1024 * 1024;
+
+    // A RESUME message carries the number of frames received from the counterparty (as a 4-byte
+    // big-endian integer). It is distinguishable from every other message, since encrypted
+    // messages and session establishment messages are all longer than this.
+    private static final int RESUME_MESSAGE_LENGTH = 4;
+
     @NonNull
     private final URI mUri;
     @NonNull
     private final MessageReceiver mMessageReceiver;
     private final StateCallbacks mStateCallbacks;
     private final int mConnectTimeoutMs;
+    private final boolean mResumeOffered;
 
     @NonNull
     private State mState = State.NOT_CONNECTED;
     private WebSocketClient mWebSocketClient;
+    private boolean mBase64Frames; // valid once reflection is established
+    private boolean mResumable; // valid once reflection is established
+
+    // Reflection resume state; only used when mResumable is true
+    @Nullable
+    private UnacknowledgedFrameBuffer mSentFrames;
+    private int mFramesReceived;
+    private boolean mResumeSent; // for the current connection
+    private int mReconnectAttempts;
+    private long mResumeDeadline; // SystemClock.elapsedRealtime() time base
+    @Nullable
+    private ScheduledExecutorService mReconnectExecutor;
 
     public ReflectorWebSocket(@NonNull URI uri,
                               @NonNull MessageReceiver messageReceiver,
                               @Nullable StateCallbacks stateCallbacks,
                               @IntRange(from=0) int connectTimeoutMs) {
+        this(uri, messageReceiver, stateCallbacks, connectTimeoutMs, false);
+    }
+
+    /**
+     * @param resumable if true, offer reflection resume to the reflector. If the reflector accepts
+     *      (by selecting a resumable subprotocol), and the connection to the reflector is lost
+     *      after reflection was established, this WebSocket will reconnect to the same reflection
+     *      and resume it (see {@link #RESUME_TIMEOUT_MS}). The {@link MessageReceiver} is not
+     *      disconnected while reconnecting, so an established session (and its sequence numbers)
+     *      carries over.
+     */
+    public ReflectorWebSocket(@NonNull URI uri,
+                              @NonNull MessageReceiver messageReceiver,
+                              @Nullable StateCallbacks stateCallbacks,
+                              @IntRange(from=0) int connectTimeoutMs,
+                              boolean resumable) {
         Log.v(TAG, "ReflectorWebSocket-ctor");
         mUri = uri;
         mMessageReceiver = messageReceiver;
         mStateCallbacks = stateCallbacks;
         mConnectTimeoutMs = connectTimeoutMs;
+        mResumeOffered = resumable;
     }
 
     public synchronized void connect() {
@@ -60,129 +110,165 @@ public class ReflectorWebSocket implements MessageSender {
         mState = State.CONNECTING;
 
         try {
-            mWebSocketClient = new WebSocketClient(mUri,
-                    new Draft_6455(Collections.emptyList(), List.of(
-                            new Protocol(WebSocketsTransportContract.WEBSOCKETS_PROTOCOL),
-                            new Protocol(WebSocketsTransportContract.WEBSOCKETS_BASE64_PROTOCOL))),
-                    null, mConnectTimeoutMs) {
-                @Override
-                public void onOpen(ServerHandshake handshakeData) {
-                    synchronized (ReflectorWebSocket.this) {
-                        assert(mState == State.CONNECTING || mState == State.CLOSED);
-                        if (mState != State.CONNECTING) {
-                            return;
-                        }
+            mWebSocketClient = createWebSocketClient();
+            mWebSocketClient.connect();
+        } catch (Exception e) {
+            Log.e(TAG, "Failed creating WebSocket", e);
+            mState = State.CLOSED;
+            if (mStateCallbacks != null) {
+                mStateCallbacks.onConnectionFailed();
+            }
+        }
+    }
 
-                        Log.v(TAG, "onConnected");
-                        mState = State.CONNECTED;
-                        if (mStateCallbacks != null) {
-                            mStateCallbacks.onConnected();
-                        }
+    @NonNull
+    private WebSocketClient createWebSocketClient() {
+        final List<IProtocol> protocols = mResumeOffered ? List.of(
+                new Protocol(WebSocketsTransportContract.WEBSOCKETS_RESUMABLE_PROTOCOL),
+                new Protocol(WebSocketsTransportContract.WEBSOCKETS_BASE64_RESUMABLE_PROTOCOL),
+                new Protocol(WebSocketsTransportContract.WEBSOCKETS_PROTOCOL),
+                new Protocol(WebSocketsTransportContract.WEBSOCKETS_BASE64_PROTOCOL)) : List.of(
+                new Protocol(WebSocketsTransportContract.WEBSOCKETS_PROTOCOL),
+                new Protocol(WebSocketsTransportContract.WEBSOCKETS_BASE64_PROTOCOL));
+        return new WebSocketClient(mUri,
+                new Draft_6455(Collections.emptyList(), protocols),
+                null, mConnectTimeoutMs) {
+            @Override
+            public void onOpen(ServerHandshake handshakeData) {
+                synchronized (ReflectorWebSocket.this) {
+                    assert(mState == State.CONNECTING || mState == State.RECONNECTING ||
+                            mState == State.CLOSED);
+                    if (mWebSocketClient != this) {
+                        return;
                     }
-                }
-
-                @Override
-                public void onMessage(String message) {
-                    synchronized (ReflectorWebSocket.this) {
-                        assert(mState == State.CONNECTED || mState == State.REFLECTION_ESTABLISHED ||
-                                mState == State.CLOSING);
-                        if (mState == State.CONNECTED && message.isEmpty()) {
-                            doReflectionEstablished();
-                            return;
-                        }
-                        if (mState != State.REFLECTION_ESTABLISHED) {
-                            return;
+                    if (mState == State.RECONNECTING) {
+                        Log.v(TAG, "onReconnected");
+                        if (!isResumableProtocol(this)) {
+                            Log.w(TAG, "Reflector no longer supports resume; closing");
+                            // N.B. closes this connection too, which would otherwise be treated as
+                            // a failed reconnection attempt and retried
+                            ReflectorWebSocket.this.close();
                         }
+                        return;
+                    }
+                    if (mState != State.CONNECTING) {
+                        return;
+                    }
 
-                        Log.v(TAG, "onTextMessage");
-                        byte[] binary = Base64.decode(message, Base64.DEFAULT);
-                        mMessageReceiver.receiverMessageReceived(binary);
+                    Log.v(TAG, "onConnected");
+                    mState = State.CONNECTED;
+                    if (mStateCallbacks != null) {
+                        mStateCallbacks.onConnected();
                     }
                 }
+            }
 
-                @Override
-                public void onMessage(ByteBuffer bytes) {
-                    synchronized (ReflectorWebSocket.this) {
-                        assert(mState == State.CONNECTED || mState == State.REFLECTION_ESTABLISHED ||
-                                mState == State.CLOSING);
-                        if (mState == State.CONNECTED && !bytes.hasRemaining()) {
-                            doReflectionEstablished();
-                            return;
-                        }
-                        if (mState != State.REFLECTION_ESTABLISHED) {
-                            return;
-                        }
+            @Override
+            public void onMessage(String message) {
+                synchronized (ReflectorWebSocket.this) {
+                    if (mWebSocketClient != this) {
+                        return;
+                    }
+                    Log.v(TAG, "onTextMessage");
+                    doMessageReceived(message.isEmpty() ?
+                            new byte[0] : Base64.decode(message, Base64.DEFAULT));
+                }
+            }
 
-                        Log.v(TAG, "onBinaryMessage");
-                        byte[] binary = new byte[bytes.remaining()];
-                        bytes.get(binary);
-                        mMessageReceiver.receiverMessageReceived(binary);
+            @Override
+            public void onMessage(ByteBuffer bytes) {
+                synchronized (ReflectorWebSocket.this) {
+                    if (mWebSocketClient != this) {
+                        return;
                     }
+                    Log.v(TAG, "onBinaryMessage");
+                    doMessageReceived(toByteArray(bytes));
                 }
+            }
 
-                @Override
-                public void onClose(int code, String reason, boolean remote) {
-                    synchronized (ReflectorWebSocket.this) {
-                        assert(mState != State.NOT_CONNECTED);
-                        if (mState == State.CLOSED) {
-                            return;
-                        }
+            @Override
+            public void onClose(int code, String reason, boolean remote) {
+                synchronized (ReflectorWebSocket.this) {
+                    assert(mState != State.NOT_CONNECTED);
+                    if (mState == State.CLOSED || mWebSocketClient != this) {
+                        return;
+                    }
 
-                        Log.v(TAG, "onDisconnected");
-                        if (mState == State.REFLECTION_ESTABLISHED || mState == State.CLOSING) {
-                            mMessageReceiver.receiverDisconnected();
-                        }
-                        mState = State.CLOSED;
+                    Log.v(TAG, "onDisconnected: code=" + code);
+                    if (mState == State.RECONNECTING || mState == State.RESUMING) {
+                        mWebSocketClient = null;
+                        scheduleReconnect();
+                        return;
+                    }
+                    // A normal closure means the counterparty ended the reflection; anything else
+                    // is a lost connection to the reflector, which may be resumed
+                    if (mResumable && mState == State.REFLECTION_ESTABLISHED &&
+                            code != CloseFrame.NORMAL) {
+                        Log.i(TAG, "Connection to reflector lost; reconnecting");
+                        mState = State.RECONNECTING;
                         mWebSocketClient = null;
+                        mReconnectAttempts = 0;
+                        mResumeDeadline = SystemClock.elapsedRealtime() + RESUME_TIMEOUT_MS;
+                        if (mReconnectExecutor == null) {
+                            mReconnectExecutor = Executors.newSingleThreadScheduledExecutor();
+                        }
+                        mReconnectExecutor.schedule(ReflectorWebSocket.this::doResumeTimeout,
+                                RESUME_TIMEOUT_MS, TimeUnit.MILLISECONDS);
                         if (mStateCallbacks != null) {
-                            mStateCallbacks.onConnectionClosed();
+                            mStateCallbacks.onReconnecting();
                         }
+                        scheduleReconnect();
+                        return;
                     }
+
+                    if (mState == State.REFLECTION_ESTABLISHED || mState == State.CLOSING) {
+                        mMessageReceiver.receiverDisconnected();
+                    }
+                    doClosed();
                 }
+            }
 
-                @Override
-                public void onError(Exception ex) {
-                    synchronized (ReflectorWebSocket.this) {
-                        assert(mState != State.NOT_CONNECTED);
-
-                        Log.w(TAG, "WebSockets error", ex);
-                        switch (mState) {
-                            case CONNECTING:
-                                mState = State.CLOSED;
-                                mWebSocketClient = null;
-                                if (mStateCallbacks != null) {
-                                    mStateCallbacks.onConnectionFailed();
-                                }
-                                break;
-                            case CONNECTED:
-                            case REFLECTION_ESTABLISHED:
-                                mState = State.CLOSING;
-                                mWebSocketClient.close();
-                                break;
-                            case CLOSING:
-                                // On an error during closing, just sever the connection
-                                mState = State.CLOSED;
-                                mWebSocketClient = null;
-                                mMessageReceiver.receiverDisconnected();
-                                if (mStateCallbacks != null) {
-                                    mStateCallbacks.onConnectionClosed();
-                                }
-                                break;
-                            case CLOSED:
-                                // No-op; connection closure is already complete
-                                break;
-                        }
+            @Override
+            public void onError(Exception ex) {
+                synchronized (ReflectorWebSocket.this) {
+                    assert(mState != State.NOT_CONNECTED);
+                    if (mWebSocketClient != this) {
+                        return;
+                    }
+
+                    Log.w(TAG, "WebSockets error", ex);
+                    switch (mState) {
+                        case CONNECTING:
+                            mState = State.CLOSED;
+                            mWebSocketClient = null;
+                            if (mStateCallbacks != null) {
+                                mStateCallbacks.onConnectionFailed();
+                            }
+                            break;
+                        case RECONNECTING:
+                        case RESUMING:
+                            // Abandon this connection attempt; its onClose will be ignored
+                            mWebSocketClient = null;
+                            this.close();
+                            scheduleReconnect();
+                            break;
+                        case CONNECTED:
+                        case REFLECTION_ESTABLISHED:
+                            mState = State.CLOSING;
+                            mWebSocketClient.close();
+                            break;
+                        case CLOSING:
+                            // On an error during closing, just sever the connection
+                            mMessageReceiver.receiverDisconnected();
+                            doClosed();
+                            break;
+                        case CLOSED:
+                            // No-op; connection closure is already complete
+                            break;
                     }
                 }
-            };
-            mWebSocketClient.connect();
-        } catch (Exception e) {
-            Log.e(TAG, "Failed creating WebSocket", e);
-            mState = State.CLOSED;
-            if (mStateCallbacks != null) {
-                mStateCallbacks.onConnectionFailed();
             }
-        }
+        };
     }
 
     public synchronized void close() {
@@ -191,11 +277,7 @@ public class ReflectorWebSocket implements MessageSender {
             case NOT_CONNECTED:
             case CONNECTING:
                 Log.v(TAG, "closing (before connection established)");
-                mState = State.CLOSED;
-                mWebSocketClient = null;
-                if (mStateCallbacks != null) {
-                    mStateCallbacks.onConnectionClosed();
-                }
+                doClosed();
                 break;
 
             case CONNECTED:
@@ -205,6 +287,16 @@ public class ReflectorWebSocket implements MessageSender {
                 mWebSocketClient.close();
                 break;
 
+            case RECONNECTING:
+            case RESUMING:
+                Log.v(TAG, "closing (while reconnecting)");
+                if (mWebSocketClient != null) {
+                    mWebSocketClient.close();
+                }
+                mMessageReceiver.receiverDisconnected();
+                doClosed();
+                break;
+
             case CLOSING:
             case CLOSED:
                 // No-op; closure is either complete, or will complete on its own shortly
@@ -212,22 +304,218 @@ public class ReflectorWebSocket implements MessageSender {
         }
     }
 
+    // Binary frames are delivered in a ByteBuffer freshly allocated for (and wrapping exactly) the
+    // frame payload, which is not retained after onMessage returns. When that is the case, hand
+    // off the backing array rather than copying it.
+    @NonNull
+    private static byte[] toByteArray(@NonNull ByteBuffer bytes) {
+        if (bytes.hasArray() && bytes.arrayOffset() == 0 && bytes.position() == 0
+                && bytes.remaining() == bytes.array().length) {
+            return bytes.array();
+        }
+        byte[] binary = new byte[bytes.remaining()];
+        bytes.get(binary);
+        return binary;
+    }
+
     @Override
     public synchronized void send(@NonNull byte[] message) throws IOException {
         Log.v(TAG, "send");
+        if (mState == State.RECONNECTING || mState == State.RESUMING) {
+            // Sent once the reflection has been resumed
+            mSentFrames.add(message);
+            return;
+        }
         if (mState != State.REFLECTION_ESTABLISHED) {
             throw new IOException("Send failed; reflection not established");
         }
-        if (mWebSocketClient.getProtocol().acceptProvidedProtocol(WebSocketsTransportContract.WEBSOCKETS_BASE64_PROTOCOL)) {
-            mWebSocketClient.send(Base64.encodeToString(message, Base64.DEFAULT));
-        } else {
-            mWebSocketClient.send(message);
+        if (mSentFrames != null) {
+            mSentFrames.add(message);
         }
+        doSend(message);
+    }
+
+    @GuardedBy("this")
+    private void doSend(@NonNull byte[] message) {
+        try {
+            if (mBase64Frames) {
+                mWebSocketClient.send(Base64.encodeToString(message, Base64.DEFAULT));
+            } else {
+                mWebSocketClient.send(message);
+            }
+        } catch (WebsocketNotConnectedException e) {
+            if (!mResumable) {
+                throw e;
+            }
+            // The connection is being lost; this frame is retransmitted if the reflection is resumed
+            Log.d(TAG, "Send failed; connection lost");
+        }
+    }
+
+    @GuardedBy("this")
+    private void doMessageReceived(@NonNull byte[] message) {
+        assert(mState == State.CONNECTED || mState == State.REFLECTION_ESTABLISHED ||
+                mState == State.RECONNECTING || mState == State.RESUMING ||
+                mState == State.CLOSING);
+        switch (mState) {
+            case CONNECTED:
+                if (message.length == 0) {
+                    doReflectionEstablished();
+                }
+                break;
+            case RECONNECTING:
+                if (message.length == 0) {
+                    // The counterparty is connected; exchange RESUME messages
+                    mState = State.RESUMING;
+                    mBase64Frames = isBase64Protocol(mWebSocketClient);
+                    doSendResume();
+                }
+                break;
+            case RESUMING:
+                if (message.length == RESUME_MESSAGE_LENGTH) {
+                    doResume(ByteBuffer.wrap(message).getInt());
+                } else if (message.length != 0) {
+                    // Sent by the counterparty before it received our RESUME, and possibly after
+                    // frames which were lost; it retransmits this frame after its RESUME
+                    Log.v(TAG, "Discarding frame received before RESUME");
+                }
+                break;
+            case REFLECTION_ESTABLISHED:
+                if (message.length == 0) {
+                    // APP_PING; a no-op once reflection is established
+                } else if (mResumable && message.length == RESUME_MESSAGE_LENGTH) {
+                    // The counterparty has reconnected to the reflection
+                    doSendResume();
+                    doResume(ByteBuffer.wrap(message).getInt());
+                } else {
+                    doFrameReceived(message);
+                }
+                break;
+            default:
+                // Ignore messages received while closing
+                break;
+        }
+    }
+
+    @GuardedBy("this")
+    private void doFrameReceived(@NonNull byte[] message) {
+        if (mResumable) {
+            mFramesReceived++;
+        }
+        mMessageReceiver.receiverMessageReceived(message);
+    }
+
+    @GuardedBy("this")
+    private void doSendResume() {
+        if (mResumeSent) {
+            return;
+        }
+        Log.d(TAG, "Sending RESUME; frames received=" + mFramesReceived);
+        mResumeSent = true;
+        doSend(ByteBuffer.allocate(RESUME_MESSAGE_LENGTH).putInt(mFramesReceived).array());
+    }
+
+    @GuardedBy("this")
+    private void doResume(int framesReceivedByCounterparty) {
+        final List<byte[]> unacknowledged = mSentFrames.acknowledge(framesReceivedByCounterparty);
+        if (unacknowledged == null) {
+            Log.w(TAG, "Unable to resume reflection; counterparty received " +
+                    framesReceivedByCounterparty + " of " + mSentFrames.getFramesSent() + " frames");
+            close();
+            return;
+        }
+
+        Log.i(TAG, "Reflection resumed; retransmitting " + unacknowledged.size() + " frames");
+        mState = State.REFLECTION_ESTABLISHED;
+        mResumeSent = false;
+        for (byte[] frame : unacknowledged) {
+            doSend(frame);
+        }
+        if (mStateCallbacks != null) {
+            mStateCallbacks.onResumed();
+        }
+    }
+
+    @GuardedBy("this")
+    private void scheduleReconnect() {
+        assert(mState == State.RECONNECTING || mState == State.RESUMING);
+        mState = State.RECONNECTING;
+        mResumeSent = false;
+
+        final long now = SystemClock.elapsedRealtime();
+        final int delay = RECONNECT_BACKOFF_SCHEDULE_MS[
+                Math.min(mReconnectAttempts++, RECONNECT_BACKOFF_SCHEDULE_MS.length - 1)];
+        if (now + delay >= mResumeDeadline) {
+            Log.w(TAG, "Unable to reconnect to reflector; closing");
+            mMessageReceiver.receiverDisconnected();
+            doClosed();
+            return;
+        }
+
+        Log.d(TAG, "Reconnecting to reflector in " + delay + " ms");
+        mReconnectExecutor.schedule(this::doReconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void doReconnect() {
+        if (mState != State.RECONNECTING || mWebSocketClient != null) {
+            return;
+        }
+        try {
+            mWebSocketClient = createWebSocketClient();
+            mWebSocketClient.connect();
+        } catch (Exception e) {
+            Log.w(TAG, "Failed creating WebSocket", e);
+            mWebSocketClient = null;
+            scheduleReconnect();
+        }
+    }
+
+    private synchronized void doResumeTimeout() {
+        if ((mState == State.RECONNECTING || mState == State.RESUMING) &&
+                SystemClock.elapsedRealtime() >= mResumeDeadline) {
+            Log.w(TAG, "Timed out resuming reflection; closing");
+            close();
+        }
+    }
+
+    @GuardedBy("this")
+    private void doClosed() {
+        mState = State.CLOSED;
+        mWebSocketClient = null;
+        if (mReconnectExecutor != null) {
+            mReconnectExecutor.shutdownNow();
+            mReconnectExecutor = null;
+        }
+        if (mStateCallbacks != null) {
+            mStateCallbacks.onConnectionClosed();
+        }
+    }
+
+    private static boolean isBase64Protocol(@NonNull WebSocketClient webSocketClient) {
+        final IProtocol protocol = webSocketClient.getProtocol();
+        return protocol.acceptProvidedProtocol(
+                        WebSocketsTransportContract.WEBSOCKETS_BASE64_PROTOCOL) ||
+                protocol.acceptProvidedProtocol(
+                        WebSocketsTransportContract.WEBSOCKETS_BASE64_RESUMABLE_PROTOCOL);
+    }
+
+    private static boolean isResumableProtocol(@NonNull WebSocketClient webSocketClient) {
+        final IProtocol protocol = webSocketClient.getProtocol();
+        return protocol.acceptProvidedProtocol(
+                        WebSocketsTransportContract.WEBSOCKETS_RESUMABLE_PROTOCOL) ||
+                protocol.acceptProvidedProtocol(
+                        WebSocketsTransportContract.WEBSOCKETS_BASE64_RESUMABLE_PROTOCOL);
     }
 
     private void doReflectionEstablished() {
         Log.v(TAG, "onReflectionEstablished");
         mState = State.REFLECTION_ESTABLISHED;
+        mBase64Frames = isBase64Protocol(mWebSocketClient);
+        // Resume is used only if offered by us and accepted by the reflector
+        mResumable = mResumeOffered && isResumableProtocol(mWebSocketClient);
+        if (mResumable) {
+            mSentFrames = new UnacknowledgedFrameBuffer(MAX_UNACKNOWLEDGED_BYTES);
+        }
         if (mStateCallbacks != null) {
             mStateCallbacks.onReflectionEstablished();
         }
@@ -244,6 +532,16 @@ public class ReflectorWebSocket implements MessageSender {
         /** Invoked when this WebSocket fails attempting to connect to the server */
         void onReflectionEstablished();
 
+        /**
+         * Invoked when a resumable WebSocket loses its connection to the server after reflection
+         * was established, and begins reconnecting. Messages sent while reconnecting are
+         * delivered once the reflection is resumed.
+         */
+        default void onReconnecting() {}
+
+        /** Invoked when a resumable WebSocket has reconnected and resumed the reflection */
+        default void onResumed() {}
+
         /**
          * Invoked when this WebSocket connection to the server is terminated.
          * <p>NOTE: this will only be invoked after a previous call to {@link #onConnected()}</p>
@@ -252,6 +550,7 @@ public class ReflectorWebSocket implements MessageSender {
     }
 
     private enum State {
-        NOT_CONNECTED, CONNECTING, CONNECTED, REFLECTION_ESTABLISHED, CLOSING, CLOSED
+        NOT_CONNECTED, CONNECTING, CONNECTED, REFLECTION_ESTABLISHED, RECONNECTING, RESUMING,
+        CLOSING, CLOSED
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.transport.websockets;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retains frames sent over a reflection, so that those not received by the counterparty can be
+ * retransmitted when the reflection is resumed. Frames are indexed in the order they were sent,
+ * starting at 0. The oldest frames are discarded once more than {@code maxBufferedBytes} are
+ * retained; a reflection can't be resumed if the counterparty had not received a discarded frame.
+ */
+/*package*/ final class UnacknowledgedFrameBuffer {
+    private final int mMaxBufferedBytes;
+    private final ArrayDeque<byte[]> mFrames = new ArrayDeque<>();
+    private int mFirstFrameIndex; // index of the first frame in mFrames
+    private int mBufferedBytes;
+
+    /*package*/ UnacknowledgedFrameBuffer(@IntRange(from = 0) int maxBufferedBytes) {
+        mMaxBufferedBytes = maxBufferedBytes;
+    }
+
+    /*package*/ void add(@NonNull byte[] frame) {
+        mFrames.addLast(frame);
+        mBufferedBytes += frame.length;
+        // N.B. the most recently sent frame is always retained
+        while (mBufferedBytes > mMaxBufferedBytes && mFrames.size() > 1) {
+            mBufferedBytes -= mFrames.removeFirst().length;
+            mFirstFrameIndex++;
+        }
+    }
+
+    /** @return the number of frames sent, including any which have been discarded */
+    /*package*/ int getFramesSent() {
+        return mFirstFrameIndex + mFrames.size();
+    }
+
+    /**
+     * Acknowledge that the counterparty has received the first {@code framesReceived} frames, and
+     * discard them.
+     * @return the frames which the counterparty has not received, in the order they were sent, or
+     *      null if {@code framesReceived} is not consistent with the frames sent or the
+     *      counterparty had not received a frame which has already been discarded
+     */
+    @Nullable
+    /*package*/ List<byte[]> acknowledge(int framesReceived) {
+        if (framesReceived < mFirstFrameIndex || framesReceived > getFramesSent()) {
+            return null;
+        }
+
+        while (mFirstFrameIndex < framesReceived) {
+            mBufferedBytes -= mFrames.removeFirst().length;
+            mFirstFrameIndex++;
+        }
+
+        return new ArrayList<>(mFrames);
+    }
+}
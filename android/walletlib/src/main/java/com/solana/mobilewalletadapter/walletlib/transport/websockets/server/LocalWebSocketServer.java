@@ -19,24 +19,41 @@ import org.java_websocket.WebSocketImpl;
 import org.java_websocket.WebSocketServerFactory;
 import org.java_websocket.drafts.Draft;
 import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.protocols.Protocol;
 import org.java_websocket.server.WebSocketServer;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class LocalWebSocketServer extends WebSocketServer {
     private static final String TAG = LocalWebSocketServer.class.getSimpleName();
     private static final int PING_TIME_SEC = 45; // send a ping every 45s, disconnect if no pong received for 1.5x 45s == 67.5s
     private static final int CLOSE_TIME_MS = 5000; // allow 5s for connections to close cleanly, then terminate them
 
+    // Sends never block. Outbound frames may queue beyond MAX_QUEUED_SEND_BYTES for a connection
+    // while the dapp is reading them (e.g. a large chunked response). But if the queue is over that
+    // limit and no frame has been written for SEND_STALL_TIMEOUT_MS, the dapp is considered
+    // unresponsive: the frame is discarded, and the connection is closed.
+    /*package*/ static final int MAX_QUEUED_SEND_BYTES = 1024 * 1024;
+    private static final int SEND_STALL_TIMEOUT_MS = 5000;
+
+    // Consecutive queued frames are coalesced into a single (gathering) socket write, up to these
+    // limits. Larger frames are written on their own.
+    private static final int MAX_COALESCED_WRITE_BYTES = 16 * 1024;
+    private static final int MAX_COALESCED_WRITE_FRAMES = 16;
+
     @NonNull
     private final LocalWebSocketServerScenario mScenario;
     @NonNull
@@ -77,6 +94,18 @@ public class LocalWebSocketServer extends WebSocketServer {
         mState = State.STOPPED;
     }
 
+    /**
+     * Returns a snapshot of the outbound queue metrics for each open connection
+     */
+    @NonNull
+    public List<SendQueueMetrics> getSendQueueMetrics() {
+        final ArrayList<SendQueueMetrics> metrics = new ArrayList<>();
+        for (WebSocket conn : getConnections()) {
+            metrics.add(((MobileWalletAdapterWebSocket) conn).getSendQueueMetrics());
+        }
+        return metrics;
+    }
+
     @Override
     public void onStart() {
         mCallbacks.onStarted();
@@ -138,7 +167,7 @@ public class LocalWebSocketServer extends WebSocketServer {
 
         @Override
         public ByteChannel wrapChannel(SocketChannel channel, SelectionKey key) {
-            return channel;
+            return new CoalescingByteChannel<>(channel, (MobileWalletAdapterWebSocket) key.attachment());
         }
 
         @Override
@@ -146,9 +175,95 @@ public class LocalWebSocketServer extends WebSocketServer {
         }
     }
 
-    private static class MobileWalletAdapterWebSocket extends WebSocketImpl implements MessageSender {
+    // Writes the frames queued in WebSocketImpl.outQueue (which is drained by the server's selector
+    // thread, one frame at a time, in SocketChannelIOHelper.batch) to the socket. When the frame
+    // being written is followed by other small queued frames, they are all written together with a
+    // single gathering write; the selector thread then finds those frames already fully written,
+    // and just dequeues them.
+    /*package*/ static class CoalescingByteChannel<C extends ByteChannel & GatheringByteChannel>
+            implements ByteChannel {
+        @NonNull
+        private final C mChannel;
+        @NonNull
+        private final MobileWalletAdapterWebSocket mWebSocket;
+        @NonNull
+        private final ByteBuffer[] mGatherBuffers = new ByteBuffer[MAX_COALESCED_WRITE_FRAMES];
+
+        CoalescingByteChannel(@NonNull C channel,
+                              @NonNull MobileWalletAdapterWebSocket webSocket) {
+            mChannel = channel;
+            mWebSocket = webSocket;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return mChannel.read(dst);
+        }
+
+        // N.B. only ever called on the server's selector thread
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (!src.hasRemaining()) {
+                return 0; // already written as part of an earlier coalesced write
+            }
+
+            int count = 0;
+            long coalescedBytes = 0;
+            boolean drained = true;
+            for (ByteBuffer buf : mWebSocket.outQueue) {
+                if (count == 0 && buf != src) {
+                    drained = false;
+                    break; // not writing from the head of outQueue; write src alone
+                }
+                if (count == mGatherBuffers.length
+                        || (count > 0 && coalescedBytes + buf.remaining() > MAX_COALESCED_WRITE_BYTES)) {
+                    drained = false;
+                    break;
+                }
+                mGatherBuffers[count++] = buf;
+                coalescedBytes += buf.remaining();
+            }
+            if (count == 0) {
+                mGatherBuffers[count++] = src;
+            }
+
+            final long written;
+            try {
+                written = mChannel.write(mGatherBuffers, 0, count);
+            } finally {
+                int framesWritten = 0;
+                for (int i = 0; i < count; i++) {
+                    if (!mGatherBuffers[i].hasRemaining()) framesWritten++;
+                    mGatherBuffers[i] = null;
+                }
+                mWebSocket.onFramesWritten(framesWritten, drained && framesWritten == count);
+            }
+            return (int) Math.min(written, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return mChannel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            mChannel.close();
+        }
+    }
+
+    /*package*/ static class MobileWalletAdapterWebSocket extends WebSocketImpl implements MessageSender {
         private MessageReceiver messageReceiver; // valid only after opened
 
+        /*package*/ long mSendStallTimeoutNs = SEND_STALL_TIMEOUT_MS * 1000000L; // for testing
+        private final AtomicLong mPendingSinceNs = new AtomicLong(); // 0 when outQueue is drained
+        private volatile long mLastFrameWrittenNs;
+        private final AtomicLong mPeakQueuedBytes = new AtomicLong();
+        private final AtomicLong mFramesWritten = new AtomicLong();
+        private final AtomicLong mWrites = new AtomicLong();
+        private volatile long mLastWriteLatencyNs;
+        private volatile long mMaxWriteLatencyNs;
+
         public MobileWalletAdapterWebSocket(WebSocketAdapter a, Draft d) {
             super(a, d);
         }
@@ -157,11 +272,123 @@ public class LocalWebSocketServer extends WebSocketServer {
             super(a, d);
         }
 
-        // N.B. synchronize send() with WebSocketImpl.close()
         @Override
-        public synchronized void send(@NonNull byte[] bytes) {
+        public void send(@NonNull byte[] bytes) {
             Log.d(TAG, "mobile-wallet-adapter WebSocket send");
-            super.send(bytes);
+            if (isSendQueueStalled()) {
+                // N.B. the frame is discarded; receiverDisconnected will be delivered shortly
+                Log.w(TAG, "mobile-wallet-adapter WebSocket send queue stalled; closing unresponsive connection");
+                close(CloseFrame.TRY_AGAIN_LATER, "Send queue full");
+                return;
+            }
+
+            // N.B. synchronize sending with WebSocketImpl.close()
+            synchronized (this) {
+                if (isClosing() || isClosed()) {
+                    // e.g. closed above, by another sender, due to backpressure; receiverDisconnected
+                    // will be delivered shortly
+                    Log.w(TAG, "mobile-wallet-adapter WebSocket closed; discarding send");
+                    return;
+                }
+                mPendingSinceNs.compareAndSet(0, System.nanoTime());
+                super.send(bytes);
+            }
+
+            final long queuedBytes = getQueuedBytes();
+            long peak;
+            while (queuedBytes > (peak = mPeakQueuedBytes.get())
+                    && !mPeakQueuedBytes.compareAndSet(peak, queuedBytes)) { /* retry */ }
+        }
+
+        // Returns true if the outbound queue is over MAX_QUEUED_SEND_BYTES, and has been waiting
+        // on the dapp for longer than mSendStallTimeoutNs
+        private boolean isSendQueueStalled() {
+            final long pendingSinceNs = mPendingSinceNs.get();
+            if (pendingSinceNs == 0 || getQueuedBytes() <= MAX_QUEUED_SEND_BYTES) {
+                return false;
+            }
+            final long waitingSinceNs = Math.max(pendingSinceNs, mLastFrameWrittenNs);
+            return System.nanoTime() - waitingSinceNs >= mSendStallTimeoutNs;
+        }
+
+        private long getQueuedBytes() {
+            long queuedBytes = 0;
+            for (ByteBuffer buf : outQueue) {
+                queuedBytes += buf.remaining();
+            }
+            return queuedBytes;
+        }
+
+        // Invoked on the selector thread after each socket write
+        private void onFramesWritten(int frames, boolean drained) {
+            mWrites.incrementAndGet();
+            mFramesWritten.addAndGet(frames);
+            if (frames > 0) {
+                mLastFrameWrittenNs = System.nanoTime();
+            }
+            if (drained) {
+                final long pendingSinceNs = mPendingSinceNs.getAndSet(0);
+                if (pendingSinceNs != 0) {
+                    final long latencyNs = System.nanoTime() - pendingSinceNs;
+                    mLastWriteLatencyNs = latencyNs;
+                    if (latencyNs > mMaxWriteLatencyNs) {
+                        mMaxWriteLatencyNs = latencyNs;
+                    }
+                }
+            }
+        }
+
+        @NonNull
+        /*package*/ SendQueueMetrics getSendQueueMetrics() {
+            return new SendQueueMetrics(outQueue.size(), getQueuedBytes(), mPeakQueuedBytes.get(),
+                    mFramesWritten.get(), mWrites.get(), mLastWriteLatencyNs, mMaxWriteLatencyNs);
+        }
+    }
+
+    /** A snapshot of the state of the outbound frame queue for a single connection */
+    public static class SendQueueMetrics {
+        /** Number of frames queued for sending */
+        public final int queuedFrames;
+        /** Number of bytes queued for sending */
+        public final long queuedBytes;
+        /** Largest number of bytes queued for sending at once */
+        public final long peakQueuedBytes;
+        /** Total number of frames written */
+        public final long framesWritten;
+        /** Total number of socket writes; fewer than framesWritten when frames were coalesced */
+        public final long writes;
+        /**
+         * Time taken to fully drain the queue the last time it was drained, measured from when the
+         * first frame was queued, in nanoseconds
+         */
+        public final long lastWriteLatencyNs;
+        /** Longest time taken to fully drain the queue, in nanoseconds */
+        public final long maxWriteLatencyNs;
+
+        private SendQueueMetrics(int queuedFrames, long queuedBytes, long peakQueuedBytes,
+                                 long framesWritten, long writes, long lastWriteLatencyNs,
+                                 long maxWriteLatencyNs) {
+            this.queuedFrames = queuedFrames;
+            this.queuedBytes = queuedBytes;
+            this.peakQueuedBytes = peakQueuedBytes;
+            this.framesWritten = framesWritten;
+            this.writes = writes;
+            this.lastWriteLatencyNs = lastWriteLatencyNs;
+            this.maxWriteLatencyNs = maxWriteLatencyNs;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "SendQueueMetrics{" +
+                    "queuedFrames=" + queuedFrames +
+                    ", queuedBytes=" + queuedBytes +
+                    ", peakQueuedBytes=" + peakQueuedBytes +
+                    ", framesWritten=" + framesWritten +
+                    ", writes=" + writes +
+                    ", lastWriteLatencyNs=" + lastWriteLatencyNs +
+                    ", maxWriteLatencyNs=" + maxWriteLatencyNs +
+                    '}';
         }
     }
 
@@ -6,6 +6,11 @@ package com.solana.mobilewalletadapter.walletlib.util;
 
 import android.os.Looper;
 
+/**
+ * @deprecated walletlib no longer uses a Looper thread per scenario. Use
+ * {@link android.os.HandlerThread} instead.
+ */
+@Deprecated
 public class LooperThread extends Thread {
     private Looper mLooper;
 
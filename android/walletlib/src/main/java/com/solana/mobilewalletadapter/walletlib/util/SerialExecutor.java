@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+// Runs tasks one at a time, in the order they were submitted, on a (possibly shared) executor. No
+// thread is held while the queue is empty. Like a Handler on a Looper, each task sees the effects of
+// all the tasks queued before it, though successive tasks may run on different threads.
+public class SerialExecutor implements Executor {
+    @NonNull
+    private final Executor mExecutor;
+    private final ArrayDeque<Runnable> mTasks = new ArrayDeque<>();
+    private boolean mActive;
+
+    public SerialExecutor(@NonNull Executor executor) {
+        mExecutor = executor;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+        synchronized (mTasks) {
+            mTasks.add(task);
+            if (mActive) {
+                return;
+            }
+            mActive = true;
+        }
+        try {
+            mExecutor.execute(this::runNext);
+        } catch (RuntimeException e) {
+            synchronized (mTasks) {
+                mTasks.clear();
+                mActive = false;
+            }
+            throw e;
+        }
+    }
+
+    // Equivalent to execute, returning true once task is queued, for use in place of a Handler
+    public boolean post(@NonNull Runnable task) {
+        execute(task);
+        return true;
+    }
+
+    // Runs one task, then yields the thread back to the executor, so that queues sharing an
+    // executor take turns
+    private void runNext() {
+        final Runnable task;
+        synchronized (mTasks) {
+            task = mTasks.poll();
+        }
+        try {
+            task.run();
+        } finally {
+            synchronized (mTasks) {
+                if (mTasks.isEmpty()) {
+                    mActive = false;
+                } else {
+                    mExecutor.execute(this::runNext);
+                }
+            }
+        }
+    }
+}
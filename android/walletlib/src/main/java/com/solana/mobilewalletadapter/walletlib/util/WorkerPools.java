@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.util;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class WorkerPools {
+    private WorkerPools() {}
+
+    // Creates a pool of up to maxThreads daemon threads, which exit after keepAliveMs without work.
+    // Tasks queue (without bound) while all threads are busy.
+    @NonNull
+    public static ThreadPoolExecutor newBoundedPool(@NonNull String name,
+                                                    @IntRange(from = 1) int maxThreads,
+                                                    @IntRange(from = 1) long keepAliveMs) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads,
+                keepAliveMs, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                    final Thread t = new Thread(r, name + "-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Clamps the number of available processors to [minThreads, maxThreads]
+    @IntRange(from = 1)
+    public static int threadsForProcessors(@IntRange(from = 1) int minThreads,
+                                           @IntRange(from = 1) int maxThreads) {
+        return Math.max(minThreads, Math.min(maxThreads, Runtime.getRuntime().availableProcessors()));
+    }
+}
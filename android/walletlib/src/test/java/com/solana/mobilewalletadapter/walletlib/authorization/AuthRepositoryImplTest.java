@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.authorization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+import android.database.SQLException;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture;
+import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizedAccount;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthRepositoryImplTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    // N.B. a reauthorizationNopDurationMs of 0 means every reissue issues a new AuthRecord
+    private static final AuthIssuerConfig AUTH_ISSUER_CONFIG =
+            new AuthIssuerConfig("Test", 50, 60000, 120000, 0);
+
+    private AuthRepositoryImpl mAuthRepository;
+
+    @Before
+    public void setUp() {
+        mAuthRepository = new TestAuthRepository(ApplicationProvider.getApplicationContext());
+        mAuthRepository.start();
+    }
+
+    @After
+    public void tearDown() {
+        mAuthRepository.stop();
+    }
+
+    @Test
+    public void testConcurrentReissueAsyncOfSameRecordIsCoalesced() throws Exception {
+        // given
+        final AuthRecord authRecord = issue("dapp", account(1));
+        final NotifyOnCompleteFuture<AuthRecord> first;
+        final NotifyOnCompleteFuture<AuthRecord> second;
+
+        // when
+        // N.B. holding the repository lock keeps the first reissue pending on the writer thread
+        // until both requests have been made
+        synchronized (mAuthRepository) {
+            first = mAuthRepository.reissueAsync(authRecord);
+            second = mAuthRepository.reissueAsync(authRecord);
+        }
+        final AuthRecord firstReissued = first.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        final AuthRecord secondReissued = second.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        // then
+        assertNotNull(firstReissued);
+        assertSame(firstReissued, secondReissued);
+        assertNotEquals(authRecord.id, firstReissued.id);
+        assertTrue(authRecord.isRevoked());
+        final List<AuthRecord> authorizations =
+                mAuthRepository.getAuthorizations(authRecord.identity);
+        assertEquals(1, authorizations.size());
+        assertEquals(firstReissued.id, authorizations.get(0).id);
+        assertEquals(1, authorizations.get(0).accounts.length);
+    }
+
+    @Test
+    public void testIssueIsRolledBackWhenAnInsertFails() throws Exception {
+        // given
+        final AuthRecord existing = issue("existing dapp", account(1));
+        // N.B. a null public key violates the NOT NULL constraint on accounts, failing the insert
+        // of the second account after the identity and authorization have been inserted
+        final AuthorizedAccount invalidAccount = new AuthorizedAccount(null, null, null, null, null);
+
+        // when
+        final SQLException newIdentityException = issueExpectingFailure("new dapp",
+                account(2), invalidAccount);
+        final SQLException existingIdentityException = issueExpectingFailure("existing dapp",
+                account(3), invalidAccount);
+
+        // then
+        assertNotNull(newIdentityException);
+        assertNotNull(existingIdentityException);
+        final List<IdentityRecord> identities = mAuthRepository.getAuthorizedIdentities();
+        assertEquals(1, identities.size());
+        assertEquals(existing.identity.getId(), identities.get(0).getId());
+        final List<AuthRecord> authorizations =
+                mAuthRepository.getAuthorizations(existing.identity);
+        assertEquals(1, authorizations.size());
+        assertEquals(existing.id, authorizations.get(0).id);
+        assertEquals(1, authorizations.get(0).accounts.length);
+    }
+
+    @Test
+    public void testIssueAsyncFailureCompletesExceptionally() throws Exception {
+        // given
+        final AuthorizedAccount invalidAccount = new AuthorizedAccount(null, null, null, null, null);
+
+        // when
+        final NotifyOnCompleteFuture<AuthRecord> future = issueAsync("dapp", invalidAccount);
+
+        // then
+        try {
+            future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            fail("Expected issueAsync to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+        assertTrue(mAuthRepository.getAuthorizedIdentities().isEmpty());
+    }
+
+    @Test
+    public void testStopCompletesPendingWritesAndCanBeRestarted() throws Exception {
+        // given
+        final NotifyOnCompleteFuture<AuthRecord> future = issueAsync("dapp", account(1));
+
+        // when
+        mAuthRepository.stop();
+
+        // then
+        assertTrue(future.isDone());
+        final AuthRecord authRecord = future.get();
+        mAuthRepository.start();
+        final List<IdentityRecord> identities = mAuthRepository.getAuthorizedIdentities();
+        assertEquals(1, identities.size());
+        assertEquals(authRecord.identity.getId(), identities.get(0).getId());
+    }
+
+    @NonNull
+    private AuthRecord issue(@NonNull String name, @NonNull AuthorizedAccount... accounts) {
+        return mAuthRepository.issue(name, Uri.parse("https://" + name.replace(' ', '-')),
+                Uri.parse("favicon.ico"), accounts, "solana:testnet", null, null);
+    }
+
+    @NonNull
+    private NotifyOnCompleteFuture<AuthRecord> issueAsync(@NonNull String name,
+                                                          @NonNull AuthorizedAccount... accounts) {
+        return mAuthRepository.issueAsync(name, Uri.parse("https://" + name.replace(' ', '-')),
+                Uri.parse("favicon.ico"), accounts, "solana:testnet", null, null);
+    }
+
+    @Nullable
+    private SQLException issueExpectingFailure(@NonNull String name,
+                                               @NonNull AuthorizedAccount... accounts) {
+        try {
+            issue(name, accounts);
+            return null;
+        } catch (SQLException e) {
+            return e;
+        }
+    }
+
+    @NonNull
+    private static AuthorizedAccount account(int fill) {
+        final byte[] publicKey = new byte[32];
+        publicKey[0] = (byte) fill;
+        return new AuthorizedAccount(publicKey, "Account " + fill, null,
+                new String[] { "solana:testnet" }, null);
+    }
+
+    // The Android keystore is unavailable under Robolectric, so use an ordinary AES key instead
+    private static class TestAuthRepository extends AuthRepositoryImpl {
+        private final SecretKey mTestSecretKey;
+
+        TestAuthRepository(@NonNull Context context) {
+            super(context, AUTH_ISSUER_CONFIG);
+            try {
+                final KeyGenerator kg = KeyGenerator.getInstance("AES");
+                kg.init(256);
+                mTestSecretKey = kg.generateKey();
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Nullable
+        @Override
+        SecretKey getSecretKey() {
+            return mTestSecretKey;
+        }
+
+        @NonNull
+        @Override
+        SecretKey createSecretKey() {
+            return mTestSecretKey;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.authorization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthorizationsDaoTest {
+
+    private static final AuthIssuerConfig AUTH_ISSUER_CONFIG = new AuthIssuerConfig("Test");
+    private static final Uri WALLET_URI_BASE = Uri.parse("https://wallet.example.com/mwa");
+
+    private AuthDatabase mAuthDb;
+    private SQLiteDatabase mDatabase;
+    private AuthorizationsDao mAuthorizationsDao;
+    private AccountRecordsDao mAccountsDao;
+    private IdentityRecord mIdentity;
+    private int mWalletUriBaseId;
+
+    @Before
+    public void setUp() {
+        mAuthDb = new AuthDatabase(ApplicationProvider.getApplicationContext(), AUTH_ISSUER_CONFIG);
+        mDatabase = mAuthDb.getWritableDatabase();
+        mAuthorizationsDao = new AuthorizationsDao(mDatabase, AUTH_ISSUER_CONFIG);
+        mAccountsDao = new AccountRecordsDao(mDatabase);
+        mIdentity = insertIdentity("dapp");
+        mWalletUriBaseId = (int) new WalletUriBaseDao(mDatabase).insert(WALLET_URI_BASE);
+    }
+
+    @After
+    public void tearDown() {
+        mAuthDb.close();
+    }
+
+    @Test
+    public void testAuthorizationWithNoAccounts() {
+        // given
+        final int id = insertAuthorization(1000, "solana:mainnet", new byte[] { 1 });
+
+        // when
+        final List<AuthRecord> authorizations = mAuthorizationsDao.getAuthorizations(mIdentity);
+        final AuthRecord authorization =
+                mAuthorizationsDao.getAuthorization(mIdentity, Integer.toString(id));
+
+        // then
+        assertEquals(1, authorizations.size());
+        assertAuthorization(authorizations.get(0), id, 1000, "solana:mainnet", new byte[] { 1 });
+        assertEquals(0, authorizations.get(0).accounts.length);
+        assertNotNull(authorization);
+        assertAuthorization(authorization, id, 1000, "solana:mainnet", new byte[] { 1 });
+        assertEquals(0, authorization.accounts.length);
+    }
+
+    @Test
+    public void testAuthorizationWithSeveralAccounts() {
+        // given
+        final int id = insertAuthorization(1000, "solana:mainnet", new byte[0]);
+        insertAccount(id, 1, null, null, null);
+        insertAccount(id, 2, "Account 2", Uri.parse("data:image/png;base64,AAAA"),
+                new String[] { "solana:mainnet", "solana:devnet" });
+        insertAccount(id, 3, "Account 3", null, new String[] { "solana:mainnet" });
+
+        // when
+        final AuthRecord authorization =
+                mAuthorizationsDao.getAuthorization(mIdentity, Integer.toString(id));
+
+        // then
+        assertNotNull(authorization);
+        assertAuthorization(authorization, id, 1000, "solana:mainnet", new byte[0]);
+        assertAccountsEqual(queryAccounts(id), authorization.accounts);
+        assertEquals(3, authorization.accounts.length);
+        assertEquals(1, authorization.accounts[0].publicKeyRaw[0]);
+        assertNull(authorization.accounts[0].accountLabel);
+        assertEquals("Account 2", authorization.accounts[1].accountLabel);
+        assertArrayEquals(new String[] { "solana:mainnet", "solana:devnet" },
+                authorization.accounts[1].chains);
+    }
+
+    @Test
+    public void testAuthorizationsForIdentityMatchPerRecordQueries() {
+        // given
+        final int noAccounts = insertAuthorization(1000, "solana:mainnet", new byte[0]);
+        final int oneAccount = insertAuthorization(2000, "solana:devnet", new byte[] { 2 });
+        insertAccount(oneAccount, 1, "Account 1", null, null);
+        final int twoAccounts = insertAuthorization(3000, "solana:testnet", new byte[] { 3, 4 });
+        insertAccount(twoAccounts, 2, "Account 2", null, new String[] { "solana:testnet" });
+        insertAccount(twoAccounts, 3, null, Uri.parse("https://example.com/icon.png"), null);
+        // An authorization for another identity, which must not be returned
+        final IdentityRecord otherIdentity = insertIdentity("other dapp");
+        final int otherId = (int) mAuthorizationsDao.insert(otherIdentity.getId(), 4000,
+                "solana:mainnet", mWalletUriBaseId, new byte[0]);
+        insertAccount(otherId, 4, null, null, null);
+
+        // when
+        final List<AuthRecord> authorizations = mAuthorizationsDao.getAuthorizations(mIdentity);
+        final List<AuthRecordSummary> summaries =
+                mAuthorizationsDao.getAuthorizationSummaries(mIdentity);
+
+        // then
+        final List<AuthRecord> expected = queryAuthorizationsPerRecord(mIdentity);
+        assertEquals(3, expected.size());
+        assertEquals(expected.size(), authorizations.size());
+        assertEquals(expected.size(), summaries.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final AuthRecord e = expected.get(i);
+            assertAuthorization(authorizations.get(i), e.id, e.issued, e.chain, e.scope);
+            assertAccountsEqual(e.accounts, authorizations.get(i).accounts);
+            assertEquals(e.id, summaries.get(i).id);
+            assertEquals(mIdentity.getId(), summaries.get(i).identity.getId());
+            assertEquals(e.issued, summaries.get(i).issued);
+            assertEquals(e.expires, summaries.get(i).expires);
+        }
+        assertEquals(noAccounts, authorizations.get(0).id);
+        assertEquals(0, authorizations.get(0).accounts.length);
+        assertEquals(2, authorizations.get(2).accounts.length);
+    }
+
+    @NonNull
+    private IdentityRecord insertIdentity(@NonNull String name) {
+        final IdentityRecordDao identityRecordDao = new IdentityRecordDao(mDatabase);
+        final long id = identityRecordDao.insert(name, "https://" + name.replace(' ', '-'),
+                "favicon.ico", new byte[] { 1, 2, 3 }, new byte[] { 4, 5, 6 });
+        final IdentityRecord identity = identityRecordDao.findIdentityById(Long.toString(id));
+        assertNotNull(identity);
+        return identity;
+    }
+
+    private int insertAuthorization(long issued, @NonNull String chain, @NonNull byte[] scope) {
+        return (int) mAuthorizationsDao.insert(mIdentity.getId(), issued, chain, mWalletUriBaseId,
+                scope);
+    }
+
+    private void insertAccount(int parentId, int fill, @Nullable String label, @Nullable Uri icon,
+                               @Nullable String[] chains) {
+        final byte[] publicKey = new byte[32];
+        publicKey[0] = (byte) fill;
+        mAccountsDao.insert(parentId, publicKey, label, icon, chains, null);
+    }
+
+    // The queries used before authorizations were loaded with their accounts in a single query: one
+    // for the authorizations of an identity, then one per authorization for its accounts
+    @NonNull
+    private List<AuthRecord> queryAuthorizationsPerRecord(@NonNull IdentityRecord identity) {
+        final List<AuthRecord> authorizations = new ArrayList<>();
+        try (final Cursor c = mDatabase.query(AuthorizationsSchema.TABLE_AUTHORIZATIONS,
+                new String[] {
+                        AuthorizationsSchema.COLUMN_AUTHORIZATIONS_ID,
+                        AuthorizationsSchema.COLUMN_AUTHORIZATIONS_ISSUED,
+                        AuthorizationsSchema.COLUMN_AUTHORIZATIONS_SCOPE,
+                        AuthorizationsSchema.COLUMN_AUTHORIZATIONS_CHAIN },
+                AuthorizationsSchema.COLUMN_AUTHORIZATIONS_IDENTITY_ID + "=?",
+                new String[] { Integer.toString(identity.getId()) },
+                null, null, AuthorizationsSchema.COLUMN_AUTHORIZATIONS_ID)) {
+            while (c.moveToNext()) {
+                final int id = c.getInt(0);
+                final long issued = c.getLong(1);
+                authorizations.add(new AuthRecord(id, identity, queryAccounts(id), c.getString(3),
+                        c.getBlob(2), WALLET_URI_BASE, mWalletUriBaseId, issued,
+                        issued + AUTH_ISSUER_CONFIG.authorizationValidityMs));
+            }
+        }
+        return authorizations;
+    }
+
+    @NonNull
+    private AccountRecord[] queryAccounts(int parentId) {
+        final List<AccountRecord> accounts = new ArrayList<>();
+        try (final Cursor c = mDatabase.query(AccountRecordsSchema.TABLE_ACCOUNTS,
+                AccountRecordsSchema.ACCOUNTS_COLUMNS,
+                AccountRecordsSchema.COLUMN_ACCOUNTS_PARENT_ID + "=?",
+                new String[] { Integer.toString(parentId) },
+                null, null, AccountRecordsSchema.COLUMN_ACCOUNTS_ID)) {
+            while (c.moveToNext()) {
+                accounts.add(AccountRecordsDao.buildAccountRecordFromCursor(c));
+            }
+        }
+        return accounts.toArray(new AccountRecord[0]);
+    }
+
+    private void assertAuthorization(@NonNull AuthRecord authorization, int id, long issued,
+                                     @NonNull String chain, @NonNull byte[] scope) {
+        assertEquals(id, authorization.id);
+        assertEquals(mIdentity.getId(), authorization.identity.getId());
+        assertEquals(issued, authorization.issued);
+        assertEquals(issued + AUTH_ISSUER_CONFIG.authorizationValidityMs, authorization.expires);
+        assertEquals(chain, authorization.chain);
+        assertArrayEquals(scope, authorization.scope);
+        assertEquals(WALLET_URI_BASE, authorization.walletUriBase);
+        assertEquals(mWalletUriBaseId, authorization.walletUriBaseId);
+    }
+
+    private static void assertAccountsEqual(@NonNull AccountRecord[] expected,
+                                            @NonNull AccountRecord[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].id, actual[i].id);
+            assertEquals(expected[i].parentId, actual[i].parentId);
+            assertArrayEquals(expected[i].publicKeyRaw, actual[i].publicKeyRaw);
+            assertEquals(expected[i].accountLabel, actual[i].accountLabel);
+            assertEquals(expected[i].icon, actual[i].icon);
+            assertArrayEquals(expected[i].chains, actual[i].chains);
+            assertArrayEquals(expected[i].features, actual[i].features);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class JsonRpc20ServerTest {
+
+    private static final Object[] IDS = new Object[] {
+            0, 42, Long.MAX_VALUE, 1.5, "id", "quoted \"id\" with a / slash", JSONObject.NULL
+    };
+
+    private final List<byte[]> mSent = new ArrayList<>();
+    private TestServer mServer;
+
+    @Before
+    public void setUp() {
+        mServer = new TestServer();
+        mServer.receiverConnected(mSent::add);
+    }
+
+    @Test
+    public void testPreparedResultMatchesResult() throws Exception {
+        for (Object id : IDS) {
+            // given
+            final JSONObject result = new JSONObject()
+                    .put("supported_transaction_versions", new JSONArray().put("legacy").put(0))
+                    .put("max_transactions_per_request", 10)
+                    .put("supports_clone_authorization", false);
+            final JsonRpc20Server.PreparedResponse prepared = JsonRpc20Server.prepareResult(result);
+
+            // when
+            mServer.handleRpcResult(id, result);
+            mServer.handlePreparedResponse(id, prepared);
+
+            // then
+            assertSentIdentical();
+        }
+    }
+
+    @Test
+    public void testPreparedErrorMatchesError() throws Exception {
+        for (Object id : IDS) {
+            // given
+            final JsonRpc20Server.PreparedResponse prepared = JsonRpc20Server.prepareError(
+                    JsonRpc20Server.ERROR_INVALID_PARAMS, "params must be either a JSONObject", null);
+
+            // when
+            mServer.handleRpcError(id, JsonRpc20Server.ERROR_INVALID_PARAMS,
+                    "params must be either a JSONObject", null);
+            mServer.handlePreparedResponse(id, prepared);
+
+            // then
+            assertSentIdentical();
+        }
+    }
+
+    @Test
+    public void testPreparedResponseIsReusable() throws Exception {
+        // given
+        final JsonRpc20Server.PreparedResponse prepared =
+                JsonRpc20Server.prepareResult(new JSONObject());
+
+        // when
+        mServer.handlePreparedResponse(1, prepared);
+        mServer.handlePreparedResponse("two", prepared);
+
+        // then
+        assertEquals(2, mSent.size());
+        assertEquals(1, new JSONObject(new String(mSent.get(0))).get("id"));
+        assertEquals("two", new JSONObject(new String(mSent.get(1))).get("id"));
+    }
+
+    @Test
+    public void testPreparedResponseForNotificationIsDiscarded() throws Exception {
+        // given
+        final JsonRpc20Server.PreparedResponse prepared =
+                JsonRpc20Server.prepareResult(new JSONObject());
+
+        // when
+        mServer.handlePreparedResponse(null, prepared);
+
+        // then
+        assertTrue(mSent.isEmpty());
+    }
+
+    private void assertSentIdentical() {
+        assertEquals(2, mSent.size());
+        assertArrayEquals(mSent.get(0), mSent.get(1));
+        mSent.clear();
+    }
+
+    private static class TestServer extends JsonRpc20Server {
+        @Override
+        protected void dispatchRpc(@Nullable Object id,
+                                   @NonNull String method,
+                                   @Nullable Object params) {}
+    }
+}
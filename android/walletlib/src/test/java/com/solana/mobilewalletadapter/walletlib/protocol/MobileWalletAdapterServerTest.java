@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.protocol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.solana.mobilewalletadapter.common.ProtocolContract;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@RunWith(RobolectricTestRunner.class)
+public class MobileWalletAdapterServerTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private final List<byte[]> mSent = Collections.synchronizedList(new ArrayList<>());
+    private RecordingMethodHandlers mHandlers;
+    private MobileWalletAdapterServer mServer;
+
+    @Before
+    public void setUp() {
+        mHandlers = new RecordingMethodHandlers();
+        mServer = createServer(ProtocolContract.FEATURE_ID_SIGN_TRANSACTIONS,
+                ProtocolContract.FEATURE_ID_PROGRESS_NOTIFICATIONS);
+    }
+
+    @Test
+    public void testPipelinedRequestsAreDispatchedInOrder() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // given
+            mHandlers.events.clear();
+            mHandlers.authorizeDelayMs = 20;
+            mHandlers.signTransactionsDispatched = new CountDownLatch(1);
+
+            // when
+            mServer.receiverMessageReceived(request(1, ProtocolContract.METHOD_AUTHORIZE,
+                    new JSONObject()));
+            mServer.receiverMessageReceived(request(2, ProtocolContract.METHOD_SIGN_TRANSACTIONS,
+                    signPayloadsParams()));
+
+            // then
+            assertTrue(mHandlers.signTransactionsDispatched.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+            assertEquals(Arrays.asList("authorize:start", "authorize:end", "signTransactions"),
+                    mHandlers.events);
+        }
+    }
+
+    @Test
+    public void testRequestsQueuedAtDisconnectAreNotDispatched() throws Exception {
+        // given
+        final CountDownLatch authorizeStarted = new CountDownLatch(1);
+        final CountDownLatch authorizeReturned = new CountDownLatch(1);
+        mHandlers.authorizeStarted = authorizeStarted;
+        mHandlers.authorizeBlock = new CountDownLatch(1);
+        mHandlers.authorizeReturned = authorizeReturned;
+        mServer.receiverMessageReceived(request(1, ProtocolContract.METHOD_AUTHORIZE,
+                new JSONObject()));
+        mServer.receiverMessageReceived(request(2, ProtocolContract.METHOD_SIGN_TRANSACTIONS,
+                signPayloadsParams()));
+        assertTrue(authorizeStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // when
+        mServer.receiverDisconnected();
+        mHandlers.authorizeBlock.countDown();
+
+        // then
+        assertTrue(authorizeReturned.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        Thread.sleep(100);
+        assertEquals(Arrays.asList("authorize:start", "authorize:end"), mHandlers.events);
+    }
+
+    @Test
+    public void testProgressNotificationsAreSentBeforeResponseWhenRequested() throws Exception {
+        // given
+        mHandlers.onSignTransactions = MobileWalletAdapterServerTest::signWithProgress;
+
+        // when
+        mServer.receiverMessageReceived(request(7, ProtocolContract.METHOD_SIGN_TRANSACTIONS,
+                signPayloadsParams().put(ProtocolContract.PARAMETER_PROGRESS_NOTIFICATIONS, true)));
+
+        // then
+        final List<JSONObject> sent = awaitResponse();
+        assertEquals(3, sent.size());
+        for (int i = 0; i < 2; i++) {
+            final JSONObject notification = sent.get(i);
+            assertFalse(notification.has("id"));
+            assertEquals(ProtocolContract.NOTIFICATION_SIGNING_PROGRESS,
+                    notification.getString("method"));
+            final JSONObject params = notification.getJSONObject("params");
+            assertEquals(7, params.getInt(ProtocolContract.PARAMETER_PROGRESS_REQUEST_ID));
+            assertEquals(i, params.getInt(ProtocolContract.PARAMETER_PROGRESS_INDEX));
+            assertTrue(params.has(ProtocolContract.PARAMETER_PROGRESS_SIGNED_PAYLOAD));
+        }
+        assertEquals(7, sent.get(2).getInt("id"));
+        assertTrue(sent.get(2).has("result"));
+    }
+
+    @Test
+    public void testProgressNotificationsAreNotSentWithoutOptIn() throws Exception {
+        // given
+        mHandlers.onSignTransactions = MobileWalletAdapterServerTest::signWithProgress;
+
+        // when
+        mServer.receiverMessageReceived(request(7, ProtocolContract.METHOD_SIGN_TRANSACTIONS,
+                signPayloadsParams()));
+
+        // then
+        final List<JSONObject> sent = awaitResponse();
+        assertEquals(1, sent.size());
+        assertEquals(7, sent.get(0).getInt("id"));
+        assertFalse(mHandlers.progressNotificationEnabled);
+    }
+
+    @Test
+    public void testProgressNotificationsAreNotSentWhenNotSupported() throws Exception {
+        // given
+        mServer = createServer(ProtocolContract.FEATURE_ID_SIGN_TRANSACTIONS);
+        mHandlers.onSignTransactions = MobileWalletAdapterServerTest::signWithProgress;
+
+        // when
+        mServer.receiverMessageReceived(request(7, ProtocolContract.METHOD_SIGN_TRANSACTIONS,
+                signPayloadsParams().put(ProtocolContract.PARAMETER_PROGRESS_NOTIFICATIONS, true)));
+
+        // then
+        final List<JSONObject> sent = awaitResponse();
+        assertEquals(1, sent.size());
+        assertEquals(7, sent.get(0).getInt("id"));
+        assertFalse(mHandlers.progressNotificationEnabled);
+    }
+
+    @NonNull
+    private MobileWalletAdapterServer createServer(@NonNull String... features) {
+        final MobileWalletAdapterConfig config = new MobileWalletAdapterConfig(10, 10,
+                new Object[] { MobileWalletAdapterConfig.LEGACY_TRANSACTION_VERSION }, 0,
+                features);
+        final MobileWalletAdapterServer server = new MobileWalletAdapterServer(config, mHandlers);
+        server.receiverConnected(mSent::add);
+        return server;
+    }
+
+    // Reports each payload as signed, then completes the request
+    private static void signWithProgress(
+            @NonNull MobileWalletAdapterServer.SignTransactionsRequest request) {
+        for (int i = 0; i < request.payloads.length; i++) {
+            request.notifyProgress(i, request.payloads[i]);
+        }
+        request.complete(new MobileWalletAdapterServer.SignedPayloadsResult(request.payloads));
+    }
+
+    // Waits for a response to be sent, and returns all messages sent up to and including it
+    @NonNull
+    private List<JSONObject> awaitResponse() throws Exception {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            final List<JSONObject> sent = new ArrayList<>();
+            synchronized (mSent) {
+                for (byte[] message : mSent) {
+                    sent.add(new JSONObject(new String(message, StandardCharsets.UTF_8)));
+                }
+            }
+            if (!sent.isEmpty() && sent.get(sent.size() - 1).has("id")) {
+                return sent;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Timed out waiting for a response");
+    }
+
+    @NonNull
+    private static byte[] request(int id, @NonNull String method, @NonNull JSONObject params)
+            throws JSONException {
+        return new JSONObject()
+                .put("jsonrpc", "2.0")
+                .put("id", id)
+                .put("method", method)
+                .put("params", params)
+                .toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @NonNull
+    private static JSONObject signPayloadsParams() throws JSONException {
+        return new JSONObject().put(ProtocolContract.PARAMETER_PAYLOADS,
+                new JSONArray().put("AQID").put("BAUG"));
+    }
+
+    private static class RecordingMethodHandlers implements MobileWalletAdapterServer.MethodHandlers {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        volatile long authorizeDelayMs;
+        volatile CountDownLatch authorizeStarted;
+        volatile CountDownLatch authorizeBlock;
+        volatile CountDownLatch authorizeReturned;
+        volatile CountDownLatch signTransactionsDispatched;
+        volatile Consumer<MobileWalletAdapterServer.SignTransactionsRequest> onSignTransactions;
+        volatile boolean progressNotificationEnabled;
+
+        @Override
+        public void authorize(@NonNull MobileWalletAdapterServer.AuthorizeRequest request) {
+            events.add("authorize:start");
+            if (authorizeStarted != null) {
+                authorizeStarted.countDown();
+            }
+            try {
+                if (authorizeBlock != null) {
+                    authorizeBlock.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                Thread.sleep(authorizeDelayMs);
+            } catch (InterruptedException ignored) {}
+            events.add("authorize:end");
+            if (authorizeReturned != null) {
+                authorizeReturned.countDown();
+            }
+        }
+
+        @Override
+        public void deauthorize(@NonNull MobileWalletAdapterServer.DeauthorizeRequest request) {
+            events.add("deauthorize");
+        }
+
+        @Override
+        public void signTransactions(@NonNull MobileWalletAdapterServer.SignTransactionsRequest request) {
+            events.add("signTransactions");
+            progressNotificationEnabled = request.isProgressNotificationEnabled();
+            if (signTransactionsDispatched != null) {
+                signTransactionsDispatched.countDown();
+            }
+            if (onSignTransactions != null) {
+                onSignTransactions.accept(request);
+            }
+        }
+
+        @Override
+        public void signMessages(@NonNull MobileWalletAdapterServer.SignMessagesRequest request) {
+            events.add("signMessages");
+        }
+
+        @Override
+        public void signAndSendTransactions(@NonNull MobileWalletAdapterServer.SignAndSendTransactionsRequest request) {
+            events.add("signAndSendTransactions");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.scenario;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.solana.mobilewalletadapter.common.protocol.SessionProperties;
+import com.solana.mobilewalletadapter.walletlib.authorization.AuthIssuerConfig;
+import com.solana.mobilewalletadapter.walletlib.protocol.MobileWalletAdapterConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RunWith(RobolectricTestRunner.class)
+public class BaseScenarioTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedIoHandlerRunsOnIoExecutor() throws Exception {
+        // given
+        final BaseScenario scenario = createScenario();
+        final CountDownLatch executorBlocked = new CountDownLatch(1);
+        final CountDownLatch unblockExecutor = new CountDownLatch(1);
+        final CountDownLatch handlerTaskRan = new CountDownLatch(1);
+        final List<Looper> handlerTaskLooper = new ArrayList<>();
+        scenario.mIoExecutor.execute(() -> {
+            executorBlocked.countDown();
+            try {
+                unblockExecutor.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignored) {}
+        });
+        assertTrue(executorBlocked.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // when
+        scenario.mIoHandler.post(() -> {
+            handlerTaskLooper.add(Looper.myLooper());
+            handlerTaskRan.countDown();
+        });
+        final boolean ranWhileExecutorBusy = handlerTaskRan.await(100, TimeUnit.MILLISECONDS);
+        unblockExecutor.countDown();
+
+        // then
+        assertFalse(ranWhileExecutorBusy);
+        assertTrue(handlerTaskRan.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertNull(handlerTaskLooper.get(0));
+        scenario.close();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testQuittingIoLooperDoesNotStopIoHandlerOfOtherScenarios() throws Exception {
+        // given
+        final BaseScenario quitting = createScenario();
+        final BaseScenario other = createScenario();
+        final CountDownLatch handlerTaskRan = new CountDownLatch(1);
+
+        // when
+        quitting.mIoLooper.quitSafely();
+        quitting.close();
+        final boolean posted = other.mIoHandler.post(handlerTaskRan::countDown);
+
+        // then
+        assertTrue(posted);
+        assertTrue(handlerTaskRan.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        other.close();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testQuittingIoHandlerLooperDoesNotStopIoHandlerOfOtherScenarios() throws Exception {
+        // given
+        final BaseScenario quitting = createScenario();
+        final BaseScenario other = createScenario();
+        final CountDownLatch handlerTasksRan = new CountDownLatch(2);
+
+        // when
+        quitting.mIoHandler.getLooper().quitSafely();
+        quitting.close();
+        final boolean posted = other.mIoHandler.post(handlerTasksRan::countDown);
+        final boolean postedDelayed = other.mIoHandler.postDelayed(handlerTasksRan::countDown, 10);
+
+        // then
+        assertTrue(posted);
+        assertTrue(postedDelayed);
+        assertTrue(handlerTasksRan.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        other.close();
+    }
+
+    @Test
+    public void testManyScenariosShareABoundedNumberOfThreads() throws Exception {
+        // given
+        final int scenarioCount = 100;
+        final Set<String> ioThreads = Collections.synchronizedSet(new HashSet<>());
+        final AtomicBoolean looperFound = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(scenarioCount);
+        final List<BaseScenario> scenarios = new ArrayList<>();
+
+        final Set<String> threadsBeforeCreation = scenarioThreadNames();
+
+        // when
+        for (int i = 0; i < scenarioCount; i++) {
+            scenarios.add(createScenario());
+        }
+        final Set<String> threadsStartedByCreation = scenarioThreadNames();
+        threadsStartedByCreation.removeAll(threadsBeforeCreation);
+        for (BaseScenario scenario : scenarios) {
+            scenario.mIoExecutor.execute(() -> {
+                ioThreads.add(Thread.currentThread().getName());
+                if (Looper.myLooper() != null) {
+                    looperFound.set(true);
+                }
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ignored) {}
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        final Set<String> threadsWhileServing = scenarioThreadNames();
+
+        // then
+        // N.B. at most two (shared) threads are started by creating scenarios: the legacy IO and
+        // dispatch Loopers
+        assertTrue(threadsStartedByCreation.toString(), threadsStartedByCreation.size() <= 2);
+        assertTrue(ioThreads.toString(), ioThreads.size() <= 4);
+        assertTrue(threadsWhileServing.toString(), threadsWhileServing.size() <= 6);
+        assertFalse(looperFound.get());
+        for (BaseScenario scenario : scenarios) {
+            scenario.close();
+        }
+    }
+
+    @NonNull
+    private static BaseScenario createScenario() {
+        return new LocalWebSocketServerScenario(ApplicationProvider.getApplicationContext(),
+                new MobileWalletAdapterConfig(1, 1, new Object[] { "legacy" }, 0,
+                        new String[] {}),
+                new AuthIssuerConfig("Test"),
+                new NoOpCallbacks(),
+                new byte[0], 1, () -> false, List.of(SessionProperties.ProtocolVersion.LEGACY),
+                () -> null);
+    }
+
+    // Names of the live threads started for scenarios (by BaseScenario, and shared between them)
+    @NonNull
+    private static Set<String> scenarioThreadNames() {
+        final Set<String> names = new HashSet<>();
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().startsWith(BaseScenario.class.getSimpleName())) {
+                names.add(t.getName());
+            }
+        }
+        return names;
+    }
+
+    private static class NoOpCallbacks implements LocalScenario.Callbacks {
+        @Override public void onScenarioReady() {}
+        @Override public void onScenarioServingClients() {}
+        @Override public void onScenarioServingComplete() {}
+        @Override public void onScenarioComplete() {}
+        @Override public void onScenarioError() {}
+        @Override public void onScenarioTeardownComplete() {}
+        @Override public void onAuthorizeRequest(@NonNull AuthorizeRequest request) {}
+        @Override public void onReauthorizeRequest(@NonNull ReauthorizeRequest request) {}
+        @Override public void onSignTransactionsRequest(@NonNull SignTransactionsRequest request) {}
+        @Override public void onSignMessagesRequest(@NonNull SignMessagesRequest request) {}
+        @Override public void onSignAndSendTransactionsRequest(@NonNull SignAndSendTransactionsRequest request) {}
+        @Override public void onDeauthorizedEvent(@NonNull DeauthorizedEvent event) {}
+        @Override public void onLowPowerAndNoConnection() {}
+    }
+}
@@ -0,0 +1,69 @@
+package com.solana.mobilewalletadapter.walletlib.scenario;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class DefaultWalletIconProviderTest {
+
+    @Test
+    public void testWalletIconIsCompactDataUri() {
+        // given
+        Context context = ApplicationProvider.getApplicationContext();
+        DefaultWalletIconProvider iconProvider = new DefaultWalletIconProvider(context);
+
+        // when
+        Uri walletIcon = iconProvider.getWalletIconDataUri();
+
+        // then
+        assertNotNull(walletIcon);
+        assertEquals("data", walletIcon.getScheme());
+        assertFalse(walletIcon.toString().contains("\n"));
+    }
+
+    @Test
+    public void testWalletIconIsSharedBetweenProviders() {
+        // given
+        Context context = ApplicationProvider.getApplicationContext();
+        DefaultWalletIconProvider.prefetch(context);
+
+        // when
+        Uri walletIcon1 = new DefaultWalletIconProvider(context).getWalletIconDataUri();
+        Uri walletIcon2 = new DefaultWalletIconProvider(context).getWalletIconDataUri();
+
+        // then
+        assertSame(walletIcon1, walletIcon2);
+    }
+
+    @Test
+    public void testWalletIconIsEncodedPerMaxDimension() {
+        // given
+        Context context = ApplicationProvider.getApplicationContext();
+
+        // when
+        Uri walletIcon1 = new DefaultWalletIconProvider(context, 16).getWalletIconDataUri();
+        Uri walletIcon2 = new DefaultWalletIconProvider(context, 32).getWalletIconDataUri();
+
+        // then
+        assertNotNull(walletIcon1);
+        assertNotNull(walletIcon2);
+        assertNotSame(walletIcon1, walletIcon2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxDimensionIsRejected() {
+        // given
+        Context context = ApplicationProvider.getApplicationContext();
+
+        // when
+        new DefaultWalletIconProvider(context, 0);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.transport.nostr;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.util.Base64;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Random;
+
+@RunWith(RobolectricTestRunner.class)
+public class NostrRelayMessageTest {
+    private static final byte[] PRIVATE_KEY = NostrCrypto.generatePrivateKey();
+    private static final String PUBKEY =
+            NostrCrypto.bytesToHex(NostrCrypto.getXOnlyPublicKey(PRIVATE_KEY));
+    private static final String[][] TAGS = new String[][] {
+            { "d", "session" },
+            { "p", PUBKEY }
+    };
+
+    @Test
+    public void testPeekTypeReadsOnlyFirstElement() throws JSONException {
+        // when
+        String event = NostrRelayMessage.peekType("[\"EVENT\",\"sub\",{\"id\":");
+        String eose = NostrRelayMessage.peekType(" [ \"EOSE\" , \"sub\"]");
+
+        // then
+        assertEquals("EVENT", event);
+        assertEquals("EOSE", eose);
+    }
+
+    @Test
+    public void testBuiltEventIsReadBack() throws JSONException {
+        // given
+        byte[] payload = randomBytes(1, 2048);
+        String message = NostrRelayMessage.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                Base64.encode(payload, Base64.NO_WRAP), TAGS);
+
+        // when
+        NostrRelayMessage.Event event = NostrRelayMessage.readEvent(withSubscriptionId(message));
+
+        // then
+        assertEquals(PUBKEY, event.pubkey);
+        assertEquals(NostrCrypto.NOSTR_EVENT_KIND_MWA, event.kind);
+        assertEquals(2, event.tags.length);
+        assertArrayEquals(TAGS[1], event.tags[1]);
+        assertTrue(event.verify());
+        assertArrayEquals(payload, event.decodeContent());
+    }
+
+    @Test
+    public void testBuiltEventIsVerifiedByJsonParser() throws JSONException {
+        // given
+        byte[] payload = randomBytes(2, 512);
+        String message = NostrRelayMessage.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                Base64.encode(payload, Base64.NO_WRAP), TAGS);
+
+        // when
+        JSONArray msg = new JSONArray(message);
+        JSONObject event = msg.getJSONObject(1);
+
+        // then
+        assertEquals("EVENT", msg.getString(0));
+        assertTrue(NostrCrypto.verifyEvent(event));
+        assertArrayEquals(payload, Base64.decode(event.getString("content"), Base64.DEFAULT));
+    }
+
+    @Test
+    public void testJsonEventIsReadAndVerified() throws JSONException {
+        // given
+        byte[] payload = randomBytes(3, 300);
+        JSONObject jsonEvent = NostrCrypto.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                Base64.encodeToString(payload, Base64.NO_WRAP), TAGS);
+        String message = new JSONArray().put("EVENT").put("sub").put(jsonEvent).toString();
+
+        // when
+        NostrRelayMessage.Event event = NostrRelayMessage.readEvent(message);
+
+        // then
+        assertEquals(jsonEvent.getString("id"), event.id);
+        assertEquals(jsonEvent.getString("sig"), event.sig);
+        assertEquals(jsonEvent.getLong("created_at"), event.createdAt);
+        assertTrue(event.verify());
+        assertArrayEquals(payload, event.decodeContent());
+    }
+
+    @Test
+    public void testEscapedContentIsReadAndVerified() throws JSONException {
+        // given
+        String content = "a/b\"c\\d\ne\u00e9\u2603";
+        JSONObject jsonEvent = NostrCrypto.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                content, TAGS);
+        String message = "[\"EVENT\",\"sub\"," + jsonEvent.toString().replace("/", "\\/") + "]";
+
+        // when
+        NostrRelayMessage.Event event = NostrRelayMessage.readEvent(message);
+
+        // then
+        assertFalse(event.isContentEmpty());
+        assertTrue(event.verify());
+    }
+
+    @Test
+    public void testTamperedContentFailsVerification() throws JSONException {
+        // given
+        String message = NostrRelayMessage.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                Base64.encode(randomBytes(4, 64), Base64.NO_WRAP), TAGS);
+        int contentStart = message.indexOf("\"content\":\"") + 11;
+        char replacement = (message.charAt(contentStart) == 'A') ? 'B' : 'A';
+        String tampered = message.substring(0, contentStart) + replacement
+                + message.substring(contentStart + 1);
+
+        // when
+        NostrRelayMessage.Event event = NostrRelayMessage.readEvent(withSubscriptionId(tampered));
+
+        // then
+        assertFalse(event.verify());
+    }
+
+    @Test
+    public void testUnknownFieldsAreSkipped() throws JSONException {
+        // given
+        JSONObject jsonEvent = NostrCrypto.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                "", TAGS);
+        jsonEvent.put("extra", new JSONObject()
+                .put("a", new JSONArray().put(1.5e3).put(true).put(JSONObject.NULL).put("x]}"))
+                .put("b", -7));
+        String message = new JSONArray().put("EVENT").put("sub").put(jsonEvent).toString();
+
+        // when
+        NostrRelayMessage.Event event = NostrRelayMessage.readEvent(message);
+
+        // then
+        assertTrue(event.isContentEmpty());
+        assertTrue(event.verify());
+    }
+
+    @Test
+    public void testGetTagValuesReturnsLastMatchingTag() throws JSONException {
+        // given
+        String message = NostrRelayMessage.buildEvent(PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA,
+                new byte[0], new String[][] { { "msg", "A" }, { "msg", "SESSION_END", "x" } });
+
+        // when
+        NostrRelayMessage.Event event = NostrRelayMessage.readEvent(withSubscriptionId(message));
+
+        // then
+        assertArrayEquals(new String[] { "SESSION_END", "x" }, event.getTagValues("msg"));
+        assertNull(event.getTagValues("d"));
+    }
+
+    @Test
+    public void testMalformedMessagesAreRejected() {
+        String[] messages = new String[] {
+                "",
+                "[\"OK\",\"sub\",{}]",
+                "[\"EVENT\",\"sub\",{\"id\":\"00\"}]",
+                "[\"EVENT\",\"sub\",{\"id\":\"00\",\"content\":\"abc",
+                "[\"EVENT\",\"sub\",{\"id\":\"\\q\"}]",
+                "[\"EVENT\",\"sub\",{}] trailing",
+        };
+        for (String message : messages) {
+            assertThrows(message, JSONException.class, () -> NostrRelayMessage.readEvent(message));
+        }
+    }
+
+    @Test
+    public void testBuildEventRejectsContentRequiringEscaping() {
+        assertThrows(IllegalArgumentException.class, () -> NostrRelayMessage.buildEvent(
+                PRIVATE_KEY, NostrCrypto.NOSTR_EVENT_KIND_MWA, new byte[] { 'a', '"' }, TAGS));
+    }
+
+    private static String withSubscriptionId(String clientEventMessage) {
+        return "[\"EVENT\",\"sub\"," + clientEventMessage.substring("[\"EVENT\",".length());
+    }
+
+    private static byte[] randomBytes(long seed, int length) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
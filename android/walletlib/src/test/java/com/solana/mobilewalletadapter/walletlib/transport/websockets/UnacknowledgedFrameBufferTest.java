@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.transport.websockets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class UnacknowledgedFrameBufferTest {
+
+    @Test
+    public void testUnacknowledgedFramesAreReturnedInOrder() {
+        // given
+        UnacknowledgedFrameBuffer buffer = new UnacknowledgedFrameBuffer(1024);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(new byte[] { (byte) i });
+        }
+
+        // when
+        List<byte[]> unacknowledged = buffer.acknowledge(2);
+
+        // then
+        assertEquals(3, unacknowledged.size());
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(new byte[] { (byte) (i + 2) }, unacknowledged.get(i));
+        }
+        assertEquals(5, buffer.getFramesSent());
+    }
+
+    @Test
+    public void testAcknowledgedFramesAreDiscarded() {
+        // given
+        UnacknowledgedFrameBuffer buffer = new UnacknowledgedFrameBuffer(1024);
+        buffer.add(new byte[] { 0 });
+        buffer.add(new byte[] { 1 });
+        buffer.acknowledge(1);
+
+        // when
+        buffer.add(new byte[] { 2 });
+        List<byte[]> unacknowledged = buffer.acknowledge(1);
+
+        // then
+        assertEquals(2, unacknowledged.size());
+        assertNull(buffer.acknowledge(0));
+    }
+
+    @Test
+    public void testAllFramesAcknowledged() {
+        // given
+        UnacknowledgedFrameBuffer buffer = new UnacknowledgedFrameBuffer(1024);
+        buffer.add(new byte[10]);
+        buffer.add(new byte[10]);
+
+        // when
+        List<byte[]> unacknowledged = buffer.acknowledge(2);
+
+        // then
+        assertEquals(0, unacknowledged.size());
+    }
+
+    @Test
+    public void testAcknowledgingUnsentFramesFails() {
+        // given
+        UnacknowledgedFrameBuffer buffer = new UnacknowledgedFrameBuffer(1024);
+        buffer.add(new byte[10]);
+
+        // when
+        List<byte[]> unacknowledged = buffer.acknowledge(2);
+
+        // then
+        assertNull(unacknowledged);
+    }
+
+    @Test
+    public void testOldestFramesAreDiscardedWhenFull() {
+        // given
+        UnacknowledgedFrameBuffer buffer = new UnacknowledgedFrameBuffer(100);
+        for (int i = 0; i < 4; i++) {
+            buffer.add(new byte[40]);
+        }
+
+        // when
+        List<byte[]> resumeAfterDiscarded = buffer.acknowledge(1);
+        List<byte[]> resumeAfterRetained = buffer.acknowledge(2);
+
+        // then
+        assertNull(resumeAfterDiscarded);
+        assertEquals(2, resumeAfterRetained.size());
+        assertEquals(4, buffer.getFramesSent());
+    }
+
+    @Test
+    public void testFrameLargerThanBufferIsRetained() {
+        // given
+        UnacknowledgedFrameBuffer buffer = new UnacknowledgedFrameBuffer(100);
+        buffer.add(new byte[10]);
+
+        // when
+        buffer.add(new byte[200]);
+
+        // then
+        assertNull(buffer.acknowledge(0));
+        assertEquals(1, buffer.acknowledge(1).size());
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.transport.websockets.server;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.java_websocket.SocketChannelIOHelper;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketAdapter;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.handshake.Handshakedata;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// N.B. these tests pin down the Java-WebSocket internals that LocalWebSocketServer's send queue
+// depends on: frames are queued in WebSocketImpl.outQueue, and SocketChannelIOHelper.batch writes
+// them to the channel one at a time, dequeuing each once it has no bytes remaining.
+@RunWith(RobolectricTestRunner.class)
+public class LocalWebSocketServerTest {
+
+    private static final String CLIENT_HANDSHAKE =
+            "GET / HTTP/1.1\r\n" +
+            "Host: localhost\r\n" +
+            "Upgrade: websocket\r\n" +
+            "Connection: Upgrade\r\n" +
+            "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+            "Sec-WebSocket-Version: 13\r\n" +
+            "\r\n";
+
+    private TestListener mListener;
+    private LocalWebSocketServer.MobileWalletAdapterWebSocket mWebSocket;
+    private FakeChannel mChannel;
+    private LocalWebSocketServer.CoalescingByteChannel<FakeChannel> mCoalescingChannel;
+
+    @Before
+    public void setUp() {
+        mListener = new TestListener();
+        mWebSocket = new LocalWebSocketServer.MobileWalletAdapterWebSocket(mListener,
+                Collections.singletonList(new Draft_6455()));
+        mWebSocket.decode(ByteBuffer.wrap(CLIENT_HANDSHAKE.getBytes(StandardCharsets.US_ASCII)));
+        assertTrue(mWebSocket.isOpen());
+        mWebSocket.outQueue.clear(); // discard the handshake response
+        mChannel = new FakeChannel();
+        mCoalescingChannel = new LocalWebSocketServer.CoalescingByteChannel<>(mChannel, mWebSocket);
+    }
+
+    @Test
+    public void testSmallFramesAreCoalescedIntoOneWrite() throws IOException {
+        // given
+        for (int i = 0; i < 3; i++) {
+            mWebSocket.send(payload(100, i));
+        }
+        final byte[] expected = queuedBytes();
+
+        // when
+        final boolean drained = SocketChannelIOHelper.batch(mWebSocket, mCoalescingChannel);
+
+        // then
+        assertTrue(drained);
+        assertTrue(mWebSocket.outQueue.isEmpty());
+        assertEquals(1, mChannel.writes);
+        assertArrayEquals(expected, mChannel.written.toByteArray());
+        final LocalWebSocketServer.SendQueueMetrics metrics = mWebSocket.getSendQueueMetrics();
+        assertEquals(3, metrics.framesWritten);
+        assertEquals(1, metrics.writes);
+    }
+
+    @Test
+    public void testLargeFramesAreWrittenSeparately() throws IOException {
+        // given
+        mWebSocket.send(payload(10000, 1));
+        mWebSocket.send(payload(10000, 2));
+        final byte[] expected = queuedBytes();
+
+        // when
+        final boolean drained = SocketChannelIOHelper.batch(mWebSocket, mCoalescingChannel);
+
+        // then
+        assertTrue(drained);
+        assertEquals(2, mChannel.writes);
+        assertArrayEquals(expected, mChannel.written.toByteArray());
+    }
+
+    @Test
+    public void testPartiallyWrittenFramesAreResumedInOrder() throws IOException {
+        // given
+        mChannel.maxBytesPerWrite = 150;
+        for (int i = 0; i < 3; i++) {
+            mWebSocket.send(payload(100, i));
+        }
+        final byte[] expected = queuedBytes();
+
+        // when
+        final boolean drained = SocketChannelIOHelper.batch(mWebSocket, mCoalescingChannel);
+
+        // then
+        assertTrue(drained);
+        assertTrue(mWebSocket.outQueue.isEmpty());
+        assertEquals(3, mChannel.writes);
+        assertArrayEquals(expected, mChannel.written.toByteArray());
+        assertEquals(3, mWebSocket.getSendQueueMetrics().framesWritten);
+    }
+
+    @Test
+    public void testSendWhileQueueIsDrainingNeitherBlocksNorCloses() {
+        // given
+        fillSendQueue();
+
+        // when
+        mWebSocket.send(payload(100, 0));
+
+        // then
+        assertTrue(mWebSocket.isOpen());
+        assertTrue(mWebSocket.getSendQueueMetrics().queuedBytes >
+                LocalWebSocketServer.MAX_QUEUED_SEND_BYTES);
+    }
+
+    @Test
+    public void testSendToStalledQueueClosesConnection() {
+        // given
+        mWebSocket.mSendStallTimeoutNs = 0;
+        fillSendQueue();
+        final int queuedFrames = mWebSocket.getSendQueueMetrics().queuedFrames;
+
+        // when
+        mWebSocket.send(payload(100, 0));
+
+        // then
+        assertTrue(mWebSocket.isClosing());
+        assertEquals(CloseFrame.TRY_AGAIN_LATER, mListener.closeCode);
+        assertEquals(queuedFrames + 1, mWebSocket.getSendQueueMetrics().queuedFrames); // close frame only
+    }
+
+    private void fillSendQueue() {
+        while (mWebSocket.getSendQueueMetrics().queuedBytes <= LocalWebSocketServer.MAX_QUEUED_SEND_BYTES) {
+            mWebSocket.send(payload(64 * 1024, 0));
+        }
+    }
+
+    @NonNull
+    private byte[] queuedBytes() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buf : mWebSocket.outQueue) {
+            final ByteBuffer dup = buf.duplicate();
+            final byte[] bytes = new byte[dup.remaining()];
+            dup.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    @NonNull
+    private static byte[] payload(int length, int fill) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (fill + i);
+        }
+        return bytes;
+    }
+
+    private static class FakeChannel implements ByteChannel, GatheringByteChannel {
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        int maxBytesPerWrite = Integer.MAX_VALUE;
+        int writes;
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            writes++;
+            long count = 0;
+            for (int i = offset; i < offset + length && count < maxBytesPerWrite; i++) {
+                final ByteBuffer src = srcs[i];
+                final int n = (int) Math.min(src.remaining(), maxBytesPerWrite - count);
+                final byte[] bytes = new byte[n];
+                src.get(bytes);
+                written.write(bytes, 0, n);
+                count += n;
+            }
+            return count;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[] { src });
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            return 0;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static class TestListener extends WebSocketAdapter {
+        final List<String> messages = new ArrayList<>();
+        int closeCode;
+
+        @Override public void onWebsocketMessage(WebSocket conn, String message) { messages.add(message); }
+        @Override public void onWebsocketMessage(WebSocket conn, ByteBuffer blob) {}
+        @Override public void onWebsocketOpen(WebSocket conn, Handshakedata d) {}
+        @Override public void onWebsocketClose(WebSocket ws, int code, String reason, boolean remote) {}
+        @Override public void onWebsocketClosing(WebSocket ws, int code, String reason, boolean remote) {}
+        @Override public void onWebsocketCloseInitiated(WebSocket ws, int code, String reason) { closeCode = code; }
+        @Override public void onWebsocketError(WebSocket conn, Exception ex) {}
+        @Override public void onWriteDemand(WebSocket conn) {}
+        @Override public InetSocketAddress getLocalSocketAddress(WebSocket conn) { return null; }
+        @Override public InetSocketAddress getRemoteSocketAddress(WebSocket conn) { return null; }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Solana Mobile Inc.
+ */
+
+package com.solana.mobilewalletadapter.walletlib.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SerialExecutorTest {
+
+    private ExecutorService mPool;
+
+    @Before
+    public void setUp() {
+        mPool = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        mPool.shutdownNow();
+    }
+
+    @Test
+    public void testTasksRunInOrderOneAtATime() throws Exception {
+        // given
+        final SerialExecutor executor = new SerialExecutor(mPool);
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1000);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            final int task = i;
+            executor.execute(() -> {
+                if (!running.compareAndSet(false, true)) {
+                    overlapped.set(true);
+                }
+                order.add(task);
+                running.set(false);
+                done.countDown();
+            });
+        }
+
+        // then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    @Test
+    public void testQueuesShareExecutorConcurrently() throws Exception {
+        // given
+        final SerialExecutor first = new SerialExecutor(mPool);
+        final SerialExecutor second = new SerialExecutor(mPool);
+        final CountDownLatch secondRan = new CountDownLatch(1);
+        final CountDownLatch firstDone = new CountDownLatch(1);
+
+        // when
+        first.execute(() -> {
+            try {
+                // Blocks the first queue until the second has made progress
+                if (secondRan.await(10, TimeUnit.SECONDS)) {
+                    firstDone.countDown();
+                }
+            } catch (InterruptedException ignored) {}
+        });
+        second.execute(secondRan::countDown);
+
+        // then
+        assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedTaskDoesNotStallQueue() throws Exception {
+        // given
+        final SerialExecutor executor = new SerialExecutor(mPool);
+        final CountDownLatch ran = new CountDownLatch(1);
+
+        // when
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(ran::countDown);
+
+        // then
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -13,6 +13,7 @@ import com.solana.mobilewalletadapter.clientlib.protocol.MobileWalletAdapterClie
 import com.solana.mobilewalletadapter.clientlib.scenario.LocalAssociationIntentCreator
 import com.solana.mobilewalletadapter.clientlib.scenario.LocalAssociationScenario
 import com.solana.mobilewalletadapter.common.protocol.SessionProperties.ProtocolVersion
+import com.solana.mobilewalletadapter.common.util.NotifyOnCompleteFuture
 import com.solanamobile.mobilewalletadapter.reactnative.JSONSerializationUtils.convertJsonToMap
 import com.solanamobile.mobilewalletadapter.reactnative.JSONSerializationUtils.convertMapToJson
 import java.util.concurrent.ExecutionException
@@ -20,7 +21,10 @@ import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 import kotlinx.coroutines.*
 import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import org.json.JSONObject
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
 
 class SolanaMobileWalletAdapterModule(reactContext: ReactApplicationContext) :
     SolanaMobileWalletAdapterSpec(reactContext), CoroutineScope {
@@ -28,6 +32,8 @@ class SolanaMobileWalletAdapterModule(reactContext: ReactApplicationContext) :
     data class SessionState(
         val client: MobileWalletAdapterClient,
         val localAssociation: LocalAssociationScenario,
+        // The client allows a single outstanding method call; calls wait here, in invoke order
+        val methodCallMutex: Mutex = Mutex(),
     )
 
     override val coroutineContext =
@@ -171,30 +177,38 @@ class SolanaMobileWalletAdapterModule(reactContext: ReactApplicationContext) :
         }
     }
 
+    // Returns without waiting for the method call to complete; the promise is settled when the
+    // wallet responds. Params are converted on the calling thread, and the coroutine is started
+    // undispatched so that concurrent invocations queue for the client in the order they were made.
     @ReactMethod
     override fun invoke(method: String, params: ReadableMap?, promise: Promise): Unit =
         sessionState?.let {
             Log.d(TAG, "invoke `$method` with params $params")
-            try {
-                val result = it.client
-                    .methodCall(method, convertMapToJson(params), CLIENT_TIMEOUT_MS)
-                    .get() as JSONObject
-                promise.resolve(convertJsonToMap(result))
-            } catch (e: ExecutionException) {
-                val cause = e.cause
-                if (cause is JsonRpc20Client.JsonRpc20RemoteException) {
-                    val userInfo = Arguments.createMap()
-                    userInfo.putInt("jsonRpcErrorCode", cause.code)
-                    promise.reject("JSON_RPC_ERROR", cause, userInfo)
-                } else if (cause is TimeoutException) {
-                    promise.reject("Timed out waiting for response", e)
-                } else {
-                    throw e
+            launch(start = CoroutineStart.UNDISPATCHED) {
+                try {
+                    val jsonParams = convertMapToJson(params)
+                    val result = it.methodCallMutex.withLock {
+                        it.client.methodCall(method, jsonParams, CLIENT_TIMEOUT_MS).await()
+                    } as JSONObject
+                    promise.resolve(convertJsonToMap(result))
+                } catch (e: ExecutionException) {
+                    val cause = e.cause
+                    if (cause is JsonRpc20Client.JsonRpc20RemoteException) {
+                        val userInfo = Arguments.createMap()
+                        userInfo.putInt("jsonRpcErrorCode", cause.code)
+                        promise.reject("JSON_RPC_ERROR", cause, userInfo)
+                    } else if (cause is TimeoutException) {
+                        promise.reject("Timed out waiting for response", e)
+                    } else {
+                        Log.e(TAG, "Failed to invoke `$method` with params $params", e)
+                        promise.reject(e)
+                    }
+                } catch (e: Throwable) {
+                    Log.e(TAG, "Failed to invoke `$method` with params $params", e)
+                    promise.reject(e)
                 }
-            } catch (e: Throwable) {
-                Log.e(TAG, "Failed to invoke `$method` with params $params", e)
-                promise.reject(e)
             }
+            Unit
         } ?: throw NullPointerException(
             "Tried to invoke `$method` without an active session"
         )
@@ -223,6 +237,20 @@ class SolanaMobileWalletAdapterModule(reactContext: ReactApplicationContext) :
         } ?: throw NullPointerException("Tried to end a session without an active session")
     }
 
+    // Suspends until this future completes, without blocking a thread. Failures are rethrown as the
+    // ExecutionException that get() would have thrown.
+    private suspend fun <T> NotifyOnCompleteFuture<T>.await(): T =
+        suspendCancellableCoroutine { continuation ->
+            continuation.invokeOnCancellation { cancel(true) }
+            notifyOnComplete { future ->
+                try {
+                    continuation.resume(future.get())
+                } catch (e: Throwable) {
+                    continuation.resumeWithException(e)
+                }
+            }
+        }
+
     private fun cleanup() {
         sessionState = null
         associationResultCallback = null
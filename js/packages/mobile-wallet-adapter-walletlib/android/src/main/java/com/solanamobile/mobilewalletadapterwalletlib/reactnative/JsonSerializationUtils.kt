@@ -13,20 +13,23 @@ import com.solanamobile.mobilewalletadapterwalletlib.reactnative.model.SignedAnd
 import com.solanamobile.mobilewalletadapterwalletlib.reactnative.model.SignedPayloads
 import kotlinx.serialization.DeserializationStrategy
 import kotlinx.serialization.KSerializer
+import kotlinx.serialization.SerializationException
 import kotlinx.serialization.builtins.ByteArraySerializer
 import kotlinx.serialization.builtins.ListSerializer
-import kotlinx.serialization.builtins.MapSerializer
-import kotlinx.serialization.builtins.serializer
 import kotlinx.serialization.descriptors.SerialDescriptor
 import kotlinx.serialization.encoding.Decoder
 import kotlinx.serialization.encoding.Encoder
 import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonArray
 import kotlinx.serialization.json.JsonContentPolymorphicSerializer
+import kotlinx.serialization.json.JsonDecoder
 import kotlinx.serialization.json.JsonElement
 import kotlinx.serialization.json.JsonNull
+import kotlinx.serialization.json.JsonPrimitive
 import kotlinx.serialization.json.JsonObject
 import kotlinx.serialization.json.JsonTransformingSerializer
 import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.int
 import kotlinx.serialization.json.jsonObject
 import kotlinx.serialization.json.jsonPrimitive
 import kotlinx.serialization.json.put
@@ -94,19 +97,31 @@ internal object MobileWalletAdapterResponseSerializer : JsonContentPolymorphicSe
 
 internal object MobileWalletAdapterRequestSerializer : TypeTransformingSerializer<MobileWalletAdapterRequest>(AppIdentityTransformingSerializer)
 
+// Decodes bytes sent from JS in any of the encodings it may use: a Base64 string (the compact
+// encoding, used when the native module advertises BYTES_ENCODING_BASE64), a Uint8Array as
+// serialized by JSON.stringify (an object of index -> byte value), or an array of byte values.
+// Bytes are always encoded as an array of byte values.
 internal object ByteArrayAsMapSerializer : KSerializer<ByteArray> {
     override val descriptor: SerialDescriptor = ByteArraySerializer().descriptor
 
-    override fun deserialize(decoder: Decoder): ByteArray =
-        try {
-            decoder.decodeSerializableValue(MapSerializer(String.serializer(), Int.serializer())).values.map { it.toByte() }.toByteArray()
-        } catch (e: Exception) {
-            decoder.decodeSerializableValue(ByteArraySerializer())
+    override fun deserialize(decoder: Decoder): ByteArray {
+        if (decoder !is JsonDecoder) {
+            return decoder.decodeSerializableValue(ByteArraySerializer())
+        }
+        return when (val element = decoder.decodeJsonElement()) {
+            is JsonPrimitive ->
+                if (element.isString) Base64.decode(element.content, Base64.DEFAULT)
+                else throw SerializationException("Expected bytes, found $element")
+            is JsonArray -> ByteArray(element.size) { i -> element[i].jsonPrimitive.int.toByte() }
+            is JsonObject -> ByteArray(element.size) { i ->
+                (element[i.toString()] ?: throw SerializationException("Missing byte at index $i"))
+                    .jsonPrimitive.int.toByte()
+            }
         }
-
-    override fun serialize(encoder: Encoder, value: ByteArray) {
-        TODO("Not yet implemented")
     }
+
+    override fun serialize(encoder: Encoder, value: ByteArray) =
+        encoder.encodeSerializableValue(ByteArraySerializer(), value)
 }
 
 object ByteArrayCollectionAsMapCollectionSerializer : KSerializer<List<ByteArray>> {
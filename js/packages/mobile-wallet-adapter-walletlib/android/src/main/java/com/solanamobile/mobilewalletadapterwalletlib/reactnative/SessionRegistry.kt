@@ -0,0 +1,54 @@
+package com.solanamobile.mobilewalletadapterwalletlib.reactnative
+
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+
+// Registry of the active sessions (one per scenario), each with its own table of requests awaiting
+// a response from JS. Requests are registered from scenario callback threads and resolved from
+// coroutines; both are lock-free lookups in concurrent maps. Only adding a session is serialized,
+// so that at most one session exists per association.
+internal class SessionRegistry<S : Any, R : Any> {
+
+    class Session<S : Any, R : Any>(val id: String, val associationKey: String, val scenario: S) {
+        private val pendingRequests = ConcurrentHashMap<String, R>()
+
+        val pendingRequestCount: Int get() = pendingRequests.size
+
+        fun addRequest(requestId: String, request: R) {
+            pendingRequests[requestId] = request
+        }
+
+        // Each request can be taken once, so a request resolved concurrently (e.g. by resolve and
+        // cancelRequest) is completed at most once
+        fun takeRequest(requestId: String): R? = pendingRequests.remove(requestId)
+
+        fun clearRequests() = pendingRequests.clear()
+    }
+
+    private val sessions = ConcurrentHashMap<String, Session<S, R>>()
+
+    val size: Int get() = sessions.size
+
+    operator fun get(sessionId: String): Session<S, R>? = sessions[sessionId]
+
+    // Creates a session for the association identified by associationKey, or returns null if one
+    // already exists. createScenario receives the new session's id.
+    @Synchronized
+    fun add(associationKey: String, createScenario: (sessionId: String) -> S): Session<S, R>? {
+        if (sessions.values.any { it.associationKey == associationKey }) {
+            return null
+        }
+        val sessionId = UUID.randomUUID().toString()
+        return Session<S, R>(sessionId, associationKey, createScenario(sessionId)).also {
+            sessions[sessionId] = it
+        }
+    }
+
+    fun remove(sessionId: String): Session<S, R>? =
+        sessions.remove(sessionId)?.also { it.clearRequests() }
+
+    // Removes the session and closes its scenario. A session may be ended by several scenario
+    // callbacks (e.g. an error followed by teardown); only the first closes the scenario.
+    fun end(sessionId: String, closeScenario: (S) -> Unit): Session<S, R>? =
+        remove(sessionId)?.also { closeScenario(it.scenario) }
+}
@@ -6,7 +6,6 @@ import com.facebook.react.bridge.*
 import com.facebook.react.modules.core.DeviceEventManagerModule
 import com.solana.mobilewalletadapter.common.ProtocolContract
 import com.solana.mobilewalletadapter.walletlib.association.AssociationUri
-import com.solana.mobilewalletadapter.walletlib.association.LocalAssociationUri
 import com.solana.mobilewalletadapter.walletlib.authorization.AuthIssuerConfig
 import com.solana.mobilewalletadapter.walletlib.scenario.*
 import com.solana.mobilewalletadapter.walletlib.scenario.AuthorizedAccount
@@ -34,6 +33,10 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
     // ReactNative.NativeModules.SolanaMobileWalletAdapterWalletLib
     override fun getName() = "SolanaMobileWalletAdapterWalletLib"
 
+    // Advertises the byte encodings which resolve() accepts, so that JS can send payloads compactly
+    override fun getConstants(): Map<String, Any> =
+        mapOf(BYTES_ENCODING_CONSTANT to BYTES_ENCODING_BASE64)
+
     override val coroutineContext =
         Dispatchers.IO + CoroutineName("SolanaMobileWalletAdapterWalletLibModuleScope") + SupervisorJob()
 
@@ -100,24 +103,9 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
         ) : MobileWalletAdapterRemoteRequest(request)
     }
 
-    // currently we only allow a single scenario to exist at a time
-    private var scenarioId: String? = null
-    private var scenarioUri: Uri? = null
-    private var scenario: Scenario? = null
-        set(value) {
-            value?.let { scenarioId = UUID.randomUUID().toString() }
-                ?: run {
-                    scenarioUri = null
-                    scenarioId = null
-                    scenario?.close()
-                }
-            pendingRequests.clear()
-            field = value
-        }
-
-    // very basic/naive implememtion of request cache.
-    // we could replace this with an abstraction that has expiration, persistance, etc.
-    private val pendingRequests = mutableMapOf<String, MobileWalletAdapterRemoteRequest>()
+    // Active sessions, keyed by session id, each with the requests it has pending with JS. A
+    // session may exist for each association (e.g. a local and a remote association at once).
+    private val sessions = SessionRegistry<Scenario, MobileWalletAdapterRemoteRequest>()
 
     private fun clusterToRpcUri(cluster: String?): Uri {
         return when (cluster) {
@@ -154,46 +142,37 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
         }
         val uri = Uri.parse(data.toString())
 
-        // TODO: this is dirty, need some stateful object/data to know what state we are in.
-        //  also, should we support multiple simultaneous scenarios?
-        if (uri == scenarioUri && scenario != null) {
-            Log.w(TAG, "Session already created for uri: $uri")
-            promise.reject(ErrorCode.ERROR_SESSION_ALREADY_CREATED.code, "Session already created for uri: $uri")
-            return@launch
-        }
-
         val associationUri = AssociationUri.parse(uri)
         if (associationUri == null) {
             Log.e(TAG, "Unsupported association URI: $uri")
             promise.reject(ErrorCode.ERROR_UNSUPPORTED_ASSOCIATION_URI.code, "Unsupported association URI: $uri")
             return@launch
-        } else if (associationUri !is LocalAssociationUri) {
-            Log.e(TAG, "Current implementation of fakewallet does not support remote clients")
-            promise.reject(ErrorCode.ERROR_UNSUPPORTED_ASSOCIATION_TYPE.code, "Current implementation of fakewallet does not support remote clients")
-            return@launch
         }
 
-        scenarioUri = uri
-
         val kotlinConfig =
             json.decodeFromString(MobileWalletAdapterConfigSerializer, config)
 
-        // created a scenario, told it to start (kicks off some threads in the background)
-        // we've kept a reference to it in the global state of this module (scenario)
-        // this won't be garbage collected and will just run, sit & wait for an incoming
-        // connection
-        scenario =
+        // created a scenario and registered it as a session, keyed by its association URI. The
+        // registry keeps a reference to it, so it won't be garbage collected and will just run,
+        // sit & wait for an incoming connection. It is started once registered, so that its
+        // callbacks can always find their session.
+        val session = sessions.add(uri.toString()) { sessionId ->
             associationUri.createScenario(
                 reactContext,
                 kotlinConfig,
                 AuthIssuerConfig(walletName),
-                MobileWalletAdapterScenarioCallbacks()
-            ).also {
-                it.start()
-            }
+                MobileWalletAdapterScenarioCallbacks(sessionId)
+            )
+        }
+        if (session == null) {
+            Log.w(TAG, "Session already created for uri: $uri")
+            promise.reject(ErrorCode.ERROR_SESSION_ALREADY_CREATED.code, "Session already created for uri: $uri")
+            return@launch
+        }
+        session.scenario.start()
 
-        promise.resolve(scenarioId)
-        Log.d(TAG, "scenario created: $walletName")
+        promise.resolve(session.id)
+        Log.d(TAG, "scenario created: $walletName (${sessions.size} active)")
         }
     }
 
@@ -201,9 +180,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
     @ReactMethod
     fun cancelRequest(sessionId: String, requestId: String) {
         Log.d(TAG, "Cancelled request $requestId")
-        (pendingRequests.remove(requestId) as? ScenarioRequest)?.let { scenarioRequest ->
-            scenarioRequest.cancel()
-        }
+        sessions[sessionId]?.takeRequest(requestId)?.request?.cancel()
     }
 
     @ReactMethod
@@ -219,16 +196,17 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
                 MobileWalletAdapterResponseSerializer,
                 responseJson
             )
-        val pendingRequest = pendingRequests[completedRequest.requestId]
-
-        if (completedRequest.sessionId != scenarioId) {
+        val session = sessions[completedRequest.sessionId]
+        if (session == null) {
             sendSessionEventToReact(
+                completedRequest.sessionId,
                 MobileWalletAdapterSessionEvent.ScenarioError(
                     "Invalid session (${completedRequest.sessionId}). This session does not exist/is no longer active."
                 )
             )
             return@launch
         }
+        val pendingRequest = session.takeRequest(completedRequest.requestId)
 
         fun completeWithInvalidResponse() {
             pendingRequest?.request?.completeWithInternalError(
@@ -416,16 +394,17 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
     }
 
     private fun checkSessionId(sessionId: String, doIfValid: (() -> Unit)) =
-        if (sessionId == scenarioId) doIfValid()
+        if (sessions[sessionId] != null) doIfValid()
         else
             sendSessionEventToReact(
+                sessionId,
                 MobileWalletAdapterSessionEvent
                     .ScenarioError(
                         "Invalid session ($sessionId). This session does not exist/is no longer active."
                     )
             )
 
-    private fun sendSessionEventToReact(sessionEvent: MobileWalletAdapterSessionEvent) {
+    private fun sendSessionEventToReact(sessionId: String, sessionEvent: MobileWalletAdapterSessionEvent) {
         val eventInfo =
             when (sessionEvent) {
                 is MobileWalletAdapterSessionEvent.None -> null
@@ -450,7 +429,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
                     }
             }
 
-        eventInfo?.putString("sessionId", scenarioId)
+        eventInfo?.putString("sessionId", sessionId)
 
         eventInfo?.let {
             sendEvent(
@@ -461,12 +440,12 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
         }
     }
 
-    private fun sendWalletServiceRequestToReact(request: MobileWalletAdapterRemoteRequest) {
+    private fun sendWalletServiceRequestToReact(sessionId: String, request: MobileWalletAdapterRemoteRequest) {
         val surrogate =
             when (request) {
                 is MobileWalletAdapterRemoteRequest.AuthorizeDapp ->
                     AuthorizeDapp(
-                        scenarioId!!,
+                        sessionId,
                         request.request.chain,
                         request.request
                             .identityName,
@@ -485,7 +464,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
 
                 is MobileWalletAdapterRemoteRequest.ReauthorizeDapp ->
                     ReauthorizeDapp(
-                        scenarioId!!,
+                        sessionId,
                         request.request.chain,
                         request.request
                             .identityName,
@@ -500,7 +479,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
 
                 is MobileWalletAdapterRemoteRequest.DeauthorizeDapp ->
                     DeauthorizeDapp(
-                        scenarioId!!,
+                        sessionId,
                         request.request.chain,
                         request.request
                             .identityName,
@@ -515,7 +494,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
 
                 is MobileWalletAdapterRemoteRequest.SignMessages ->
                     SignMessages(
-                        scenarioId!!,
+                        sessionId,
                         request.request.chain,
                         request.request
                             .identityName,
@@ -532,7 +511,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
 
                 is MobileWalletAdapterRemoteRequest.SignTransactions ->
                     SignTransactions(
-                        scenarioId!!,
+                        sessionId,
                         request.request.chain,
                         request.request
                             .identityName,
@@ -549,7 +528,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
 
                 is MobileWalletAdapterRemoteRequest.SignAndSendTransactions ->
                     SignAndSendTransactions(
-                        scenarioId!!,
+                        sessionId,
                         request.request.chain,
                         request.request
                             .identityName,
@@ -602,67 +581,78 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
             .emit(eventName, params)
     }
 
-    private inner class MobileWalletAdapterScenarioCallbacks : LocalScenario.Callbacks {
+    private inner class MobileWalletAdapterScenarioCallbacks(
+        private val sessionId: String
+    ) : LocalScenario.Callbacks {
         /* Session Events */
         override fun onScenarioReady() {
-            sendSessionEventToReact(MobileWalletAdapterSessionEvent.ScenarioReady)
+            sendSessionEventToReact(sessionId, MobileWalletAdapterSessionEvent.ScenarioReady)
         }
 
         override fun onScenarioServingClients() {
             sendSessionEventToReact(
+                sessionId,
                 MobileWalletAdapterSessionEvent.ScenarioServingClients
             )
         }
 
         override fun onScenarioServingComplete() {
             launch(Dispatchers.Main) {
-                scenario = null
-                sendSessionEventToReact(MobileWalletAdapterSessionEvent.ScenarioServingComplete)
+                sessions.end(sessionId) { it.close() }
+                sendSessionEventToReact(sessionId, MobileWalletAdapterSessionEvent.ScenarioServingComplete)
             }
         }
 
         override fun onScenarioComplete() {
-            sendSessionEventToReact(MobileWalletAdapterSessionEvent.ScenarioComplete)
+            sendSessionEventToReact(sessionId, MobileWalletAdapterSessionEvent.ScenarioComplete)
         }
 
         override fun onScenarioError() {
-            sendSessionEventToReact(MobileWalletAdapterSessionEvent.ScenarioError())
+            sendSessionEventToReact(sessionId, MobileWalletAdapterSessionEvent.ScenarioError())
+            endSession()
         }
 
         override fun onScenarioTeardownComplete() {
-            sendSessionEventToReact(MobileWalletAdapterSessionEvent.ScenarioTeardownComplete)
-            sendSessionEventToReact(MobileWalletAdapterSessionEvent.SessionTerminated)
+            sendSessionEventToReact(sessionId, MobileWalletAdapterSessionEvent.ScenarioTeardownComplete)
+            sendSessionEventToReact(sessionId, MobileWalletAdapterSessionEvent.SessionTerminated)
+            endSession()
         }
 
         override fun onLowPowerAndNoConnection() {
             sendSessionEventToReact(
+                sessionId,
                 MobileWalletAdapterSessionEvent.LowPowerNoConnection
             )
+            endSession()
+        }
+
+        // N.B. the session event is sent first, so that it reaches JS before the events of the
+        // scenario being closed
+        private fun endSession() {
+            launch(Dispatchers.Main) {
+                sessions.end(sessionId) { it.close() }
+            }
         }
 
         /* Remote Requests */
         override fun onAuthorizeRequest(request: AuthorizeRequest) {
             val request = MobileWalletAdapterRemoteRequest.AuthorizeDapp(request)
-            pendingRequests.put(request.id, request)
-            sendWalletServiceRequestToReact(request)
+            addRequest(request)
         }
 
         override fun onReauthorizeRequest(request: ReauthorizeRequest) {
             val request = MobileWalletAdapterRemoteRequest.ReauthorizeDapp(request)
-            pendingRequests.put(request.id, request)
-            sendWalletServiceRequestToReact(request)
+            addRequest(request)
         }
 
         override fun onSignTransactionsRequest(request: SignTransactionsRequest) {
             val request = MobileWalletAdapterRemoteRequest.SignTransactions(request)
-            pendingRequests.put(request.id, request)
-            sendWalletServiceRequestToReact(request)
+            addRequest(request)
         }
 
         override fun onSignMessagesRequest(request: SignMessagesRequest) {
             val request = MobileWalletAdapterRemoteRequest.SignMessages(request)
-            pendingRequests.put(request.id, request)
-            sendWalletServiceRequestToReact(request)
+            addRequest(request)
         }
 
         override fun onSignAndSendTransactionsRequest(
@@ -674,14 +664,23 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
                     request,
                     endpointUri
                 )
-            pendingRequests.put(request.id, request)
-            sendWalletServiceRequestToReact(request)
+            addRequest(request)
         }
 
         override fun onDeauthorizedEvent(event: DeauthorizedEvent) {
             val request = MobileWalletAdapterRemoteRequest.DeauthorizeDapp(event)
-            pendingRequests.put(request.id, request)
-            sendWalletServiceRequestToReact(request)
+            addRequest(request)
+        }
+
+        private fun addRequest(request: MobileWalletAdapterRemoteRequest) {
+            val session = sessions[sessionId]
+            if (session == null) {
+                Log.w(TAG, "Request received for inactive session $sessionId; cancelling")
+                request.request.cancel()
+                return
+            }
+            session.addRequest(request.id, request)
+            sendWalletServiceRequestToReact(sessionId, request)
         }
     }
 
@@ -691,5 +690,7 @@ class SolanaMobileWalletAdapterWalletLibModule(val reactContext: ReactApplicatio
             "MobileWalletAdapterServiceRequestBridge"
         const val MOBILE_WALLET_ADAPTER_SESSION_EVENT_BRIDGE_NAME =
             "MobileWalletAdapterSessionEventBridge"
+        const val BYTES_ENCODING_CONSTANT = "bytesEncoding"
+        const val BYTES_ENCODING_BASE64 = "base64"
     }
 }
@@ -1,6 +1,8 @@
 package com.solanamobile.mobilewalletadapterwalletlib.reactnative.model
 
 import com.solana.mobilewalletadapter.common.signin.SignInWithSolana
+import com.solanamobile.mobilewalletadapterwalletlib.reactnative.ByteArrayAsMapSerializer
+import com.solanamobile.mobilewalletadapterwalletlib.reactnative.ByteArrayCollectionAsMapCollectionSerializer
 import com.solanamobile.mobilewalletadapterwalletlib.reactnative.SignInPayloadSerializer
 import kotlinx.serialization.SerialName
 import kotlinx.serialization.Serializable
@@ -42,7 +44,7 @@ data class ReauthorizeDapp(
     override val identityName: String?,
     override val identityUri: String?,
     override val iconRelativeUri: String?,
-    override val authorizationScope: ByteArray
+    @Serializable(with = ByteArrayAsMapSerializer::class) override val authorizationScope: ByteArray
 ) : VerifiableIdentityRequestSurrogate()
 
 @Serializable
@@ -53,7 +55,7 @@ data class DeauthorizeDapp(
     override val identityName: String?,
     override val identityUri: String?,
     override val iconRelativeUri: String?,
-    override val authorizationScope: ByteArray
+    @Serializable(with = ByteArrayAsMapSerializer::class) override val authorizationScope: ByteArray
 ) : VerifiableIdentityRequestSurrogate()
 
 @Serializable
@@ -69,8 +71,8 @@ data class SignMessages(
     override val identityName: String?,
     override val identityUri: String?,
     override val iconRelativeUri: String?,
-    override val authorizationScope: ByteArray,
-    override val payloads: List<ByteArray>
+    @Serializable(with = ByteArrayAsMapSerializer::class) override val authorizationScope: ByteArray,
+    @Serializable(with = ByteArrayCollectionAsMapCollectionSerializer::class) override val payloads: List<ByteArray>
 ) : SignPayloads()
 
 @Serializable
@@ -81,8 +83,8 @@ data class SignTransactions(
     override val identityName: String?,
     override val identityUri: String?,
     override val iconRelativeUri: String?,
-    override val authorizationScope: ByteArray,
-    override val payloads: List<ByteArray>
+    @Serializable(with = ByteArrayAsMapSerializer::class) override val authorizationScope: ByteArray,
+    @Serializable(with = ByteArrayCollectionAsMapCollectionSerializer::class) override val payloads: List<ByteArray>
 ) : SignPayloads()
 
 @Serializable
@@ -93,6 +95,6 @@ data class SignAndSendTransactions(
     override val identityName: String?,
     override val identityUri: String?,
     override val iconRelativeUri: String?,
-    override val authorizationScope: ByteArray,
-    override val payloads: List<ByteArray>
+    @Serializable(with = ByteArrayAsMapSerializer::class) override val authorizationScope: ByteArray,
+    @Serializable(with = ByteArrayCollectionAsMapCollectionSerializer::class) override val payloads: List<ByteArray>
 ) : SignPayloads()
\ No newline at end of file
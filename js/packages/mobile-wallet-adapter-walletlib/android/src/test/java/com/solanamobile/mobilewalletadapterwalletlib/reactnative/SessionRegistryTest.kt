@@ -0,0 +1,187 @@
+package com.solanamobile.mobilewalletadapterwalletlib.reactnative
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class SessionRegistryTest {
+    @Test
+    fun `sessions for different associations are served at once`() {
+        // given
+        val registry = SessionRegistry<String, String>()
+
+        // when
+        val local = registry.add("solana-wallet:/v1/associate/local?port=1") { "local-$it" }
+        val remote = registry.add("solana-wallet:/v1/associate/remote?id=1") { "remote-$it" }
+
+        // then
+        assertNotNull(local)
+        assertNotNull(remote)
+        assertNotEquals(local!!.id, remote!!.id)
+        assertEquals("local-${local.id}", local.scenario)
+        assertEquals("remote-${remote.id}", remote.scenario)
+        assertSame(local, registry[local.id])
+        assertSame(remote, registry[remote.id])
+        assertEquals(2, registry.size)
+    }
+
+    @Test
+    fun `second session for the same association is rejected`() {
+        // given
+        val registry = SessionRegistry<String, String>()
+        val associationKey = "solana-wallet:/v1/associate/local?port=1"
+        registry.add(associationKey) { "scenario" }
+        var created = false
+
+        // when
+        val session = registry.add(associationKey) { created = true; "scenario" }
+
+        // then
+        assertNull(session)
+        assertFalse(created)
+        assertEquals(1, registry.size)
+    }
+
+    @Test
+    fun `association can be reused once its session is removed`() {
+        // given
+        val registry = SessionRegistry<String, String>()
+        val associationKey = "solana-wallet:/v1/associate/local?port=1"
+        val first = registry.add(associationKey) { "scenario" }!!
+        first.addRequest("request", "pending")
+
+        // when
+        val removed = registry.remove(first.id)
+        val second = registry.add(associationKey) { "scenario" }
+
+        // then
+        assertSame(first, removed)
+        assertEquals(0, first.pendingRequestCount)
+        assertNull(registry[first.id])
+        assertNotNull(second)
+        assertNotEquals(first.id, second!!.id)
+    }
+
+    @Test
+    fun `ending a session closes its scenario once`() {
+        // given
+        val registry = SessionRegistry<String, String>()
+        val associationKey = "solana-wallet:/v1/associate/local?port=1"
+        val session = registry.add(associationKey) { "scenario" }!!
+        session.addRequest("request", "pending")
+        val closed = mutableListOf<String>()
+
+        // when
+        // e.g. onScenarioError followed by onScenarioTeardownComplete
+        val ended = registry.end(session.id) { closed.add(it) }
+        val endedAgain = registry.end(session.id) { closed.add(it) }
+
+        // then
+        assertSame(session, ended)
+        assertNull(endedAgain)
+        assertEquals(listOf("scenario"), closed)
+        assertEquals(0, session.pendingRequestCount)
+        assertNull(registry[session.id])
+        assertNotNull(registry.add(associationKey) { "scenario" })
+    }
+
+    @Test
+    fun `concurrent ends close each scenario exactly once`() {
+        // given
+        val sessionCount = 100
+        val registry = SessionRegistry<String, String>()
+        val sessions = (0 until sessionCount).map { i -> registry.add("association-$i") { "scenario-$i" }!! }
+        val executor = Executors.newFixedThreadPool(8)
+        val start = CountDownLatch(1)
+        val closed = ConcurrentLinkedQueue<String>()
+
+        // when
+        // Every session is ended from each of the paths which can end it at once
+        try {
+            sessions.flatMap { session ->
+                List(4) {
+                    executor.submit {
+                        start.await()
+                        registry.end(session.id) { closed.add(it) }
+                    }
+                }
+            }.also { start.countDown() }.forEach { it.get(30, TimeUnit.SECONDS) }
+        } finally {
+            executor.shutdownNow()
+        }
+
+        // then
+        assertEquals((0 until sessionCount).map { "scenario-$it" }.sorted(), closed.sorted())
+        assertEquals(0, registry.size)
+    }
+
+    @Test
+    fun `requests are indexed per session`() {
+        // given
+        val registry = SessionRegistry<String, String>()
+        val first = registry.add("association-1") { "scenario" }!!
+        val second = registry.add("association-2") { "scenario" }!!
+        first.addRequest("request", "first")
+        second.addRequest("request", "second")
+
+        // when
+        val taken = first.takeRequest("request")
+
+        // then
+        assertEquals("first", taken)
+        assertNull(first.takeRequest("request"))
+        assertEquals("second", second.takeRequest("request"))
+    }
+
+    @Test
+    fun `concurrent resolves take each request exactly once`() {
+        // given
+        val sessionCount = 4
+        val requestsPerSession = 2500
+        val registry = SessionRegistry<String, Int>()
+        val sessions = (0 until sessionCount).map { i -> registry.add("association-$i") { "scenario" }!! }
+        val executor = Executors.newFixedThreadPool(16)
+        sessions.mapIndexed { s, session ->
+            executor.submit {
+                for (r in 0 until requestsPerSession) {
+                    session.addRequest("request-$r", s * requestsPerSession + r)
+                }
+            }
+        }.forEach { it.get(30, TimeUnit.SECONDS) }
+        val start = CountDownLatch(1)
+        val taken = ConcurrentLinkedQueue<Int>()
+        val misses = AtomicInteger()
+
+        // when
+        // Every request is resolved twice at once (e.g. by resolve and cancelRequest)
+        try {
+            sessions.flatMap { session ->
+                (0 until requestsPerSession).flatMap { r ->
+                    List(2) {
+                        executor.submit {
+                            start.await()
+                            session.takeRequest("request-$r")?.let { taken.add(it) }
+                                ?: misses.incrementAndGet()
+                        }
+                    }
+                }
+            }.also { start.countDown() }.forEach { it.get(30, TimeUnit.SECONDS) }
+        } finally {
+            executor.shutdownNow()
+        }
+
+        // then
+        assertEquals((0 until sessionCount * requestsPerSession).toList(), taken.sorted())
+        assertEquals(sessionCount * requestsPerSession, misses.get())
+        sessions.forEach { assertEquals(0, it.pendingRequestCount) }
+    }
+}
@@ -228,5 +228,26 @@ export function resolve(request: SignMessagesRequest, response: SignMessagesResp
 export function resolve(request: SignTransactionsRequest, response: SignTransactionsResponse): void;
 export function resolve(request: SignAndSendTransactionsRequest, response: SignAndSendTransactionsResponse): void;
 export function resolve(request: MWARequest, response: MWAResponse): void {
-    SolanaMobileWalletAdapterWalletLib.resolve(JSON.stringify(request), JSON.stringify(response));
+    // Native modules which accept Base64 bytes advertise it; older ones only accept the default
+    // JSON.stringify encoding of a Uint8Array, an object with one entry per byte.
+    const replacer =
+        SolanaMobileWalletAdapterWalletLib.bytesEncoding === BYTES_ENCODING_BASE64 ? encodeBytesAsBase64 : undefined;
+    SolanaMobileWalletAdapterWalletLib.resolve(JSON.stringify(request, replacer), JSON.stringify(response, replacer));
+}
+
+const BYTES_ENCODING_BASE64 = 'base64';
+
+// Checks the holder's original value, since JSON.stringify calls toJSON() (e.g. on a Buffer) first
+function encodeBytesAsBase64(this: Record<string, unknown>, key: string, value: unknown): unknown {
+    const original = this[key];
+    return original instanceof Uint8Array ? uint8ArrayToBase64(original) : value;
+}
+
+function uint8ArrayToBase64(bytes: Uint8Array): string {
+    let binary = '';
+    // Convert in chunks to stay within the engine's argument count limit
+    for (let i = 0; i < bytes.length; i += 0x8000) {
+        binary += String.fromCharCode(...bytes.subarray(i, i + 0x8000));
+    }
+    return btoa(binary);
 }
@@ -10,7 +10,9 @@ const { mockResolve, nativeModules, nativeWalletLib, platform } = vi.hoisted(()
     return {
         mockResolve,
         nativeModules: {
-            SolanaMobileWalletAdapterWalletLib: nativeWalletLib as { resolve: ReturnType<typeof vi.fn> } | undefined,
+            SolanaMobileWalletAdapterWalletLib: nativeWalletLib as
+                | { resolve: ReturnType<typeof vi.fn>; bytesEncoding?: string }
+                | undefined,
         },
         nativeWalletLib,
         platform: { OS: 'android' },
@@ -22,7 +24,14 @@ vi.mock('react-native', () => ({
     Platform: platform,
 }));
 
-import { type AuthorizeDappRequest, type AuthorizeDappResponse, MWARequestType, resolve } from '../src/resolve.js';
+import {
+    type AuthorizeDappRequest,
+    type AuthorizeDappResponse,
+    MWARequestType,
+    resolve,
+    type SignTransactionsRequest,
+    type SignTransactionsResponse,
+} from '../src/resolve.js';
 
 afterEach(() => {
     mockResolve.mockReset();
@@ -48,6 +57,48 @@ describe('resolve', () => {
         expect(mockResolve).toHaveBeenCalledWith(JSON.stringify(request), JSON.stringify(response));
     });
 
+    it('encodes bytes as base64 when the native module supports it', async () => {
+        nativeModules.SolanaMobileWalletAdapterWalletLib = { ...nativeWalletLib, bytesEncoding: 'base64' };
+        vi.resetModules();
+        const { resolve } = await import('../src/resolve.js');
+        const request: SignTransactionsRequest = {
+            __type: MWARequestType.SignTransactionsRequest,
+            authorizationScope: new Uint8Array([1, 2, 3]),
+            chain: 'solana:mainnet',
+            payloads: [new Uint8Array([4, 5, 6])],
+            requestId: 'request-1',
+            sessionId: 'session-1',
+        };
+        const response: SignTransactionsResponse = {
+            signedPayloads: [new Uint8Array([0, 255, 128, 7])],
+        };
+
+        resolve(request, response);
+
+        expect(mockResolve).toHaveBeenCalledWith(
+            JSON.stringify({ ...request, authorizationScope: 'AQID', payloads: ['BAUG'] }),
+            JSON.stringify({ signedPayloads: ['AP+ABw=='] }),
+        );
+    });
+
+    it('encodes bytes with the default encoding when the native module does not support base64', () => {
+        const response: SignTransactionsResponse = {
+            signedPayloads: [new Uint8Array([0, 255])],
+        };
+        const request: SignTransactionsRequest = {
+            __type: MWARequestType.SignTransactionsRequest,
+            authorizationScope: new Uint8Array([]),
+            chain: 'solana:mainnet',
+            payloads: [],
+            requestId: 'request-1',
+            sessionId: 'session-1',
+        };
+
+        resolve(request, response);
+
+        expect(mockResolve).toHaveBeenCalledWith(JSON.stringify(request), '{"signedPayloads":[{"0":0,"1":255}]}');
+    });
+
     it('throws a linking error when the Android native module is missing', async () => {
         nativeModules.SolanaMobileWalletAdapterWalletLib = undefined;
         vi.resetModules();